@@ -27,5 +27,9 @@ public class QueryParameters extends QueryHints {
     // Paging related query parameters
     public static final String JPARS_PAGING_OFFSET = "offset";
     public static final String JPARS_PAGING_LIMIT = "limit";
+    public static final String JPARS_PAGING_AFTER = "after";
+
+    // Continuation token of the next page, set by the resource for the paging response builder
+    public static final String JPARS_PAGING_NEXT_AFTER = "eclipselink.jpars.paging.next-after";
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -16,6 +16,7 @@
 
 import org.eclipse.persistence.exceptions.ConversionException;
 import org.eclipse.persistence.exceptions.DatabaseException;
+import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.jaxb.JAXBContext;
 import org.eclipse.persistence.jaxb.JAXBContextFactory;
 import org.eclipse.persistence.jaxb.MarshallerProperties;
@@ -126,6 +127,10 @@ private static Status getHttpStatusCode(Throwable throwable) {
                     }
                 }
             }
+            if (isKeysetPaginationError(throwable)) {
+                // The client requested keyset pagination of a query that does not support it, or sent an invalid token.
+                httpStatusCode = Status.BAD_REQUEST;
+            }
             if (httpStatusCode != null) {
                 return httpStatusCode;
             }
@@ -133,6 +138,22 @@ private static Status getHttpStatusCode(Throwable throwable) {
         return Status.BAD_REQUEST;
     }
 
+    private static boolean isKeysetPaginationError(Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof QueryException) {
+                int errorCode = ((QueryException) throwable).getErrorCode();
+                if ((errorCode == QueryException.KEYSET_PAGINATION_REQUIRES_ORDERING) || (errorCode == QueryException.INVALID_KEYSET_AFTER_KEY)) {
+                    return true;
+                }
+            }
+            if (throwable.getCause() == throwable) {
+                break;
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+
     private String marshallErrorResponse(ErrorResponse errorResponse, String mediaType) {
         try {
             JAXBContext context = (JAXBContext) JAXBContextFactory.createContext(new Class[] { ErrorResponse.class }, null);
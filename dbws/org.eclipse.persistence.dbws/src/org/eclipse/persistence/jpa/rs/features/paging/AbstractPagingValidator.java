@@ -15,6 +15,8 @@
 
 package org.eclipse.persistence.jpa.rs.features.paging;
 
+import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.internal.queries.KeysetToken;
 import org.eclipse.persistence.jpa.rs.QueryParameters;
 import org.eclipse.persistence.jpa.rs.exceptions.JPARSException;
 import org.eclipse.persistence.jpa.rs.resources.common.AbstractResource;
@@ -32,6 +34,7 @@ abstract class AbstractPagingValidator {
 
     private int offset;
     private int limit;
+    private String after;
 
     private final UriInfo uri;
 
@@ -56,7 +59,7 @@ abstract class AbstractPagingValidator {
     abstract boolean isFeatureApplicable() throws JPARSException;
 
     /**
-     * Checks pagination query parameters. Initializes 'limit' and 'offset' class properties.
+     * Checks pagination query parameters. Initializes 'limit', 'offset' and 'after' class properties.
      * Throws {@link org.eclipse.persistence.jpa.rs.exceptions.JPARSException} in case of errors.
      *
      * @param defaultLimit The value of limit if no 'limit' query parameter is present.
@@ -65,6 +68,7 @@ void checkParameters(int defaultLimit) {
         // Read query parameters
         final String paramLimit = (String) queryParameters.get(QueryParameters.JPARS_PAGING_LIMIT);
         final String paramOffset = (String) queryParameters.get(QueryParameters.JPARS_PAGING_OFFSET);
+        final String paramAfter = (String) queryParameters.get(QueryParameters.JPARS_PAGING_AFTER);
 
         // Check limit
         try {
@@ -99,6 +103,19 @@ void checkParameters(int defaultLimit) {
         } catch (NumberFormatException ex) {
             throw JPARSException.invalidParameter("offset", paramOffset);
         }
+
+        // Check after, the continuation token of keyset pagination replaces the offset
+        if (paramAfter != null) {
+            if (paramOffset != null) {
+                throw JPARSException.invalidParameter("offset", paramOffset);
+            }
+            try {
+                KeysetToken.decode(paramAfter);
+            } catch (QueryException ex) {
+                throw JPARSException.invalidParameter("after", paramAfter);
+            }
+            after = paramAfter;
+        }
     }
 
     /**
@@ -110,6 +127,16 @@ public int getOffset() {
         return offset;
     }
 
+    /**
+     * Returns a value of After paging parameter, the continuation token of keyset pagination, or null if not set.
+     * The value is available only after calling checkParameters method.
+     *
+     * @return the After value.
+     */
+    public String getAfter() {
+        return after;
+    }
+
     /**
      * Returns a value of Limit paging parameter. The value is available only after calling checkParameters method.
      *
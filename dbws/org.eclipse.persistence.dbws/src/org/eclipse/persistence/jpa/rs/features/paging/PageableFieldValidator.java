@@ -60,7 +60,8 @@ public boolean isFeatureApplicable() throws JPARSException {
         } else {
             // Pagination is not supported by query. Check that there are no pagination related query parameters.
             if (queryParameters.containsKey(QueryParameters.JPARS_PAGING_LIMIT)
-                    || queryParameters.containsKey(QueryParameters.JPARS_PAGING_OFFSET)) {
+                    || queryParameters.containsKey(QueryParameters.JPARS_PAGING_OFFSET)
+                    || queryParameters.containsKey(QueryParameters.JPARS_PAGING_AFTER)) {
                 throw JPARSException.paginationParameterForNotPageableResource();
             }
             return false;
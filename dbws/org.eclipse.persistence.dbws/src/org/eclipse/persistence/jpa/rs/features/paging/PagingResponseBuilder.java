@@ -117,8 +117,17 @@ private PageableCollection populatePagedCollectionLinks(Map<String, Object> quer
                 // next link
                 // The uri might have other query/matrix parameters, just replace the limit and offset
                 // for next and prev links and leave the rest untouched
-                uriBuilder.replaceQueryParam(QueryParameters.JPARS_PAGING_OFFSET, String.valueOf(limit + offset));
-                itemLinksBuilder.addNext(uriBuilder.build().toString());
+                final String nextAfter = (String) queryParams.get(QueryParameters.JPARS_PAGING_NEXT_AFTER);
+                if (nextAfter != null) {
+                    // Keyset pagination, the next page starts after the last item of this page whatever its depth
+                    final UriBuilder nextUriBuilder = UriBuilder.fromUri(uriInfo.getRequestUri());
+                    nextUriBuilder.replaceQueryParam(QueryParameters.JPARS_PAGING_OFFSET);
+                    nextUriBuilder.replaceQueryParam(QueryParameters.JPARS_PAGING_AFTER, nextAfter);
+                    itemLinksBuilder.addNext(nextUriBuilder.build().toString());
+                } else {
+                    uriBuilder.replaceQueryParam(QueryParameters.JPARS_PAGING_OFFSET, String.valueOf(limit + offset));
+                    itemLinksBuilder.addNext(uriBuilder.build().toString());
+                }
                 resultCollection.setHasMore(true);
             } else {
                 resultCollection.setHasMore(false);
@@ -34,6 +34,7 @@
 import org.eclipse.persistence.descriptors.RelationalDescriptor;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.indirection.ValueHolder;
+import org.eclipse.persistence.internal.queries.KeysetToken;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.jpa.rs.PersistenceContext;
 import org.eclipse.persistence.jpa.rs.QueryParameters;
@@ -117,20 +118,34 @@ protected Response findAttributeInternal(String version, String persistenceUnit,
             if (featureSet.isSupported(Feature.PAGING)) {
                 final PageableFieldValidator validator = new PageableFieldValidator(entity.getClass(), attribute, uriInfo);
                 if (validator.isFeatureApplicable()) {
-                    // Adding extra one to detect are there more rows or not. It will be removed later
-                    // on in response processor.
-                    query.setMaxRows(validator.getLimit() + validator.getOffset() + 1);
-                    query.setFirstResult(validator.getOffset());
+                    // Ordered collections use keyset pagination, continuing after the last result of the previous page.
+                    final boolean isKeyset = query.isReadAllQuery() && ((ReadAllQuery) query).hasOrderByExpressions();
+                    if (isKeyset && (validator.getAfter() != null)) {
+                        ((ReadAllQuery) query).setAfterKey(KeysetToken.decode(validator.getAfter()));
+                        // Adding extra one to detect are there more rows or not. It will be removed later
+                        // on in response processor.
+                        query.setMaxRows(validator.getLimit() + 1);
+                    } else {
+                        // Adding extra one to detect are there more rows or not. It will be removed later
+                        // on in response processor.
+                        query.setMaxRows(validator.getLimit() + validator.getOffset() + 1);
+                        query.setFirstResult(validator.getOffset());
+                    }
 
                     // We need to add limit and offset to query parameters because request builder reads it from there
                     final Map<String, Object> queryParams = getQueryParameters(uriInfo);
                     queryParams.put(QueryParameters.JPARS_PAGING_LIMIT, String.valueOf(validator.getLimit()));
-                    queryParams.put(QueryParameters.JPARS_PAGING_OFFSET, String.valueOf(validator.getOffset()));
+                    queryParams.put(QueryParameters.JPARS_PAGING_OFFSET, String.valueOf((validator.getAfter() != null) ? 0 : validator.getOffset()));
+                    queryParams.remove(QueryParameters.JPARS_PAGING_NEXT_AFTER);
 
                     // check orderBy, and generate a warning if there is none
                     checkOrderBy(context, query);
 
                     final Object result = clientSession.executeQuery(query, descriptor.getObjectBuilder().buildRow(entity, clientSession, WriteType.INSERT));
+                    if (isKeyset && (result instanceof List) && (((List) result).size() > validator.getLimit())) {
+                        final Object lastResult = ((List) result).get(validator.getLimit() - 1);
+                        queryParams.put(QueryParameters.JPARS_PAGING_NEXT_AFTER, ((ReadAllQuery) query).buildContinuationToken(lastResult, clientSession));
+                    }
                     final FeatureResponseBuilder responseBuilder = context.getSupportedFeatureSet().getResponseBuilder(Feature.PAGING);
                     return findAttributeResponse(context, attribute, type, id, persistenceUnit, result, queryParams, headers, uriInfo, responseBuilder, fieldsFilter);
                 }
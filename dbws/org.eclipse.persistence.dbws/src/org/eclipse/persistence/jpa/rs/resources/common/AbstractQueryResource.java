@@ -44,6 +44,7 @@
 import org.eclipse.persistence.jpa.rs.util.JPARSLogger;
 import org.eclipse.persistence.jpa.rs.util.StreamingOutputMarshaller;
 import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReportQuery;
 
 /**
@@ -131,7 +132,12 @@ private Response processPageableQuery(PersistenceContext context, String queryNa
         final PageableQueryValidator validator = new PageableQueryValidator(context, queryName, uriInfo);
         if (validator.isFeatureApplicable()) {
             // Do pagination
-            query.setFirstResult(validator.getOffset());
+            if (validator.getAfter() != null) {
+                // Keyset pagination, continue after the last result of the previous page
+                query.setHint(QueryParameters.KEYSET_AFTER, validator.getAfter());
+            } else {
+                query.setFirstResult(validator.getOffset());
+            }
 
             // Extra one is added to the limit value to check are there more rows or not.
             // It will be removed later on in the response builder.
@@ -152,6 +158,7 @@ private Response namedQueryResponse(PersistenceContext context, String queryName
             queryParams.put(QueryParameters.JPARS_PAGING_LIMIT, String.valueOf(query.getMaxResults() - 1));
             queryParams.put(QueryParameters.JPARS_PAGING_OFFSET, String.valueOf(query.getFirstResult()));
         }
+        queryParams.remove(QueryParameters.JPARS_PAGING_NEXT_AFTER);
 
         // Fields filtering
         FieldsFilter fieldsFilter = null;
@@ -180,6 +187,13 @@ private Response namedQueryResponse(PersistenceContext context, String queryName
 
         List<Object> results = query.getResultList();
         if (results != null) {
+            // Ordered queries use keyset pagination for the next page
+            if (queryParams.containsKey(QueryParameters.JPARS_PAGING_LIMIT) && dbQuery.isReadAllQuery() && ((ReadAllQuery) dbQuery).hasOrderByExpressions()) {
+                final int limit = query.getMaxResults() - 1;
+                if (results.size() > limit) {
+                    queryParams.put(QueryParameters.JPARS_PAGING_NEXT_AFTER, ((EJBQueryImpl<?>) query).getContinuationToken(results.get(limit - 1)));
+                }
+            }
             Object list = responseBuilder.buildReadAllQueryResponse(context, queryParams, results, uriInfo);
             return Response.ok(new StreamingOutputMarshaller(context, list, headers.getAcceptableMediaTypes(), fieldsFilter)).build();
         }
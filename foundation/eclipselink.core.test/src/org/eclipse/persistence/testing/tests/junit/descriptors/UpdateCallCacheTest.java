@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.descriptors;
+
+import static org.junit.Assert.*;
+
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorQueryManager;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.queries.SQLCall;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the update call cache of DescriptorQueryManager, keyed by the updated fields.
+ */
+public class UpdateCallCacheTest {
+
+    private ClassDescriptor descriptor;
+    private DatabaseField name;
+    private DatabaseField description;
+    private DatabaseField quantity;
+
+    @Before
+    public void setUp() {
+        descriptor = new ClassDescriptor();
+        name = new DatabaseField("ITEM.NAME");
+        description = new DatabaseField("ITEM.DESCRIPTION");
+        quantity = new DatabaseField("ITEM.QUANTITY");
+        Vector<DatabaseField> fields = new Vector<DatabaseField>();
+        fields.add(new DatabaseField("ITEM.ID"));
+        fields.add(name);
+        fields.add(description);
+        fields.add(quantity);
+        descriptor.setFields(fields);
+    }
+
+    private static Vector<DatabaseField> fields(DatabaseField... fields) {
+        Vector<DatabaseField> vector = new Vector<DatabaseField>();
+        for (DatabaseField field : fields) {
+            vector.add(field);
+        }
+        return vector;
+    }
+
+    private static Vector<SQLCall> calls(String sql) {
+        Vector<SQLCall> calls = new Vector<SQLCall>();
+        calls.add(new SQLCall(sql));
+        return calls;
+    }
+
+    @Test
+    public void sameFieldsShareUpdateCall() {
+        DescriptorQueryManager queryManager = descriptor.getQueryManager();
+        queryManager.putCachedUpdateCalls(fields(name, quantity), calls("UPDATE ITEM SET NAME = ?, QUANTITY = ? WHERE ID = ?"));
+
+        assertNotNull(queryManager.getCachedUpdateCalls(fields(name, quantity)));
+        assertNotNull("Field order should not matter", queryManager.getCachedUpdateCalls(fields(quantity, name)));
+        assertNotNull("Equal fields should be found", queryManager.getCachedUpdateCalls(fields(new DatabaseField("ITEM.NAME"), quantity)));
+        assertNull(queryManager.getCachedUpdateCalls(fields(name)));
+        assertNull(queryManager.getCachedUpdateCalls(fields(name, description, quantity)));
+    }
+
+    @Test
+    public void unknownFieldsAreCached() {
+        DescriptorQueryManager queryManager = descriptor.getQueryManager();
+        DatabaseField other = new DatabaseField("OTHER.VALUE");
+        queryManager.putCachedUpdateCalls(fields(name, other), calls("UPDATE ITEM SET NAME = ?, VALUE = ? WHERE ID = ?"));
+
+        assertNotNull(queryManager.getCachedUpdateCalls(fields(name, other)));
+        assertNull(queryManager.getCachedUpdateCalls(fields(name)));
+    }
+
+    @Test
+    public void fullRowUpdatesAfterThreshold() {
+        DescriptorQueryManager queryManager = descriptor.getQueryManager();
+        queryManager.setFullRowUpdateThreshold(2);
+        queryManager.putCachedUpdateCalls(fields(name), calls("UPDATE ITEM SET NAME = ? WHERE ID = ?"));
+        queryManager.putCachedUpdateCalls(fields(quantity), calls("UPDATE ITEM SET QUANTITY = ? WHERE ID = ?"));
+        assertFalse(queryManager.shouldUseFullRowUpdates());
+
+        queryManager.putCachedUpdateCalls(fields(description), calls("UPDATE ITEM SET DESCRIPTION = ? WHERE ID = ?"));
+        assertTrue(queryManager.shouldUseFullRowUpdates());
+    }
+
+    @Test
+    public void fullRowUpdatesDisabledByDefault() {
+        DescriptorQueryManager queryManager = descriptor.getQueryManager();
+        for (int index = 0; index < 100; index++) {
+            queryManager.putCachedUpdateCalls(fields(new DatabaseField("ITEM.F" + index)), calls("UPDATE ITEM SET F" + index + " = ? WHERE ID = ?"));
+        }
+        assertFalse(queryManager.shouldUseFullRowUpdates());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.helper;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.junit.Test;
+
+/**
+ * Tests the bounded, frequency aware ConcurrentFixedCache.
+ */
+public class ConcurrentFixedCacheTest {
+
+    /**
+     * Look the key up, caching it on a miss, as the JPQL parse cache is used.
+     */
+    private static Object lookup(ConcurrentFixedCache cache, String key) {
+        Object value = cache.get(key);
+        if (value == null) {
+            value = key.toUpperCase();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    @Test
+    public void testGetPut() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(10);
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        cache.put("a", "AA");
+        assertEquals("AA", cache.get("a"));
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testBounded() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(5);
+        for (int round = 0; round < 3; round++) {
+            for (int index = 0; index < 20; index++) {
+                lookup(cache, "key" + index);
+            }
+        }
+        assertTrue(cache.getCache().size() <= 5);
+        // The keys are all used about as often, most new keys are not admitted over the cached ones.
+        assertTrue(cache.getRejections() > cache.getEvictions());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(2);
+        lookup(cache, "a");
+        lookup(cache, "b");
+        // Use a again, b is now the least recently used.
+        lookup(cache, "a");
+        lookup(cache, "c");
+        lookup(cache, "c");
+        assertNotNull(cache.get("a"));
+        assertNull(cache.getCache().get("b"));
+        assertNotNull(cache.getCache().get("c"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getRejections());
+    }
+
+    @Test
+    public void testBufferedReadsRecorded() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(2);
+        lookup(cache, "a");
+        lookup(cache, "b");
+        // More reads than the read buffer holds, the buffer is drained as it fills.
+        for (int index = 0; index < 200; index++) {
+            assertNotNull(cache.get("a"));
+        }
+        for (int round = 0; round < 3; round++) {
+            lookup(cache, "c");
+        }
+        // The frequent reads of a were recorded, the new key evicts b.
+        assertNotNull(cache.getCache().get("a"));
+        assertNull(cache.getCache().get("b"));
+        assertNotNull(cache.getCache().get("c"));
+        assertEquals(201, cache.getHits());
+    }
+
+    @Test
+    public void testScanDoesNotEvictFrequentKeys() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(4);
+        for (int round = 0; round < 5; round++) {
+            lookup(cache, "hot1");
+            lookup(cache, "hot2");
+        }
+        // One-off keys are not admitted over the frequently used ones,
+        // even though those are now the least recently used.
+        for (int index = 0; index < 20; index++) {
+            lookup(cache, "cold" + index);
+        }
+        assertNotNull(cache.getCache().get("hot1"));
+        assertNotNull(cache.getCache().get("hot2"));
+        assertTrue(cache.getCache().size() <= 4);
+    }
+
+    @Test
+    public void testSetMaxSize() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(10);
+        for (int index = 0; index < 10; index++) {
+            lookup(cache, "key" + index);
+        }
+        assertEquals(10, cache.getCache().size());
+        cache.setMaxSize(3);
+        assertEquals(3, cache.getCache().size());
+        // The most recently used are kept.
+        assertNotNull(cache.getCache().get("key9"));
+    }
+
+    @Test
+    public void testZeroSize() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(0);
+        cache.put("a", "A");
+        assertNull(cache.get("a"));
+        assertTrue(cache.getCache().isEmpty());
+    }
+
+    @Test
+    public void testMapClearedDirectly() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(2);
+        lookup(cache, "a");
+        lookup(cache, "b");
+        cache.getCache().clear();
+        for (int round = 0; round < 2; round++) {
+            lookup(cache, "c");
+            lookup(cache, "d");
+            lookup(cache, "e");
+        }
+        assertTrue(cache.getCache().size() <= 2);
+        assertEquals(0.0, new ConcurrentFixedCache(1).getHitRate(), 0.0);
+    }
+}
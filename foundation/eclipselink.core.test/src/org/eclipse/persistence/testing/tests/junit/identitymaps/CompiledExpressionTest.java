@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionMath;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
+import org.eclipse.persistence.internal.expressions.ConformEvaluator;
+import org.eclipse.persistence.internal.expressions.GeneratedConformEvaluator;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the selection criteria compiled into bytecode for in-memory querying.
+ */
+public class CompiledExpressionTest {
+
+    public static class Product {
+        private long id;
+        private String name;
+        private int stock;
+        // Without getter, read through the mapping.
+        private String code;
+
+        public Product() {
+        }
+
+        public Product(long id, String name, int stock, String code) {
+            this.id = id;
+            this.name = name;
+            this.stock = stock;
+            this.code = code;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getStock() {
+            return stock;
+        }
+
+        public void setStock(int stock) {
+            this.stock = stock;
+        }
+    }
+
+    private static final int SIZE = 500;
+
+    private DatabaseSessionImpl session;
+    private RelationalDescriptor descriptor;
+
+    @Before
+    public void setUp() {
+        descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Product.class);
+        descriptor.setTableName("PRODUCT");
+        descriptor.addPrimaryKeyFieldName("PRODUCT.ID");
+        descriptor.addDirectMapping("id", "getId", "setId", "PRODUCT.ID");
+        descriptor.addDirectMapping("name", "getName", "setName", "PRODUCT.NAME");
+        descriptor.addDirectMapping("stock", "getStock", "setStock", "PRODUCT.STOCK");
+        descriptor.addDirectMapping("code", "PRODUCT.CODE");
+        descriptor.useFullIdentityMap();
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        session = new DatabaseSessionImpl(project);
+        session.setLogLevel(SessionLog.OFF);
+        session.initializeDescriptors();
+        for (int index = 0; index < SIZE; index++) {
+            session.getIdentityMapAccessor().putInIdentityMap(new Product(index, "p" + (index % 20), index % 50, (index % 3 == 0) ? null : "k" + index));
+        }
+    }
+
+    private ExpressionBuilder newBuilder() {
+        ExpressionBuilder builder = new ExpressionBuilder(Product.class);
+        builder.setSession(session);
+        return builder;
+    }
+
+    private Expression buildCriteria(ExpressionBuilder builder) {
+        return builder.get("name").equal(builder.getParameter("name")).and(builder.get("stock").greaterThan(10))
+                .or(builder.get("code").like("k1%").and(builder.get("id").lessThan(200)).not())
+                .or(builder.get("code").isNull().and(builder.get("stock").in(new Integer[] {1, 2, 3})));
+    }
+
+    private AbstractRecord buildRow(String name) {
+        AbstractRecord row = new DatabaseRecord();
+        row.put("name", name);
+        return row;
+    }
+
+    private HashSet<Long> conform(ConformEvaluator evaluator, AbstractRecord row) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Object product : session.getIdentityMapAccessorInstance().getAllFromIdentityMap(null, Product.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false)) {
+            if (evaluator.conforms(product, session, row, InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION)) {
+                ids.add(((Product)product).getId());
+            }
+        }
+        return ids;
+    }
+
+    private HashSet<Long> conformInterpreted(Expression criteria, AbstractRecord row) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Object product : session.getIdentityMapAccessorInstance().getAllFromIdentityMap(null, Product.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false)) {
+            if (criteria.doesConform(product, session, row, InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION)) {
+                ids.add(((Product)product).getId());
+            }
+        }
+        return ids;
+    }
+
+    private static HashSet<Long> ids(Vector products) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Object product : products) {
+            ids.add(((Product)product).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testGeneratedConformsAsInterpreted() {
+        Expression criteria = buildCriteria(newBuilder());
+        AbstractRecord row = buildRow("p7");
+        ConformEvaluator evaluator = new CompiledExpression(descriptor).buildEvaluator(criteria, session, row);
+        assertTrue(evaluator instanceof GeneratedConformEvaluator);
+        HashSet<Long> generated = conform(evaluator, row);
+        assertFalse(generated.isEmpty());
+        assertEquals(conformInterpreted(criteria, row), generated);
+    }
+
+    @Test
+    public void testEvaluatorClassReusedForShape() {
+        CompiledExpression compiledExpression = new CompiledExpression(descriptor);
+        Expression criteria = buildCriteria(newBuilder());
+        ConformEvaluator first = compiledExpression.buildEvaluator(criteria, session, buildRow("p7"));
+        ConformEvaluator second = compiledExpression.buildEvaluator(criteria, session, buildRow("p8"));
+        assertSame(first.getClass(), second.getClass());
+        assertEquals(conformInterpreted(criteria, buildRow("p8")), conform(second, buildRow("p8")));
+
+        // Same shape from another query.
+        ConformEvaluator other = new CompiledExpression(descriptor).buildEvaluator(buildCriteria(newBuilder()), session, buildRow("p9"));
+        assertSame(first.getClass(), other.getClass());
+
+        // Another shape generates another class.
+        ExpressionBuilder builder = newBuilder();
+        Expression otherCriteria = builder.get("stock").lessThanEqual(5).or(builder.get("name").equal("p3"));
+        ConformEvaluator otherShape = compiledExpression.buildEvaluator(otherCriteria, session, buildRow("p7"));
+        assertTrue(otherShape instanceof GeneratedConformEvaluator);
+        assertNotSame(first.getClass(), otherShape.getClass());
+        assertEquals(conformInterpreted(otherCriteria, buildRow("p7")), conform(otherShape, buildRow("p7")));
+    }
+
+    @Test
+    public void testNotGenerated() {
+        ExpressionBuilder builder = newBuilder();
+        // Arithmetic is conformed by the expression itself.
+        Expression criteria = ExpressionMath.add(builder.get("stock"), 1).equal(11);
+        ConformEvaluator evaluator = new CompiledExpression(descriptor).buildEvaluator(criteria, session, buildRow("p7"));
+        assertFalse(evaluator instanceof GeneratedConformEvaluator);
+        assertEquals(conformInterpreted(criteria, buildRow("p7")), conform(evaluator, buildRow("p7")));
+    }
+
+    @Test
+    public void testQueryCache() {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        Expression criteria = buildCriteria(builder);
+        AbstractRecord row = buildRow("p7");
+        Vector generated = session.getIdentityMapAccessorInstance().getAllFromIdentityMap(criteria, Product.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false, new CompiledExpression(descriptor));
+        assertEquals(conformInterpreted(criteria, row), ids(generated));
+
+        Object first = session.getIdentityMapAccessorInstance().getFromIdentityMap(criteria, Product.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false, false, descriptor, new CompiledExpression(descriptor));
+        assertTrue(generated.contains(first));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionMath;
+import org.eclipse.persistence.internal.expressions.ConformEvaluator;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests in-memory querying of the cache with compiled selection criteria, sequentially and in parallel.
+ */
+public class InMemoryConformTest {
+
+    public static class Item {
+        public long id;
+        public String category;
+        public Integer price;
+
+        public Item() {
+        }
+
+        public Item(long id, String category, Integer price) {
+            this.id = id;
+            this.category = category;
+            this.price = price;
+        }
+    }
+
+    private static final int SIZE = 1000;
+
+    private DatabaseSessionImpl session;
+
+    @Before
+    public void setUp() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.setTableName("ITEM");
+        descriptor.addPrimaryKeyFieldName("ITEM.ID");
+        descriptor.addDirectMapping("id", "ITEM.ID");
+        descriptor.addDirectMapping("category", "ITEM.CATEGORY");
+        descriptor.addDirectMapping("price", "ITEM.PRICE");
+        descriptor.useFullIdentityMap();
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        session = new DatabaseSessionImpl(project);
+        session.setLogLevel(SessionLog.OFF);
+        session.initializeDescriptors();
+        for (int index = 0; index < SIZE; index++) {
+            session.getIdentityMapAccessor().putInIdentityMap(new Item(index, "c" + (index % 10), (index % 7 == 0) ? null : Integer.valueOf(index)));
+        }
+    }
+
+    private Expression buildCriteria(ExpressionBuilder builder) {
+        return builder.get("category").equal("c3").and(builder.get("price").greaterThan(builder.getParameter("minPrice")))
+                .or(builder.get("category").like("c%5").and(builder.get("price").isNull()))
+                .or(builder.get("id").between(100, 110).and(builder.get("category").in(new String[] {"c1", "c2"}).not()));
+    }
+
+    private AbstractRecord buildRow() {
+        AbstractRecord row = new DatabaseRecord();
+        row.put("minPrice", Integer.valueOf(500));
+        return row;
+    }
+
+    private Vector query(Expression criteria) {
+        return session.getIdentityMapAccessorInstance().getAllFromIdentityMap(criteria, Item.class, buildRow(),
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false);
+    }
+
+    private HashSet<Long> conformInterpreted(Expression criteria) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Object item : query(null)) {
+            if (criteria.doesConform(item, session, buildRow(), InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION)) {
+                ids.add(((Item)item).id);
+            }
+        }
+        return ids;
+    }
+
+    private static HashSet<Long> ids(Vector items) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Object item : items) {
+            ids.add(((Item)item).id);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testCompile() {
+        ExpressionBuilder builder = new ExpressionBuilder(Item.class);
+        builder.setSession(session);
+        Expression criteria = buildCriteria(builder);
+        assertTrue(ConformEvaluator.compile(criteria, session, buildRow()).isCompiled());
+
+        // Arithmetic is conformed by the expression itself.
+        Expression arithmetic = ExpressionMath.add(builder.get("price"), 1).equal(501);
+        assertFalse(ConformEvaluator.compile(arithmetic, session, buildRow()).isCompiled());
+        assertFalse(ConformEvaluator.compile(criteria.and(arithmetic), session, buildRow()).isCompiled());
+    }
+
+    @Test
+    public void testCompiledConformsAsInterpreted() {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        Expression criteria = buildCriteria(builder);
+        HashSet<Long> interpreted = ids(query(criteria));
+        assertFalse(interpreted.isEmpty());
+        assertEquals(conformInterpreted(criteria), interpreted);
+
+        // The criteria is only compiled if parallel or compiled conforming is enabled.
+        assertFalse(ConformEvaluator.shouldCompile(session));
+        session.getProject().setParallelConformThreshold(SIZE + 1);
+        assertTrue(ConformEvaluator.shouldCompile(session));
+        assertEquals(interpreted, ids(query(criteria)));
+    }
+
+    @Test
+    public void testParallelConformsAsSequential() {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        Expression criteria = buildCriteria(builder);
+        HashSet<Long> sequential = ids(query(criteria));
+
+        session.getProject().setParallelConformThreshold(SIZE);
+        Vector parallel = query(criteria);
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential, ids(parallel));
+
+        // All the objects without selection criteria.
+        assertEquals(SIZE, query(null).size());
+
+        // Below the threshold the objects are conformed sequentially.
+        session.getProject().setParallelConformThreshold(SIZE + 1);
+        assertEquals(sequential, ids(query(criteria)));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.mapping;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.indirection.ValueHolderInterface;
+import org.eclipse.persistence.internal.indirection.QueryBasedValueHolder;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.AbstractSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.logging.SessionLogEntry;
+import org.eclipse.persistence.mappings.CollectionMapping;
+import org.eclipse.persistence.mappings.DirectToFieldMapping;
+import org.eclipse.persistence.mappings.OneToManyMapping;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the delete of a private owned collection that was never read, using a single statement.
+ */
+public class UnreadCollectionDeleteTest {
+
+    public static class Owner {
+        public BigDecimal id;
+        public ValueHolderInterface items;
+    }
+
+    public static class Item {
+        public BigDecimal id;
+        public BigDecimal ownerId;
+    }
+
+    /** Records the SQL statements executed. */
+    public static class SQLRecorder extends AbstractSessionLog {
+        public List<String> statements = new ArrayList<String>();
+
+        public SQLRecorder() {
+            setLevel(SessionLog.FINE);
+        }
+
+        @Override
+        public void log(SessionLogEntry entry) {
+            if (SessionLog.SQL.equals(entry.getNameSpace())) {
+                statements.add(entry.getMessage());
+            }
+        }
+    }
+
+    private Project project;
+    private DatabaseSessionImpl session;
+
+    @Before
+    public void setUp() {
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        project = new Project(login);
+        project.addDescriptor(ownerDescriptor());
+        project.addDescriptor(itemDescriptor());
+    }
+
+    /**
+     * Login, the descriptors are initialized with any listeners added to the project's descriptors.
+     */
+    private void login() {
+        session = (DatabaseSessionImpl)project.createDatabaseSession();
+        session.setLogLevel(SessionLog.OFF);
+        session.login();
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private static ClassDescriptor ownerDescriptor() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Owner.class);
+        descriptor.addTableName("OWNER");
+        descriptor.addPrimaryKeyFieldName("OWNER.ID");
+        descriptor.addDirectMapping("id", "OWNER.ID");
+
+        OneToManyMapping itemsMapping = new OneToManyMapping();
+        itemsMapping.setAttributeName("items");
+        itemsMapping.setReferenceClass(Item.class);
+        itemsMapping.useBasicIndirection();
+        itemsMapping.privateOwnedRelationship();
+        itemsMapping.addTargetForeignKeyFieldName("ITEM.OWNER_ID", "OWNER.ID");
+        descriptor.addMapping(itemsMapping);
+        return descriptor;
+    }
+
+    private static ClassDescriptor itemDescriptor() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.addTableName("ITEM");
+        descriptor.addPrimaryKeyFieldName("ITEM.ID");
+        descriptor.addDirectMapping("id", "ITEM.ID");
+        DirectToFieldMapping ownerIdMapping = new DirectToFieldMapping();
+        ownerIdMapping.setAttributeName("ownerId");
+        ownerIdMapping.setFieldName("ITEM.OWNER_ID");
+        descriptor.addMapping(ownerIdMapping);
+        return descriptor;
+    }
+
+    private Owner cacheOwner(int id) {
+        Owner owner = new Owner();
+        owner.id = new BigDecimal(id);
+        owner.items = new QueryBasedValueHolder(new ReadAllQuery(Item.class), new DatabaseRecord(), session);
+        session.getIdentityMapAccessor().putInIdentityMap(owner);
+        return owner;
+    }
+
+    private Item cacheItem(int id, int ownerId) {
+        Item item = new Item();
+        item.id = new BigDecimal(id);
+        item.ownerId = new BigDecimal(ownerId);
+        session.getIdentityMapAccessor().putInIdentityMap(item);
+        return item;
+    }
+
+    @Test
+    public void testInternalListenersAllowDeleteAll() {
+        // The bean validation listener is registered as an internal listener before login.
+        project.getClassDescriptor(Item.class).getEventManager().addInternalListener(new DescriptorEventAdapter());
+        login();
+        assertFalse(session.getDescriptor(Item.class).getEventManager().hasDeleteEventListeners());
+
+        CollectionMapping mapping = (CollectionMapping)session.getDescriptor(Owner.class).getMappingForAttributeName("items");
+        assertFalse(mapping.mustDeleteReferenceObjectsOneByOne());
+
+        Owner owner = cacheOwner(1);
+        SQLRecorder recorder = new SQLRecorder();
+        session.setSessionLog(recorder);
+        UnitOfWork uow = session.acquireUnitOfWork();
+        uow.deleteObject(uow.registerObject(owner));
+        uow.commit();
+
+        // The unread items are deleted by one statement on the foreign key, without being read.
+        List<String> itemStatements = new ArrayList<String>();
+        for (String statement : recorder.statements) {
+            if (statement.contains("ITEM")) {
+                itemStatements.add(statement);
+            }
+        }
+        assertEquals(itemStatements.toString(), 1, itemStatements.size());
+        assertTrue(itemStatements.get(0), itemStatements.get(0).startsWith("DELETE FROM ITEM WHERE (OWNER_ID = "));
+    }
+
+    @Test
+    public void testDeleteEventListeners() {
+        login();
+        ClassDescriptor descriptor = session.getDescriptor(Item.class);
+        descriptor.getEventManager().setPreDeleteSelector("preDelete");
+        assertTrue(descriptor.getEventManager().hasDeleteEventListeners());
+
+        descriptor = session.getDescriptor(Owner.class);
+        descriptor.getEventManager().addListener(new DescriptorEventAdapter());
+        assertTrue(descriptor.getEventManager().hasDeleteEventListeners());
+    }
+
+    @Test
+    public void testInvalidationDeferredToCommit() {
+        login();
+        Owner owner = cacheOwner(1);
+        Item item = cacheItem(1, 1);
+
+        UnitOfWork uow = session.acquireUnitOfWork();
+        uow.deleteObject(uow.registerObject(owner));
+        uow.writeChanges();
+        assertTrue("Cache must not be invalidated before commit", session.getIdentityMapAccessor().isValid(item));
+
+        uow.commit();
+        assertFalse("Cache must be invalidated after commit", session.getIdentityMapAccessor().isValid(item));
+    }
+
+    @Test
+    public void testInvalidationDiscardedOnRollback() {
+        login();
+        Owner owner = cacheOwner(1);
+        Item item = cacheItem(1, 1);
+
+        UnitOfWork uow = session.acquireUnitOfWork();
+        uow.deleteObject(uow.registerObject(owner));
+        uow.writeChanges();
+        uow.release();
+        assertTrue("Cache must not be invalidated on rollback", session.getIdentityMapAccessor().isValid(item));
+    }
+}
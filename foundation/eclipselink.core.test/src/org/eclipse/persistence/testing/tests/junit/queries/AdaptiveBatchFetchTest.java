@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.internal.databaseaccess.ArrayBindCallCustomParameter;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.eclipse.persistence.internal.queries.BatchFetchStatistics;
+import org.eclipse.persistence.mappings.OneToManyMapping;
+import org.eclipse.persistence.platform.database.PostgreSQLPlatform;
+import org.eclipse.persistence.queries.BatchFetchPolicy;
+import org.junit.Test;
+
+/**
+ * Tests the choice of the batch fetch type by adaptive batch fetching,
+ * and the array binding of IN batch fetching.
+ */
+public class AdaptiveBatchFetchTest {
+
+    private static void record(BatchFetchStatistics statistics, BatchFetchType type, long time) {
+        for (int index = 0; index < BatchFetchStatistics.MIN_SAMPLES; index++) {
+            statistics.recordTime(type, time);
+        }
+    }
+
+    @Test
+    public void testSingleBatchUsesIN() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        assertEquals(BatchFetchType.IN, statistics.chooseType(10, 500));
+        assertEquals(10, statistics.getLastSourceRows());
+    }
+
+    @Test
+    public void testEachTypeMeasured() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        assertEquals(BatchFetchType.JOIN, statistics.chooseType(5000, 500));
+        record(statistics, BatchFetchType.JOIN, 1000);
+        assertEquals(BatchFetchType.EXISTS, statistics.chooseType(5000, 500));
+        record(statistics, BatchFetchType.EXISTS, 1000);
+        assertEquals(BatchFetchType.IN, statistics.chooseType(5000, 500));
+    }
+
+    @Test
+    public void testLowestExpectedCost() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        record(statistics, BatchFetchType.JOIN, 1000);
+        record(statistics, BatchFetchType.EXISTS, 5000);
+        record(statistics, BatchFetchType.IN, 200);
+        // One IN query is cheaper than the join.
+        assertEquals(BatchFetchType.IN, statistics.chooseType(100, 500));
+        // Ten IN queries are more expensive than the join.
+        assertEquals(BatchFetchType.JOIN, statistics.chooseType(5000, 500));
+        assertEquals(200, statistics.getAverageTime(BatchFetchType.IN));
+        assertEquals(BatchFetchStatistics.MIN_SAMPLES, statistics.getSamples(BatchFetchType.IN));
+    }
+
+    @Test
+    public void testNoSourceRowsDoesNotUseIN() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        record(statistics, BatchFetchType.JOIN, 5000);
+        record(statistics, BatchFetchType.EXISTS, 1000);
+        for (int index = 0; index < BatchFetchStatistics.RETRY_INTERVAL * 2; index++) {
+            assertFalse(statistics.chooseType(-1, 500) == BatchFetchType.IN);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRetried() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        record(statistics, BatchFetchType.JOIN, 1000);
+        record(statistics, BatchFetchType.EXISTS, 5000);
+        record(statistics, BatchFetchType.IN, 5000);
+        int retries = 0;
+        for (int index = 0; index < BatchFetchStatistics.RETRY_INTERVAL; index++) {
+            if (statistics.chooseType(1000, 500) != BatchFetchType.JOIN) {
+                retries++;
+            }
+        }
+        assertEquals(1, retries);
+    }
+
+    @Test
+    public void testMovingAverage() {
+        BatchFetchStatistics statistics = new BatchFetchStatistics();
+        statistics.recordTime(BatchFetchType.JOIN, 1000);
+        statistics.recordTime(BatchFetchType.JOIN, 2000);
+        assertEquals(1200, statistics.getAverageTime(BatchFetchType.JOIN));
+        assertEquals(1, BatchFetchStatistics.numberOfINQueries(500, 500));
+        assertEquals(2, BatchFetchStatistics.numberOfINQueries(501, 500));
+    }
+
+    @Test
+    public void testPolicyAdaptiveType() {
+        BatchFetchPolicy policy = new BatchFetchPolicy(BatchFetchType.ADAPTIVE);
+        OneToManyMapping mapping = new OneToManyMapping();
+        assertTrue(policy.isADAPTIVE(mapping));
+        // JOIN until a type is chosen for the execution.
+        assertEquals(BatchFetchType.JOIN, policy.getType(mapping));
+        assertFalse(policy.isIN(mapping));
+
+        policy.setAdaptiveType(mapping, BatchFetchType.IN);
+        assertEquals(BatchFetchType.IN, policy.getType(mapping));
+        assertTrue(policy.isIN(mapping));
+        assertFalse(policy.isIN());
+
+        BatchFetchPolicy clone = policy.clone();
+        assertEquals(BatchFetchType.IN, clone.getAdaptiveType(mapping));
+        clone.setAdaptiveType(mapping, BatchFetchType.EXISTS);
+        assertEquals(BatchFetchType.IN, policy.getAdaptiveType(mapping));
+
+        // The mapping's type overrides the query's.
+        OneToManyMapping existsMapping = new OneToManyMapping();
+        existsMapping.setBatchFetchType(BatchFetchType.EXISTS);
+        assertFalse(policy.isADAPTIVE(existsMapping));
+        assertEquals(BatchFetchType.EXISTS, policy.getType(existsMapping));
+    }
+
+    @Test
+    public void testArrayBatchParameter() {
+        List values = Arrays.asList(1L, 2L, 3L);
+        PostgreSQLPlatform platform = new PostgreSQLPlatform();
+        assertSame(values, platform.buildBatchFetchParameter(values));
+
+        platform.setShouldUseArrayBindingForBatchFetch(true);
+        Object parameter = platform.buildBatchFetchParameter(values);
+        assertTrue(parameter instanceof ArrayBindCallCustomParameter);
+        assertEquals(values, ((ArrayBindCallCustomParameter)parameter).getValues());
+        assertEquals("BIGINT", ((ArrayBindCallCustomParameter)parameter).getElementTypeName());
+
+        // Composite keys are still passed as nested lists.
+        List compositeValues = Arrays.asList(Arrays.asList(1L, "a"));
+        assertSame(compositeValues, platform.buildBatchFetchParameter(compositeValues));
+
+        // Platforms that do not support array binding ignore the setting.
+        DatabasePlatform defaultPlatform = new DatabasePlatform();
+        defaultPlatform.setShouldUseArrayBindingForBatchFetch(true);
+        assertFalse(defaultPlatform.shouldUseArrayBindingForBatchFetch());
+        assertSame(values, defaultPlatform.buildBatchFetchParameter(values));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.eclipse.persistence.queries.ColumnarReportQueryResult;
+import org.eclipse.persistence.queries.ReportQuery;
+import org.junit.Test;
+
+/**
+ * Tests the storage of report query results by column.
+ */
+public class ColumnarReportQueryResultTest {
+
+    private ColumnarReportQueryResult buildResult(int rows) {
+        ColumnarReportQueryResult result = new ColumnarReportQueryResult(Arrays.asList("name", "count", "average", "total"), 2);
+        for (int index = 0; index < rows; index++) {
+            result.addRow(new Object[] {"n" + index, Long.valueOf(index), (index % 4 == 0) ? null : Double.valueOf(index / 2.0), new BigDecimal(index)});
+        }
+        result.trimToSize();
+        return result;
+    }
+
+    @Test
+    public void testPrimitiveColumns() {
+        ColumnarReportQueryResult result = buildResult(10);
+        assertEquals(10, result.size());
+        assertEquals(4, result.getColumnCount());
+        assertTrue(result.isLongColumn(1));
+        assertTrue(result.isDoubleColumn(2));
+        assertFalse(result.isLongColumn(0));
+        assertFalse(result.isDoubleColumn(3));
+
+        long[] counts = result.getLongColumn("count");
+        assertEquals(10, counts.length);
+        assertEquals(7L, counts[7]);
+        assertEquals(7L, result.getLong(7, 1));
+
+        double[] averages = result.getDoubleColumn(2);
+        assertEquals(10, averages.length);
+        assertEquals(2.5, averages[5], 0.0);
+        assertTrue(result.isNull(4, 2));
+        assertFalse(result.isNull(5, 2));
+        assertNull(result.getValue(4, 2));
+
+        assertEquals("n3", result.getColumn(0)[3]);
+        assertEquals(new BigDecimal(3), result.getColumn("total")[3]);
+    }
+
+    @Test
+    public void testRows() {
+        ColumnarReportQueryResult result = buildResult(5);
+        Object[] row = result.get(3);
+        assertEquals("n3", row[0]);
+        assertEquals(Long.valueOf(3), row[1]);
+        assertEquals(Double.valueOf(1.5), row[2]);
+        assertEquals(new BigDecimal(3), row[3]);
+        assertNull(result.get(0)[2]);
+        assertEquals(5, result.stream().count());
+        try {
+            result.get(5);
+            fail("IndexOutOfBoundsException expected");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void testValueClassPreserved() {
+        ColumnarReportQueryResult result = new ColumnarReportQueryResult(Arrays.asList("id", "ratio"), 0);
+        result.addRow(new Object[] {Integer.valueOf(1), Float.valueOf(0.5f)});
+        result.addRow(new Object[] {Integer.valueOf(2), Float.valueOf(1.5f)});
+        assertTrue(result.isLongColumn(0));
+        assertEquals(Integer.valueOf(2), result.getValue(1, 0));
+        assertEquals(Float.valueOf(1.5f), result.getValue(1, 1));
+    }
+
+    @Test
+    public void testMixedValuesStoredAsObjects() {
+        ColumnarReportQueryResult result = new ColumnarReportQueryResult(Arrays.asList("value"), 1);
+        result.addRow(new Object[] {null});
+        result.addRow(new Object[] {Long.valueOf(1)});
+        result.addRow(new Object[] {Integer.valueOf(2)});
+        result.addRow(new Object[] {null});
+        assertFalse(result.isLongColumn(0));
+        assertNull(result.getValue(0, 0));
+        assertEquals(Long.valueOf(1), result.getValue(1, 0));
+        assertEquals(Integer.valueOf(2), result.getValue(2, 0));
+        assertTrue(result.isNull(3, 0));
+        try {
+            result.getLongColumn(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testReturnColumnar() {
+        ReportQuery query = new ReportQuery();
+        assertFalse(query.shouldReturnColumnar());
+        query.returnColumnar();
+        assertTrue(query.shouldReturnColumnar());
+        assertEquals(ReportQuery.ShouldReturnColumnar, query.getReturnType());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.queries.FetchGroup;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.junit.Test;
+
+/**
+ * Tests the equality of queries used as the key of the descriptor's expression query cache.
+ * Queries that only differ in their pagination values share the prepared call,
+ * but the pagination shape, fetch group and batch fetching are part of the key.
+ */
+public class ExpressionQueryCacheKeyTest {
+
+    private static ReadAllQuery buildQuery() {
+        ReadAllQuery query = new ReadAllQuery(String.class);
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(builder.get("name").equal(builder.getParameter("name")));
+        query.addArgument("name");
+        return query;
+    }
+
+    @Test
+    public void testDefaultQueriesEqual() {
+        ReadAllQuery query = buildQuery();
+        ReadAllQuery other = buildQuery();
+        assertTrue(query.isCacheableExpressionQuery());
+        assertEquals(query, other);
+        assertEquals(query.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void testPaginationValues() {
+        ReadAllQuery query = buildQuery();
+        query.setFirstResult(10);
+        query.setMaxRows(20);
+        ReadAllQuery other = buildQuery();
+        other.setFirstResult(30);
+        other.setMaxRows(40);
+        assertFalse(query.isDefaultPropertiesQuery());
+        assertTrue(query.isCacheableExpressionQuery());
+        assertEquals(query, other);
+    }
+
+    @Test
+    public void testPaginationShape() {
+        ReadAllQuery query = buildQuery();
+        query.setMaxRows(20);
+        ReadAllQuery other = buildQuery();
+        other.setFirstResult(10);
+        other.setMaxRows(20);
+        assertFalse(query.equals(other));
+        assertFalse(query.equals(buildQuery()));
+    }
+
+    @Test
+    public void testFetchGroup() {
+        ReadAllQuery query = buildQuery();
+        FetchGroup fetchGroup = new FetchGroup();
+        fetchGroup.addAttribute("name");
+        query.setFetchGroup(fetchGroup);
+        ReadAllQuery other = buildQuery();
+        FetchGroup otherFetchGroup = new FetchGroup();
+        otherFetchGroup.addAttribute("name");
+        other.setFetchGroup(otherFetchGroup);
+        assertTrue(query.isCacheableExpressionQuery());
+        assertEquals(query, other);
+        otherFetchGroup.addAttribute("id");
+        assertFalse(query.equals(other));
+        assertFalse(query.equals(buildQuery()));
+    }
+
+    @Test
+    public void testBatchFetch() {
+        ReadAllQuery query = buildQuery();
+        query.addBatchReadAttribute("address");
+        ReadAllQuery other = buildQuery();
+        other.addBatchReadAttribute("address");
+        assertTrue(query.isCacheableExpressionQuery());
+        assertEquals(query, other);
+        other.setBatchFetchType(BatchFetchType.IN);
+        assertFalse(query.equals(other));
+        assertFalse(query.equals(buildQuery()));
+    }
+
+    @Test
+    public void testFetchSizeNotCacheable() {
+        ReadAllQuery query = buildQuery();
+        query.setFetchSize(100);
+        assertFalse(query.isCacheableExpressionQuery());
+        assertFalse(query.equals(buildQuery()));
+    }
+}
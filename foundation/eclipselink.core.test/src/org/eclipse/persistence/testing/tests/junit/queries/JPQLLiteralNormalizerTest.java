@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.eclipse.persistence.internal.jpa.jpql.JPQLLiteralNormalizer;
+import org.junit.Test;
+
+/**
+ * Tests the rewrite of JPQL literals into parameters.
+ */
+public class JPQLLiteralNormalizerTest {
+
+    @Test
+    public void testComparisonLiterals() {
+        JPQLLiteralNormalizer normalizer = JPQLLiteralNormalizer.normalize(
+                "SELECT e FROM Employee e WHERE e.status = 'ACTIVE' AND e.id = 42");
+        assertEquals("SELECT e FROM Employee e WHERE e.status = :EL_JPQL_LITERAL_0 AND e.id = :EL_JPQL_LITERAL_1",
+                normalizer.getJPQLQuery());
+        assertEquals(Arrays.asList("ACTIVE", 42), normalizer.getLiteralValues());
+    }
+
+    @Test
+    public void testSameNormalizedText() {
+        String first = JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.name = 'Bob' ORDER BY e.id").getJPQLQuery();
+        String second = JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.name = 'O''Neil' ORDER BY e.id").getJPQLQuery();
+        assertEquals(first, second);
+        assertEquals("O'Neil", JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.name = 'O''Neil'").getLiteralValues().get(0));
+    }
+
+    @Test
+    public void testNumericTypes() {
+        JPQLLiteralNormalizer normalizer = JPQLLiteralNormalizer.normalize(
+                "SELECT e FROM Employee e WHERE (e.a > 5000000000 OR e.b <= 7L) AND e.c <> 1.5 AND e.d >= 2.5F");
+        assertEquals(Arrays.asList(5000000000L, 7L, 1.5d, 2.5f), normalizer.getLiteralValues());
+    }
+
+    @Test
+    public void testDenyListedLiterals() {
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.name LIKE 'B%' ESCAPE '\\'"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE TYPE(e) = 'Manager'"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE UPPER(e.name) = 'BOB'"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.id IN (1, 2) OR e.id BETWEEN 5 AND 7"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.salary = 100 + 1"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.salary = -1"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.hired = {d '2020-01-01'}"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT CASE WHEN e.id = 1 THEN 'one' ELSE 'other' END FROM Employee e"));
+        assertNull(JPQLLiteralNormalizer.normalize("UPDATE Employee e SET e.salary = 1"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e JOIN e.phones p ON p.type = 'work'"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.id = ?1 AND e.name = 'Bob'"));
+        assertNull(JPQLLiteralNormalizer.normalize("SELECT e FROM Employee e WHERE e.name = :name"));
+    }
+
+    @Test
+    public void testUpdateWhereClause() {
+        JPQLLiteralNormalizer normalizer = JPQLLiteralNormalizer.normalize("UPDATE Employee e SET e.salary = 1 WHERE e.id = 2");
+        assertEquals("UPDATE Employee e SET e.salary = 1 WHERE e.id = :EL_JPQL_LITERAL_0", normalizer.getJPQLQuery());
+        assertEquals(Arrays.asList(2), normalizer.getLiteralValues());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionOperator;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.queries.KeysetToken;
+import org.eclipse.persistence.platform.database.PostgreSQLPlatform;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.junit.Test;
+
+/**
+ * Tests the keyset pagination criteria and continuation tokens.
+ */
+public class KeysetPaginationTest {
+
+    private static ReadAllQuery buildQuery(boolean isMixedDirection) {
+        ExpressionBuilder builder = new ExpressionBuilder();
+        ReadAllQuery query = new ReadAllQuery(Object.class, builder);
+        query.addOrdering(builder.get("lastName").ascending());
+        if (isMixedDirection) {
+            query.addOrdering(builder.get("id").descending());
+        } else {
+            query.addOrdering(builder.get("id").ascending().nullsLast());
+        }
+        return query;
+    }
+
+    @Test
+    public void testTokenRoundTrip() {
+        Object[] afterKey = new Object[] {"Smith", Long.valueOf(42), new BigDecimal("12.50"),
+                Timestamp.valueOf("2021-03-04 05:06:07.123456789"), LocalDate.of(2021, 3, 4), UUID.randomUUID(), Boolean.TRUE};
+        String token = KeysetToken.encode(afterKey);
+        // The token is safe to use in URLs.
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertArrayEquals(afterKey, KeysetToken.decode(token));
+    }
+
+    @Test
+    public void testInvalidToken() {
+        for (String token : new String[] {"", "not a token", "AQ", KeysetToken.encode(new Object[] {"a"}) + "AA"}) {
+            try {
+                KeysetToken.decode(token);
+                fail("Token should be invalid: " + token);
+            } catch (QueryException expected) {
+                assertEquals(QueryException.INVALID_KEYSET_CONTINUATION_TOKEN, expected.getErrorCode());
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupportedValue() {
+        try {
+            KeysetToken.encode(new Object[] {new Object()});
+            fail("Only basic value types should be supported.");
+        } catch (QueryException expected) {
+            assertEquals(QueryException.INVALID_KEYSET_AFTER_KEY, expected.getErrorCode());
+        }
+        try {
+            KeysetToken.encode(new Object[] {"a", null});
+            fail("Null values should not be supported.");
+        } catch (QueryException expected) {
+            assertEquals(QueryException.INVALID_KEYSET_AFTER_KEY, expected.getErrorCode());
+        }
+    }
+
+    @Test
+    public void testRowValueCriteria() {
+        Expression criteria = buildQuery(false).buildKeysetCriteria(new PostgreSQLPlatform());
+        assertTrue(criteria.isFunctionExpression());
+        // The keys and the after key parameters.
+        assertEquals(4, ((FunctionExpression)criteria).getChildren().size());
+        assertEquals(ExpressionOperator.FunctionOperator, ((FunctionExpression)criteria).getOperator().getType());
+        assertTrue(((FunctionExpression)criteria).getChildren().get(3).isParameterExpression());
+    }
+
+    @Test
+    public void testExpandedCriteria() {
+        // Mixed directions cannot use a row value comparison.
+        Expression criteria = buildQuery(true).buildKeysetCriteria(new PostgreSQLPlatform());
+        assertTrue(criteria.isLogicalExpression());
+        assertEquals(ExpressionOperator.Or, criteria.getOperator().getSelector());
+
+        // Platforms without row value comparisons.
+        criteria = buildQuery(false).buildKeysetCriteria(new DatabasePlatform());
+        assertTrue(criteria.isLogicalExpression());
+        assertEquals(ExpressionOperator.Or, criteria.getOperator().getSelector());
+    }
+
+    @Test
+    public void testAfterKeyPrepare() {
+        ReadAllQuery query = buildQuery(false);
+        ReadAllQuery page = buildQuery(false);
+        assertFalse(query.hasAfterKey());
+        query.setIsPrepared(true);
+        query.setAfterKey(new Object[] {"Smith", Long.valueOf(1)});
+        assertFalse(query.isPrepared());
+        assertTrue(query.hasAfterKey());
+        // Keyset paginated queries share their SQL for any page, but not with the first page.
+        assertFalse(query.equals(page));
+        page.setAfterKey(new Object[] {"Jones", Long.valueOf(2)});
+        assertTrue(query.equals(page));
+
+        // Other pages do not need to be prepared again.
+        query.setIsPrepared(true);
+        query.setAfterKey(new Object[] {"Jones", Long.valueOf(2)});
+        assertTrue(query.isPrepared());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.queries.LazyLoadDetector;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.BatchFetchPolicy;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the detection of queries triggering many lazy loads, and the auto batch fetching settings.
+ */
+public class LazyLoadDetectionTest {
+
+    public static class Employee {
+        public long id;
+        public String name;
+    }
+
+    private DatabaseSessionImpl session;
+    private PerformanceMonitor monitor;
+
+    @Before
+    public void setUp() {
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("name", "EMPLOYEE.NAME");
+        project.addDescriptor(descriptor);
+        session = new DatabaseSessionImpl(project);
+        session.setLogLevel(SessionLog.OFF);
+        monitor = new PerformanceMonitor();
+        session.setProfiler(monitor);
+    }
+
+    @After
+    public void tearDown() {
+        if (session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    @Test
+    public void testDetectorSharedByExecution() {
+        ReadAllQuery sourceQuery = new ReadAllQuery();
+        LazyLoadDetector detector = LazyLoadDetector.getDetector(sourceQuery, 5);
+        assertSame(detector, LazyLoadDetector.getDetector(sourceQuery, 5));
+        assertNotSame(detector, LazyLoadDetector.getDetector(new ReadAllQuery(), 5));
+        assertEquals(5, detector.getThreshold());
+    }
+
+    @Test
+    public void testThresholdExceeded() {
+        ReadAllQuery sourceQuery = new ReadAllQuery();
+        sourceQuery.setName("findAll");
+        LazyLoadDetector detector = LazyLoadDetector.getDetector(sourceQuery, 2);
+        ReadObjectQuery lazyQuery = new ReadObjectQuery();
+
+        detector.lazyLoaded(lazyQuery, session);
+        detector.lazyLoaded(lazyQuery, session);
+        assertNull(monitor.getOperationTimings().get(SessionProfiler.LazyLoadThresholdExceeded));
+
+        detector.lazyLoaded(lazyQuery, session);
+        detector.lazyLoaded(lazyQuery, session);
+        assertEquals(4, detector.getLoads());
+        assertEquals(Long.valueOf(4), monitor.getOperationTimings().get(SessionProfiler.LazyLoads));
+        // The query is only reported once.
+        assertEquals(Long.valueOf(1), monitor.getOperationTimings().get(SessionProfiler.LazyLoadThresholdExceeded));
+        assertEquals(Long.valueOf(1), monitor.getOperationTimings().get(SessionProfiler.LazyLoadThresholdExceeded + ":" + detector.getQueryName()));
+        assertEquals(Integer.valueOf(4), monitor.getOperationTimings().get(SessionProfiler.LazyLoadsPerQuery + ":" + detector.getQueryName()));
+    }
+
+    @Test
+    public void testAutoBatchFetchDefault() {
+        ReadAllQuery query = new ReadAllQuery();
+        query.setSession(session);
+        assertFalse(query.shouldAutoBatchFetch());
+
+        session.getProject().setShouldAutoBatchFetch(true);
+        assertTrue(query.shouldAutoBatchFetch());
+
+        // The query setting overrides the project default.
+        query.setShouldAutoBatchFetch(false);
+        assertFalse(query.shouldAutoBatchFetch());
+        session.getProject().setShouldAutoBatchFetch(false);
+        query.setShouldAutoBatchFetch(true);
+        assertTrue(query.shouldAutoBatchFetch());
+        assertFalse(query.isPrepared());
+        assertFalse(query.isAutoBatchFetched());
+    }
+
+    @Test
+    public void testAutoBatchPolicyCloned() {
+        BatchFetchPolicy policy = new BatchFetchPolicy(BatchFetchType.IN);
+        assertFalse(policy.isAutoBatch());
+        policy.setIsAutoBatch(true);
+        assertTrue(policy.clone().isAutoBatch());
+
+        ReadAllQuery query = new ReadAllQuery();
+        query.setBatchFetchPolicy(policy);
+        assertTrue(query.isAutoBatchFetched());
+    }
+
+    private ReadAllQuery prepareQuery(Boolean shouldAutoBatchFetch) {
+        ReadAllQuery query = new ReadAllQuery(Employee.class);
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(builder.get("name").equal(builder.getParameter("name")));
+        query.addArgument("name");
+        if (shouldAutoBatchFetch != null) {
+            query.setShouldAutoBatchFetch(shouldAutoBatchFetch.booleanValue());
+        }
+        query.checkPrepare(session, new DatabaseRecord());
+        return query;
+    }
+
+    @Test
+    public void testAutoBatchFetchSameQueryTwice() {
+        session.login();
+        assertTrue(prepareQuery(Boolean.TRUE).isAutoBatchFetched());
+        // The second query is prepared from the cached expression query.
+        assertTrue(prepareQuery(Boolean.TRUE).isAutoBatchFetched());
+
+        // Without auto batch fetching the query does not share the auto batch fetch policy.
+        ReadAllQuery query = prepareQuery(Boolean.FALSE);
+        assertFalse(query.shouldAutoBatchFetch());
+        assertFalse(query.isAutoBatchFetched());
+        query = prepareQuery(null);
+        assertFalse(query.shouldAutoBatchFetch());
+        assertFalse(query.isAutoBatchFetched());
+    }
+}
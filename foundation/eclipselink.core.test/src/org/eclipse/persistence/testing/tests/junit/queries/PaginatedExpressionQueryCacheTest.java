@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.descriptors.FetchGroupManager;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.FetchGroup;
+import org.eclipse.persistence.queries.FetchGroupTracker;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests queries for different pages with a fetch group sharing the prepared SQL
+ * through the descriptor's expression query cache, each using its own clone of the call.
+ */
+public class PaginatedExpressionQueryCacheTest {
+
+    public static class Employee implements FetchGroupTracker {
+        public long id;
+        public String name;
+        public String salary;
+        protected FetchGroup fetchGroup;
+        protected boolean shouldRefreshFetchGroup;
+        protected Session session;
+
+        @Override
+        public FetchGroup _persistence_getFetchGroup() {
+            return this.fetchGroup;
+        }
+
+        @Override
+        public void _persistence_setFetchGroup(FetchGroup group) {
+            this.fetchGroup = group;
+        }
+
+        @Override
+        public boolean _persistence_isAttributeFetched(String attribute) {
+            return (this.fetchGroup == null) || this.fetchGroup.containsAttributeInternal(attribute);
+        }
+
+        @Override
+        public void _persistence_resetFetchGroup() {
+        }
+
+        @Override
+        public boolean _persistence_shouldRefreshFetchGroup() {
+            return this.shouldRefreshFetchGroup;
+        }
+
+        @Override
+        public void _persistence_setShouldRefreshFetchGroup(boolean shouldRefreshFetchGroup) {
+            this.shouldRefreshFetchGroup = shouldRefreshFetchGroup;
+        }
+
+        @Override
+        public Session _persistence_getSession() {
+            return this.session;
+        }
+
+        @Override
+        public void _persistence_setSession(Session session) {
+            this.session = session;
+        }
+    }
+
+    private DatabaseSessionImpl session;
+
+    @Before
+    public void setUp() {
+        DatabaseLogin login = new DatabaseLogin();
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("name", "EMPLOYEE.NAME");
+        descriptor.addDirectMapping("salary", "EMPLOYEE.SALARY");
+        descriptor.setFetchGroupManager(new FetchGroupManager());
+        project.addDescriptor(descriptor);
+        session = (DatabaseSessionImpl)project.createDatabaseSession();
+        session.setLogLevel(SessionLog.OFF);
+        session.login();
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private ReadAllQuery prepareQuery(int firstResult, int maxRows, String fetchedAttribute) {
+        ReadAllQuery query = new ReadAllQuery(Employee.class);
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(builder.get("name").equal(builder.getParameter("name")));
+        query.addArgument("name");
+        FetchGroup fetchGroup = new FetchGroup();
+        fetchGroup.addAttribute(fetchedAttribute);
+        query.setFetchGroup(fetchGroup);
+        query.setFirstResult(firstResult);
+        query.setMaxRows(maxRows);
+        query.checkPrepare(session, new DatabaseRecord());
+        return query;
+    }
+
+    @Test
+    public void testPagesShareSQL() {
+        ReadAllQuery firstPage = prepareQuery(10, 20, "name");
+        DatabaseCall firstCall = (DatabaseCall)firstPage.getCall();
+        int firstMaxRows = firstCall.getMaxRows();
+        int firstFirstResult = firstCall.getFirstResult();
+
+        ReadAllQuery secondPage = prepareQuery(30, 40, "name");
+        DatabaseCall secondCall = (DatabaseCall)secondPage.getCall();
+        assertNotSame("The shared call must be cloned", firstCall, secondCall);
+        assertEquals(firstCall.getSQLString(), secondCall.getSQLString());
+        assertEquals(30, secondCall.getFirstResult());
+        assertSame(secondPage, secondCall.getQuery());
+
+        // The cached query's call is not reconfigured for the other page.
+        assertSame(firstCall, firstPage.getCall());
+        assertEquals(firstMaxRows, firstCall.getMaxRows());
+        assertEquals(firstFirstResult, firstCall.getFirstResult());
+        assertSame(firstPage, firstCall.getQuery());
+    }
+
+    @Test
+    public void testOtherFetchGroupNotShared() {
+        ReadAllQuery names = prepareQuery(10, 20, "name");
+        ReadAllQuery salaries = prepareQuery(30, 40, "salary");
+        assertNotSame(names.getCall(), salaries.getCall());
+        assertFalse(names.getCall().getSQLString().equals(salaries.getCall().getSQLString()));
+    }
+}
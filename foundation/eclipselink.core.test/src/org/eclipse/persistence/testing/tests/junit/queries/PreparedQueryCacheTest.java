@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.queries;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.internal.queries.PreparedQueryCache;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the prepared query cache used for criteria queries, and its profiler statistics.
+ */
+public class PreparedQueryCacheTest {
+
+    private DatabaseSessionImpl session;
+    private PerformanceMonitor monitor;
+
+    @Before
+    public void setUp() {
+        session = new DatabaseSessionImpl(new Project(new DatabaseLogin()));
+        monitor = new PerformanceMonitor();
+        session.setProfiler(monitor);
+    }
+
+    private static DatabaseQuery preparedQuery() {
+        ReadAllQuery query = new ReadAllQuery();
+        query.setIsPrepared(true);
+        return query;
+    }
+
+    @Test
+    public void testMissThenHit() {
+        PreparedQueryCache cache = new PreparedQueryCache(10);
+        DatabaseQuery query = preparedQuery();
+        assertNull(cache.getPreparedQuery("key", session));
+        cache.putPreparedQuery("key", query, 1000);
+        assertSame(query, cache.getPreparedQuery("key", session));
+        assertSame(query, cache.getPreparedQuery("key", session));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2000, cache.getTimeSaved());
+        assertEquals(2.0 / 3.0, cache.getHitRate(), 0.0001);
+        assertEquals(Long.valueOf(2), monitor.getOperationTime(SessionProfiler.CriteriaQueryCacheHits));
+        assertEquals(Long.valueOf(1), monitor.getOperationTime(SessionProfiler.CriteriaQueryCacheMisses));
+        assertEquals(Long.valueOf(2000), monitor.getOperationTime(SessionProfiler.CriteriaQueryCacheTimeSaved));
+    }
+
+    @Test
+    public void testUnpreparedQueryIsMiss() {
+        PreparedQueryCache cache = new PreparedQueryCache(10);
+        cache.putPreparedQuery("key", new ReadAllQuery(), 1000);
+        assertNull(cache.getPreparedQuery("key", session));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertNull(monitor.getOperationTime(SessionProfiler.CriteriaQueryCacheHits));
+        assertEquals(Long.valueOf(1), monitor.getOperationTime(SessionProfiler.CriteriaQueryCacheMisses));
+        assertEquals(0, cache.getTimeSaved());
+    }
+
+    @Test
+    public void testFixedSize() {
+        PreparedQueryCache cache = new PreparedQueryCache(2);
+        for (String key : new String[] {"one", "two", "three", "three"}) {
+            if (cache.getPreparedQuery(key, session) == null) {
+                cache.putPreparedQuery(key, preparedQuery(), 1);
+            }
+        }
+        assertEquals(2, cache.getCache().size());
+        assertNotNull(cache.getPreparedQuery("three", session));
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testProjectCacheSize() {
+        Project project = new Project();
+        // Caching binds the literals of criteria queries as parameters, so it is opt-in.
+        assertEquals(0, project.getCriteriaQueryCacheMaxSize());
+        project.getCriteriaQueryCache().putPreparedQuery("key", preparedQuery(), 1);
+        assertTrue(project.getCriteriaQueryCache().getCache().isEmpty());
+
+        project.setCriteriaQueryCacheMaxSize(200);
+        assertEquals(200, project.getCriteriaQueryCacheMaxSize());
+        project.getCriteriaQueryCache().putPreparedQuery("key", preparedQuery(), 1);
+        assertFalse(project.getCriteriaQueryCache().getCache().isEmpty());
+    }
+}
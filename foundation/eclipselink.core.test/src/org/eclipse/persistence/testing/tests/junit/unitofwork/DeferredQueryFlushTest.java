@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.unitofwork;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import org.eclipse.persistence.config.ReferenceMode;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.descriptors.changetracking.AttributeChangeTrackingPolicy;
+import org.eclipse.persistence.descriptors.changetracking.ChangeTracker;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.RepeatableWriteUnitOfWork;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.platform.database.DatabasePlatform;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedDriver;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the pending writes tracked by RepeatableWriteUnitOfWork to skip the flushes of queries
+ * reading tables without pending writes.
+ */
+public class DeferredQueryFlushTest {
+
+    public static class Tracked implements ChangeTracker {
+        public long id;
+        public String name;
+        protected PropertyChangeListener listener;
+
+        public void setName(String name) {
+            if (this.listener != null) {
+                this.listener.propertyChange(new PropertyChangeEvent(this, "name", this.name, name));
+            }
+            this.name = name;
+        }
+
+        @Override
+        public PropertyChangeListener _persistence_getPropertyChangeListener() {
+            return this.listener;
+        }
+
+        @Override
+        public void _persistence_setPropertyChangeListener(PropertyChangeListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    public static class Department extends Tracked {
+    }
+
+    public static class Employee extends Tracked {
+    }
+
+    public static class Note {
+        public long id;
+        public String name;
+    }
+
+    static class CountingUnitOfWork extends RepeatableWriteUnitOfWork {
+        int flushes;
+
+        CountingUnitOfWork(DatabaseSessionImpl session) {
+            super(session, ReferenceMode.HARD);
+            setShouldDeferQueryFlush(true);
+        }
+
+        @Override
+        public void writeChanges() {
+            this.flushes++;
+            super.writeChanges();
+        }
+    }
+
+    private DatabaseSessionImpl session;
+
+    private void login(DatabasePlatform platform) {
+        DatabaseLogin login = new DatabaseLogin(platform);
+        login.useDirectDriverConnect();
+        login.setDriverClass(EmulatedDriver.class);
+        login.setConnectionString("jdbc:emulateddriver");
+        Project project = new Project(login);
+        project.addDescriptor(descriptor(Department.class, "DEPARTMENT", true));
+        project.addDescriptor(descriptor(Employee.class, "EMPLOYEE", true));
+        project.addDescriptor(descriptor(Note.class, "NOTE", false));
+        session = (DatabaseSessionImpl)project.createDatabaseSession();
+        session.setLogLevel(SessionLog.OFF);
+        session.login();
+    }
+
+    @After
+    public void tearDown() {
+        if (session != null && session.isConnected()) {
+            session.logout();
+        }
+    }
+
+    private static RelationalDescriptor descriptor(Class javaClass, String table, boolean isChangeTracked) {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(javaClass);
+        descriptor.addTableName(table);
+        descriptor.addPrimaryKeyFieldName(table + ".ID");
+        descriptor.addDirectMapping("id", table + ".ID");
+        descriptor.addDirectMapping("name", table + ".NAME");
+        if (isChangeTracked) {
+            descriptor.setObjectChangePolicy(new AttributeChangeTrackingPolicy());
+        }
+        return descriptor;
+    }
+
+    private static ReadAllQuery queryByName(Class javaClass) {
+        ReadAllQuery query = new ReadAllQuery(javaClass);
+        query.setSelectionCriteria(query.getExpressionBuilder().get("name").equal("name"));
+        return query;
+    }
+
+    @Test
+    public void testNewObjectDefersQueryOnOtherTable() {
+        login(new DatabasePlatform());
+        CountingUnitOfWork uow = new CountingUnitOfWork(session);
+        Department department = new Department();
+        department.id = 1;
+        uow.registerNewObject(department);
+
+        uow.writeChangesForQuery(queryByName(Employee.class));
+        assertEquals(0, uow.flushes);
+        uow.writeChangesForQuery(queryByName(Department.class));
+        assertEquals(1, uow.flushes);
+        // The new object was written.
+        uow.writeChangesForQuery(queryByName(Department.class));
+        assertEquals(1, uow.flushes);
+        uow.release();
+    }
+
+    @Test
+    public void testChangedObjectForcesFlush() {
+        login(new DatabasePlatform());
+        Employee employee = new Employee();
+        employee.id = 1;
+        session.getIdentityMapAccessor().putInIdentityMap(employee);
+        CountingUnitOfWork uow = new CountingUnitOfWork(session);
+        Employee clone = (Employee)uow.registerObject(employee);
+
+        uow.writeChangesForQuery(queryByName(Employee.class));
+        assertEquals("Unchanged objects do not require a flush", 0, uow.flushes);
+        clone.setName("changed");
+        uow.writeChangesForQuery(queryByName(Department.class));
+        assertEquals(0, uow.flushes);
+        uow.writeChangesForQuery(queryByName(Employee.class));
+        assertEquals(1, uow.flushes);
+        uow.release();
+    }
+
+    @Test
+    public void testDeferredChangeDetectionForcesFlush() {
+        login(new DatabasePlatform());
+        Note note = new Note();
+        note.id = 1;
+        session.getIdentityMapAccessor().putInIdentityMap(note);
+        CountingUnitOfWork uow = new CountingUnitOfWork(session);
+        uow.registerObject(note);
+
+        // The changes of the note are only known once compared.
+        uow.writeChangesForQuery(queryByName(Note.class));
+        assertEquals(1, uow.flushes);
+        uow.writeChangesForQuery(queryByName(Department.class));
+        assertEquals(1, uow.flushes);
+        uow.release();
+    }
+
+    @Test
+    public void testPlatformNotSupportingDeferral() {
+        login(new DatabasePlatform() {
+            @Override
+            public boolean supportsDeferredQueryFlush() {
+                return false;
+            }
+        });
+        CountingUnitOfWork uow = new CountingUnitOfWork(session);
+        Department department = new Department();
+        department.id = 1;
+        uow.registerNewObject(department);
+
+        uow.writeChangesForQuery(queryByName(Employee.class));
+        assertEquals(1, uow.flushes);
+        uow.release();
+    }
+}
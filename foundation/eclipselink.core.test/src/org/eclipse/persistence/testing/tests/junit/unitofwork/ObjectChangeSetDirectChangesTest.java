@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.tests.junit.unitofwork;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the compact direct changes of ObjectChangeSet, and the lazy build of their change records.
+ */
+public class ObjectChangeSetDirectChangesTest {
+
+    public static class Item {
+        public long id;
+        public String name;
+        public String description;
+        public int quantity;
+    }
+
+    private ClassDescriptor descriptor;
+
+    @Before
+    public void setUp() {
+        descriptor = new ClassDescriptor();
+        descriptor.setJavaClass(Item.class);
+        descriptor.addTableName("ITEM");
+        descriptor.addPrimaryKeyFieldName("ITEM.ID");
+        descriptor.addDirectMapping("id", "ID");
+        descriptor.addDirectMapping("name", "NAME");
+        descriptor.addDirectMapping("description", "DESCRIPTION");
+        descriptor.addDirectMapping("quantity", "QUANTITY");
+    }
+
+    @Test
+    public void directChangesAreBuiltInMappingOrder() {
+        ObjectChangeSet changeSet = new ObjectChangeSet(1L, descriptor, new Item(), null, false);
+        changeSet.addDirectChange(3, 5, 4);
+        changeSet.addDirectChange(1, "new", "old");
+
+        assertTrue(changeSet.hasChanges());
+        assertTrue(changeSet.hasDirectChanges());
+        assertTrue(changeSet.getBuiltChangeRecords().isEmpty());
+        assertEquals(2, changeSet.getDirectChanges().cardinality());
+
+        List<ChangeRecord> changes = changeSet.getChanges();
+        assertFalse(changeSet.hasDirectChanges());
+        assertEquals(2, changes.size());
+        assertEquals("name", changes.get(0).getAttribute());
+        assertEquals("new", ((DirectToFieldChangeRecord)changes.get(0)).getNewValue());
+        assertEquals("old", ((DirectToFieldChangeRecord)changes.get(0)).getOldValue());
+        assertEquals("quantity", changes.get(1).getAttribute());
+        assertEquals(5, ((DirectToFieldChangeRecord)changes.get(1)).getNewValue());
+        assertSame(changes.get(1), changeSet.getChangesForAttributeNamed("quantity"));
+    }
+
+    @Test
+    public void directChangeReplacesValue() {
+        ObjectChangeSet changeSet = new ObjectChangeSet(1L, descriptor, new Item(), null, false);
+        changeSet.addDirectChange(2, "first", null);
+        changeSet.addDirectChange(2, "second", "first");
+
+        assertEquals(1, changeSet.getDirectChanges().cardinality());
+        DirectToFieldChangeRecord record = (DirectToFieldChangeRecord)changeSet.getChangesForAttributeNamed("description");
+        assertEquals("second", record.getNewValue());
+        assertEquals("first", record.getOldValue());
+    }
+
+    @Test
+    public void addChangeKeepsOrderOfDirectChanges() {
+        ObjectChangeSet changeSet = new ObjectChangeSet(1L, descriptor, new Item(), null, false);
+        changeSet.addDirectChange(1, "name", null);
+        changeSet.addChange(((AbstractDirectMapping)descriptor.getMappings().get(2)).internalBuildChangeRecord("description", null, changeSet));
+        changeSet.addDirectChange(3, 1, 0);
+        // A direct change for an attribute that already has a record replaces the record.
+        changeSet.addDirectChange(2, "other", "description");
+
+        List<ChangeRecord> changes = changeSet.getChanges();
+        assertEquals(3, changes.size());
+        assertEquals("name", changes.get(0).getAttribute());
+        assertEquals("description", changes.get(2).getAttribute());
+        assertEquals("other", ((DirectToFieldChangeRecord)changes.get(2)).getNewValue());
+        assertEquals("quantity", changes.get(1).getAttribute());
+    }
+
+    @Test
+    public void comparatorDoesNotBuildDirectChanges() {
+        ObjectChangeSet.ObjectChangeSetComparator comparator = new ObjectChangeSet.ObjectChangeSetComparator();
+        ObjectChangeSet compact = new ObjectChangeSet(1L, descriptor, new Item(), null, false);
+        compact.addDirectChange(3, 1, 0);
+        compact.addDirectChange(1, "name", null);
+        ObjectChangeSet built = new ObjectChangeSet(2L, descriptor, new Item(), null, false);
+        built.addDirectChange(1, "name", null);
+        built.addDirectChange(3, 1, 0);
+        built.getChanges();
+        ObjectChangeSet other = new ObjectChangeSet(3L, descriptor, new Item(), null, false);
+        other.addDirectChange(2, "description", null);
+        other.addDirectChange(3, 1, 0);
+
+        // The same attributes changed, ordered by id.
+        assertTrue(comparator.compare(compact, built) < 0);
+        assertTrue(comparator.compare(built, compact) > 0);
+        // "description" sorts before "name", the changed attributes decide before the id.
+        assertTrue(comparator.compare(compact, other) > 0);
+        assertTrue(comparator.compare(other, built) < 0);
+        assertTrue(compact.hasDirectChanges());
+        assertTrue(other.hasDirectChanges());
+    }
+
+    @Test
+    public void clearRemovesDirectChanges() {
+        ObjectChangeSet changeSet = new ObjectChangeSet(1L, descriptor, new Item(), null, false);
+        changeSet.addDirectChange(1, "name", null);
+        changeSet.clear(false);
+
+        assertFalse(changeSet.hasChanges());
+        assertTrue(changeSet.getChanges().isEmpty());
+    }
+}
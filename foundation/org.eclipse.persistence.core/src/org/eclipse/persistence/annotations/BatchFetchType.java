@@ -45,5 +45,16 @@ public enum BatchFetchType {
      * and can work better with cursors, or if joins cannot be used.
      * This may only work for singleton Ids on some databases.
      */
-    IN
+    IN,
+
+    /**
+     * This chooses between IN, EXISTS and JOIN each time the query is executed.
+     * The choice is based on the number of source objects, and the times of the
+     * previous batch queries of the mapping using each type, so the type that is
+     * expected to be the fastest is used.
+     * IN is only used if the source rows are available, i.e. not with cursors.
+     * The number of source rows and the batch query times are reported through the session profiler.
+     * @since EclipseLink 2.7
+     */
+    ADAPTIVE
 }
@@ -124,6 +124,13 @@ public class EntityManagerProperties {
      */
     public static final String PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES = PersistenceUnitProperties.PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES;
 
+    /**
+     * Specifies that a flush triggered by a query is skipped if none of the pending changes
+     * affect the tables read by the query, the changes are written by the next flush or commit.
+     * Either "true" or "false". "false" is the default.
+     */
+    public static final String PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH = PersistenceUnitProperties.PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH;
+
     /**
      * Allows the EntityManager FlushMode to be set as a persistence property.
      * This can be set to either "AUTO" or "COMMIT".
@@ -329,6 +336,7 @@ public class EntityManagerProperties {
             add(PERSISTENCE_CONTEXT_PERSIST_ON_COMMIT);
             add(PERSISTENCE_CONTEXT_FLUSH_MODE);
             add(PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES);
+            add(PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH);
             add(ORACLE_PROXY_TYPE);
             add(EXCLUSIVE_CONNECTION_MODE);
             add(EXCLUSIVE_CONNECTION_IS_LAZY);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1998, 2020 IBM Corporation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -295,6 +295,48 @@ public class PersistenceUnitProperties {
      */
     public static final String JPQL_VALIDATION = "eclipselink.jpql.validation";
 
+    /**
+     * The "<code>eclipselink.jpql.parameterize-literals</code>" property allows the
+     * literals of dynamic JPQL queries to be rewritten into bind parameters before
+     * the query is parsed.
+     * <p>
+     * Queries that only differ in their literal values then share the same parse cache
+     * entry and generate the same SQL, so the statement can be reused by the database and
+     * the statement cache. Only the literals compared to a path expression in the
+     * <code>WHERE</code> or <code>HAVING</code> clause are rewritten, literals that can
+     * affect the query plan such as <code>LIKE</code> patterns and <code>TYPE()</code>
+     * operands are left in the query.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT) - literals are left in the query.
+     * <li>"<code>true</code>" - literals are rewritten into bind parameters.
+     * </ul>
+     *
+     * @see #JPQL_PARSER
+     * @see #CACHE_STATEMENTS
+     */
+    public static final String JPQL_PARAMETERIZE_LITERALS = "eclipselink.jpql.parameterize-literals";
+
+    /**
+     * The "<code>eclipselink.criteria.query-cache-size</code>" property configures the
+     * size of the cache of prepared criteria queries.
+     * <p>
+     * Criteria queries of the same structure then share a single prepared query,
+     * independent of the literal values they compare. The literals that are direct
+     * operands of a comparison in the <code>WHERE</code> clause are bound as parameters
+     * of the prepared query, so the generated SQL uses bind parameters instead of literals.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - criteria queries are not cached.
+     * <li>the maximum number of prepared criteria queries to cache.
+     * </ul>
+     *
+     * @see #JPQL_PARAMETERIZE_LITERALS
+     */
+    public static final String CRITERIA_QUERY_CACHE_SIZE = "eclipselink.criteria.query-cache-size";
+
     /**
      * The "<code>wait</code>" property.<br>
      * This can be append to any connection pool property,
@@ -2677,6 +2719,26 @@ public class PersistenceUnitProperties {
      */
     public static final String DEPLOY_ON_STARTUP = "eclipselink.deploy-on-startup";
 
+    /**
+     * The "<code>eclipselink.deploy.parallel-class-scanning</code>" property
+     * configures whether the classes found in the persistence unit root, which
+     * are not listed in the persistence unit, are read on several threads
+     * when the persistence unit is deployed.
+     * <p>
+     * The classes without any annotation are skipped before they are parsed,
+     * whether this property is set or not. Reading the classes on several
+     * threads may reduce the deployment time of persistence units with many
+     * classes. The classes are read on one thread when a security manager is
+     * enabled.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     */
+    public static final String DEPLOY_PARALLEL_CLASS_SCANNING = "eclipselink.deploy.parallel-class-scanning";
+
     /**
      * The "<code>eclipselink.validation-only</code>" property validates deployment
      * which includes initializing descriptors but does not connect (no login to the database).
@@ -3242,6 +3304,25 @@ public class PersistenceUnitProperties {
      */
     public static final String PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES = "eclipselink.persistence-context.commit-without-persist-rules";
 
+    /**
+     * The "<code>eclipselink.persistence-context.defer-query-flush</code>"
+     * property specifies that a flush triggered by a query in
+     * FlushModeType.AUTO is skipped if none of the pending changes in the
+     * EntityManager affect the tables read by the query. The changes are then
+     * written by the next flush or commit, which writes each changed object
+     * once, instead of once for every query that was executed after it changed.
+     * Queries that join or traverse relationships always flush, as do queries on the
+     * tables of entities without attribute change tracking, as their changes are only
+     * known once compared on flush.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     */
+    public static final String PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH = "eclipselink.persistence-context.defer-query-flush";
+
     /**
      * The "<code>eclipselink.persistence-context.flush-mode</code>" property configures the EntityManager FlushMode to be set as a
      * persistence property. This can be set to either "<code>AUTO</code>" or "<code>COMMIT</code>".
@@ -3885,6 +3966,81 @@ public class PersistenceUnitProperties {
      */
     public static final String NAMING_INTO_INDEXED = "eclipselink.jpa.naming_into_indexed";
 
+    /**
+     * The "<code>eclipselink.batch.auto.default</code>" property defines if read all queries
+     * batch fetch the lazy relationships of their objects by default.
+     * <p>
+     * When enabled, the first access to a lazy relationship of an object read by a query
+     * loads the relationship for all the objects of the query in a single IN batch query,
+     * instead of one query per object. This avoids the N+1 queries problem without
+     * configuring batch fetching on each relationship or query.
+     * Queries can override the default with the "<code>eclipselink.batch.auto</code>" query hint.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     *
+     * @see org.eclipse.persistence.config.QueryHints#BATCH_AUTO
+     */
+    public static final String BATCH_AUTO_DEFAULT = "eclipselink.batch.auto." + PersistenceUnitProperties.DEFAULT;
+
+    /**
+     * The "<code>eclipselink.lazy-load.threshold</code>" property defines the number of
+     * individual lazy loads triggered by the objects of a query above which the query is reported.
+     * <p>
+     * A query whose objects trigger more lazy loads (the N+1 queries problem) is logged as a
+     * warning in the query category, and counted by the session profiler
+     * ("<code>Counter:LazyLoadThresholdExceeded</code>"). Lazy loads that are batch fetched are not counted.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - lazy loads are not counted.
+     * <li>a positive integer
+     * </ul>
+     *
+     * @see #BATCH_AUTO_DEFAULT
+     */
+    public static final String LAZY_LOAD_THRESHOLD = "eclipselink.lazy-load.threshold";
+
+    /**
+     * The "<code>eclipselink.query.parallel-conform.threshold</code>" property defines the number of
+     * cached objects of a class from which in-memory queries conform the objects in parallel.
+     * <p>
+     * In-memory queries (checking the cache only, or conforming in the unit of work) conform the selection criteria
+     * to each cached object. When a full identity map has at least this number of objects,
+     * and the selection criteria only compares direct attributes of the queried objects,
+     * the objects are conformed in parallel using the common fork join pool.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - objects are always conformed sequentially.
+     * <li>a positive integer
+     * </ul>
+     *
+     * @see org.eclipse.persistence.sessions.Project#setParallelConformThreshold(int)
+     */
+    public static final String PARALLEL_CONFORM_THRESHOLD = "eclipselink.query.parallel-conform.threshold";
+
+    /**
+     * The "<code>eclipselink.query.compile-expressions</code>" property configures if the selection criteria
+     * of queries conforming objects in-memory are compiled into bytecode.
+     * <p>
+     * The comparisons of direct attributes of the queried objects are generated into an evaluator class,
+     * which reads the attributes through their public or woven getter and is cached on the query.
+     * This applies to queries checking the cache and to conforming in the unit of work.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT) - the selection criteria are interpreted.
+     * <li>"<code>true</code>" - the selection criteria are compiled.
+     * </ul>
+     *
+     * @see org.eclipse.persistence.sessions.Project#setShouldCompileExpressions(boolean)
+     */
+    public static final String COMPILE_EXPRESSIONS = "eclipselink.query.compile-expressions";
+
     /**
      * INTERNAL: The following properties will not be displayed through logging
      * but instead have an alternate value shown in the log.
@@ -3919,6 +4075,7 @@ public static String getOverriddenLogStringForProperty(String propertyName) {
             add(PERSISTENCE_CONTEXT_CLOSE_ON_COMMIT);
             add(PERSISTENCE_CONTEXT_PERSIST_ON_COMMIT);
             add(PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES);
+            add(PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH);
             add(VALIDATE_EXISTENCE);
             add(ORDER_UPDATES);
             add(FLUSH_CLEAR_CACHE);
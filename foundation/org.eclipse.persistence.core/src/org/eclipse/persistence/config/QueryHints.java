@@ -294,7 +294,9 @@ public class QueryHints {
     /**
      * "eclipselink.batch.type"
      * <p>Configures the type of batch fetching to use for any batch fetched relationships on the query.
-     * Valid values are defined in BatchFetchType ("JOIN", "EXISTS", "IN").
+     * Valid values are defined in BatchFetchType ("JOIN", "EXISTS", "IN", "ADAPTIVE").
+     * "ADAPTIVE" chooses between "JOIN", "EXISTS" and "IN" each time the query is executed,
+     * from the number of source objects and the times of the previous batch queries.
      * @see #BATCH
      * @see BatchFetchType
      * @see BatchFetch
@@ -315,6 +317,22 @@ public class QueryHints {
      */
     public static final String BATCH_SIZE = "eclipselink.batch.size";
 
+    /**
+     * "eclipselink.batch.auto"
+     * <p>Configures the query to batch fetch the lazy relationships of its objects when first accessed.
+     * The first access to a lazy relationship, that is not already batch fetched or join fetched,
+     * of one of the query's objects loads the relationship for all the query's objects in a single batch query,
+     * instead of one query per object.
+     * The batch fetch type of the query is used, IN by default.
+     * Valid values are HintValues.FALSE and HintValues.TRUE,
+     * the default is defined by the "eclipselink.batch.auto.default" persistence unit property.
+     * @see #BATCH_TYPE
+     * @see #BATCH_SIZE
+     * @see org.eclipse.persistence.config.PersistenceUnitProperties#BATCH_AUTO_DEFAULT
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setShouldAutoBatchFetch(boolean)
+     */
+    public static final String BATCH_AUTO = "eclipselink.batch.auto";
+
     /**
      * "eclipselink.join-fetch"
      * <p>Configures the query to optimize the retrieval of the related objects,
@@ -417,6 +435,22 @@ public class QueryHints {
      */
     public static final String JDBC_FIRST_RESULT = "eclipselink.jdbc.first-result";
 
+    /**
+     * "eclipselink.keyset.after"
+     * <p>Configures the query to use keyset (seek) pagination, and only return the results ordered after the after key.
+     * The after key is the values of the ORDER BY of the last result of the previous page,
+     * the query only selects the following results, i.e. "WHERE (A, B) &gt; (?, ?)",
+     * instead of reading and skipping the previous pages as with setFirstResult(),
+     * so the time to read a page does not depend on its depth.
+     * The query must be ordered, the ordering should be unique, typically ending with the id, and non null.
+     * Valid values are the continuation token returned by JpaQuery.getContinuationToken() for the last result of the previous page,
+     * or an Object[] of the ordering values.
+     * This is normally used with setMaxResults() to define the page size.
+     * @see org.eclipse.persistence.jpa.JpaQuery#getContinuationToken(Object)
+     * @see org.eclipse.persistence.queries.ReadAllQuery#setAfterKey(Object[])
+     */
+    public static final String KEYSET_AFTER = "eclipselink.keyset.after";
+
     /**
      * "eclipselink.result-collection-type"
      * <p>Configures the collection class implementation for the queries result.
@@ -835,6 +869,7 @@ public class QueryHints {
      * <p>or the native query, "SELECT * FROM EMPLOYEE" returns {@literal List<Object[]>}
      * <p>The ResultType can be used to instead return a Map of values (DatabaseRecord, ReportQueryResult).
      * <p>It can also be used to return a single column, or single value.
+     * <p>For JPQL queries it can also return the values stored by column (ColumnarReportQueryResult).
      * Valid values are defined in ResultType.
      * @see ResultType
      * @see org.eclipse.persistence.sessions.Record
@@ -38,6 +38,7 @@
  * @see org.eclipse.persistence.sessions.Record
  * @see org.eclipse.persistence.sessions.DatabaseRecord
  * @see org.eclipse.persistence.queries.ReportQueryResult
+ * @see org.eclipse.persistence.queries.ColumnarReportQueryResult
  * @see org.eclipse.persistence.queries.ReportQuery#setReturnType(int)
  * @see org.eclipse.persistence.queries.DataReadQuery#setResultType
  *
@@ -66,6 +67,17 @@ public class ResultType {
      */
     public static final String  Value = "Value";
 
+    /**
+     * The values of each selected item are returned in one array, numeric values in a primitive array.
+     * Only for JPQL queries, a ColumnarReportQueryResult is returned, which is also a {@literal List<Object[]>}.
+     * It can be obtained from the query with <code>query.unwrap(ColumnarReportQueryResult.class)</code>,
+     * which executes the query.
+     * This reduces the memory retained by the result, but not the peak memory of the query execution,
+     * as the columns are built once all the rows are read.
+     * @see org.eclipse.persistence.queries.ColumnarReportQueryResult
+     */
+    public static final String  Columnar = "Columnar";
+
 
     /**
      * The default type is Array.
@@ -93,6 +93,7 @@
 import org.eclipse.persistence.internal.descriptors.SerializedObjectPolicyWrapper;
 import org.eclipse.persistence.internal.descriptors.VirtualAttributeMethodInfo;
 import org.eclipse.persistence.internal.dynamic.DynamicEntityImpl;
+import org.eclipse.persistence.internal.expressions.ConformEvaluatorGenerator;
 import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
 import org.eclipse.persistence.internal.expressions.SQLStatement;
 import org.eclipse.persistence.internal.helper.ClassConstants;
@@ -229,6 +230,9 @@ public class ClassDescriptor extends CoreDescriptor<AttributeGroup, DescriptorEv
     /** Allow the user to defined un-converted properties which will be initialized at runtime. */
     protected Map<String, List<String>> unconvertedProperties;
 
+    /** Generates the bytecode of the conform evaluators of the compiled selection criteria of queries, lazy initialized. */
+    protected transient ConformEvaluatorGenerator conformEvaluatorGenerator;
+
     protected transient int initializationStage;
     protected transient int interfaceInitializationStage;
     /** The following are the [initializationStage] states the descriptor passes through during the initialization. */
@@ -1333,6 +1337,7 @@ public Object clone() {
         } catch (Exception exception) {
             throw new AssertionError(exception);
         }
+        clonedDescriptor.conformEvaluatorGenerator = null;
 
         Vector mappingsVector = NonSynchronizedVector.newInstance();
 
@@ -6377,6 +6382,25 @@ public boolean hasPessimisticLockingPolicy() {
         return (cmpPolicy != null) && cmpPolicy.hasPessimisticLockingPolicy();
     }
 
+    /**
+     * INTERNAL:
+     * Return the generator of the bytecode conform evaluators of the descriptor,
+     * used by the queries compiling their selection criteria.
+     */
+    public ConformEvaluatorGenerator getConformEvaluatorGenerator() {
+        ConformEvaluatorGenerator generator = this.conformEvaluatorGenerator;
+        if (generator == null) {
+            synchronized (this) {
+                generator = this.conformEvaluatorGenerator;
+                if (generator == null) {
+                    generator = new ConformEvaluatorGenerator(this);
+                    this.conformEvaluatorGenerator = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
     /**
      * PUBLIC:
      * Get the fetch group manager for the descriptor.  The fetch group manager is responsible
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -530,6 +530,28 @@ protected boolean hasAnyListeners() {
         return (eventListeners != null) && (!eventListeners.isEmpty());
     }
 
+    /**
+     * INTERNAL:
+     * Return if any listener, event method or entity callback, other than the
+     * internal listeners, may be notified of the delete events of the objects.
+     * Used to decide if objects can be deleted without being read, in which
+     * case their delete events are not raised.
+     */
+    public boolean hasDeleteEventListeners() {
+        if (hasAnyListeners() || hasEntityEventListener() || hasEntityListenerEventListeners() || hasDefaultEventListeners()
+                || DescriptorEventListener.class.isAssignableFrom(getDescriptor().getJavaClass())) {
+            return true;
+        }
+        final AtomicReferenceArray<String> selectors = getEventSelectors();
+        if ((selectors.get(PreDeleteEvent) != null) || (selectors.get(PostDeleteEvent) != null)
+                || (selectors.get(AboutToDeleteEvent) != null) || (selectors.get(PreRemoveEvent) != null)) {
+            return true;
+        }
+        // The events are also broadcast to the listeners of the parent.
+        return getDescriptor().isChildDescriptor()
+                && getDescriptor().getInheritancePolicy().getParentDescriptor().getEventManager().hasDeleteEventListeners();
+    }
+
     /**
      * INTERNAL:
      * This method will return true, if this event manager has default listeners
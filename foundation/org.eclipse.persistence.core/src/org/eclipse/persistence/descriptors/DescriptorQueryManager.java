@@ -32,6 +32,7 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -40,6 +41,7 @@
 import java.util.Map;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.persistence.exceptions.ConversionException;
 import org.eclipse.persistence.exceptions.DescriptorException;
@@ -52,6 +54,7 @@
 import org.eclipse.persistence.internal.expressions.ParameterExpression;
 import org.eclipse.persistence.internal.expressions.SubSelectExpression;
 import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.eclipse.persistence.internal.helper.DatabaseField;
 import org.eclipse.persistence.internal.helper.DatabaseTable;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.NonSynchronizedVector;
@@ -111,7 +114,15 @@ public class DescriptorQueryManager implements Cloneable, Serializable {
     protected Map<String, List<DatabaseQuery>> queries;
     protected transient Map<DatabaseTable, Expression> tablesJoinExpressions;
     /** PERF: Update call cache for avoiding regenerated update SQL. */
-    protected transient ConcurrentFixedCache cachedUpdateCalls;
+    protected transient volatile ConcurrentFixedCache cachedUpdateCalls;
+    /** PERF: Index of the descriptor's fields, used to key the update call cache by the bitset of updated fields. */
+    protected transient volatile Map<DatabaseField, Integer> updateCallFieldIndexes;
+    /** Number of update calls generated, used to switch to full row updates when the number of update shapes is too high. */
+    protected transient volatile AtomicInteger updateCallsGenerated;
+    /** The number of update calls generated after which full row updates are used, 0 means never. */
+    protected int fullRowUpdateThreshold;
+    /** Allow all updatable basic fields to be updated, so that all updates of the descriptor share the same SQL. */
+    protected volatile boolean shouldUseFullRowUpdates;
     /** PERF: Expression query call cache for avoiding regenerated dynamic query SQL. */
     protected transient ConcurrentFixedCache cachedExpressionQueries;
 
@@ -280,6 +291,9 @@ public Object clone() {
             throw new AssertionError(exception);
         }
 
+        manager.updateCallFieldIndexes = null;
+        manager.updateCallsGenerated = null;
+
         // Bug 3037701 - clone the queries
         manager.setQueries(new LinkedHashMap(getQueries().size()));//bug5677655
         Iterator iterator = queries.values().iterator();
@@ -1030,7 +1044,8 @@ public void postUpdate(WriteObjectQuery query) {
             // PERF: Only process changed mappings.
             ObjectChangeSet changeSet = query.getObjectChangeSet();
             if ((changeSet != null) && (!changeSet.isNew())) {
-                List changeRecords = changeSet.getChanges();
+                // Compact direct changes do not require processing.
+                List changeRecords = changeSet.getBuiltChangeRecords();
                 int size = changeRecords.size();
                 for (int index = 0; index < size; index++) {
                     ChangeRecord record = (ChangeRecord)changeRecords.get(index);
@@ -1124,7 +1139,8 @@ public void preUpdate(WriteObjectQuery query) {
             // PERF: Only process changed mappings.
             ObjectChangeSet changeSet = query.getObjectChangeSet();
             if ((changeSet != null) && (!changeSet.isNew())) {
-                List changeRecords = changeSet.getChanges();
+                // Compact direct changes do not require processing.
+                List changeRecords = changeSet.getBuiltChangeRecords();
                 int size = changeRecords.size();
                 for (int index = 0; index < size; index++) {
                     ChangeRecord record = (ChangeRecord)changeRecords.get(index);
@@ -1730,10 +1746,17 @@ public void setQueryTimeoutUnit(TimeUnit queryTimeoutUnit) {
      * Returns the collection of cached Update calls.
      */
     private ConcurrentFixedCache getCachedUpdateCalls() {
+        ConcurrentFixedCache cachedUpdateCalls = this.cachedUpdateCalls;
         if (cachedUpdateCalls == null) {
-            this.cachedUpdateCalls = new ConcurrentFixedCache(10);
+            synchronized (this) {
+                cachedUpdateCalls = this.cachedUpdateCalls;
+                if (cachedUpdateCalls == null) {
+                    cachedUpdateCalls = new ConcurrentFixedCache(10);
+                    this.cachedUpdateCalls = cachedUpdateCalls;
+                }
+            }
         }
-        return this.cachedUpdateCalls;
+        return cachedUpdateCalls;
     }
 
     /**
@@ -1771,13 +1794,92 @@ public void setUpdateCallCacheSize(int updateCallCacheSize) {
         getCachedUpdateCalls().setMaxSize(updateCallCacheSize);
     }
 
+    /**
+     * ADVANCED:
+     * Return the number of update calls that can be generated before full row updates are used.
+     * @see #setFullRowUpdateThreshold(int)
+     */
+    public int getFullRowUpdateThreshold() {
+        return fullRowUpdateThreshold;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the number of update calls that can be generated before full row updates are used.
+     * By default only the changed fields are updated, so every different set of changed fields
+     * requires different update SQL. If the number of different sets is larger than the update call cache,
+     * the update SQL is regenerated on most updates.
+     * Once the threshold is exceeded all updatable basic fields are updated, so all updates share the same SQL.
+     * The default is 0, full row updates are never used.
+     * @see #setUpdateCallCacheSize(int)
+     */
+    public void setFullRowUpdateThreshold(int fullRowUpdateThreshold) {
+        this.fullRowUpdateThreshold = fullRowUpdateThreshold;
+    }
+
+    /**
+     * ADVANCED:
+     * Return if all updatable basic fields are updated when any field of the object has changed.
+     */
+    public boolean shouldUseFullRowUpdates() {
+        return shouldUseFullRowUpdates;
+    }
+
+    /**
+     * ADVANCED:
+     * Set if all updatable basic fields are updated when any field of the object has changed.
+     * This allows all updates of the descriptor to share the same update SQL and JDBC statement,
+     * at the cost of writing unchanged values.
+     * This is set automatically once the full row update threshold is exceeded.
+     * @see #setFullRowUpdateThreshold(int)
+     */
+    public void setShouldUseFullRowUpdates(boolean shouldUseFullRowUpdates) {
+        this.shouldUseFullRowUpdates = shouldUseFullRowUpdates;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the key of the update call cache for the updated fields.
+     * PERF: The key is the bitset of the indexes of the fields in the descriptor's fields,
+     * which is cheaper to hash and compare than the fields, and does not depend on the fields order.
+     * If a field is not one of the descriptor's fields, the fields are used as the key.
+     */
+    protected Object buildUpdateCallKey(Vector updateFields) {
+        Map<DatabaseField, Integer> fieldIndexes = this.updateCallFieldIndexes;
+        if (fieldIndexes == null) {
+            // Updates of the descriptor can be executed concurrently, build the index once.
+            synchronized (this) {
+                fieldIndexes = this.updateCallFieldIndexes;
+                if (fieldIndexes == null) {
+                    List<DatabaseField> fields = getDescriptor().getFields();
+                    int size = fields.size();
+                    fieldIndexes = new HashMap<DatabaseField, Integer>(size);
+                    for (int index = 0; index < size; index++) {
+                        fieldIndexes.put(fields.get(index), index);
+                    }
+                    this.updateCallFieldIndexes = fieldIndexes;
+                }
+            }
+        }
+        BitSet key = new BitSet(fieldIndexes.size());
+        int size = updateFields.size();
+        for (int index = 0; index < size; index++) {
+            Integer fieldIndex = fieldIndexes.get(updateFields.get(index));
+            if (fieldIndex == null) {
+                return updateFields;
+            }
+            key.set(fieldIndex);
+        }
+        return key;
+    }
+
     /**
      * INTERNAL:
      * Return the cached update SQL call based on the updated fields.
      * PERF: Allow caching of the update SQL call to avoid regeneration.
      */
     public Vector getCachedUpdateCalls(Vector updateFields) {
-        return (Vector) getCachedUpdateCalls().get(updateFields);
+        return (Vector) getCachedUpdateCalls().get(buildUpdateCallKey(updateFields));
     }
 
     /**
@@ -1800,7 +1902,23 @@ public void putCachedUpdateCalls(Vector updateFields, Vector updateCalls) {
                 vectorToCache.add(clonedUpdateCall);
             }
         }
-        getCachedUpdateCalls().put(updateFields, vectorToCache);
+        getCachedUpdateCalls().put(buildUpdateCallKey(updateFields), vectorToCache);
+        // Switch to full row updates once too many update calls have been generated.
+        if ((this.fullRowUpdateThreshold > 0) && !this.shouldUseFullRowUpdates) {
+            AtomicInteger updateCallsGenerated = this.updateCallsGenerated;
+            if (updateCallsGenerated == null) {
+                synchronized (this) {
+                    updateCallsGenerated = this.updateCallsGenerated;
+                    if (updateCallsGenerated == null) {
+                        updateCallsGenerated = new AtomicInteger();
+                        this.updateCallsGenerated = updateCallsGenerated;
+                    }
+                }
+            }
+            if (updateCallsGenerated.incrementAndGet() > this.fullRowUpdateThreshold) {
+                this.shouldUseFullRowUpdates = true;
+            }
+        }
     }
 
     /**
@@ -26,7 +26,6 @@
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
-import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
 import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
@@ -649,12 +648,8 @@ public void updateObjectWithWriteValue(ObjectLevelModifyQuery query, Object lock
                 this.lockMapping.setAttributeValueInObject(object, convertedLockValue);
                 objectChangeSet.setWriteLockValue(lockValue);
                 // Don't use ObjectChangeSet.updateChangeRecordForAttributeWithMappedObject to avoid unnecessary conversion - convertedLockValue is already converted.
-                DirectToFieldChangeRecord changeRecord = new DirectToFieldChangeRecord(objectChangeSet);
-                changeRecord.setAttribute(this.lockMapping.getAttributeName());
-                changeRecord.setMapping(this.lockMapping);
-                changeRecord.setNewValue(convertedLockValue);
-                changeRecord.setOldValue(oldValue);
-                objectChangeSet.addChange(changeRecord);
+                // PERF: Record the change in compact form, the change record is only built if required.
+                objectChangeSet.addDirectChange(this.lockMapping, convertedLockValue, oldValue);
 
             } else {
                 this.lockMapping.setAttributeValueInObject(object, convertedLockValue);
@@ -32,6 +32,7 @@
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.eclipse.persistence.mappings.ForeignReferenceMapping;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
 import org.eclipse.persistence.queries.FetchGroup;
 import org.eclipse.persistence.queries.WriteObjectQuery;
 
@@ -186,10 +187,16 @@ public ObjectChangeSet createObjectChangeSetThroughComparison(Object clone, Obje
             if(shouldGetFetchGroup && descriptor.hasFetchGroupManager()) {
                 fetchGroup = descriptor.getFetchGroupManager().getObjectFetchGroup(clone);
             }
+            // PERF: Record direct changes of existing objects in compact form, avoiding building change records.
+            boolean useDirectChanges = !isNew && !descriptor.isDescriptorTypeAggregate();
             for (int index = 0; index < mappingsSize; index++) {
                 DatabaseMapping mapping = (DatabaseMapping)mappings.get(index);
                 if ((fetchGroup == null) || fetchGroup.containsAttributeInternal(mapping.getAttributeName())) {
-                    changes.addChange(mapping.compareForChange(clone, backUp, changes, session));
+                    if (useDirectChanges && mapping.isAbstractDirectMapping()) {
+                        ((AbstractDirectMapping)mapping).compareForDirectChange(clone, backUp, changes, index, session);
+                    } else {
+                        changes.addChange(mapping.compareForChange(clone, backUp, changes, session));
+                    }
                 }
             }
         }
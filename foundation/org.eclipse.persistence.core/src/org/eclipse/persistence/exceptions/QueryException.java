@@ -209,6 +209,9 @@ public class QueryException extends ValidationException {
     public final static int SOP_OBJECT_WRONG_VERSION = 6181;
     public final static int SOP_OBJECT_WRONG_PK = 6182;
     public final static int UNSUPPORTED_MAPPING_FOR_QUERYBYEXAMPLE = 6183;
+    public final static int KEYSET_PAGINATION_REQUIRES_ORDERING = 6184;
+    public final static int INVALID_KEYSET_AFTER_KEY = 6185;
+    public final static int INVALID_KEYSET_CONTINUATION_TOKEN = 6186;
 
 
     /**
@@ -1679,5 +1682,29 @@ public static QueryException unsupportedMappingQueryByExample(String className,
         queryException.setErrorCode(UNSUPPORTED_MAPPING_FOR_QUERYBYEXAMPLE);
         return queryException;
     }
-}
 
+    public static QueryException keysetPaginationRequiresOrdering(DatabaseQuery query) {
+        Object[] args = {};
+
+        QueryException queryException = new QueryException(ExceptionMessageGenerator.buildMessage(QueryException.class, KEYSET_PAGINATION_REQUIRES_ORDERING, args), query);
+        queryException.setErrorCode(KEYSET_PAGINATION_REQUIRES_ORDERING);
+        return queryException;
+    }
+
+    public static QueryException invalidKeysetAfterKey(DatabaseQuery query, Object afterKey) {
+        Object[] args = {afterKey};
+
+        QueryException queryException = new QueryException(ExceptionMessageGenerator.buildMessage(QueryException.class, INVALID_KEYSET_AFTER_KEY, args), query);
+        queryException.setErrorCode(INVALID_KEYSET_AFTER_KEY);
+        return queryException;
+    }
+
+    public static QueryException invalidKeysetContinuationToken(String token, Exception exception) {
+        Object[] args = {token};
+
+        QueryException queryException = new QueryException(ExceptionMessageGenerator.buildMessage(QueryException.class, INVALID_KEYSET_CONTINUATION_TOKEN, args));
+        queryException.setErrorCode(INVALID_KEYSET_CONTINUATION_TOKEN);
+        queryException.setInternalException(exception);
+        return queryException;
+    }
+}
@@ -205,7 +205,10 @@ public class QueryExceptionResource extends ListResourceBundle {
        { "6180", "serialized sopObject is not found in [{0}] in [{1}]"},
        { "6181", "sopObject has a wrong version [{0}] in [{1}] in [{2}]"},
        { "6182", "sopObject has a wrong primary key [{0}] in [{1}] in [{2}]"},
-       { "6183",  "The mapping type {1} for attribute {2} from {0} is not supported with Query By Example functionality.  If the attribute can safely be ignored then add it to the ignore list or set example validation to false in the policy."}
+       { "6183",  "The mapping type {1} for attribute {2} from {0} is not supported with Query By Example functionality.  If the attribute can safely be ignored then add it to the ignore list or set example validation to false in the policy."},
+       { "6184", "Keyset pagination requires the query to be ordered, the after key is the values of the ordering of the last result of the previous page."},
+       { "6185", "The keyset pagination after key [{0}] is invalid, it must have one non null value for each ordering of the query."},
+       { "6186", "The keyset pagination continuation token [{0}] is invalid."}
 
     };
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.databaseaccess;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+
+/**
+ * INTERNAL:
+ * <p>
+ * <b>Purpose</b>: Binds a list of values as a single JDBC array parameter.
+ * This is used by IN batch fetching on platforms that support array binding,
+ * so the batch query has a single parameter whatever the number of foreign key values.
+ *
+ * @see DatabasePlatform#buildBatchFetchParameter(List)
+ */
+public class ArrayBindCallCustomParameter extends BindCallCustomParameter {
+    private static final long serialVersionUID = 7048528545242501328L;
+
+    /** The database type name of the array elements. */
+    protected String elementTypeName;
+
+    public ArrayBindCallCustomParameter(List values, String elementTypeName) {
+        super(values);
+        this.elementTypeName = elementTypeName;
+    }
+
+    /**
+     * Return the database type name of the array elements.
+     */
+    public String getElementTypeName() {
+        return elementTypeName;
+    }
+
+    /**
+     * Return the values bound as an array.
+     */
+    public List getValues() {
+        return (List)this.obj;
+    }
+
+    @Override
+    public void set(DatabasePlatform platform, PreparedStatement statement, int parameterIndex, AbstractSession session) throws SQLException {
+        statement.setArray(parameterIndex, createArray(platform, statement, session));
+    }
+
+    @Override
+    public void set(DatabasePlatform platform, CallableStatement statement, String parameterName, AbstractSession session) throws SQLException {
+        statement.setObject(parameterName, createArray(platform, statement, session));
+    }
+
+    protected Array createArray(DatabasePlatform platform, PreparedStatement statement, AbstractSession session) throws SQLException {
+        return platform.createArray(this.elementTypeName, getValues().toArray(), session, statement.getConnection());
+    }
+}
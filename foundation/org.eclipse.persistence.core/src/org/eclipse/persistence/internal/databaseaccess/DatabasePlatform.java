@@ -53,6 +53,7 @@
 import java.sql.Statement;
 import java.sql.Struct;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.HashMap;
@@ -68,6 +69,7 @@
 import org.eclipse.persistence.exceptions.ValidationException;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionOperator;
 import org.eclipse.persistence.internal.expressions.ExpressionSQLPrinter;
 import org.eclipse.persistence.internal.expressions.ParameterExpression;
 import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
@@ -77,6 +79,7 @@
 import org.eclipse.persistence.internal.helper.DatabaseTable;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.JavaPlatform;
+import org.eclipse.persistence.internal.helper.NonSynchronizedVector;
 import org.eclipse.persistence.internal.sequencing.Sequencing;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
@@ -273,6 +276,9 @@ public class DatabasePlatform extends DatasourcePlatform {
     /** Allows auto-indexing for foreign keys to be set. */
     protected boolean shouldCreateIndicesOnForeignKeys;
 
+    /** Allows IN batch fetching to bind the foreign key values as a single array, if supported. */
+    protected boolean shouldUseArrayBindingForBatchFetch;
+
     protected Boolean useJDBCStoredProcedureSyntax;
     protected String driverName;
 
@@ -678,6 +684,110 @@ public Expression buildBatchCriteriaForComplexId(ExpressionBuilder builder,List<
                     builder.getParameter(ForeignReferenceMapping.QUERY_BATCH_PARAMETER));
     }
 
+    /**
+     * INTERNAL:
+     * Return the selection criteria used to IN batch fetch a relationship with a singleton foreign key.
+     * Platforms that support array binding for batch fetching override this to compare
+     * the field to the elements of a single array parameter,
+     * the foreign key values are then wrapped by buildBatchFetchParameter.
+     * @see #buildBatchFetchParameter(List)
+     */
+    public Expression buildBatchFetchCriteria(ExpressionBuilder builder, Expression field) {
+        return buildBatchCriteria(builder, field);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the selection criteria of the rows following the after key of a keyset paginated query.
+     * The keys are the ordering expressions of the query, and the values the parameters of the after key.
+     * If the platform supports row value comparisons and all the orderings have the same direction
+     * a single comparison "(A, B) &gt; (?, ?)" is used,
+     * otherwise the comparison is expanded to "(A &gt; ?) OR ((A = ?) AND (B &gt; ?))".
+     * @see #supportsRowValueComparison()
+     */
+    public Expression buildKeysetCriteria(List<Expression> keys, List<Expression> values, boolean[] isDescending) {
+        int size = keys.size();
+        boolean isSameDirection = true;
+        for (int index = 1; index < size; index++) {
+            if (isDescending[index] != isDescending[0]) {
+                isSameDirection = false;
+                break;
+            }
+        }
+        if ((size > 1) && isSameDirection && supportsRowValueComparison()) {
+            List<Expression> arguments = new ArrayList<>((size * 2) - 1);
+            arguments.addAll(keys.subList(1, size));
+            arguments.addAll(values);
+            return rowValueComparisonOperator(size, isDescending[0]).expressionForArguments(keys.get(0), arguments);
+        }
+        Expression criteria = null;
+        Expression equalKeys = null;
+        for (int index = 0; index < size; index++) {
+            Expression key = keys.get(index);
+            Expression value = values.get(index);
+            Expression comparison = isDescending[index] ? key.lessThan(value) : key.greaterThan(value);
+            if (equalKeys != null) {
+                comparison = equalKeys.and(comparison);
+            }
+            criteria = (criteria == null) ? comparison : criteria.or(comparison);
+            Expression equal = key.equal(value);
+            equalKeys = (equalKeys == null) ? equal : equalKeys.and(equal);
+        }
+        return criteria;
+    }
+
+    /**
+     * INTERNAL:
+     * Create the row value comparison operator "(A, B) &gt; (?, ?)" for the number of keys.
+     * The arguments of the operator are the keys followed by the values.
+     */
+    public static ExpressionOperator rowValueComparisonOperator(int size, boolean isDescending) {
+        ExpressionOperator operator = new ExpressionOperator();
+        operator.setType(ExpressionOperator.FunctionOperator);
+        Vector strings = NonSynchronizedVector.newInstance((size * 2) + 1);
+        strings.add("(");
+        for (int index = 1; index < size; index++) {
+            strings.add(", ");
+        }
+        strings.add(isDescending ? ") < (" : ") > (");
+        for (int index = 1; index < size; index++) {
+            strings.add(", ");
+        }
+        strings.add(")");
+        operator.printsAs(strings);
+        operator.bePrefix();
+        operator.setNodeClass(ClassConstants.FunctionExpression_Class);
+        return operator;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the value of the parameter of an IN batch fetch query for the foreign key values.
+     * If array binding is used for batch fetching, singleton foreign key values are bound as a single array,
+     * so the SQL is the same whatever the number of values, and the values are not limited by the
+     * maximum number of parameters of a statement.
+     * Composite foreign key values (lists) are always passed as a list.
+     */
+    public Object buildBatchFetchParameter(List foreignKeyValues) {
+        if (shouldUseArrayBindingForBatchFetch() && !foreignKeyValues.isEmpty() && !(foreignKeyValues.get(0) instanceof List)) {
+            return new ArrayBindCallCustomParameter(foreignKeyValues, getArrayElementTypeName(foreignKeyValues.get(0).getClass()));
+        }
+        return foreignKeyValues;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the database type name of the elements of an array of values of the class.
+     * Used to create the array bound for IN batch fetching.
+     */
+    public String getArrayElementTypeName(Class javaClass) {
+        FieldTypeDefinition definition = getFieldTypeDefinition(javaClass);
+        if (definition == null) {
+            return "VARCHAR";
+        }
+        return definition.getName();
+    }
+
     /**
      * INTERNAL
      * Returns null unless the platform supports call with returning
@@ -1009,6 +1119,7 @@ public void copyInto(Platform platform) {
         databasePlatform.setUsesNativeBatchWriting(usesNativeBatchWriting());
         databasePlatform.setUsesStreamsForBinding(usesStreamsForBinding());
         databasePlatform.shouldCreateIndicesOnForeignKeys = this.shouldCreateIndicesOnForeignKeys;
+        databasePlatform.shouldUseArrayBindingForBatchFetch = this.shouldUseArrayBindingForBatchFetch;
         databasePlatform.printOuterJoinInWhereClause = this.printOuterJoinInWhereClause;
         databasePlatform.printInnerJoinInWhereClause = this.printInnerJoinInWhereClause;
         //use the variable directly to avoid custom platform strings - only want to copy user set values.
@@ -2449,6 +2560,17 @@ public boolean supportsDeleteOnCascade() {
         return supportsForeignKeyConstraints();
     }
 
+    /**
+     * INTERNAL:
+     * Indicates whether a flush done for the consistency of a query can be skipped
+     * when the query does not read any of the tables with pending writes.
+     * Platforms can disable it if tables are read through views or updated by triggers.
+     */
+    @Override
+    public boolean supportsDeferredQueryFlush() {
+        return true;
+    }
+
     /**
      * Internal: This gets called on each batch statement execution
      * Needs to be implemented so that it returns the number of rows successfully modified
@@ -3470,6 +3592,43 @@ public void setShouldBindLiterals(boolean shouldBindLiterals) {
         this.shouldBindLiterals = shouldBindLiterals;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the platform can bind the foreign key values of IN batch fetching as a single array.
+     */
+    public boolean supportsArrayBindingForBatchFetch() {
+        return false;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the platform supports row value comparisons, i.e. "(A, B) &gt; (?, ?)".
+     * Keyset pagination uses a single row value comparison if all the orderings of the query have the same direction.
+     */
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if IN batch fetching binds the foreign key values as a single array.
+     * This is only used if the platform supports it, e.g. PostgreSQL "= ANY(?)".
+     */
+    public boolean shouldUseArrayBindingForBatchFetch() {
+        return this.shouldUseArrayBindingForBatchFetch && supportsArrayBindingForBatchFetch();
+    }
+
+    /**
+     * PUBLIC:
+     * Set if IN batch fetching should bind the foreign key values as a single array, if supported by the platform.
+     * This allows the same SQL and statement to be used for any number of values,
+     * and avoids the limit on the number of parameters of a statement.
+     * This is disabled by default.
+     */
+    public void setShouldUseArrayBindingForBatchFetch(boolean shouldUseArrayBindingForBatchFetch) {
+        this.shouldUseArrayBindingForBatchFetch = shouldUseArrayBindingForBatchFetch;
+    }
+
     /**
      * INTERNAL:
      * Some databases have issues with using parameters on certain functions and relations.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2019, 2020 IBM Corporation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -975,6 +975,16 @@ public boolean supportsNativeSequenceNumbers() {
         return this.supportsSequenceObjects() || this.supportsIdentity();
     }
 
+    /**
+     * INTERNAL:
+     * Indicates whether a flush done for the consistency of a query can be skipped
+     * when the query does not read any of the tables with pending writes.
+     * Non relational platforms do not, as the records read by an interaction are not known.
+     */
+    public boolean supportsDeferredQueryFlush() {
+        return false;
+    }
+
     /**
      *  INTERNAL:
      *  Indicates whether the platform supports sequence objects.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2019 IBM Corporation. All rights reserved.
  * 
  * This program and the accompanying materials are made available under the
@@ -264,4 +264,11 @@ public interface Platform extends CorePlatform<ConversionManager>, Serializable,
      * Indicates whether defaultSequence is the same as platform default sequence.
      */
     public boolean usesPlatformDefaultSequence();
+
+    /**
+     * INTERNAL:
+     * Indicates whether a flush done for the consistency of a query can be skipped
+     * when the query does not read any of the tables with pending writes.
+     */
+    public boolean supportsDeferredQueryFlush();
 }
@@ -107,6 +107,8 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
     protected List<DatabaseMapping> batchFetchedAttributes;
     /** PERF: Cache mapping that use batch fetching. */
     protected boolean hasInBatchFetchedAttribute;
+    /** PERF: Cache if any mapping uses adaptive batch fetching. */
+    protected boolean hasAdaptiveBatchFetchedAttribute;
     /** PERF: Cache mappings that require cloning. */
     protected List<DatabaseMapping> cloningMappings;
     /** PERF: Cache mappings that are eager loaded. */
@@ -1771,17 +1773,54 @@ public AbstractRecord buildRowForUpdate(AbstractRecord databaseRow, WriteObjectQ
     public AbstractRecord buildRowForUpdateWithChangeSet(WriteObjectQuery query) {
         AbstractRecord databaseRow = createRecord(query.getSession());
         AbstractSession session = query.getSession();
-        List changes = query.getObjectChangeSet().getChanges();
+        ObjectChangeSet changeSet = query.getObjectChangeSet();
+        // PERF: Write the compact direct changes directly, their change records are not built.
+        List changes = changeSet.getBuiltChangeRecords();
         int size = changes.size();
         for (int index = 0; index < size; index++) {
             ChangeRecord changeRecord = (ChangeRecord)changes.get(index);
             DatabaseMapping mapping = changeRecord.getMapping();
             mapping.writeFromObjectIntoRowWithChangeRecord(changeRecord, databaseRow, session, WriteType.UPDATE);
         }
+        if (changeSet.hasDirectChanges()) {
+            BitSet directChanges = changeSet.getDirectChanges();
+            Object[] values = changeSet.getDirectChangeValues();
+            List<DatabaseMapping> mappings = changeSet.getDescriptor().getMappings();
+            int position = 0;
+            for (int index = directChanges.nextSetBit(0); index >= 0; index = directChanges.nextSetBit(index + 1)) {
+                AbstractDirectMapping mapping = (AbstractDirectMapping)mappings.get(index);
+                mapping.writeNewValueIntoRow(values[position], changeSet, databaseRow, session, WriteType.UPDATE);
+                position = position + 2;
+            }
+        }
+        // PERF: Update all basic fields to use the same update SQL for all changes.
+        if (!databaseRow.isEmpty() && this.descriptor.getQueryManager().shouldUseFullRowUpdates()) {
+            addFieldsForFullRowUpdate(databaseRow, query);
+        }
 
         return databaseRow;
     }
 
+    /**
+     * Add the current values of the updatable basic fields not already in the update row.
+     * This allows all updates of the descriptor to use the same update SQL.
+     * Attributes that were not fetched are not added.
+     */
+    protected void addFieldsForFullRowUpdate(AbstractRecord databaseRow, WriteObjectQuery query) {
+        Object object = query.getObject();
+        AbstractSession session = query.getSession();
+        FetchGroupManager fetchGroupManager = this.descriptor.getFetchGroupManager();
+        List<DatabaseMapping> mappings = getNonPrimaryKeyMappings();
+        int size = mappings.size();
+        for (int index = 0; index < size; index++) {
+            DatabaseMapping mapping = mappings.get(index);
+            if (mapping.isAbstractDirectMapping() && !databaseRow.containsKey(mapping.getField())
+                    && ((fetchGroupManager == null) || fetchGroupManager.isAttributeFetched(object, mapping.getAttributeName()))) {
+                mapping.writeFromObjectIntoRow(object, databaseRow, session, WriteType.UPDATE);
+            }
+        }
+    }
+
     /**
      * Build the row representation of an object.
      */
@@ -3488,6 +3527,20 @@ public void setHasInBatchFetchedAttribute(boolean hasInBatchFetchedAttribute) {
         this.hasInBatchFetchedAttribute = hasInBatchFetchedAttribute;
     }
 
+    /**
+     * Return is any mappings are always batch fetched using ADAPTIVE.
+     */
+    public boolean hasAdaptiveBatchFetchedAttribute() {
+        return this.hasAdaptiveBatchFetchedAttribute;
+    }
+
+    /**
+     * Set if any mappings are always batch fetched using ADAPTIVE.
+     */
+    public void setHasAdaptiveBatchFetchedAttribute(boolean hasAdaptiveBatchFetchedAttribute) {
+        this.hasAdaptiveBatchFetchedAttribute = hasAdaptiveBatchFetchedAttribute;
+    }
+
     /**
      * Return the mapping for the specified attribute name.
      */
@@ -3833,19 +3886,29 @@ public void initializeBatchFetchedAttributes() {
                 batchedAttributes.add(mapping);
                 if (((ForeignReferenceMapping)mapping).getBatchFetchType() == BatchFetchType.IN) {
                     this.hasInBatchFetchedAttribute = true;
+                } else if (((ForeignReferenceMapping)mapping).getBatchFetchType() == BatchFetchType.ADAPTIVE) {
+                    this.hasAdaptiveBatchFetchedAttribute = true;
                 }
             } else if (mapping.isAggregateObjectMapping()) {
                 if (mapping.getReferenceDescriptor().getObjectBuilder().hasInBatchFetchedAttribute()) {
                     this.hasInBatchFetchedAttribute = true;
                 }
+                if (mapping.getReferenceDescriptor().getObjectBuilder().hasAdaptiveBatchFetchedAttribute()) {
+                    this.hasAdaptiveBatchFetchedAttribute = true;
+                }
             }
         }
         this.batchFetchedAttributes = batchedAttributes;
 
-        if (this.hasInBatchFetchedAttribute && this.descriptor.hasInheritance()) {
+        if ((this.hasInBatchFetchedAttribute || this.hasAdaptiveBatchFetchedAttribute) && this.descriptor.hasInheritance()) {
             ClassDescriptor parent = this.descriptor.getInheritancePolicy().getParentDescriptor();
             while (parent != null) {
-                parent.getObjectBuilder().setHasInBatchFetchedAttribute(true);
+                if (this.hasInBatchFetchedAttribute) {
+                    parent.getObjectBuilder().setHasInBatchFetchedAttribute(true);
+                }
+                if (this.hasAdaptiveBatchFetchedAttribute) {
+                    parent.getObjectBuilder().setHasAdaptiveBatchFetchedAttribute(true);
+                }
                 parent = parent.getInheritancePolicy().getParentDescriptor();
             }
         }
@@ -4081,7 +4144,7 @@ public void mergeChangesIntoObject(Object target, ObjectChangeSet changeSet, Obj
         if ((source != null) && changeSet.isNew() && (!this.descriptor.shouldUseFullChangeSetsForNewObjects())) {
             mergeIntoObject(target,  changeSet, true, source, mergeManager, targetSession, false, isTargetCloneOfOriginal, shouldMergeFetchGroup);
         } else {
-            List changes = changeSet.getChanges();
+            List changes = changeSet.getBuiltChangeRecords();
             int size = changes.size();
             for (int index = 0; index < size; index++) {
                 ChangeRecord record = (ChangeRecord)changes.get(index);
@@ -4090,6 +4153,18 @@ public void mergeChangesIntoObject(Object target, ObjectChangeSet changeSet, Obj
                 DatabaseMapping mapping = getMappingForAttributeName(record.getAttribute());
                 mapping.mergeChangesIntoObject(target, record, source, mergeManager, targetSession);
             }
+            // PERF: Merge the compact direct changes without building their change records.
+            if (changeSet.hasDirectChanges()) {
+                BitSet directChanges = changeSet.getDirectChanges();
+                Object[] values = changeSet.getDirectChangeValues();
+                List<DatabaseMapping> mappings = changeSet.getDescriptor().getMappings();
+                int position = 0;
+                for (int index = directChanges.nextSetBit(0); index >= 0; index = directChanges.nextSetBit(index + 1)) {
+                    DatabaseMapping mapping = getMappingForAttributeName(mappings.get(index).getAttributeName());
+                    ((AbstractDirectMapping)mapping).mergeNewValueIntoObject(target, values[position], mergeManager);
+                    position = position + 2;
+                }
+            }
             // PERF: Avoid events if no listeners.
             // Event is already raised in mergeIntoObject, avoid calling twice.
             if (this.descriptor.getEventManager().hasAnyEventListeners()) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.expressions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+
+/**
+ * INTERNAL:
+ * The selection criteria of a query compiled into bytecode for conforming objects in-memory.
+ * <p>
+ * It is created when the query is prepared and shared by its execution clones.
+ * The evaluator class is generated on the first execution, as the shape of the compiled selection criteria
+ * may depend on the arguments, and is then reused by the executions with the same shape.
+ *
+ * @see org.eclipse.persistence.sessions.Project#setShouldCompileExpressions(boolean)
+ * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#buildConformEvaluator
+ */
+public class CompiledExpression {
+    protected final ClassDescriptor descriptor;
+    /** The last generated evaluator class, and its shape. */
+    protected volatile Object[] evaluatorClass;
+
+    public CompiledExpression(ClassDescriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Return the evaluator conforming objects to the selection criteria with the arguments.
+     * Return the compiled evaluator tree if its shape cannot be generated.
+     */
+    public ConformEvaluator buildEvaluator(Expression selectionCriteria, AbstractSession session, AbstractRecord translationRow) {
+        ConformEvaluator evaluator = ConformEvaluator.compile(selectionCriteria, session, translationRow);
+        if (!evaluator.isCompiled()) {
+            return evaluator;
+        }
+        StringBuilder shape = new StringBuilder();
+        List<ConformEvaluator> comparisons = new ArrayList<>();
+        evaluator.buildShape(shape, comparisons);
+        String key = shape.toString();
+        Object[] lastClass = this.evaluatorClass;
+        Class generatedClass;
+        if ((lastClass != null) && key.equals(lastClass[0])) {
+            generatedClass = (Class)lastClass[1];
+        } else {
+            generatedClass = this.descriptor.getConformEvaluatorGenerator().getEvaluatorClass(key, evaluator, comparisons);
+            if (generatedClass == null) {
+                return evaluator;
+            }
+            this.evaluatorClass = new Object[] {key, generatedClass};
+        }
+        try {
+            GeneratedConformEvaluator generated = (GeneratedConformEvaluator)generatedClass.getDeclaredConstructor().newInstance();
+            generated.initialize(selectionCriteria, key, comparisons);
+            return generated;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException exception) {
+            return evaluator;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.expressions;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Vector;
+import java.util.regex.Pattern;
+
+import org.eclipse.persistence.descriptors.FetchGroupManager;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionOperator;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.foundation.AbstractColumnMapping;
+
+/**
+ * INTERNAL:
+ * Conforms objects in-memory to a selection criteria compiled once into a tree of specialized evaluators,
+ * instead of interpreting the expression for each object.
+ * <p>
+ * The AND, OR and NOT of comparisons of direct attributes of the queried object with constants or parameters
+ * are compiled, the constant and parameter values and the attribute mappings are resolved once.
+ * Any other expression, and any object of a subclass or partially fetched, is conformed by the expression itself.
+ * <p>
+ * A fully compiled evaluator does not trigger indirection nor depend on the unit of work,
+ * so it can be used to conform objects concurrently.
+ *
+ * @see Expression#doesConform(Object, AbstractSession, AbstractRecord, int)
+ * @see org.eclipse.persistence.internal.identitymaps.IdentityMapManager#getAllFromIdentityMap
+ */
+public abstract class ConformEvaluator {
+
+    /**
+     * Return the evaluator for the selection criteria.
+     * The parameter values are resolved from the translation row.
+     */
+    public static ConformEvaluator compile(Expression selectionCriteria, AbstractSession session, AbstractRecord translationRow) {
+        try {
+            if (selectionCriteria.isLogicalExpression()) {
+                LogicalExpression logical = (LogicalExpression)selectionCriteria;
+                int selector = logical.getOperator().getSelector();
+                if (selector == ExpressionOperator.And) {
+                    return new And(compile(logical.getFirstChild(), session, translationRow), compile(logical.getSecondChild(), session, translationRow));
+                } else if (selector == ExpressionOperator.Or) {
+                    return new Or(compile(logical.getFirstChild(), session, translationRow), compile(logical.getSecondChild(), session, translationRow));
+                }
+            } else if (selectionCriteria.isRelationExpression()) {
+                return compileRelation((RelationExpression)selectionCriteria, session, translationRow);
+            } else if (selectionCriteria.isFunctionExpression()) {
+                return compileFunction((FunctionExpression)selectionCriteria, session, translationRow);
+            }
+        } catch (RuntimeException exception) {
+            // The expression reports the error when conforming objects.
+        }
+        return new Interpreted(selectionCriteria);
+    }
+
+    /**
+     * Return the evaluator conforming objects by the selection criteria itself, without compiling it.
+     * This is used when neither compiled nor parallel conforming is enabled.
+     */
+    public static ConformEvaluator interpret(Expression selectionCriteria) {
+        return new Interpreted(selectionCriteria);
+    }
+
+    /**
+     * Return if the selection criteria should be compiled, only if compiled or parallel conforming is enabled,
+     * as compiling costs more than conforming a few objects.
+     */
+    public static boolean shouldCompile(AbstractSession session) {
+        return (session.getProject().getParallelConformThreshold() > 0) || session.getProject().shouldCompileExpressions();
+    }
+
+    /**
+     * Compile the comparison of a direct attribute with a constant or parameter.
+     */
+    protected static ConformEvaluator compileRelation(RelationExpression relation, AbstractSession session, AbstractRecord translationRow) {
+        Expression first = relation.getFirstChild();
+        Expression second = relation.getSecondChild();
+        DirectValue left = DirectValue.from(first);
+        if ((left == null) || !isValue(second) || (second.getBuilder() == null) || (second.getBuilder().getSession() == null)) {
+            return new Interpreted(relation);
+        }
+        ExpressionOperator operator = relation.getOperator();
+        Object right = second.valueFromObject(null, session, translationRow, 0, false);
+        // A collection is an anyOf, unless compared with IN.
+        if ((right instanceof Collection) && (operator.getSelector() != ExpressionOperator.In) && (operator.getSelector() != ExpressionOperator.NotIn)) {
+            return new Interpreted(relation);
+        }
+        return new Comparison(relation, left, operator, right);
+    }
+
+    /**
+     * Compile NOT, and the functions comparing a direct attribute with constants or parameters.
+     */
+    protected static ConformEvaluator compileFunction(FunctionExpression function, AbstractSession session, AbstractRecord translationRow) {
+        ExpressionOperator operator = function.getOperator();
+        int selector = operator.getSelector();
+        if (selector == ExpressionOperator.Not) {
+            return new Not(compile(function.getBaseExpression(), session, translationRow));
+        }
+        DirectValue left = DirectValue.from(function.getBaseExpression());
+        if (left == null) {
+            return new Interpreted(function);
+        }
+        if ((selector == ExpressionOperator.IsNull) || (selector == ExpressionOperator.NotNull)) {
+            return new Comparison(function, left, operator, null);
+        }
+        if ((selector != ExpressionOperator.Between) && (selector != ExpressionOperator.NotBetween)
+                && (selector != ExpressionOperator.In) && (selector != ExpressionOperator.NotIn)
+                && (selector != ExpressionOperator.Like) && (selector != ExpressionOperator.NotLike)
+                && (selector != ExpressionOperator.Regexp)) {
+            return new Interpreted(function);
+        }
+        // Same arguments as conformed by the function, skip the first child which is the base.
+        Vector<Expression> children = function.getChildren();
+        int size = children.size();
+        Vector right = new Vector(size);
+        for (int index = 1; index < size; index++) {
+            Expression child = children.get(index);
+            if (!isValue(child)) {
+                return new Interpreted(function);
+            }
+            Object value = child.valueFromObject(null, session, translationRow, 0, false);
+            if (value instanceof Vector) {
+                right = (Vector)value;
+            } else {
+                right.add(value);
+            }
+        }
+        if ((right.size() == 1) && (right.get(0) != null)) {
+            if ((selector == ExpressionOperator.Like) || (selector == ExpressionOperator.NotLike)) {
+                Pattern pattern = Pattern.compile(Helper.convertLikeToRegex(String.valueOf(right.get(0))));
+                return new Match(function, left, pattern, selector == ExpressionOperator.Like);
+            } else if (selector == ExpressionOperator.Regexp) {
+                return new Match(function, left, Pattern.compile(String.valueOf(right.get(0))), true);
+            }
+        }
+        return new Comparison(function, left, operator, right);
+    }
+
+    /**
+     * Return if the expression is a value that does not depend on the conformed object.
+     */
+    protected static boolean isValue(Expression expression) {
+        return expression.isConstantExpression() || expression.isParameterExpression();
+    }
+
+    /**
+     * Return if the object conforms to the selection criteria.
+     */
+    public abstract boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy);
+
+    /**
+     * Return if the whole selection criteria is compiled,
+     * in which case objects can be conformed concurrently.
+     */
+    public boolean isCompiled() {
+        return true;
+    }
+
+    /**
+     * Append the shape of the evaluator tree, the nodes and the attributes compared,
+     * and add its comparisons in order.
+     * Evaluators of the same shape only differ by the compared values and operators.
+     */
+    protected abstract void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons);
+
+    /**
+     * The value of a direct attribute of the queried object.
+     */
+    protected static final class DirectValue {
+        protected final AbstractColumnMapping mapping;
+        protected final DatabaseField field;
+        protected final Class javaClass;
+        protected final FetchGroupManager fetchGroupManager;
+
+        protected DirectValue(AbstractColumnMapping mapping) {
+            this.mapping = mapping;
+            this.field = mapping.getField();
+            this.javaClass = mapping.getDescriptor().getJavaClass();
+            this.fetchGroupManager = mapping.getDescriptor().getFetchGroupManager();
+        }
+
+        /**
+         * Return the direct value of the query key, or null if not a direct attribute of the queried object.
+         */
+        protected static DirectValue from(Expression expression) {
+            if ((expression.getClass() != QueryKeyExpression.class) || (expression.getBuilder() == null) || (expression.getBuilder().getSession() == null)) {
+                return null;
+            }
+            QueryKeyExpression queryKey = (QueryKeyExpression)expression;
+            if (!queryKey.getBaseExpression().isExpressionBuilder()) {
+                return null;
+            }
+            DatabaseMapping mapping = queryKey.getMapping();
+            if ((mapping == null) || !mapping.isAbstractColumnMapping() || (mapping.getDescriptor() == null)) {
+                return null;
+            }
+            return new DirectValue((AbstractColumnMapping)mapping);
+        }
+
+        /**
+         * Return if the value can be read directly from the object,
+         * otherwise the object is of a subclass which may override the mapping, or partially fetched.
+         */
+        protected boolean appliesTo(Object object) {
+            return (object.getClass() == this.javaClass) && ((this.fetchGroupManager == null) || !this.fetchGroupManager.isPartialObject(object));
+        }
+
+        protected Object valueFromObject(Object object, AbstractSession session) {
+            return this.mapping.valueFromObject(object, this.field, session);
+        }
+    }
+
+    /**
+     * Logical AND.
+     */
+    protected static final class And extends ConformEvaluator {
+        protected final ConformEvaluator first;
+        protected final ConformEvaluator second;
+
+        protected And(ConformEvaluator first, ConformEvaluator second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            return this.first.conforms(object, session, translationRow, valueHolderPolicy) && this.second.conforms(object, session, translationRow, valueHolderPolicy);
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append("&(");
+            this.first.buildShape(shape, comparisons);
+            shape.append(',');
+            this.second.buildShape(shape, comparisons);
+            shape.append(')');
+        }
+
+        @Override
+        public boolean isCompiled() {
+            return this.first.isCompiled() && this.second.isCompiled();
+        }
+    }
+
+    /**
+     * Logical OR.
+     */
+    protected static final class Or extends ConformEvaluator {
+        protected final ConformEvaluator first;
+        protected final ConformEvaluator second;
+
+        protected Or(ConformEvaluator first, ConformEvaluator second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            return this.first.conforms(object, session, translationRow, valueHolderPolicy) || this.second.conforms(object, session, translationRow, valueHolderPolicy);
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append("|(");
+            this.first.buildShape(shape, comparisons);
+            shape.append(',');
+            this.second.buildShape(shape, comparisons);
+            shape.append(')');
+        }
+
+        @Override
+        public boolean isCompiled() {
+            return this.first.isCompiled() && this.second.isCompiled();
+        }
+    }
+
+    /**
+     * Logical NOT.
+     */
+    protected static final class Not extends ConformEvaluator {
+        protected final ConformEvaluator base;
+
+        protected Not(ConformEvaluator base) {
+            this.base = base;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            return !this.base.conforms(object, session, translationRow, valueHolderPolicy);
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append("!(");
+            this.base.buildShape(shape, comparisons);
+            shape.append(')');
+        }
+
+        @Override
+        public boolean isCompiled() {
+            return this.base.isCompiled();
+        }
+    }
+
+    /**
+     * Comparison of a direct attribute with a value resolved at compile time, using the operator's in-memory comparison.
+     */
+    protected static final class Comparison extends ConformEvaluator {
+        protected final Expression expression;
+        protected final DirectValue left;
+        protected final ExpressionOperator operator;
+        protected final Object right;
+
+        protected Comparison(Expression expression, DirectValue left, ExpressionOperator operator, Object right) {
+            this.expression = expression;
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            if (!this.left.appliesTo(object)) {
+                return this.expression.doesConform(object, session, translationRow, valueHolderPolicy);
+            }
+            return this.operator.doesRelationConform(this.left.valueFromObject(object, session), this.right);
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append('=').append(this.left.mapping.getAttributeName());
+            comparisons.add(this);
+        }
+    }
+
+    /**
+     * LIKE, NOT LIKE or REGEXP of a direct attribute with a pattern compiled once.
+     */
+    protected static final class Match extends ConformEvaluator {
+        protected final Expression expression;
+        protected final DirectValue left;
+        protected final Pattern pattern;
+        protected final boolean isMatch;
+
+        protected Match(Expression expression, DirectValue left, Pattern pattern, boolean isMatch) {
+            this.expression = expression;
+            this.left = left;
+            this.pattern = pattern;
+            this.isMatch = isMatch;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            if (!this.left.appliesTo(object)) {
+                return this.expression.doesConform(object, session, translationRow, valueHolderPolicy);
+            }
+            Object value = this.left.valueFromObject(object, session);
+            if (value == null) {
+                // A null never matches a pattern.
+                return !this.isMatch;
+            }
+            return this.pattern.matcher(String.valueOf(value)).matches() == this.isMatch;
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append('~').append(this.left.mapping.getAttributeName());
+            comparisons.add(this);
+        }
+    }
+
+    /**
+     * Any other expression, conformed by the expression itself.
+     */
+    protected static final class Interpreted extends ConformEvaluator {
+        protected final Expression expression;
+
+        protected Interpreted(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+            return this.expression.doesConform(object, session, translationRow, valueHolderPolicy);
+        }
+
+        @Override
+        public boolean isCompiled() {
+            return false;
+        }
+
+        @Override
+        protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+            shape.append('?');
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.expressions;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.descriptors.InstanceVariableAttributeAccessor;
+import org.eclipse.persistence.internal.descriptors.MethodAttributeAccessor;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.libraries.asm.ClassWriter;
+import org.eclipse.persistence.internal.libraries.asm.Label;
+import org.eclipse.persistence.internal.libraries.asm.MethodVisitor;
+import org.eclipse.persistence.internal.libraries.asm.Opcodes;
+import org.eclipse.persistence.internal.libraries.asm.Type;
+import org.eclipse.persistence.mappings.AttributeAccessor;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+
+/**
+ * INTERNAL:
+ * Generates in bytecode the {@link GeneratedConformEvaluator} subclasses of a descriptor,
+ * one per shape of compiled selection criteria.
+ * <p>
+ * The compared attributes are read by calling their public getter, reading their public field,
+ * or calling the getter woven for field access (<code>_persistence_get_&lt;attribute&gt;</code>).
+ * Other attributes are read through the mapping's attribute accessor.
+ * <p>
+ * The generated classes are defined by a class loader of the descriptor, delegating to the class loader
+ * of the descriptor's class, and cached by shape. The number of generated classes is bounded,
+ * selection criteria of other shapes are conformed by their compiled evaluator tree.
+ *
+ * @see CompiledExpression
+ */
+public class ConformEvaluatorGenerator implements Opcodes {
+    /** Maximum number of shapes generated for a descriptor. */
+    public static final int MAX_CLASSES = 100;
+    /** Maximum number of comparisons of a generated class. */
+    public static final int MAX_COMPARISONS = 256;
+
+    protected static final String SUPERCLASS = Type.getInternalName(GeneratedConformEvaluator.class);
+    protected static final String SESSION = "Lorg/eclipse/persistence/internal/sessions/AbstractSession;";
+    protected static final String COMPARE_SIGNATURE = "(ILjava/lang/Object;" + SESSION + ")Z";
+
+    protected final ClassDescriptor descriptor;
+    protected final EvaluatorClassLoader classLoader;
+    /** The generated classes by shape, Void if the shape cannot be generated. */
+    protected final Map<String, Class> evaluatorClasses = new ConcurrentHashMap<>();
+    protected final AtomicInteger classCount = new AtomicInteger();
+
+    public ConformEvaluatorGenerator(ClassDescriptor descriptor) {
+        this.descriptor = descriptor;
+        ClassLoader parent = descriptor.getJavaClass().getClassLoader();
+        if (parent == null) {
+            parent = ConformEvaluatorGenerator.class.getClassLoader();
+        }
+        this.classLoader = new EvaluatorClassLoader(parent);
+    }
+
+    /**
+     * Return the evaluator class generated for the shape of the compiled evaluator tree,
+     * generate it if not yet generated. Return null if the shape cannot be generated.
+     */
+    public Class getEvaluatorClass(String shape, ConformEvaluator evaluator, List<ConformEvaluator> comparisons) {
+        Class evaluatorClass = this.evaluatorClasses.get(shape);
+        if (evaluatorClass == null) {
+            synchronized (this) {
+                evaluatorClass = this.evaluatorClasses.get(shape);
+                if (evaluatorClass == null) {
+                    if (this.evaluatorClasses.size() >= MAX_CLASSES) {
+                        return null;
+                    }
+                    evaluatorClass = generate(evaluator, comparisons);
+                    if (evaluatorClass == null) {
+                        // Remember the shape cannot be generated.
+                        evaluatorClass = Void.class;
+                    }
+                    this.evaluatorClasses.put(shape, evaluatorClass);
+                }
+            }
+        }
+        return (evaluatorClass == Void.class) ? null : evaluatorClass;
+    }
+
+    /**
+     * Generate and define the evaluator class, return null if the evaluator tree cannot be generated.
+     */
+    protected Class generate(ConformEvaluator evaluator, List<ConformEvaluator> comparisons) {
+        if (comparisons.isEmpty() || (comparisons.size() > MAX_COMPARISONS)) {
+            return null;
+        }
+        for (ConformEvaluator comparison : comparisons) {
+            ConformEvaluator.DirectValue value = (comparison instanceof ConformEvaluator.Comparison)
+                    ? ((ConformEvaluator.Comparison)comparison).left : ((ConformEvaluator.Match)comparison).left;
+            // The field value is the converted attribute value.
+            if ((value.javaClass != this.descriptor.getJavaClass()) || !value.mapping.isAbstractDirectMapping()) {
+                return null;
+            }
+        }
+        String className = GeneratedConformEvaluator.class.getName() + "_" + Helper.getShortClassName(this.descriptor.getJavaClass()) + "_" + this.classCount.incrementAndGet();
+        String internalName = className.replace('.', '/');
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // Only booleans are merged, avoid loading classes.
+                return "java/lang/Object";
+            }
+        };
+        classWriter.visit(V1_8, ACC_PUBLIC | ACC_SUPER | ACC_FINAL, internalName, null, SUPERCLASS, null);
+
+        MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        method.visitCode();
+        method.visitVarInsn(ALOAD, 0);
+        method.visitMethodInsn(INVOKESPECIAL, SUPERCLASS, "<init>", "()V", false);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        method = classWriter.visitMethod(ACC_PROTECTED, "conformsDirectly", "(Ljava/lang/Object;" + SESSION + ")Z", null, null);
+        method.visitCode();
+        generateEvaluator(method, internalName, evaluator, comparisons);
+        method.visitInsn(IRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+        classWriter.visitEnd();
+
+        try {
+            return this.classLoader.define(className, classWriter.toByteArray());
+        } catch (LinkageError | SecurityException error) {
+            return null;
+        }
+    }
+
+    /**
+     * Generate the code leaving if the object conforms to the evaluator on the stack.
+     * The AND and OR are short circuited as when interpreted.
+     */
+    protected void generateEvaluator(MethodVisitor method, String internalName, ConformEvaluator evaluator, List<ConformEvaluator> comparisons) {
+        if (evaluator instanceof ConformEvaluator.And) {
+            Label isFalse = new Label();
+            Label end = new Label();
+            generateEvaluator(method, internalName, ((ConformEvaluator.And)evaluator).first, comparisons);
+            method.visitJumpInsn(IFEQ, isFalse);
+            generateEvaluator(method, internalName, ((ConformEvaluator.And)evaluator).second, comparisons);
+            method.visitJumpInsn(GOTO, end);
+            method.visitLabel(isFalse);
+            method.visitInsn(ICONST_0);
+            method.visitLabel(end);
+        } else if (evaluator instanceof ConformEvaluator.Or) {
+            Label isTrue = new Label();
+            Label end = new Label();
+            generateEvaluator(method, internalName, ((ConformEvaluator.Or)evaluator).first, comparisons);
+            method.visitJumpInsn(IFNE, isTrue);
+            generateEvaluator(method, internalName, ((ConformEvaluator.Or)evaluator).second, comparisons);
+            method.visitJumpInsn(GOTO, end);
+            method.visitLabel(isTrue);
+            method.visitInsn(ICONST_1);
+            method.visitLabel(end);
+        } else if (evaluator instanceof ConformEvaluator.Not) {
+            generateEvaluator(method, internalName, ((ConformEvaluator.Not)evaluator).base, comparisons);
+            method.visitInsn(ICONST_1);
+            method.visitInsn(IXOR);
+        } else {
+            // this.compare(index, <attribute value>, session) or this.match(...)
+            int index = comparisons.indexOf(evaluator);
+            ConformEvaluator.DirectValue value = (evaluator instanceof ConformEvaluator.Comparison)
+                    ? ((ConformEvaluator.Comparison)evaluator).left : ((ConformEvaluator.Match)evaluator).left;
+            method.visitVarInsn(ALOAD, 0);
+            method.visitLdcInsn(Integer.valueOf(index));
+            generateAttributeValue(method, internalName, index, value.mapping);
+            method.visitVarInsn(ALOAD, 2);
+            method.visitMethodInsn(INVOKEVIRTUAL, internalName, (evaluator instanceof ConformEvaluator.Comparison) ? "compare" : "match", COMPARE_SIGNATURE, false);
+        }
+    }
+
+    /**
+     * Generate the code leaving the attribute value of the object on the stack, boxed if primitive.
+     */
+    protected void generateAttributeValue(MethodVisitor method, String internalName, int index, DatabaseMapping mapping) {
+        Method getter = null;
+        Field field = null;
+        AttributeAccessor accessor = mapping.getAttributeAccessor();
+        if (accessor.isMethodAttributeAccessor()) {
+            getter = ((MethodAttributeAccessor)accessor).getGetMethod();
+        } else if (accessor.isInstanceVariableAttributeAccessor()) {
+            field = ((InstanceVariableAttributeAccessor)accessor).getAttributeField();
+            if ((field != null) && !isAccessible(field.getDeclaringClass(), field.getModifiers())) {
+                // Use the getter woven for field access.
+                field = null;
+                try {
+                    getter = this.descriptor.getJavaClass().getMethod(Helper.getWeavedGetMethodName(mapping.getAttributeName()));
+                } catch (NoSuchMethodException | SecurityException exception) {
+                    getter = null;
+                }
+            }
+        }
+        if ((getter != null) && ((getter.getParameterTypes().length > 0) || !isAccessible(getter.getDeclaringClass(), getter.getModifiers()))) {
+            getter = null;
+        }
+        if (getter != null) {
+            String owner = Type.getInternalName(getter.getDeclaringClass());
+            method.visitVarInsn(ALOAD, 1);
+            method.visitTypeInsn(CHECKCAST, owner);
+            method.visitMethodInsn(INVOKEVIRTUAL, owner, getter.getName(), Type.getMethodDescriptor(getter), false);
+            generateBox(method, getter.getReturnType());
+        } else if (field != null) {
+            String owner = Type.getInternalName(field.getDeclaringClass());
+            method.visitVarInsn(ALOAD, 1);
+            method.visitTypeInsn(CHECKCAST, owner);
+            method.visitFieldInsn(GETFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+            generateBox(method, field.getType());
+        } else {
+            method.visitVarInsn(ALOAD, 0);
+            method.visitLdcInsn(Integer.valueOf(index));
+            method.visitVarInsn(ALOAD, 1);
+            method.visitMethodInsn(INVOKEVIRTUAL, internalName, "getAttributeValue", "(ILjava/lang/Object;)Ljava/lang/Object;", false);
+        }
+    }
+
+    /**
+     * Return if the member can be accessed from the generated class.
+     */
+    protected static boolean isAccessible(Class declaringClass, int modifiers) {
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                && Modifier.isPublic(declaringClass.getModifiers()) && !declaringClass.isInterface();
+    }
+
+    /**
+     * Generate the boxing of a primitive value on the stack.
+     */
+    protected static void generateBox(MethodVisitor method, Class type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        Class wrapper;
+        if (type == Integer.TYPE) {
+            wrapper = Integer.class;
+        } else if (type == Long.TYPE) {
+            wrapper = Long.class;
+        } else if (type == Double.TYPE) {
+            wrapper = Double.class;
+        } else if (type == Float.TYPE) {
+            wrapper = Float.class;
+        } else if (type == Boolean.TYPE) {
+            wrapper = Boolean.class;
+        } else if (type == Short.TYPE) {
+            wrapper = Short.class;
+        } else if (type == Byte.TYPE) {
+            wrapper = Byte.class;
+        } else {
+            wrapper = Character.class;
+        }
+        method.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper), "valueOf", "(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(wrapper), false);
+    }
+
+    /**
+     * Defines the generated classes.
+     * EclipseLink internal classes are loaded by the class loader of EclipseLink,
+     * other classes by the class loader of the descriptor's class.
+     */
+    protected static class EvaluatorClassLoader extends ClassLoader {
+        protected EvaluatorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("org.eclipse.persistence.internal.")) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loadedClass = findLoadedClass(name);
+                    if (loadedClass == null) {
+                        loadedClass = ConformEvaluatorGenerator.class.getClassLoader().loadClass(name);
+                    }
+                    return loadedClass;
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        protected Class define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.expressions;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.persistence.descriptors.FetchGroupManager;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionOperator;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.mappings.foundation.AbstractColumnMapping;
+
+/**
+ * INTERNAL:
+ * Superclass of the conform evaluators generated in bytecode by the {@link ConformEvaluatorGenerator}.
+ * <p>
+ * The generated subclass implements {@link #conformsDirectly(Object, AbstractSession)} for one shape of selection criteria,
+ * the AND, OR and NOT are inlined and the compared attributes are read by calling their getter or reading their field.
+ * The values, operators and patterns of the comparisons are set on each instance from a compiled evaluator tree.
+ * Objects of a subclass or partially fetched are conformed by the selection criteria itself.
+ */
+public abstract class GeneratedConformEvaluator extends ConformEvaluator {
+    /** The selection criteria, used for objects that cannot be conformed directly. */
+    protected Expression expression;
+    /** The shape of the selection criteria the class was generated for. */
+    protected String shape;
+    /** The compiled comparisons the values are set from. */
+    protected List<ConformEvaluator> comparisons;
+    /** The class of the objects conformed directly. */
+    protected Class javaClass;
+    protected FetchGroupManager fetchGroupManager;
+    /** The mappings, operators and values of the comparisons, in the order of the shape. */
+    protected AbstractColumnMapping[] mappings;
+    protected ExpressionOperator[] operators;
+    protected Object[] values;
+    protected Pattern[] patterns;
+    protected boolean[] isMatches;
+
+    protected GeneratedConformEvaluator() {
+    }
+
+    /**
+     * Set the values of the comparisons of the compiled evaluator tree of the same shape.
+     */
+    public void initialize(Expression expression, String shape, List<ConformEvaluator> comparisons) {
+        int size = comparisons.size();
+        this.expression = expression;
+        this.shape = shape;
+        this.comparisons = comparisons;
+        this.mappings = new AbstractColumnMapping[size];
+        this.operators = new ExpressionOperator[size];
+        this.values = new Object[size];
+        this.patterns = new Pattern[size];
+        this.isMatches = new boolean[size];
+        for (int index = 0; index < size; index++) {
+            ConformEvaluator comparison = comparisons.get(index);
+            DirectValue value;
+            if (comparison instanceof Comparison) {
+                value = ((Comparison)comparison).left;
+                this.operators[index] = ((Comparison)comparison).operator;
+                this.values[index] = ((Comparison)comparison).right;
+            } else {
+                value = ((Match)comparison).left;
+                this.patterns[index] = ((Match)comparison).pattern;
+                this.isMatches[index] = ((Match)comparison).isMatch;
+            }
+            this.mappings[index] = value.mapping;
+            this.javaClass = value.javaClass;
+            this.fetchGroupManager = value.fetchGroupManager;
+        }
+    }
+
+    @Override
+    public boolean conforms(Object object, AbstractSession session, AbstractRecord translationRow, int valueHolderPolicy) {
+        if ((object.getClass() != this.javaClass) || ((this.fetchGroupManager != null) && this.fetchGroupManager.isPartialObject(object))) {
+            return this.expression.doesConform(object, session, translationRow, valueHolderPolicy);
+        }
+        return conformsDirectly(object, session);
+    }
+
+    /**
+     * Return if the object of the class conforms, generated for the shape of the selection criteria.
+     */
+    protected abstract boolean conformsDirectly(Object object, AbstractSession session);
+
+    /**
+     * Return if the attribute value conforms to the comparison.
+     * Called by the generated code.
+     */
+    protected boolean compare(int index, Object attributeValue, AbstractSession session) {
+        return this.operators[index].doesRelationConform(this.mappings[index].getFieldValue(attributeValue, session), this.values[index]);
+    }
+
+    /**
+     * Return if the attribute value conforms to the pattern.
+     * Called by the generated code.
+     */
+    protected boolean match(int index, Object attributeValue, AbstractSession session) {
+        Object value = this.mappings[index].getFieldValue(attributeValue, session);
+        if (value == null) {
+            return !this.isMatches[index];
+        }
+        return this.patterns[index].matcher(String.valueOf(value)).matches() == this.isMatches[index];
+    }
+
+    /**
+     * Return the attribute value of the comparison through the mapping's attribute accessor.
+     * Called by the generated code for attributes without public getter or field.
+     */
+    protected Object getAttributeValue(int index, Object object) {
+        return this.mappings[index].getAttributeValueFromObject(object);
+    }
+
+    /**
+     * The shape is the one of the compiled evaluator tree the comparisons were set from.
+     */
+    @Override
+    protected void buildShape(StringBuilder shape, List<ConformEvaluator> comparisons) {
+        shape.append(this.shape);
+        comparisons.addAll(this.comparisons);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -14,19 +14,94 @@
 //     Oracle - initial API and implementation from Oracle TopLink
 package org.eclipse.persistence.internal.helper;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Provide a concurrent fixed size caching mechanism.
  * This is used for caching EJBQL parsed queries, Update calls,
  * and other places a fixed size cache is needed.
  * The default fixed size is 100.
+ * <p>
+ * Reads are lock free. The entries are kept in least recently used order,
+ * and when the cache is full a new entry is only admitted if it has been
+ * requested more often than the least recently used entry it would evict
+ * (TinyLFU admission). The request frequencies are estimated by a small
+ * count-min sketch that is periodically halved, so a scan of one-off keys
+ * cannot flush the frequently used entries out of the cache.
+ * <p>
+ * Reads are recorded in a small lossy ring buffer, which is replayed into the
+ * sketch and access order under the lock every 16 reads, if the lock is free,
+ * and before every write. Under contention reads may be dropped from the
+ * buffer, the frequencies and access order only need to be approximate.
+ * <p>
+ * Hits, misses, evictions and rejected (not admitted) entries are counted,
+ * so the cache efficiency can be reported through the session profiler and JMX.
  */
 public class ConcurrentFixedCache implements Serializable {
+    /** Number of slots of the read buffer, a power of 2. */
+    protected static final int READ_BUFFER_SIZE = 64;
+    protected static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    /** The read buffer is drained every 16 reads. */
+    protected static final int DRAIN_MASK = 15;
+
     protected int maxSize;
-    protected Map cache;
+
+    /** Map of keys to cache entries. */
+    protected transient Map cache;
+
+    /** Guards the access order list and the frequency sketch. */
+    protected transient ReentrantLock lock;
+
+    /** Least recently used entry, eviction candidate. */
+    protected transient CacheEntry head;
+
+    /** Most recently used entry. */
+    protected transient CacheEntry tail;
+
+    /** Number of entries in the access order list, may include entries removed directly from the map. */
+    protected transient int linkedSize;
+
+    protected transient FrequencySketch sketch;
+
+    /** Ring buffer of the recent reads, the keys of misses and the entries of hits. */
+    protected transient AtomicReferenceArray<Object> readBuffer;
+
+    /** Number of reads written to the read buffer. */
+    protected transient AtomicLong readCount;
+
+    /** Number of reads drained from the read buffer, guarded by the lock. */
+    protected transient long readsDrained;
+
+    protected transient LongAdder hits;
+    protected transient LongAdder misses;
+    protected transient LongAdder evictions;
+    protected transient LongAdder rejections;
+
+    /**
+     * INTERNAL:
+     * Entry of the cache, linked in access order.
+     */
+    protected static class CacheEntry {
+        protected final Object key;
+        protected volatile Object value;
+        protected CacheEntry previous;
+        protected CacheEntry next;
+        protected boolean isLinked;
+
+        protected CacheEntry(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
 
     /**
      * Create a new concurrent cache, with a fixed size of 100.
@@ -39,9 +114,21 @@ public ConcurrentFixedCache() {
      * Create a new concurrent cache, with the max size.
      */
     public ConcurrentFixedCache(int maxSize) {
-        // PERF: Use a concurrent map to allow concurrent gets.
-        this.cache = new ConcurrentHashMap(maxSize);
         this.maxSize = maxSize;
+        initialize();
+    }
+
+    protected void initialize() {
+        // PERF: Use a concurrent map to allow concurrent gets.
+        this.cache = new ConcurrentHashMap(this.maxSize);
+        this.lock = new ReentrantLock();
+        this.sketch = new FrequencySketch(this.maxSize);
+        this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        this.readCount = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.rejections = new LongAdder();
     }
 
     /**
@@ -53,11 +140,27 @@ public int getMaxSize() {
 
     /**
      * Set the fixed size of the parse cache.
-     * When the size is exceeded, subsequent EJBQL will not be cached.
+     * When the size is exceeded, the least recently used entries are evicted.
      * The default size is 100;
      */
     public void setMaxSize(int maxSize) {
-        this.maxSize = maxSize;
+        this.lock.lock();
+        try {
+            drainReadBuffer();
+            this.maxSize = maxSize;
+            this.sketch = new FrequencySketch(maxSize);
+            while (this.cache.size() > maxSize) {
+                CacheEntry victim = leastRecentlyUsed();
+                if (victim == null) {
+                    break;
+                }
+                unlink(victim);
+                this.cache.remove(victim.key);
+                this.evictions.increment();
+            }
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
@@ -65,37 +168,114 @@ public void setMaxSize(int maxSize) {
      * If the EJBQL has not been cached, null is returned.
      */
     public Object get(Object key) {
-        return this.cache.get(key);
+        CacheEntry entry = (CacheEntry)this.cache.get(key);
+        if (entry == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        if (this.maxSize > 0) {
+            recordAccess(key, entry);
+        }
+        return (entry == null) ? null : entry.value;
+    }
+
+    /**
+     * Record the access in the read buffer, and drain the buffer every 16 reads.
+     * PERF: Reads do not wait for the lock, if it is busy the buffer is drained later,
+     * and reads overwritten in the meantime are lost.
+     */
+    protected void recordAccess(Object key, CacheEntry entry) {
+        long count = this.readCount.getAndIncrement();
+        this.readBuffer.lazySet((int)(count & READ_BUFFER_MASK), (entry == null) ? key : entry);
+        if (((count & DRAIN_MASK) == DRAIN_MASK) && this.lock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                this.lock.unlock();
+            }
+        }
     }
 
-    public void clear(){
-        this.cache.clear();
+    /**
+     * Record the buffered reads in the frequency sketch and access order.
+     * Must be called holding the lock.
+     */
+    protected void drainReadBuffer() {
+        long end = this.readCount.get();
+        long start = Math.max(this.readsDrained, end - READ_BUFFER_SIZE);
+        for (long index = start; index < end; index++) {
+            Object read = this.readBuffer.getAndSet((int)(index & READ_BUFFER_MASK), null);
+            if (read instanceof CacheEntry) {
+                CacheEntry entry = (CacheEntry)read;
+                this.sketch.increment(entry.key);
+                if (entry.isLinked) {
+                    unlink(entry);
+                    link(entry);
+                }
+            } else if (read != null) {
+                this.sketch.increment(read);
+            }
+        }
+        this.readsDrained = end;
+    }
+
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.cache.clear();
+            this.head = null;
+            this.tail = null;
+            this.linkedSize = 0;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
      * Add the value to the cache.
-     * Remove the
+     * If the cache is full the least recently used entry is evicted,
+     * unless it is used more frequently than the new key, in which case the new
+     * value is not cached.
      */
     public void put(Object key, Object value) {
         if (this.maxSize == 0) {
             return;
         }
-        this.cache.put(key, value);
-        // Currently just removes the first one encountered, not LRU,
-        // this is not ideal, but the most concurrent and quickest way to ensure fixed size.
-        if (this.cache.size() > this.maxSize) {
-            Iterator iterator = this.cache.keySet().iterator();
-            try {
-                while ((this.cache.size() > this.maxSize) && iterator.hasNext()) {
-                    Object next = iterator.next();
-                    // Do not remove what was just put in.
-                    if (next != key) {
-                        this.cache.remove(next);
+        this.lock.lock();
+        try {
+            drainReadBuffer();
+            CacheEntry entry = (CacheEntry)this.cache.get(key);
+            if (entry != null) {
+                entry.value = value;
+                if (entry.isLinked) {
+                    unlink(entry);
+                    link(entry);
+                }
+                return;
+            }
+            if (this.linkedSize > (this.cache.size() + this.maxSize)) {
+                // Entries were removed directly from the map, drop them from the access order.
+                purgeUnlinked();
+            }
+            if (this.cache.size() >= this.maxSize) {
+                CacheEntry victim = leastRecentlyUsed();
+                if (victim != null) {
+                    if (this.sketch.frequency(key) <= this.sketch.frequency(victim.key)) {
+                        // The victim is used more often, do not admit the new key.
+                        this.rejections.increment();
+                        return;
                     }
+                    unlink(victim);
+                    this.cache.remove(victim.key);
+                    this.evictions.increment();
                 }
-            } catch (Exception alreadyGone) {
-                // Ignore.
             }
+            entry = new CacheEntry(key, value);
+            link(entry);
+            this.cache.put(key, entry);
+        } finally {
+            this.lock.unlock();
         }
     }
 
@@ -103,13 +283,225 @@ public void put(Object key, Object value) {
      * Remove from cache.
      */
     public void remove(Object key) {
-        this.cache.remove(key);
+        this.lock.lock();
+        try {
+            CacheEntry entry = (CacheEntry)this.cache.remove(key);
+            if ((entry != null) && entry.isLinked) {
+                unlink(entry);
+            }
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     /**
-     * Return the cache.
+     * Return the cache, the map of the keys to their cache entries.
      */
     public Map getCache() {
         return cache;
     }
+
+    /**
+     * Return the number of lookups that found a value.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Return the number of lookups that did not find a value.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Return the number of entries evicted to keep the cache within its size.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Return the number of new entries not admitted to the cache,
+     * as the entry they would have evicted was used more often.
+     */
+    public long getRejections() {
+        return this.rejections.sum();
+    }
+
+    /**
+     * Return the hit rate of the cache, between 0 and 1.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        if (total == 0) {
+            return 0;
+        }
+        return (double)hits / total;
+    }
+
+    /**
+     * Return the least recently used entry that is still in the cache.
+     * Must be called holding the lock.
+     */
+    protected CacheEntry leastRecentlyUsed() {
+        CacheEntry entry = this.head;
+        while ((entry != null) && (this.cache.get(entry.key) != entry)) {
+            CacheEntry next = entry.next;
+            unlink(entry);
+            entry = next;
+        }
+        return entry;
+    }
+
+    /**
+     * Drop the entries no longer in the map from the access order.
+     * Must be called holding the lock.
+     */
+    protected void purgeUnlinked() {
+        CacheEntry entry = this.head;
+        while (entry != null) {
+            CacheEntry next = entry.next;
+            if (this.cache.get(entry.key) != entry) {
+                unlink(entry);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Add the entry as the most recently used.
+     * Must be called holding the lock.
+     */
+    protected void link(CacheEntry entry) {
+        entry.previous = this.tail;
+        entry.next = null;
+        if (this.tail == null) {
+            this.head = entry;
+        } else {
+            this.tail.next = entry;
+        }
+        this.tail = entry;
+        entry.isLinked = true;
+        this.linkedSize++;
+    }
+
+    /**
+     * Remove the entry from the access order.
+     * Must be called holding the lock.
+     */
+    protected void unlink(CacheEntry entry) {
+        if (entry.previous == null) {
+            this.head = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next == null) {
+            this.tail = entry.previous;
+        } else {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        entry.isLinked = false;
+        this.linkedSize--;
+    }
+
+    /**
+     * The cached values are not serialized, the cache is empty after deserialization.
+     */
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initialize();
+    }
+
+    /**
+     * INTERNAL:
+     * Count-min sketch of the access frequencies, using four 4 bit counters per key.
+     * When the number of recorded accesses reaches ten times the cache size all
+     * counters are halved, so the frequencies favor recent history.
+     * Not thread safe, used holding the cache's lock.
+     */
+    protected static class FrequencySketch {
+        protected static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        protected static final long RESET_MASK = 0x7777777777777777L;
+        protected static final long ONE_MASK = 0x1111111111111111L;
+
+        protected final long[] table;
+        protected final int tableMask;
+        protected final int sampleSize;
+        protected int size;
+
+        protected FrequencySketch(int maxSize) {
+            int length = 8;
+            while (length < maxSize) {
+                length = length << 1;
+            }
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = Math.max(10 * maxSize, 10);
+        }
+
+        /**
+         * Return the estimated number of accesses of the key, at most 15.
+         */
+        protected int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = 15;
+            for (int index = 0; index < 4; index++) {
+                int slot = indexOf(hash, index);
+                int count = (int)((this.table[slot] >>> ((start + index) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        /**
+         * Record an access of the key.
+         */
+        protected void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int index = 0; index < 4; index++) {
+                int slot = indexOf(hash, index);
+                int offset = (start + index) << 2;
+                long mask = 0xfL << offset;
+                if ((this.table[slot] & mask) != mask) {
+                    this.table[slot] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && (++this.size >= this.sampleSize)) {
+                reset();
+            }
+        }
+
+        /**
+         * Halve all counters.
+         */
+        protected void reset() {
+            int odd = 0;
+            for (int index = 0; index < this.table.length; index++) {
+                odd += Long.bitCount(this.table[index] & ONE_MASK);
+                this.table[index] = (this.table[index] >>> 1) & RESET_MASK;
+            }
+            this.size = (this.size >>> 1) - (odd >>> 2);
+        }
+
+        protected int indexOf(int hash, int index) {
+            long value = (hash + SEEDS[index]) * SEEDS[index];
+            value += value >>> 32;
+            return ((int)value) & this.tableMask;
+        }
+
+        protected static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
 }
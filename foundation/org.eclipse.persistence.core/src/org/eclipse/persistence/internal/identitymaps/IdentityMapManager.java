@@ -35,6 +35,7 @@
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import org.eclipse.persistence.config.ReferenceMode;
 import org.eclipse.persistence.descriptors.CacheIndex;
@@ -47,6 +48,8 @@
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
+import org.eclipse.persistence.internal.expressions.ConformEvaluator;
 import org.eclipse.persistence.internal.helper.ClassConstants;
 import org.eclipse.persistence.internal.helper.ConcurrencyManager;
 import org.eclipse.persistence.internal.helper.DeferredLockManager;
@@ -529,6 +532,14 @@ public boolean containsKey(Object key, Class theClass, ClassDescriptor descripto
      * Query the cache in-memory.
      */
     public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean shouldReturnInvalidatedObjects) {
+        return getAllFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, shouldReturnInvalidatedObjects, null);
+    }
+
+    /**
+     * Query the cache in-memory.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     */
+    public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean shouldReturnInvalidatedObjects, CompiledExpression compiledExpression) {
         ClassDescriptor descriptor = this.session.getDescriptor(theClass);
         this.session.startOperationProfile(SessionProfiler.Caching);
         Vector objects = null;
@@ -541,50 +552,52 @@ public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass
                     builder.setQueryClass(theClass);
                 }
             }
-            objects = new Vector();
             IdentityMap map = getIdentityMap(descriptor, false);
 
-            // Bug #522635 - if policy is set to trigger indirection, then iterate over a copy of the cache keys collection
-            //               to avoid a ConcurrentModificationException
-            final Enumeration cacheEnum = valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_TRIGGER_INDIRECTION ? map.cloneKeys() : map.keys();
-
             // bug 327900 - If don't read subclasses is set on the descriptor heed it.
-            boolean readSubclassesOrNoInheritance = (!descriptor.hasInheritance() || descriptor.getInheritancePolicy().shouldReadSubclasses());
+            final boolean readSubclassesOrNoInheritance = (!descriptor.hasInheritance() || descriptor.getInheritancePolicy().shouldReadSubclasses());
+
+            // PERF: Compile the selection criteria once instead of interpreting it for each object.
+            final ConformEvaluator evaluator = buildConformEvaluator(selectionCriteria, translationRow, compiledExpression);
 
             // cache the current time to avoid calculating it every time through the loop
-            long currentTimeInMillis = System.currentTimeMillis();
-            while (cacheEnum.hasMoreElements()) {
-                CacheKey key = (CacheKey)cacheEnum.nextElement();
-                if ((key.getObject() == null) || (!shouldReturnInvalidatedObjects && descriptor.getCacheInvalidationPolicy().isInvalidated(key, currentTimeInMillis))) {
-                    continue;
-                }
-                Object object = key.getObject();
+            final long currentTimeInMillis = System.currentTimeMillis();
+
+            // PERF: Conform a large cache in parallel, if conforming does not trigger indirection.
+            int parallelConformThreshold = this.session.getProject().getParallelConformThreshold();
+            if ((parallelConformThreshold > 0) && (map instanceof FullIdentityMap) && (((FullIdentityMap)map).getCacheKeys() instanceof ConcurrentMap)
+                    && (map.getSize() >= parallelConformThreshold) && ((evaluator == null) || evaluator.isCompiled())) {
+                List<Object> conformingObjects = ((FullIdentityMap)map).getCacheKeys().values().parallelStream()
+                    .filter(key -> shouldReturnInvalidatedObjects || !descriptor.getCacheInvalidationPolicy().isInvalidated(key, currentTimeInMillis))
+                    .map(CacheKey::getObject)
+                    .filter(object -> (object != null) && ((object.getClass() == theClass) || (readSubclassesOrNoInheritance && theClass.isInstance(object)))
+                            && ((evaluator == null) || isConforming(object, evaluator, translationRow, valueHolderPolicy)))
+                    .collect(Collectors.toList());
+                objects = new Vector(conformingObjects);
+            } else {
+                objects = new Vector();
 
-                // Bug # 3216337 - key.getObject() should check for null; object may be GC'd (MWN)
-                if (object == null) {
-                    continue;
-                }
+                // Bug #522635 - if policy is set to trigger indirection, then iterate over a copy of the cache keys collection
+                //               to avoid a ConcurrentModificationException
+                final Enumeration cacheEnum = valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_TRIGGER_INDIRECTION ? map.cloneKeys() : map.keys();
 
-                // Must check for inheritance.
-                // bug 327900
-                if ((object.getClass() == theClass) || (readSubclassesOrNoInheritance && (theClass.isInstance(object)))) {
-                    if (selectionCriteria == null) {
-                        objects.add(object);
-                    } else {
-                        try {
-                            if (selectionCriteria.doesConform(object, this.session, (AbstractRecord)translationRow, valueHolderPolicy)) {
-                                objects.add(object);
-                            }
-                        } catch (QueryException queryException) {
-                            if (queryException.getErrorCode() == QueryException.MUST_INSTANTIATE_VALUEHOLDERS) {
-                                if (valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_IGNORE_EXCEPTION_RETURN_CONFORMED) {
-                                    objects.add(object);
-                                } else if (valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION) {
-                                    throw queryException;
-                                }
-                            } else {
-                                throw queryException;
-                            }
+                while (cacheEnum.hasMoreElements()) {
+                    CacheKey key = (CacheKey)cacheEnum.nextElement();
+                    if ((key.getObject() == null) || (!shouldReturnInvalidatedObjects && descriptor.getCacheInvalidationPolicy().isInvalidated(key, currentTimeInMillis))) {
+                        continue;
+                    }
+                    Object object = key.getObject();
+
+                    // Bug # 3216337 - key.getObject() should check for null; object may be GC'd (MWN)
+                    if (object == null) {
+                        continue;
+                    }
+
+                    // Must check for inheritance.
+                    // bug 327900
+                    if ((object.getClass() == theClass) || (readSubclassesOrNoInheritance && (theClass.isInstance(object)))) {
+                        if ((evaluator == null) || isConforming(object, evaluator, translationRow, valueHolderPolicy)) {
+                            objects.add(object);
                         }
                     }
                 }
@@ -595,6 +608,43 @@ public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass
         return objects;
     }
 
+    /**
+     * Return the evaluator conforming objects to the selection criteria of an in-memory query,
+     * generated by the compiled expression of the query if not null.
+     * The selection criteria is only compiled if compiled or parallel conforming is enabled.
+     */
+    protected ConformEvaluator buildConformEvaluator(Expression selectionCriteria, Record translationRow, CompiledExpression compiledExpression) {
+        if (selectionCriteria == null) {
+            return null;
+        } else if (compiledExpression != null) {
+            return compiledExpression.buildEvaluator(selectionCriteria, this.session, (AbstractRecord)translationRow);
+        } else if (ConformEvaluator.shouldCompile(this.session)) {
+            return ConformEvaluator.compile(selectionCriteria, this.session, (AbstractRecord)translationRow);
+        }
+        return ConformEvaluator.interpret(selectionCriteria);
+    }
+
+    /**
+     * Return if the object conforms to the compiled selection criteria of an in-memory query.
+     * If conforming requires instantiating value holders the in-memory query indirection policy decides.
+     */
+    protected boolean isConforming(Object object, ConformEvaluator evaluator, Record translationRow, int valueHolderPolicy) {
+        try {
+            return evaluator.conforms(object, this.session, (AbstractRecord)translationRow, valueHolderPolicy);
+        } catch (QueryException queryException) {
+            if (queryException.getErrorCode() == QueryException.MUST_INSTANTIATE_VALUEHOLDERS) {
+                if (valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_IGNORE_EXCEPTION_RETURN_CONFORMED) {
+                    return true;
+                } else if (valueHolderPolicy == InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION) {
+                    throw queryException;
+                }
+                return false;
+            } else {
+                throw queryException;
+            }
+        }
+    }
+
     /**
      * ADVANCED:
      * Using a list of Entity PK this method will attempt to bulk load the entire list from the cache.
@@ -848,6 +898,14 @@ public Object getFromIdentityMap(Object key, Class theClass, boolean shouldRetur
     }
 
     public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean conforming, boolean shouldReturnInvalidatedObjects, ClassDescriptor descriptor) {
+        return getFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, conforming, shouldReturnInvalidatedObjects, descriptor, null);
+    }
+
+    /**
+     * Return the first object in the cache conforming to the selection criteria.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     */
+    public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean conforming, boolean shouldReturnInvalidatedObjects, ClassDescriptor descriptor, CompiledExpression compiledExpression) {
         UnitOfWorkImpl unitOfWork = (conforming) ? (UnitOfWorkImpl)this.session : null;
         this.session.startOperationProfile(SessionProfiler.Caching);
         try {
@@ -860,6 +918,7 @@ public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, R
                 }
             }
             IdentityMap map = getIdentityMap(descriptor, false);
+            ConformEvaluator evaluator = (compiledExpression == null) ? null : buildConformEvaluator(selectionCriteria, translationRow, compiledExpression);
 
             // Bug #321041 - if policy is set to trigger indirection, then iterate over a copy of the cache keys collection
             //               to avoid a ConcurrentModificationException
@@ -890,7 +949,9 @@ public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, R
 
                     //CR 3677 integration of a ValueHolderPolicy
                     try {
-                        if (selectionCriteria.doesConform(object, this.session, (AbstractRecord)translationRow, valueHolderPolicy)) {
+                        boolean conforms = (evaluator == null) ? selectionCriteria.doesConform(object, this.session, (AbstractRecord)translationRow, valueHolderPolicy)
+                                : evaluator.conforms(object, this.session, (AbstractRecord)translationRow, valueHolderPolicy);
+                        if (conforms) {
                             // bug 2782991: if first found was deleted nothing returned.
                             if (!(conforming && unitOfWork.isObjectDeleted(object))) {
                                 return object;
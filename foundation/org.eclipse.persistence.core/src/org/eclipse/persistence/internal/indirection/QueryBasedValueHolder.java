@@ -17,6 +17,7 @@
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.internal.queries.LazyLoadDetector;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
@@ -132,6 +133,13 @@ protected Object instantiate(AbstractSession session) throws DatabaseException {
         if (this.query.isObjectBuildingQuery() && ((ObjectBuildingQuery)this.query).shouldRefreshIdentityMapResult()){
             this.refreshCascade = ((ObjectBuildingQuery)this.query).getCascadePolicy();
         }
+        if (session.getProject().getLazyLoadThreshold() > 0) {
+            // Count the lazy loads triggered by the objects of the source query.
+            LazyLoadDetector detector = (LazyLoadDetector)this.query.getProperty(LazyLoadDetector.class);
+            if (detector != null) {
+                detector.lazyLoaded(this.query, session);
+            }
+        }
         Object result = session.executeQuery(getQuery(), getRow());
         // Bug 489898 - ensure that the query's session is dereferenced, post-execution
         getQuery().setSession(null);
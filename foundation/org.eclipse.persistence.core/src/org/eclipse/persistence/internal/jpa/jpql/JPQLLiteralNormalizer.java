@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+//
+package org.eclipse.persistence.internal.jpa.jpql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.jpa.jpql.ExpressionTools;
+
+/**
+ * This class rewrites the literals of a JPQL query into named input parameters, so queries that
+ * only differ in their literal values share the same normalized text. The normalized text is used
+ * as the key of the JPQL parse cache, and the generated SQL is the same for all literal values,
+ * which allows the database and the statement cache to reuse the statement.
+ * <p>
+ * The rewrite is done lexically, before the query is parsed, and only hoists the string and
+ * numeric literals that are the right operand of a comparison (<code>=, &lt;&gt;, &lt;, &lt;=,
+ * &gt;, &gt;=</code>) with a path expression, in the <code>WHERE</code> or <code>HAVING</code>
+ * clause, and that are followed by the end of the query, <code>AND</code>, <code>OR</code>,
+ * <code>ORDER BY</code>, <code>GROUP BY</code> or a closing parenthesis. Any other literal is left
+ * in the query, in particular the literals that can affect the query plan or the query semantic:
+ * <ul>
+ * <li><code>LIKE</code> patterns and <code>ESCAPE</code> characters,
+ * <li>the operands of <code>TYPE()</code> and other functions,
+ * <li><code>IN</code> and <code>BETWEEN</code> values,
+ * <li><code>CASE</code> expressions, arithmetic expressions and the <code>SELECT</code> and
+ * <code>UPDATE SET</code> clauses,
+ * <li>date, time and timestamp literals.
+ * </ul>
+ * Queries that use positional parameters are not rewritten, as they cannot be mixed with named
+ * parameters.
+ *
+ * @see org.eclipse.persistence.config.PersistenceUnitProperties#JPQL_PARAMETERIZE_LITERALS
+ *
+ * @since 2.7
+ */
+public final class JPQLLiteralNormalizer {
+
+    /**
+     * The prefix of the names of the parameters the literals are hoisted into.
+     */
+    public static final String LITERAL_PARAMETER_PREFIX = "EL_JPQL_LITERAL_";
+
+    private static final int IDENTIFIER = 0;
+    private static final int STRING = 1;
+    private static final int NUMBER = 2;
+    private static final int PARAMETER = 3;
+    private static final int OPERATOR = 4;
+    private static final int OTHER = 5;
+
+    /**
+     * The normalized JPQL query.
+     */
+    private final String jpqlQuery;
+
+    /**
+     * The values of the hoisted literals, in the order of their parameters.
+     */
+    private final List<Object> literalValues;
+
+    private JPQLLiteralNormalizer(String jpqlQuery, List<Object> literalValues) {
+        this.jpqlQuery = jpqlQuery;
+        this.literalValues = literalValues;
+    }
+
+    /**
+     * Returns the normalized JPQL query.
+     */
+    public String getJPQLQuery() {
+        return jpqlQuery;
+    }
+
+    /**
+     * Returns the values of the hoisted literals, the value at the index <code>n</code> is the
+     * value of the parameter named {@link #getLiteralParameterName(int) getLiteralParameterName(n)}.
+     */
+    public List<Object> getLiteralValues() {
+        return literalValues;
+    }
+
+    /**
+     * Returns the name of the parameter the literal at the given index is hoisted into.
+     */
+    public static String getLiteralParameterName(int index) {
+        return LITERAL_PARAMETER_PREFIX + index;
+    }
+
+    /**
+     * Rewrites the literals of the given JPQL query into input parameters.
+     *
+     * @param jpqlQuery The JPQL query to normalize
+     * @return The normalized query and the values of its hoisted literals, or <code>null</code>
+     * if the query does not have any literal that can safely be hoisted
+     */
+    public static JPQLLiteralNormalizer normalize(String jpqlQuery) {
+        List<Token> tokens = tokenize(jpqlQuery);
+        if (tokens == null) {
+            return null;
+        }
+        StringBuilder writer = null;
+        List<Object> values = null;
+        int position = 0;
+        boolean isConditional = false;
+        for (int index = 0, count = tokens.size(); index < count; index++) {
+            Token token = tokens.get(index);
+            if (token.type == IDENTIFIER) {
+                if (token.is("WHERE") || token.is("HAVING")) {
+                    isConditional = true;
+                } else if (token.is("SELECT") || token.is("SET") || token.is("FROM")) {
+                    isConditional = false;
+                }
+                continue;
+            }
+            if ((token.type != STRING) && (token.type != NUMBER)) {
+                continue;
+            }
+            if (!isConditional || !isHoistable(tokens, index)) {
+                continue;
+            }
+            if (writer == null) {
+                writer = new StringBuilder(jpqlQuery.length() + 16);
+                values = new ArrayList<>();
+            }
+            writer.append(jpqlQuery, position, token.start);
+            writer.append(':');
+            writer.append(getLiteralParameterName(values.size()));
+            values.add(token.value);
+            position = token.end;
+        }
+        if (writer == null) {
+            return null;
+        }
+        writer.append(jpqlQuery, position, jpqlQuery.length());
+        return new JPQLLiteralNormalizer(writer.toString(), values);
+    }
+
+    /**
+     * Determines whether the literal at the given index is the right operand of a comparison
+     * with a path expression, and is not part of a larger expression.
+     */
+    private static boolean isHoistable(List<Token> tokens, int index) {
+        if ((index < 2) || (tokens.get(index).value == null)) {
+            return false;
+        }
+        Token operator = tokens.get(index - 1);
+        if (operator.type != OPERATOR) {
+            return false;
+        }
+        // Only a state field path, e.g. e.name, a function or TYPE() ends with a parenthesis.
+        Token path = tokens.get(index - 2);
+        if ((path.type != IDENTIFIER) || (path.text.indexOf('.') <= 0) || path.text.endsWith(".")) {
+            return false;
+        }
+        if (index + 1 == tokens.size()) {
+            return true;
+        }
+        Token next = tokens.get(index + 1);
+        if (next.type == IDENTIFIER) {
+            return next.is("AND") || next.is("OR") || next.is("ORDER") || next.is("GROUP");
+        }
+        return (next.type == OTHER) && next.text.equals(")");
+    }
+
+    /**
+     * Splits the JPQL query into tokens.
+     *
+     * @return The tokens, or <code>null</code> if the query cannot be normalized
+     */
+    private static List<Token> tokenize(String jpqlQuery) {
+        List<Token> tokens = new ArrayList<>();
+        int length = jpqlQuery.length();
+        int index = 0;
+        while (index < length) {
+            char character = jpqlQuery.charAt(index);
+            int start = index;
+            if (Character.isWhitespace(character)) {
+                index++;
+            } else if ((character == '\'') || (character == '"')) {
+                // String literal, a quote is escaped by doubling it.
+                index++;
+                while (true) {
+                    if (index >= length) {
+                        return null;
+                    }
+                    if (jpqlQuery.charAt(index) == character) {
+                        if ((index + 1 < length) && (jpqlQuery.charAt(index + 1) == character)) {
+                            index += 2;
+                            continue;
+                        }
+                        index++;
+                        break;
+                    }
+                    index++;
+                }
+                String text = jpqlQuery.substring(start, index);
+                tokens.add(new Token(STRING, text, ExpressionTools.unquote(text), start, index));
+            } else if (Character.isDigit(character)
+                    || ((character == '.') && (index + 1 < length) && Character.isDigit(jpqlQuery.charAt(index + 1)))) {
+                while ((index < length) && (Character.isLetterOrDigit(jpqlQuery.charAt(index)) || (jpqlQuery.charAt(index) == '.')
+                        || (((jpqlQuery.charAt(index) == '+') || (jpqlQuery.charAt(index) == '-'))
+                            && ((jpqlQuery.charAt(index - 1) == 'e') || (jpqlQuery.charAt(index - 1) == 'E'))))) {
+                    index++;
+                }
+                String text = jpqlQuery.substring(start, index);
+                tokens.add(new Token(NUMBER, text, numericValue(text), start, index));
+            } else if (Character.isJavaIdentifierStart(character)) {
+                while ((index < length) && (Character.isJavaIdentifierPart(jpqlQuery.charAt(index)) || (jpqlQuery.charAt(index) == '.'))) {
+                    index++;
+                }
+                tokens.add(new Token(IDENTIFIER, jpqlQuery.substring(start, index), null, start, index));
+            } else if ((character == ':') && (index + 1 < length) && Character.isJavaIdentifierStart(jpqlQuery.charAt(index + 1))) {
+                index++;
+                while ((index < length) && Character.isJavaIdentifierPart(jpqlQuery.charAt(index))) {
+                    index++;
+                }
+                tokens.add(new Token(PARAMETER, jpqlQuery.substring(start, index), null, start, index));
+            } else if (character == '?') {
+                // Positional parameters cannot be mixed with named parameters.
+                return null;
+            } else if ((character == '<') || (character == '>') || (character == '=')) {
+                index++;
+                if ((index < length) && ((jpqlQuery.charAt(index) == '=') || ((character == '<') && (jpqlQuery.charAt(index) == '>')))) {
+                    index++;
+                }
+                tokens.add(new Token(OPERATOR, jpqlQuery.substring(start, index), null, start, index));
+            } else {
+                index++;
+                tokens.add(new Token(OTHER, jpqlQuery.substring(start, index), null, start, index));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the value of the numeric literal, typed the same way the parser types it, or
+     * <code>null</code> if it is not a literal that can be hoisted.
+     *
+     * @see TypeResolver#visit(org.eclipse.persistence.jpa.jpql.parser.NumericLiteral)
+     */
+    private static Object numericValue(String text) {
+        try {
+            if (ExpressionTools.INTEGER_REGEXP.matcher(text).matches()) {
+                long value = Long.parseLong(text);
+                if (value <= Integer.MAX_VALUE) {
+                    return Integer.valueOf((int) value);
+                }
+                return Long.valueOf(value);
+            }
+            if (ExpressionTools.LONG_REGEXP.matcher(text).matches()) {
+                return Long.valueOf(text.substring(0, text.length() - 1));
+            }
+            if (ExpressionTools.FLOAT_REGEXP.matcher(text).matches()) {
+                return Float.valueOf(text.substring(0, text.length() - 1));
+            }
+            if ((text.indexOf('.') >= 0) && ExpressionTools.DOUBLE_REGEXP.matcher(text).matches()) {
+                return Double.valueOf(text);
+            }
+        } catch (NumberFormatException exception) {
+            // Leave the literal to the parser.
+        }
+        return null;
+    }
+
+    /**
+     * A token of the JPQL query.
+     */
+    private static final class Token {
+        final int type;
+        final String text;
+        final Object value;
+        final int start;
+        final int end;
+
+        Token(int type, String text, Object value, int start, int end) {
+            this.type = type;
+            this.text = text;
+            this.value = value;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean is(String identifier) {
+            return text.equalsIgnoreCase(identifier);
+        }
+    }
+}
@@ -14,10 +14,12 @@
 //     Oracle - initial API and implementation from Oracle TopLink
 package org.eclipse.persistence.internal.jpa.parsing.jpql;
 
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.jpa.parsing.JPQLParseTree;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * Factory class used to isolate Antlr dependencies.
@@ -46,6 +48,7 @@ public void populateQuery(String jpqlString, ObjectLevelReadQuery query, Abstrac
         DatabaseQuery cachedQuery = null;
         if (isCacheable) {
             cachedQuery = (DatabaseQuery)session.getProject().getJPQLParseCache().get(jpqlString);
+            session.incrementProfile((cachedQuery == null) ? SessionProfiler.JPQLParseCacheMisses : SessionProfiler.JPQLParseCacheHits);
         }
         if ((cachedQuery == null)
                 || (!cachedQuery.isPrepared())
@@ -54,7 +57,10 @@ public void populateQuery(String jpqlString, ObjectLevelReadQuery query, Abstrac
             JPQLParseTree parseTree = parser.getParseTree();
             parseTree.populateQuery(query, session);
             if (isCacheable) {
-                session.getProject().getJPQLParseCache().put(jpqlString, query);
+                ConcurrentFixedCache parseCache = session.getProject().getJPQLParseCache();
+                parseCache.put(jpqlString, query);
+                session.updateProfile(SessionProfiler.JPQLParseCacheEvictions, parseCache.getEvictions());
+                session.updateProfile(SessionProfiler.JPQLParseCacheRejections, parseCache.getRejections());
             }
         } else {
             query.prepareFromQuery(cachedQuery);
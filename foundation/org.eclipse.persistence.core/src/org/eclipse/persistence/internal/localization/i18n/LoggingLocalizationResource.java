@@ -401,6 +401,7 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "sdo_type_generation_warning_class_name_violates_sdo_spec", "{0}: Generated Type [{1}] conflicts with SDO specification naming rules for [{2}] and should be renamed."},
 
         { "sdo_classgenerator_exception", "{2} A [{0}] Exception occurred - message is [{1}]"},
+        { "lazy_load_threshold_exceeded", "The objects read by query [{0}] triggered more than {1} individual lazy loads, last of [{2}]. Consider batch fetching or join fetching the relationships, or enabling auto batch fetching."},
         { "query_has_both_join_attributes_and_partial_attributes", "{0} named {1} has both join attributes and partial attributes. These two technologies were not designed to work together, result may be unpredictible."},
         { "sdo_missing_schemaLocation", "Referenced schema with uri {0} could not be processed because no schemaLocation attribute was specified."},
         { "sdo_invalid_schemaLocation", "Could not create schemaLocation [{0}] for import with uri [{1}]."},
@@ -47,6 +47,7 @@ public class TraceLocalizationResource extends ListResourceBundle {
         { "corrupt_object", "corrupt object: {0}" },
         { "begin_unit_of_work_flush", "begin unit of work flush" },
         { "end_unit_of_work_flush", "end unit of work flush" },
+        { "unit_of_work_flush_deferred", "unit of work flush deferred, no pending changes for the tables of query on {0}" },
         { "begin_unit_of_work_commit", "begin unit of work commit" },
         { "end_unit_of_work_commit", "end unit of work commit" },
         { "resume_unit_of_work", "resume unit of work" },
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -83,10 +83,20 @@ public final class ReferenceResolver {
      * the same this Reference would have if this code would run on a list instead of map.
      */
     private List<Integer> unluckyRefPositions;
+    /**
+     * Indexes the References of {@link #unluckyReferences} by key, in the order they were added, so that they
+     * are found without iterating through the list.
+     */
+    private HashMap<ReferenceKey, List<Reference>> unluckyReferencesIndex;
     /**
      * Speed-up cache that was introduced in 2.5 instead of the previous speed-up mechanisms using session cache.
      */
     private Map<Class, Map<Object, Object>> cache;
+    /**
+     * The objects stored by ID of the descriptors that may be the target of a reference without a reference
+     * class, computed once per resolution.
+     */
+    private List<TargetIds> untypedTargetIds;
 
     /**
      * The default constructor initializes the list of References.
@@ -95,6 +105,7 @@ public ReferenceResolver() {
         referencesMap = new LinkedHashMap<>(MAP_INITIAL_CAPACITY);
         unluckyReferences = new ArrayList<>(MAP_INITIAL_CAPACITY);
         unluckyRefPositions = new ArrayList<>(MAP_INITIAL_CAPACITY);
+        unluckyReferencesIndex = new HashMap<>(MAP_INITIAL_CAPACITY);
         cache = new HashMap<>(MAP_INITIAL_CAPACITY);
         refKey = new ReferenceKey();
     }
@@ -123,7 +134,9 @@ private void resetContainers() {
         referencesMap = new LinkedHashMap<>(Math.max(referencesMap.size() / 2, MAP_INITIAL_CAPACITY));
         unluckyReferences = new ArrayList<>(Math.max(unluckyReferences.size() / 2, LIST_INITIAL_CAPACITY));
         unluckyRefPositions = new ArrayList<>(unluckyReferences.size());
+        unluckyReferencesIndex = new HashMap<>(Math.max(unluckyReferencesIndex.size() / 2, MAP_INITIAL_CAPACITY));
         cache = new HashMap<>(Math.max(cache.size() / 2, MAP_INITIAL_CAPACITY));
+        untypedTargetIds = null;
     }
 
     /**
@@ -208,6 +221,9 @@ private void resetContainers() {
      *
      * > key 14 = 14, retrieve entry.
      *
+     * The unlucky references are also indexed by key, so the list is only
+     * iterated through when the references are resolved.
+     *
      * ##################################################
      * # Iterate through all elements - O(n) guaranteed #
      * ##################################################
@@ -241,6 +257,12 @@ public final void addReference(final Reference ref) {
             unluckyReferences.add(ref);
             // The input integer represents the position (starting from 0) of the new element that didn't fit into the map.
             unluckyRefPositions.add(referencesMap.size() + unluckyReferences.size() - 1);
+            List<Reference> keyReferences = unluckyReferencesIndex.get(key);
+            if (null == keyReferences) {
+                keyReferences = new ArrayList<>(2);
+                unluckyReferencesIndex.put(key, keyReferences);
+            }
+            keyReferences.add(ref);
         } else {
             referencesMap.put(key, ref);
         }
@@ -260,10 +282,9 @@ public final Reference getReference(final ObjectReferenceMapping mapping, final
         }
 
         // Search for unlucky references that were kicked out of hashMap by entries with equal key.
-        for (Reference reference1 : unluckyReferences) {
-            if (reference1.getMapping() == mapping && reference1.getSourceObject() == sourceObject) {
-                return reference1;
-            }
+        final List<Reference> keyReferences = unluckyReferencesIndex.get(refKey);
+        if (keyReferences != null) {
+            return keyReferences.get(0);
         }
         return null;
     }
@@ -281,15 +302,17 @@ public final Reference getReference(final ObjectReferenceMapping mapping, final
                 tgtXpath = targetField.getXPath();
             }
         }
-        final ReferenceKey key = new ReferenceKey(sourceObject, mapping);
-        Reference reference = referencesMap.get(key);
+        refKey.setMapping(mapping);
+        refKey.setSourceObject(sourceObject);
+        Reference reference = referencesMap.get(refKey);
         if (reference != null && reference.getPrimaryKeyMap().get(tgtXpath) == null) {
             return reference;
         }
 
         // Search for unlucky references that were kicked out of hashMap by entries with equal key.
-        for (Reference reference1 : unluckyReferences) {
-            if (reference1.getMapping() == mapping && reference1.getSourceObject() == sourceObject) {
+        final List<Reference> keyReferences = unluckyReferencesIndex.get(refKey);
+        if (keyReferences != null) {
+            for (Reference reference1 : keyReferences) {
                 if (reference1.getPrimaryKeyMap().get(tgtXpath) == null) {
                     return reference1;
                 }
@@ -313,6 +336,37 @@ public final void putValue(final Class clazz, final Object key, final Object obj
         keyToObject.put(key, object);
     }
 
+    /**
+     * INTERNAL:
+     * Adds the References and the objects stored by ID of another ReferenceResolver,
+     * e.g. of an element unmarshalled on another thread, to be resolved with these.
+     * The References keep the order they were added in.
+     *
+     * @since 2.7.8
+     */
+    public final void addAll(final ReferenceResolver referenceResolver) {
+        final Iterator<Reference> mapIterator = referenceResolver.referencesMap.values().iterator();
+        final Iterator<Reference> listIterator = referenceResolver.unluckyReferences.iterator();
+        final Iterator<Integer> positionIterator = referenceResolver.unluckyRefPositions.iterator();
+        int nextUnluckyPosition = positionIterator.hasNext() ? positionIterator.next() : -1;
+        for (int i = 0, totalSize = referenceResolver.referencesMap.size() + referenceResolver.unluckyReferences.size(); i < totalSize; i++) {
+            if (i == nextUnluckyPosition) {
+                addReference(listIterator.next());
+                nextUnluckyPosition = positionIterator.hasNext() ? positionIterator.next() : -1;
+            } else {
+                addReference(mapIterator.next());
+            }
+        }
+        for (Map.Entry<Class, Map<Object, Object>> entry : referenceResolver.cache.entrySet()) {
+            final Map<Object, Object> keyToObject = cache.get(entry.getKey());
+            if (null == keyToObject) {
+                cache.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            } else {
+                keyToObject.putAll(entry.getValue());
+            }
+        }
+    }
+
     /**
      * INTERNAL:
      * Iterates through all references. Resolves them. Resets containers.
@@ -555,32 +609,26 @@ private Object getValue(final CoreAbstractSession session, final Reference refer
                             final ErrorHandler handler) {
         final Class referenceTargetClass = reference.getTargetClass();
         if (null == referenceTargetClass || referenceTargetClass == CoreClassConstants.OBJECT) {
-            for (Object entry : session.getDescriptors().values()) {
+            for (TargetIds targetIds : getUntypedTargetIds(session)) {
                 Object value = null;
-                final Descriptor targetDescriptor = (Descriptor) entry;
-                final List pkFields = targetDescriptor.getPrimaryKeyFields();
-                if (null != pkFields && 1 == pkFields.size()) {
-                    Field pkField = (Field) pkFields.get(0);
-                    pkField = (Field) targetDescriptor.getTypedField(pkField);
-                    final Class targetType = pkField.getType();
-                    if (targetType == CoreClassConstants.STRING || targetType == CoreClassConstants.OBJECT) {
-                        value = getValue(targetDescriptor.getJavaClass(), primaryKey);
-                    } else {
-                        try {
-                            final Object[] pkValues = primaryKey.getPrimaryKey();
-                            final Object[] convertedPkValues = new Object[pkValues.length];
-                            for (int x = 0; x < pkValues.length; x++) {
-                                convertedPkValues[x] = session.getDatasourcePlatform().getConversionManager()
-                                        .convertObject(pkValues[x], targetType);
-                            }
-                            value = getValue(targetDescriptor.getJavaClass(), new CacheId(convertedPkValues));
-                        } catch (ConversionException ignored) {
+                final Class targetType = targetIds.idType;
+                if (targetType == CoreClassConstants.STRING || targetType == CoreClassConstants.OBJECT) {
+                    value = targetIds.keyToObject.get(primaryKey);
+                } else {
+                    try {
+                        final Object[] pkValues = primaryKey.getPrimaryKey();
+                        final Object[] convertedPkValues = new Object[pkValues.length];
+                        for (int x = 0; x < pkValues.length; x++) {
+                            convertedPkValues[x] = session.getDatasourcePlatform().getConversionManager()
+                                    .convertObject(pkValues[x], targetType);
                         }
-                    }
-                    if (null != value) {
-                        return value;
+                        value = targetIds.keyToObject.get(new CacheId(convertedPkValues));
+                    } catch (ConversionException ignored) {
                     }
                 }
+                if (null != value) {
+                    return value;
+                }
             }
             if (primaryKey.getPrimaryKey()[0] != null) {
                 final XMLMarshalException e = XMLMarshalException.missingIDForIDRef(
@@ -627,6 +675,30 @@ private Object getValue(final CoreAbstractSession session, final Reference refer
         }
     }
 
+    /**
+     * Return the objects stored by ID of the descriptors with a single primary key field, in the order of the
+     * descriptors of the session.  Only the descriptors with objects stored by ID are kept, so a reference
+     * without a reference class doesn't look up all the descriptors of the session.
+     */
+    private List<TargetIds> getUntypedTargetIds(final CoreAbstractSession session) {
+        if (null == untypedTargetIds) {
+            untypedTargetIds = new ArrayList<>();
+            for (Object entry : session.getDescriptors().values()) {
+                final Descriptor targetDescriptor = (Descriptor) entry;
+                final Map<Object, Object> keyToObject = cache.get(targetDescriptor.getJavaClass());
+                if (null == keyToObject) {
+                    continue;
+                }
+                final List pkFields = targetDescriptor.getPrimaryKeyFields();
+                if (null != pkFields && 1 == pkFields.size()) {
+                    final Field pkField = (Field) targetDescriptor.getTypedField((Field) pkFields.get(0));
+                    untypedTargetIds.add(new TargetIds(keyToObject, pkField.getType()));
+                }
+            }
+        }
+        return untypedTargetIds;
+    }
+
     /**
      * Retrieves value from {@link #cache}.
      */
@@ -649,17 +721,12 @@ private static final class ReferenceKey {
         public ReferenceKey() {
         }
 
-        public ReferenceKey(final Object sourceObject, final Mapping mapping) {
-            this.sourceObject = sourceObject;
-            this.mapping = mapping;
-        }
-
         public ReferenceKey(final Reference ref) {
             this.sourceObject = ref.getSourceObject();
             this.mapping = ref.getMapping();
         }
 
-        public void setMapping(final ObjectReferenceMapping mapping) {
+        public void setMapping(final Mapping mapping) {
             this.mapping = mapping;
         }
 
@@ -685,4 +752,17 @@ public final boolean equals(final Object o) {
         }
     }
 
+    /**
+     * The objects stored by ID of a class, and the type of the ID.
+     */
+    private static final class TargetIds {
+        private final Map<Object, Object> keyToObject;
+        private final Class idType;
+
+        TargetIds(final Map<Object, Object> keyToObject, final Class idType) {
+            this.keyToObject = keyToObject;
+            this.idType = idType;
+        }
+    }
+
 }
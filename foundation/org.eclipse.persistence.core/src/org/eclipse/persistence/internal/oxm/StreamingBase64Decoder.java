@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import javax.activation.DataHandler;
+
+import org.eclipse.persistence.exceptions.ConversionException;
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.core.helper.CoreClassConstants;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose</b>: Decode base64 characters as they are read into a
+ * DataHandler, without keeping the characters.</p>
+ * <p>The decoded bytes are kept in memory up to a threshold, above it they are
+ * written to a temporary file and the DataHandler reads them from a
+ * TemporaryFileDataSource.  The file is deleted when the data source is
+ * closed by the application, or garbage collected.</p>
+ * <p>As with the MIME decoder used for base64 strings, the characters that are
+ * not part of the base64 alphabet are ignored and the padding is optional.</p>
+ * @since 2.7.8
+ */
+public class StreamingBase64Decoder {
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final int BLOCK_SIZE = 3 * 1024;
+    private static final byte[] SEXTETS = new byte[128];
+
+    static {
+        Arrays.fill(SEXTETS, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int index = 0; index < alphabet.length(); index++) {
+            SEXTETS[alphabet.charAt(index)] = (byte) index;
+        }
+    }
+
+    private final long threshold;
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private int blockIndex;
+    private int quantum;
+    private int quantumLength;
+    private boolean padded;
+    private boolean empty = true;
+
+    private long size;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private File file;
+    private OutputStream fileOutputStream;
+
+    /**
+     * @param threshold the number of bytes kept in memory before they are written to a temporary file.
+     */
+    public StreamingBase64Decoder(long threshold) {
+        this.threshold = threshold;
+    }
+
+    public void decode(char[] characters, int start, int length) {
+        for (int index = start, end = start + length; index < end; index++) {
+            char character = characters[index];
+            if (character <= ' ') {
+                continue;
+            }
+            empty = false;
+            if (padded) {
+                continue;
+            }
+            if (character == '=') {
+                padded = true;
+                continue;
+            }
+            int sextet = character < SEXTETS.length ? SEXTETS[character] : -1;
+            if (sextet < 0) {
+                continue;
+            }
+            quantum = (quantum << 6) | sextet;
+            if (++quantumLength == 4) {
+                if (blockIndex == BLOCK_SIZE) {
+                    writeBlock();
+                }
+                block[blockIndex++] = (byte) (quantum >> 16);
+                block[blockIndex++] = (byte) (quantum >> 8);
+                block[blockIndex++] = (byte) quantum;
+                quantum = 0;
+                quantumLength = 0;
+            }
+        }
+    }
+
+    public void decode(CharSequence characters) {
+        char[] chars = characters.toString().toCharArray();
+        decode(chars, 0, chars.length);
+    }
+
+    /**
+     * Return true if only white space was decoded.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Decode the last characters and return the DataHandler of the decoded bytes.
+     */
+    public DataHandler getDataHandler() {
+        if (quantumLength == 1) {
+            discard();
+            throw ConversionException.couldNotBeConverted(Constants.BASE_64_BINARY_QNAME, CoreClassConstants.APBYTE);
+        }
+        if (blockIndex + 2 > BLOCK_SIZE) {
+            writeBlock();
+        }
+        if (quantumLength == 2) {
+            block[blockIndex++] = (byte) (quantum >> 4);
+        } else if (quantumLength == 3) {
+            block[blockIndex++] = (byte) (quantum >> 10);
+            block[blockIndex++] = (byte) (quantum >> 2);
+        }
+        quantumLength = 0;
+        writeBlock();
+        if (null == file) {
+            byte[] bytes = memory.toByteArray();
+            memory = null;
+            return new DataHandler(new ByteArrayDataSource(bytes, CONTENT_TYPE));
+        }
+        try {
+            fileOutputStream.close();
+        } catch (IOException e) {
+            discard();
+            throw XMLMarshalException.unmarshalException(e);
+        }
+        return new DataHandler(new TemporaryFileDataSource(file, CONTENT_TYPE));
+    }
+
+    /**
+     * Delete the temporary file, if any, when the data is not used.
+     */
+    public void discard() {
+        memory = null;
+        if (null != file) {
+            try {
+                fileOutputStream.close();
+            } catch (IOException e) {
+                // The file is deleted anyway.
+            }
+            file.delete();
+        }
+    }
+
+    private void writeBlock() {
+        try {
+            if (null == file && size + blockIndex > threshold) {
+                file = File.createTempFile("eclipselink", ".bin");
+                fileOutputStream = new FileOutputStream(file);
+                memory.writeTo(fileOutputStream);
+                memory = null;
+            }
+            if (null == file) {
+                memory.write(block, 0, blockIndex);
+            } else {
+                fileOutputStream.write(block, 0, blockIndex);
+            }
+        } catch (IOException e) {
+            discard();
+            throw XMLMarshalException.unmarshalException(e);
+        }
+        size += blockIndex;
+        blockIndex = 0;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.activation.DataSource;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose</b>: DataSource of data written to a temporary file, which is
+ * deleted once the data source is closed or garbage collected.</p>
+ * <p>The data can be read any number of times until the data source is
+ * closed.  The file is then deleted as soon as the input streams still open
+ * are closed, and no other input stream can be opened.  The files of data
+ * sources garbage collected without being closed are deleted when another
+ * data source is created, and any file left is deleted when the virtual
+ * machine exits.</p>
+ * @since 2.7.8
+ */
+public class TemporaryFileDataSource implements DataSource, Closeable {
+
+    /** The references of the data sources that were garbage collected without being closed. */
+    private static final ReferenceQueue<TemporaryFileDataSource> collectedDataSources = new ReferenceQueue<TemporaryFileDataSource>();
+    /** The references of the data sources not closed yet, so the references are not garbage collected first. */
+    private static final Set<FileReference> fileReferences = Collections.newSetFromMap(new ConcurrentHashMap<FileReference, Boolean>());
+
+    private final File file;
+    private final String contentType;
+    private final FileReference fileReference;
+    private int openStreams;
+    private boolean released;
+
+    public TemporaryFileDataSource(File file, String contentType) {
+        deleteCollectedFiles();
+        this.file = file;
+        this.contentType = contentType;
+        file.deleteOnExit();
+        this.fileReference = new FileReference(this, file);
+        fileReferences.add(fileReference);
+    }
+
+    /**
+     * Delete the files of the data sources that were garbage collected without being closed.
+     */
+    private static void deleteCollectedFiles() {
+        Reference<? extends TemporaryFileDataSource> reference;
+        while ((reference = collectedDataSources.poll()) != null) {
+            ((FileReference) reference).delete();
+        }
+    }
+
+    /**
+     * Return the temporary file of the data.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Return true if the data was released, its file is deleted or will be
+     * once its input streams are closed.
+     */
+    public synchronized boolean isReleased() {
+        return released;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (released) {
+            throw new IOException("The data of " + file + " was released.");
+        }
+        // The stream references the data source, so the file is not deleted while it is read.
+        InputStream inputStream = new FilterInputStream(new FileInputStream(file)) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    streamClosed();
+                }
+            }
+        };
+        openStreams++;
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("The data of " + file + " is read only.");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        return file.getName();
+    }
+
+    /**
+     * Release the data, its file is deleted once its input streams are closed.
+     */
+    @Override
+    public synchronized void close() {
+        released = true;
+        if (openStreams == 0) {
+            fileReference.delete();
+        }
+    }
+
+    private synchronized void streamClosed() {
+        openStreams--;
+        if (released && openStreams == 0) {
+            fileReference.delete();
+        }
+    }
+
+    /**
+     * Reference of a data source, deletes its file when the data source is
+     * closed or garbage collected.
+     */
+    private static final class FileReference extends PhantomReference<TemporaryFileDataSource> {
+
+        private final File file;
+
+        FileReference(TemporaryFileDataSource dataSource, File file) {
+            super(dataSource, collectedDataSources);
+            this.file = file;
+        }
+
+        void delete() {
+            if (fileReferences.remove(this)) {
+                clear();
+                file.delete();
+            }
+        }
+    }
+
+}
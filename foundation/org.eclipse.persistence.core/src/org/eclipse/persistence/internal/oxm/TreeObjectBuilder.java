@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -68,6 +68,10 @@ public XPathNode getRootXPathNode() {
         return xPathObjectBuilder.getRootXPathNode();
     }
 
+    XPathObjectBuilder getXPathObjectBuilder() {
+        return xPathObjectBuilder;
+    }
+
     @Override
     public List<DatabaseMapping> getPrimaryKeyMappings() {
         if(null == primaryKeyMappings) {
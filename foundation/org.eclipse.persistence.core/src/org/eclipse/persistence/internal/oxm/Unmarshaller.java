@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -15,6 +15,9 @@
 //     Marcel Valovy - 2.6.0 - added case insensitive unmarshalling property
 package org.eclipse.persistence.internal.oxm;
 
+import java.util.concurrent.Executor;
+
+import javax.xml.namespace.QName;
 import javax.xml.validation.Schema;
 
 import org.eclipse.persistence.internal.core.sessions.CoreAbstractSession;
@@ -192,6 +195,28 @@ public UNMARSHALLER_LISTENER getUnmarshalListener() {
 
     public abstract boolean isWrapperAsCollectionName();
 
+    /**
+     * Return if JSON documents are read by the built-in tokenizer instead of JSON-P.
+     */
+    public abstract boolean isNativeJsonParser();
+
+    /**
+     * Return the name of the repeating element whose items are unmarshalled in parallel, or null.
+     */
+    public abstract QName getParallelUnmarshalElement();
+
+    /**
+     * Return the Executor the items of the parallel unmarshal element are unmarshalled on,
+     * or null for the common fork/join pool.
+     */
+    public abstract Executor getParallelUnmarshalExecutor();
+
+    /**
+     * Return the number of bytes of inline binary data decoded in memory before
+     * it is written to a temporary file, or -1 if inline binary data is not streamed.
+     */
+    public abstract long getBinaryDataStreamingThreshold();
+
     public abstract void setIDResolver(ID_RESOLVER idResolver);
 
     public abstract boolean shouldWarnOnUnmappedElement();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -30,6 +30,7 @@
 import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
 import org.eclipse.persistence.internal.oxm.record.XMLReader;
 import org.eclipse.persistence.internal.oxm.record.deferred.BinaryMappingContentHandler;
+import org.eclipse.persistence.oxm.record.OutputStreamRecord;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -228,6 +229,8 @@ public boolean marshalSingleValue(XPathFragment xPathFragment, MarshalRecord mar
                     marshalRecord.endElement(xopInclude, namespaceResolver);
                     //marshal as an attachment
                 }
+            } else if (objectValue instanceof DataHandler && isStreamingRecord(marshalRecord, marshaller)) {
+                ((OutputStreamRecord) marshalRecord).base64Characters((DataHandler) objectValue);
             } else {
                 marshalRecord.characters(((Field)xmlBinaryDataMapping.getField()).getSchemaType(), objectValue, mimeType, false);
             }
@@ -239,6 +242,18 @@ public boolean marshalSingleValue(XPathFragment xPathFragment, MarshalRecord mar
         return true;
     }
 
+    /**
+     * The content of a DataHandler is encoded into the OutputStream as it is
+     * read, without building the bytes and the string of the whole value.
+     * Base64 characters do not need escaping, but a custom escape handler
+     * still gets the string.
+     */
+    private boolean isStreamingRecord(MarshalRecord marshalRecord, Marshaller marshaller) {
+        return marshalRecord instanceof OutputStreamRecord
+            && Constants.BASE_64_BINARY_QNAME.equals(((Field) xmlBinaryDataMapping.getField()).getSchemaType())
+            && null == marshaller.getCharacterEscapeHandler();
+    }
+
     @Override
     public boolean startElement(XPathFragment xPathFragment, UnmarshalRecord unmarshalRecord, Attributes atts) {
         try {
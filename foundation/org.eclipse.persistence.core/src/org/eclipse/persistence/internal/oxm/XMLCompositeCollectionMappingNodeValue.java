@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -31,7 +31,9 @@
 import org.eclipse.persistence.internal.oxm.record.MarshalContext;
 import org.eclipse.persistence.internal.oxm.record.MarshalRecord;
 import org.eclipse.persistence.internal.oxm.record.ObjectMarshalContext;
+import org.eclipse.persistence.internal.oxm.record.ParallelItemContentHandler;
 import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.UnmarshalRecordImpl;
 import org.eclipse.persistence.internal.oxm.record.XMLReader;
 import org.eclipse.persistence.internal.oxm.record.XMLRecord;
 import org.eclipse.persistence.internal.oxm.record.deferred.CompositeCollectionMappingContentHandler;
@@ -185,7 +187,16 @@ public boolean startElement(XPathFragment xPathFragment, UnmarshalRecord unmarsh
                 if (xmlFld.hasLastXPathFragment()) {
                     unmarshalRecord.setLeafElementType(xmlFld.getLastXPathFragment().getLeafElementType());
                 }
-                processChild(xPathFragment, unmarshalRecord, atts, xmlDescriptor, xmlCompositeCollectionMapping);
+                if (null != xmlDescriptor && ParallelItemContentHandler.isParallelItem(xPathFragment, unmarshalRecord, xmlDescriptor)) {
+                    // Unmarshal the item on another thread
+                    ParallelItemContentHandler aHandler = new ParallelItemContentHandler((UnmarshalRecordImpl) unmarshalRecord, this, xmlDescriptor);
+                    aHandler.startElement(xPathFragment.getNamespaceURI(), xPathFragment.getLocalName(), xPathFragment.getShortName(), atts);
+                    XMLReader xmlReader = unmarshalRecord.getXMLReader();
+                    xmlReader.setContentHandler(aHandler);
+                    xmlReader.setLexicalHandler(aHandler);
+                } else {
+                    processChild(xPathFragment, unmarshalRecord, atts, xmlDescriptor, xmlCompositeCollectionMapping);
+                }
             }
         } catch (SAXException e) {
             throw XMLMarshalException.unmarshalException(e);
@@ -199,6 +210,9 @@ public void endElement(XPathFragment xPathFragment, UnmarshalRecord unmarshalRec
     }
 
     public void endElement(XPathFragment xPathFragment, UnmarshalRecord unmarshalRecord, Object collection) {
+        if (unmarshalRecord instanceof UnmarshalRecordImpl && ((UnmarshalRecordImpl) unmarshalRecord).endParallelItem(collection)) {
+            return;
+        }
         if(unmarshalRecord.isNil() && unmarshalRecord.getXMLReader().isNullRepresentedByXsiNil(xmlCompositeCollectionMapping.getNullPolicy()) &&
                 (unmarshalRecord.getChildRecord() == null)){
             if(unmarshalRecord.getXMLReader().isInCollection()){
@@ -235,7 +249,16 @@ public void endElement(XPathFragment xPathFragment, UnmarshalRecord unmarshalRec
                return;
         }
         Object objectValue = unmarshalRecord.getChildRecord().getCurrentObject();
+        addChildObject(unmarshalRecord, objectValue, collection);
+        unmarshalRecord.setChildRecord(null);
+    }
 
+    /**
+     * INTERNAL:
+     * Add the object unmarshalled from an element of the collection.
+     * @since 2.7.8
+     */
+    public void addChildObject(UnmarshalRecord unmarshalRecord, Object objectValue, Object collection) {
         InverseReferenceMapping inverseReferenceMapping = xmlCompositeCollectionMapping.getInverseReferenceMapping();
         if(null != inverseReferenceMapping) {
             if(inverseReferenceMapping.getContainerPolicy() == null) {
@@ -256,9 +279,6 @@ public void endElement(XPathFragment xPathFragment, UnmarshalRecord unmarshalRec
         // convert the value - if necessary
         objectValue = xmlCompositeCollectionMapping.convertDataValueToObjectValue(objectValue, unmarshalRecord.getSession(), unmarshalRecord.getUnmarshaller());
         unmarshalRecord.addAttributeValue(this, objectValue, collection);
-
-        unmarshalRecord.setChildRecord(null);
-
     }
 
     public Object getContainerInstance() {
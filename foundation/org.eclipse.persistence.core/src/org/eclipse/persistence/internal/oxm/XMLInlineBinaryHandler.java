@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -23,6 +23,7 @@
 import org.eclipse.persistence.internal.oxm.mappings.Mapping;
 import org.eclipse.persistence.internal.oxm.mappings.XMLConverterMapping;
 import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.UnmarshalRecordImpl;
 import org.eclipse.persistence.oxm.XMLField;
 import org.eclipse.persistence.oxm.mappings.nullpolicy.AbstractNullPolicy;
 
@@ -33,6 +34,7 @@ public class XMLInlineBinaryHandler extends org.eclipse.persistence.internal.oxm
     XMLConverterMapping converter;
     UnmarshalRecord parent;
     CharSequence characters;
+    StreamingBase64Decoder decoder;
 
     public XMLInlineBinaryHandler(UnmarshalRecord parent, NodeValue nodeValue, Mapping mapping, XMLConverterMapping converter, boolean isCollection) {
         super(null);
@@ -42,6 +44,30 @@ public XMLInlineBinaryHandler(UnmarshalRecord parent, NodeValue nodeValue, Mappi
         this.parent = parent;
         this.converter = converter;
         this.setUnmarshaller((XMLUnmarshaller) parent.getUnmarshaller());
+        if (parent instanceof UnmarshalRecordImpl) {
+            this.setStringBuffer(((UnmarshalRecordImpl) parent).getStringBuffer());
+        }
+        if (isStreaming(parent, mapping, isCollection)) {
+            this.decoder = new StreamingBase64Decoder(parent.getUnmarshaller().getBinaryDataStreamingThreshold());
+        }
+    }
+
+    /**
+     * Return true if the base64 content of the element is decoded while it is
+     * read, i.e. the unmarshaller has a binary data streaming threshold and the
+     * element is mapped to a single DataHandler.
+     */
+    public static boolean isStreaming(UnmarshalRecord parent, Mapping mapping, boolean isCollection) {
+        if (isCollection || parent.getUnmarshaller().getBinaryDataStreamingThreshold() < 0) {
+            return false;
+        }
+        BinaryDataMapping binaryDataMapping = (BinaryDataMapping) mapping;
+        Field field = (Field) binaryDataMapping.getField();
+        return !binaryDataMapping.isSwaRef()
+            && binaryDataMapping.getAttributeClassification() == XMLBinaryDataHelper.getXMLBinaryDataHelper().DATA_HANDLER
+            && Constants.BASE_64_BINARY_QNAME.equals(field.getSchemaType())
+            && !field.usesSingleNode()
+            && !field.isSelfField();
     }
 
     @Override
@@ -54,16 +80,28 @@ public CharSequence getCharacters() {
 
     @Override
     public void characters(char[] ch, int offset, int length) throws SAXException {
+        if (null != decoder) {
+            decoder.decode(ch, offset, length);
+            return;
+        }
         this.getStringBuffer().append(ch, offset, length);
     }
 
     @Override
     public void characters(CharSequence characters) throws SAXException {
+        if (null != decoder) {
+            decoder.decode(characters);
+            return;
+        }
         this.characters = characters;
     }
 
     @Override
     public void endElement(String namespaceURI, String localName, String qName) throws SAXException {
+       if (null != decoder) {
+           endStreamingElement(namespaceURI, localName, qName);
+           return;
+       }
        //Since we know this was a simple or empty element, we know that we only got a characters event and then this. Process the
        //text.
        Field field = null;
@@ -143,6 +181,33 @@ public void endElement(String namespaceURI, String localName, String qName) thro
        resetStringBuffer();
    }
 
+    /**
+     * Set the DataHandler of the decoded content, the element is known to be
+     * neither a swaRef, a list nor a self element.
+     */
+    private void endStreamingElement(String namespaceURI, String localName, String qName) throws SAXException {
+        BinaryDataMapping binaryDataMapping = (BinaryDataMapping) mapping;
+        AbstractNullPolicy nullPolicy = binaryDataMapping.getNullPolicy();
+        Object value;
+        if (parent.isNil() && parent.getXMLReader().isNullRepresentedByXsiNil(nullPolicy)) {
+            decoder.discard();
+            value = null;
+        } else if (decoder.isEmpty() && nullPolicy.isNullRepresentedByEmptyNode()) {
+            decoder.discard();
+            value = null;
+        } else {
+            value = decoder.getDataHandler();
+        }
+        value = converter.convertDataValueToObjectValue(value, parent.getSession(), parent.getUnmarshaller());
+        parent.setAttributeValue(value, mapping);
+
+        //Return control to the parent record
+        parent.getXMLReader().setContentHandler(parent);
+        parent.getXMLReader().setLexicalHandler(parent);
+        parent.endElement(namespaceURI, localName, qName);
+        resetStringBuffer();
+    }
+
     @Override
     public void resetStringBuffer() {
         super.resetStringBuffer();
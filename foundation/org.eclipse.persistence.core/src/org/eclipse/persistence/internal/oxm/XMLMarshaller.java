@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -55,6 +55,7 @@
 import org.eclipse.persistence.oxm.record.FormattedOutputStreamRecord;
 import org.eclipse.persistence.oxm.record.FormattedWriterRecord;
 import org.eclipse.persistence.oxm.record.JSONFormattedWriterRecord;
+import org.eclipse.persistence.oxm.record.JSONOutputStreamRecord;
 import org.eclipse.persistence.oxm.record.JSONWriterRecord;
 import org.eclipse.persistence.oxm.record.MarshalRecord;
 import org.eclipse.persistence.oxm.record.NodeRecord;
@@ -943,7 +944,7 @@ private void marshal(Object object, OutputStream outputStream, ABSTRACT_SESSION
             }
         } else {
             if(isApplicationJSON()) {
-                marshalRecord = new JSONWriterRecord(outputStream, callbackName);
+                marshalRecord = new JSONOutputStreamRecord(outputStream, callbackName);
             } else {
                 marshalRecord = new OutputStreamRecord();
                 ((OutputStreamRecord)marshalRecord).setOutputStream(outputStream);
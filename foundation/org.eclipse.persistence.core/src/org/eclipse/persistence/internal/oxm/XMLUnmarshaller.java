@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -24,7 +24,9 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 
+import javax.xml.namespace.QName;
 import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
 
@@ -160,6 +162,10 @@ public void fatalError(SAXParseException exception)
     private boolean caseInsensitive = false;
     private Object unmarshalAttributeGroup;
     private boolean wrapperAsCollectionName = false;
+    private boolean nativeJsonParser = false;
+    private QName parallelUnmarshalElement;
+    private Executor parallelUnmarshalExecutor;
+    private long binaryDataStreamingThreshold = -1;
     private boolean warnOnUnmappedElement = true;
 
     /**
@@ -225,6 +231,9 @@ protected XMLUnmarshaller(XMLUnmarshaller xmlUnmarshaller) {
             }
         } catch(UnsupportedOperationException e) {}
         setUnmappedContentHandlerClass(xmlUnmarshaller.unmappedContentHandlerClass);
+        setParallelUnmarshalElement(xmlUnmarshaller.parallelUnmarshalElement);
+        setParallelUnmarshalExecutor(xmlUnmarshaller.parallelUnmarshalExecutor);
+        setBinaryDataStreamingThreshold(xmlUnmarshaller.binaryDataStreamingThreshold);
     }
 
     protected void initialize(Map<String, Boolean> parserFeatures) {
@@ -903,6 +912,84 @@ public void setWrapperAsCollectionName(boolean wrapperAsCollectionName) {
         this.wrapperAsCollectionName = wrapperAsCollectionName;
     }
 
+    /**
+     * Return if JSON documents are read from their UTF-8 bytes by the built-in tokenizer instead of JSON-P.
+     */
+    @Override
+    public boolean isNativeJsonParser() {
+        return nativeJsonParser;
+    }
+
+    /**
+     * Set if JSON documents are read from their UTF-8 bytes by the built-in tokenizer instead of JSON-P.
+     * The attributes of each object must precede its nested objects and arrays, as they are marshalled.
+     */
+    public void setNativeJsonParser(boolean nativeJsonParser) {
+        if (this.nativeJsonParser != nativeJsonParser) {
+            this.nativeJsonParser = nativeJsonParser;
+            if (platformUnmarshaller != null) {
+                platformUnmarshaller.mediaTypeChanged();
+            }
+        }
+    }
+
+    /**
+     * Return the name of the repeating element whose items are unmarshalled in parallel, or null.
+     */
+    @Override
+    public QName getParallelUnmarshalElement() {
+        return parallelUnmarshalElement;
+    }
+
+    /**
+     * Set the name of a repeating element of XML documents whose items are
+     * unmarshalled in parallel, and added to their collection in document order.
+     * The items must be mapped by a composite collection mapping, and their
+     * references are resolved at the end of the document.
+     * @since 2.7.8
+     */
+    public void setParallelUnmarshalElement(QName parallelUnmarshalElement) {
+        this.parallelUnmarshalElement = parallelUnmarshalElement;
+    }
+
+    /**
+     * Return the Executor the items of the parallel unmarshal element are unmarshalled on,
+     * or null for the common fork/join pool.
+     */
+    @Override
+    public Executor getParallelUnmarshalExecutor() {
+        return parallelUnmarshalExecutor;
+    }
+
+    /**
+     * Set the Executor the items of the parallel unmarshal element are unmarshalled on.
+     * If not set, the common fork/join pool is used.
+     * @since 2.7.8
+     */
+    public void setParallelUnmarshalExecutor(Executor parallelUnmarshalExecutor) {
+        this.parallelUnmarshalExecutor = parallelUnmarshalExecutor;
+    }
+
+    /**
+     * Return the number of bytes of inline binary data decoded in memory before
+     * it is written to a temporary file, or -1 if inline binary data is not streamed.
+     */
+    @Override
+    public long getBinaryDataStreamingThreshold() {
+        return binaryDataStreamingThreshold;
+    }
+
+    /**
+     * Set the number of bytes of inline binary data decoded in memory before it
+     * is written to a temporary file.  When set to 0 or more, the base64 content
+     * of elements mapped to a DataHandler is decoded while it is read, instead of
+     * being kept as characters.  The default -1 disables the streaming.
+     * @since 2.7.8
+     */
+    public void setBinaryDataStreamingThreshold(long binaryDataStreamingThreshold) {
+        this.binaryDataStreamingThreshold = binaryDataStreamingThreshold;
+    }
+
     @Override
     public XMLUnmarshaller clone() {
         return new XMLUnmarshaller(this);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -57,6 +57,7 @@
     private byte[] prefixBytes;
     private String localName;
     private byte[] localNameBytes;
+    private byte[] jsonKeyBytes;
     private String namespaceURI;
     protected boolean nameIsText = false;
     protected boolean isSelfFragment = false;
@@ -229,6 +230,24 @@ public byte[] getLocalNameBytes() {
         return localNameBytes;
     }
 
+    /**
+     * INTERNAL:
+     * Return the UTF-8 bytes of the JSON key of the local name, quoted and followed by the separator,
+     * or null if the local name is empty.
+     */
+    public byte[] getJsonKeyBytes() {
+        if(null == jsonKeyBytes && null != localName && localName.length() > 0) {
+            byte[] nameBytes = getLocalNameBytes();
+            byte[] keyBytes = new byte[nameBytes.length + 3];
+            keyBytes[0] = '"';
+            System.arraycopy(nameBytes, 0, keyBytes, 1, nameBytes.length);
+            keyBytes[nameBytes.length + 1] = '"';
+            keyBytes[nameBytes.length + 2] = ':';
+            jsonKeyBytes = keyBytes;
+        }
+        return jsonKeyBytes;
+    }
+
     public void setLocalName(String localName) {
         this.localName = localName;
         resetShortName();
@@ -423,6 +442,7 @@ private void resetShortName(){
         shortName = null;
     prefixBytes = null;
     localNameBytes = null;
+    jsonKeyBytes = null;
     }
 
     /**
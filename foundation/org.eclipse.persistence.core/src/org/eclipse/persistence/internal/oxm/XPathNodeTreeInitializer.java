@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.oxm.XMLDescriptor;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose:</b>Build the trees of XPathNodes of the descriptors of a
+ * project on several threads.
+ *
+ * <p>The tree of a descriptor is built when the descriptor is initialized,
+ * unless the descriptor is lazily initialized, and for large projects building
+ * the trees one descriptor after the other takes a large part of the login.
+ * The trees of the descriptors of an inheritance hierarchy may share the
+ * fields of the inherited mappings, so they are built by the same task.
+ *
+ * <p>Usage: set the descriptors lazily initialized, log in the session, then
+ * call {@link #initialize(Collection)}.
+ *
+ * @since 2.7.8
+ */
+public final class XPathNodeTreeInitializer {
+
+    /** The number of inheritance hierarchies initialized by one task. */
+    private static final int BATCH_SIZE = 4;
+
+    private XPathNodeTreeInitializer() {
+    }
+
+    /**
+     * Build the trees of the XML descriptors which were not initialized yet.
+     * The descriptors must be initialized by the login of their session.
+     * @return the number of descriptors initialized.
+     */
+    public static int initialize(Collection<ClassDescriptor> descriptors) {
+        Map<ClassDescriptor, List<XPathObjectBuilder>> hierarchies = new LinkedHashMap<ClassDescriptor, List<XPathObjectBuilder>>();
+        int count = 0;
+        for (ClassDescriptor descriptor : descriptors) {
+            if (!(descriptor instanceof XMLDescriptor) || !(descriptor.getObjectBuilder() instanceof TreeObjectBuilder)) {
+                continue;
+            }
+            ClassDescriptor rootDescriptor = descriptor;
+            if (descriptor.hasInheritance() && null != descriptor.getInheritancePolicy().getRootParentDescriptor()) {
+                rootDescriptor = descriptor.getInheritancePolicy().getRootParentDescriptor();
+            }
+            List<XPathObjectBuilder> hierarchy = hierarchies.get(rootDescriptor);
+            if (null == hierarchy) {
+                hierarchy = new ArrayList<XPathObjectBuilder>();
+                hierarchies.put(rootDescriptor, hierarchy);
+            }
+            hierarchy.add(((TreeObjectBuilder) descriptor.getObjectBuilder()).getXPathObjectBuilder());
+            count++;
+        }
+        List<List<XPathObjectBuilder>> tasks = new ArrayList<List<XPathObjectBuilder>>(hierarchies.values());
+        if (!tasks.isEmpty()) {
+            ForkJoinPool.commonPool().invoke(new InitializeTask(tasks, 0, tasks.size()));
+        }
+        return count;
+    }
+
+    /**
+     * Build the trees of a range of the inheritance hierarchies.
+     */
+    private static final class InitializeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 4140031005845859184L;
+
+        private final List<List<XPathObjectBuilder>> hierarchies;
+        private final int start;
+        private final int end;
+
+        InitializeTask(List<List<XPathObjectBuilder>> hierarchies, int start, int end) {
+            this.hierarchies = hierarchies;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > BATCH_SIZE) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new InitializeTask(hierarchies, start, middle), new InitializeTask(hierarchies, middle, end));
+                return;
+            }
+            for (int index = start; index < end; index++) {
+                for (XPathObjectBuilder xPathObjectBuilder : hierarchies.get(index)) {
+                    xPathObjectBuilder.lazyInitialize();
+                }
+            }
+        }
+    }
+
+}
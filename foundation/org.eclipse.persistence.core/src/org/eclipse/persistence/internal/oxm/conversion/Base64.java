@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -14,6 +14,10 @@
 //     Oracle - initial API and implementation from Oracle TopLink
 package org.eclipse.persistence.internal.oxm.conversion;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * INTERNAL:
  * <p><b>Purpose</b>: Convert to/from XML base64Binary.</p>
@@ -50,4 +54,26 @@ public static byte[] base64Decode(byte[] data) {
     public static byte[] base64Encode(byte[] data) {
         return java.util.Base64.getEncoder().encode(data);
     }
+
+    /**
+     * Return a stream which writes the base64 encoding of the bytes written to
+     * it into the given stream.  Closing it writes the last characters of the
+     * encoding, but does not close the given stream.
+     *
+     * @param  out the stream of the base64-encoded data
+     * @return the stream of the data
+     */
+    public static OutputStream base64EncodingStream(OutputStream out) {
+        return java.util.Base64.getEncoder().wrap(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] data, int offset, int length) throws IOException {
+                out.write(data, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+    }
 }
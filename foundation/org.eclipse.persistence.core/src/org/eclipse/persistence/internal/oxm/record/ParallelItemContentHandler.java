@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm.record;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.oxm.ObjectBuilder;
+import org.eclipse.persistence.internal.oxm.StrBuffer;
+import org.eclipse.persistence.internal.oxm.Unmarshaller;
+import org.eclipse.persistence.internal.oxm.XMLCompositeCollectionMappingNodeValue;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.mappings.Descriptor;
+import org.eclipse.persistence.internal.oxm.mappings.Mapping;
+import org.eclipse.persistence.internal.oxm.record.namespaces.StackUnmarshalNamespaceResolver;
+import org.eclipse.persistence.internal.oxm.record.namespaces.UnmarshalNamespaceResolver;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose:</b>Unmarshal an item of the parallel unmarshal element on
+ * another thread than the parser.
+ * <p><b>Responsibilities:</b><ul>
+ * <li>Store the events of the item, with the namespace declarations in scope at its start</li>
+ * <li>Return control to the parent record at the end of the item, like a child record does</li>
+ * <li>Replay the events into a record of its own, with its own character buffer and ReferenceResolver</li>
+ * <li>Add the unmarshalled item to the collection of the parent record</li>
+ * </ul>
+ * The items are added by the parent record in document order, and their
+ * references are resolved with the references of the whole document.
+ *
+ * @see UnmarshalRecordImpl#resolveParallelItems()
+ * @since 2.7.8
+ */
+public class ParallelItemContentHandler implements ExtendedContentHandler, LexicalHandler, Callable<UnmarshalRecordImpl> {
+
+    /**
+     * The number of ended items a record waits for before it adds the first one.
+     */
+    static final int MAX_PENDING_ITEMS = 256;
+
+    private static final byte START_ELEMENT = 0;
+    private static final byte END_ELEMENT = 1;
+    private static final byte CHARACTERS = 2;
+    private static final byte IGNORABLE_WHITESPACE = 3;
+    private static final byte START_PREFIX_MAPPING = 4;
+    private static final byte END_PREFIX_MAPPING = 5;
+    private static final byte PROCESSING_INSTRUCTION = 6;
+    private static final byte START_CDATA = 7;
+    private static final byte END_CDATA = 8;
+    private static final byte COMMENT = 9;
+    private static final byte SET_NIL = 10;
+
+    private UnmarshalRecordImpl parentRecord;
+    private XMLCompositeCollectionMappingNodeValue nodeValue;
+    private ObjectBuilder objectBuilder;
+    private Object parentObject;
+    private ReplayReader replayReader;
+    private UnmarshalNamespaceResolver unmarshalNamespaceResolver;
+    private int levelIndex;
+    private byte[] eventTypes;
+    private int eventCount;
+    private List<Object> eventValues;
+    private FutureTask<UnmarshalRecordImpl> task;
+    private Object collection;
+
+    public ParallelItemContentHandler(UnmarshalRecordImpl parentRecord, XMLCompositeCollectionMappingNodeValue nodeValue, Descriptor xmlDescriptor) {
+        this.parentRecord = parentRecord;
+        this.nodeValue = nodeValue;
+        this.objectBuilder = (ObjectBuilder) xmlDescriptor.getObjectBuilder();
+        this.parentObject = parentRecord.getCurrentObject();
+        this.replayReader = new ReplayReader(parentRecord.getXMLReader());
+        this.eventTypes = new byte[64];
+        this.eventValues = new ArrayList<Object>(128);
+
+        // The declarations of the parent elements are gone when the item is replayed.
+        UnmarshalNamespaceResolver parentNamespaceResolver = parentRecord.getUnmarshalNamespaceResolver();
+        unmarshalNamespaceResolver = new StackUnmarshalNamespaceResolver();
+        for (String prefix : parentNamespaceResolver.getPrefixes()) {
+            unmarshalNamespaceResolver.push(prefix, parentNamespaceResolver.getNamespaceURI(prefix));
+        }
+    }
+
+    /**
+     * Return true if the element is an item of the parallel unmarshal element of
+     * the Unmarshaller, and it can be unmarshalled without the state of the parser.
+     * Items of types with inheritance, unmarshalled with an IDResolver or an
+     * attribute group, from a DOM or into sequenced objects are unmarshalled
+     * on the parsing thread.
+     */
+    public static boolean isParallelItem(XPathFragment xPathFragment, UnmarshalRecord unmarshalRecord, Descriptor xmlDescriptor) {
+        Unmarshaller unmarshaller = unmarshalRecord.getUnmarshaller();
+        QName parallelElement = unmarshaller.getParallelUnmarshalElement();
+        if (null == parallelElement || !parallelElement.getLocalPart().equals(xPathFragment.getLocalName())) {
+            return false;
+        }
+        String namespaceURI = xPathFragment.getNamespaceURI();
+        if (!parallelElement.getNamespaceURI().equals(null == namespaceURI ? "" : namespaceURI)) {
+            return false;
+        }
+        if (!(unmarshalRecord instanceof UnmarshalRecordImpl) || unmarshalRecord.isSelfRecord() || xmlDescriptor.hasInheritance()) {
+            return false;
+        }
+        XMLReader xmlReader = unmarshalRecord.getXMLReader();
+        return xmlReader.getMediaType().isApplicationXML() && !(xmlReader instanceof DOMReader)
+            && null == unmarshaller.getIDResolver()
+            && unmarshalRecord.getUnmarshalAttributeGroup() == XMLRecord.DEFAULT_ATTRIBUTE_GROUP
+            && unmarshalRecord.getUnmarshalContext() == ObjectUnmarshalContext.getInstance();
+    }
+
+    void setCollection(Object collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * Wait for the item to be unmarshalled, or unmarshal it on this thread if no
+     * thread of the executor has started it, and add it to the collection.
+     */
+    void addItem() {
+        UnmarshalRecordImpl itemRecord;
+        task.run();
+        try {
+            itemRecord = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw XMLMarshalException.unmarshalException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw XMLMarshalException.unmarshalException((Exception) cause);
+        }
+        parentRecord.getReferenceResolver().addAll(itemRecord.getReferenceResolver());
+        nodeValue.addChildObject(parentRecord, itemRecord.getCurrentObject(), collection);
+    }
+
+    /**
+     * Unmarshal the item from its events.
+     */
+    @Override
+    public UnmarshalRecordImpl call() throws SAXException {
+        UnmarshalRecordImpl itemRecord = new UnmarshalRecordImpl(objectBuilder);
+        itemRecord.setSession(parentRecord.getSession());
+        itemRecord.setUnmarshaller(parentRecord.getUnmarshaller());
+        itemRecord.setParentObject(parentObject);
+        itemRecord.setXMLReader(replayReader);
+        itemRecord.setStringBuffer(new StrBuffer());
+        itemRecord.setUnmarshalNamespaceResolver(unmarshalNamespaceResolver);
+        replayReader.setContentHandler(itemRecord);
+        replayReader.setLexicalHandler(itemRecord);
+
+        // The item element starts the record, as in XMLRelationshipMappingNodeValue.processChild
+        Attributes atts = (Attributes) eventValues.get(3);
+        itemRecord.setAttributes(atts);
+        itemRecord.startDocument();
+        itemRecord.initializeRecord((Mapping) null);
+        itemRecord.startElement((String) eventValues.get(0), (String) eventValues.get(1), (String) eventValues.get(2), atts);
+
+        // Nested records and deferred handlers take control of the reader as with the parser.
+        int valueIndex = 4;
+        for (int x = 1; x < eventCount; x++) {
+            ExtendedContentHandler contentHandler = replayReader.getContentHandler();
+            LexicalHandler lexicalHandler = replayReader.getLexicalHandler();
+            switch (eventTypes[x]) {
+            case START_ELEMENT:
+                contentHandler.startElement((String) eventValues.get(valueIndex), (String) eventValues.get(valueIndex + 1), (String) eventValues.get(valueIndex + 2), (Attributes) eventValues.get(valueIndex + 3));
+                valueIndex += 4;
+                break;
+            case END_ELEMENT:
+                contentHandler.endElement((String) eventValues.get(valueIndex), (String) eventValues.get(valueIndex + 1), (String) eventValues.get(valueIndex + 2));
+                valueIndex += 3;
+                break;
+            case CHARACTERS: {
+                char[] characters = (char[]) eventValues.get(valueIndex++);
+                contentHandler.characters(characters, 0, characters.length);
+                break;
+            }
+            case IGNORABLE_WHITESPACE: {
+                char[] characters = (char[]) eventValues.get(valueIndex++);
+                contentHandler.ignorableWhitespace(characters, 0, characters.length);
+                break;
+            }
+            case START_PREFIX_MAPPING:
+                contentHandler.startPrefixMapping((String) eventValues.get(valueIndex), (String) eventValues.get(valueIndex + 1));
+                valueIndex += 2;
+                break;
+            case END_PREFIX_MAPPING:
+                contentHandler.endPrefixMapping((String) eventValues.get(valueIndex++));
+                break;
+            case PROCESSING_INSTRUCTION:
+                contentHandler.processingInstruction((String) eventValues.get(valueIndex), (String) eventValues.get(valueIndex + 1));
+                valueIndex += 2;
+                break;
+            case START_CDATA:
+                if (null != lexicalHandler) {
+                    lexicalHandler.startCDATA();
+                }
+                break;
+            case END_CDATA:
+                if (null != lexicalHandler) {
+                    lexicalHandler.endCDATA();
+                }
+                break;
+            case COMMENT: {
+                char[] characters = (char[]) eventValues.get(valueIndex++);
+                if (null != lexicalHandler) {
+                    lexicalHandler.comment(characters, 0, characters.length);
+                }
+                break;
+            }
+            case SET_NIL:
+                contentHandler.setNil((Boolean) eventValues.get(valueIndex++));
+                break;
+            }
+        }
+        itemRecord.endDocument();
+        // Release the events while the item waits to be added.
+        eventTypes = null;
+        eventValues = null;
+        return itemRecord;
+    }
+
+    private void addEvent(byte eventType) {
+        if (eventCount == eventTypes.length) {
+            eventTypes = Arrays.copyOf(eventTypes, eventCount << 1);
+        }
+        eventTypes[eventCount++] = eventType;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+        levelIndex++;
+        addEvent(START_ELEMENT);
+        eventValues.add(uri);
+        eventValues.add(localName);
+        eventValues.add(qName);
+        // Copy the attributes because some parsers reuse the Attributes object across start element events
+        eventValues.add(new AttributesImpl(atts));
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        levelIndex--;
+        addEvent(END_ELEMENT);
+        eventValues.add(uri);
+        eventValues.add(localName);
+        eventValues.add(qName);
+        if (0 == levelIndex) {
+            task = new FutureTask<UnmarshalRecordImpl>(this);
+            Executor executor = parentRecord.getUnmarshaller().getParallelUnmarshalExecutor();
+            if (null == executor) {
+                executor = ForkJoinPool.commonPool();
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Unmarshalled on the parsing thread when it is added.
+            }
+
+            parentRecord.setEndedParallelItem(this);
+            parentRecord.endElement(uri, localName, qName);
+            XMLReader xmlReader = parentRecord.getXMLReader();
+            xmlReader.setContentHandler(parentRecord);
+            xmlReader.setLexicalHandler(parentRecord);
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        addEvent(CHARACTERS);
+        eventValues.add(Arrays.copyOfRange(ch, start, start + length));
+    }
+
+    @Override
+    public void characters(CharSequence characters) throws SAXException {
+        addEvent(CHARACTERS);
+        eventValues.add(characters.toString().toCharArray());
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        addEvent(IGNORABLE_WHITESPACE);
+        eventValues.add(Arrays.copyOfRange(ch, start, start + length));
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        addEvent(START_PREFIX_MAPPING);
+        eventValues.add(prefix);
+        eventValues.add(uri);
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+        addEvent(END_PREFIX_MAPPING);
+        eventValues.add(prefix);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        addEvent(PROCESSING_INSTRUCTION);
+        eventValues.add(target);
+        eventValues.add(data);
+    }
+
+    @Override
+    public void setNil(boolean isNil) {
+        addEvent(SET_NIL);
+        eventValues.add(isNil);
+    }
+
+    @Override
+    public void startCDATA() throws SAXException {
+        addEvent(START_CDATA);
+    }
+
+    @Override
+    public void endCDATA() throws SAXException {
+        addEvent(END_CDATA);
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) throws SAXException {
+        addEvent(COMMENT);
+        eventValues.add(Arrays.copyOfRange(ch, start, start + length));
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+    }
+
+    @Override
+    public void startDTD(String name, String publicId, String systemId) throws SAXException {
+    }
+
+    @Override
+    public void endDTD() throws SAXException {
+    }
+
+    @Override
+    public void startEntity(String name) throws SAXException {
+    }
+
+    @Override
+    public void endEntity(String name) throws SAXException {
+    }
+
+    /**
+     * The reader the events of an item are replayed from.  The records change its
+     * handlers as they change the handlers of the parser.
+     */
+    private static final class ReplayReader extends XMLReaderAdapter {
+
+        ReplayReader(XMLReader parserReader) {
+            super();
+            setNamespaceAware(parserReader.isNamespaceAware());
+            setNamespaceSeparator(parserReader.getNamespaceSeparator());
+            setErrorHandler(parserReader.getErrorHandler());
+        }
+
+        @Override
+        public void parse(InputSource input) {
+        }
+
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -52,6 +52,7 @@
 import org.eclipse.persistence.internal.oxm.mappings.Descriptor;
 import org.eclipse.persistence.internal.oxm.mappings.UnmarshalKeepAsElementPolicy;
 import org.eclipse.persistence.internal.oxm.record.json.JsonStructureReader;
+import org.eclipse.persistence.internal.oxm.record.json.NativeJsonReader;
 import org.eclipse.persistence.platform.xml.DefaultErrorHandler;
 import org.eclipse.persistence.platform.xml.SAXDocumentBuilder;
 import org.eclipse.persistence.platform.xml.XMLParser;
@@ -208,6 +209,9 @@ private XMLReader getNewXMLReader(MediaType mediaType) {
     private XMLReader getNewXMLReader(Class clazz, MediaType mediaType) {
 
         if (null != mediaType && mediaType.isApplicationJSON()) {
+            if (xmlUnmarshaller.isNativeJsonParser()) {
+                return new NativeJsonReader(xmlUnmarshaller, clazz);
+            }
             return new JsonStructureReader(xmlUnmarshaller, clazz);
         }
         try {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -33,6 +33,9 @@ public UnmappedContentHandlerWrapper(UnmarshalRecord parentRecord, UnmappedConte
         this.unmappedContentHandler = unmappedContentHandler;
         setParentRecord(parentRecord);
         setUnmarshaller(parentRecord.getUnmarshaller());
+        if (parentRecord instanceof UnmarshalRecordImpl) {
+            setStringBuffer(((UnmarshalRecordImpl) parentRecord).getStringBuffer());
+        }
         setXMLReader(parentRecord.getXMLReader());
         setUnmarshalNamespaceResolver(parentRecord.getUnmarshalNamespaceResolver());
         unmappedContentHandler.setUnmarshalRecord(new org.eclipse.persistence.oxm.record.UnmarshalRecord(this));
@@ -62,6 +62,8 @@
 
     public void addAttributeValue(ContainerValue containerValue, Object value, Object collection);
 
+    public void attribute(String namespaceURI, String localName, String value) throws SAXException;
+
     public Root createRoot();
 
     public void endUnmappedElement(String uri, String localName, String name) throws SAXException;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -15,7 +15,9 @@
 //     Marcel Valovy - 2.6.0 - added case insensitive unmarshalling
 package org.eclipse.persistence.internal.oxm.record;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -145,6 +147,21 @@
 
     private ConversionManager conversionManager;
 
+    private StrBuffer stringBuffer;
+
+    /**
+     * The items of the parallel unmarshal element that are unmarshalled on other threads
+     * and still have to be added to their collections, in document order.
+     */
+    private Deque<ParallelItemContentHandler> parallelItems;
+    private ParallelItemContentHandler endedParallelItem;
+
+    /**
+     * The object given to the unmarshal listener as the parent of a record
+     * that has no parent record, e.g. of an item unmarshalled in parallel.
+     */
+    private Object parentObject;
+
     protected UnmarshalRecordImpl() {
     }
 
@@ -409,12 +426,30 @@ public void setNoNamespaceSchemaLocation(String location) {
         this.noNamespaceSchemaLocation = location;
     }
 
-    protected StrBuffer getStringBuffer() {
-        return unmarshaller.getStringBuffer();
+    /**
+     * INTERNAL:
+     * Return the buffer of the characters of the current element.  Unless the
+     * record has a buffer of its own, this is the buffer of the Unmarshaller.
+     */
+    public StrBuffer getStringBuffer() {
+        if (null == stringBuffer) {
+            return unmarshaller.getStringBuffer();
+        }
+        return stringBuffer;
+    }
+
+    /**
+     * INTERNAL:
+     * Set a buffer of its own for the characters, shared with the child records,
+     * so that the record can be used on another thread than the Unmarshaller.
+     * @since 2.7.8
+     */
+    public void setStringBuffer(StrBuffer stringBuffer) {
+        this.stringBuffer = stringBuffer;
     }
 
     public CharSequence getCharacters() {
-        return unmarshaller.getStringBuffer();
+        return getStringBuffer();
     }
 
     public Attributes getAttributes() {
@@ -551,18 +586,14 @@ public void initializeRecord(Mapping selfRecordMapping) throws SAXException {
                     xmlLocation  = new Locator2Impl(xmlReader.getLocator());
             }
 
-            Object parentRecordCurrentObject = null;
+            Object parentRecordCurrentObject = parentObject;
             if (null != this.parentRecord) {
                 parentRecordCurrentObject = parentRecord.getCurrentObject();
             }
 
             Unmarshaller.Listener xmlUnmarshalListener = unmarshaller.getUnmarshalListener();
             if (null != xmlUnmarshalListener) {
-                if (null == this.parentRecord) {
-                    xmlUnmarshalListener.beforeUnmarshal(currentObject, null);
-                } else {
-                    xmlUnmarshalListener.beforeUnmarshal(currentObject, parentRecordCurrentObject);
-                }
+                xmlUnmarshalListener.beforeUnmarshal(currentObject, parentRecordCurrentObject);
             }
             if (null == parentRecord) {
                 this.xmlReader.newObjectEvent(currentObject, null, selfRecordMapping);
@@ -597,6 +628,7 @@ public void initializeRecord(Mapping selfRecordMapping) throws SAXException {
     }
 
     public void endDocument() throws SAXException {
+        resolveParallelItems();
         if (unmarshaller.getIDResolver() != null && parentRecord == null) {
         unmarshaller.getIDResolver().endDocument();
         }
@@ -662,7 +694,7 @@ public void endDocument() throws SAXException {
                 if (this.parentRecord != null) {
                     listener.afterUnmarshal(currentObject, parentRecord.getCurrentObject());
                 } else {
-                    listener.afterUnmarshal(currentObject, null);
+                    listener.afterUnmarshal(currentObject, parentObject);
                 }
             }
 
@@ -874,7 +906,6 @@ public void startElement(String namespaceURI, String localName, String qName, At
                         String attNamespace = atts.getURI(i);
                         String attLocalName = atts.getLocalName(i);
                         String value = atts.getValue(i);
-                        NodeValue attributeNodeValue = null;
 
                         // Some parsers don't set the URI/local name for namespace
                         // attributes
@@ -900,44 +931,7 @@ public void startElement(String namespaceURI, String localName, String qName, At
                             }
                         }
 
-                        //Look for any Self-Mapping nodes that may want this attribute.
-                        if (this.selfRecords != null) {
-                            for (int j = 0; j < selfRecords.size(); j++) {
-                                UnmarshalRecord nestedRecord = selfRecords.get(j);
-                                if(nestedRecord != null){
-                                    attributeNodeValue = nestedRecord.getAttributeChildNodeValue(attNamespace, attLocalName);
-                                    if (attributeNodeValue != null) {
-                                        attributeNodeValue.attribute(nestedRecord, attNamespace, attLocalName, value);
-                                    }
-                                }
-                            }
-                        }
-                        if (attributeNodeValue == null) {
-                            attributeNodeValue = this.getAttributeChildNodeValue(attNamespace, attLocalName);
-
-                            try {
-                                if (attributeNodeValue != null) {
-                                    if(attributeNodeValue.isMappingNodeValue()) {
-                                        Mapping mapping = ((MappingNodeValue)attributeNodeValue).getMapping();
-                                        if(!unmarshalAttributeGroup.containsAttributeInternal(mapping.getAttributeName())) {
-                                            continue;
-                                        }
-                                    }
-                                    attributeNodeValue.attribute(this, attNamespace, attLocalName, value);
-                                } else {
-                                    if (xPathNode.getAnyAttributeNodeValue() != null) {
-                                        xPathNode.getAnyAttributeNodeValue().attribute(this, attNamespace, attLocalName, value);
-                                    }
-                                }
-                            } catch(EclipseLinkException e) {
-                                if ((null == xmlReader) || (null == xmlReader.getErrorHandler())) {
-                                    throw e;
-                                } else {
-                                    SAXParseException saxParseException = new SAXParseException(e.getLocalizedMessage(), getDocumentLocator(), e);
-                                    xmlReader.getErrorHandler().warning(saxParseException);
-                                }
-                            }
-                        }
+                        attribute(attNamespace, attLocalName, value);
                     }
                 }
             }
@@ -954,6 +948,52 @@ public void startElement(String namespaceURI, String localName, String qName, At
         }
     }
 
+    /**
+     * Set the value of an attribute of the current element to the mappings of the attribute,
+     * also after the element has been started.
+     */
+    public void attribute(String namespaceURI, String localName, String value) throws SAXException {
+        NodeValue attributeNodeValue = null;
+        //Look for any Self-Mapping nodes that may want this attribute.
+        if (this.selfRecords != null) {
+            for (int j = 0; j < selfRecords.size(); j++) {
+                UnmarshalRecord nestedRecord = selfRecords.get(j);
+                if(nestedRecord != null){
+                    attributeNodeValue = nestedRecord.getAttributeChildNodeValue(namespaceURI, localName);
+                    if (attributeNodeValue != null) {
+                        attributeNodeValue.attribute(nestedRecord, namespaceURI, localName, value);
+                    }
+                }
+            }
+        }
+        if (attributeNodeValue == null) {
+            attributeNodeValue = this.getAttributeChildNodeValue(namespaceURI, localName);
+
+            try {
+                if (attributeNodeValue != null) {
+                    if(attributeNodeValue.isMappingNodeValue()) {
+                        Mapping mapping = ((MappingNodeValue)attributeNodeValue).getMapping();
+                        if(!unmarshalAttributeGroup.containsAttributeInternal(mapping.getAttributeName())) {
+                            return;
+                        }
+                    }
+                    attributeNodeValue.attribute(this, namespaceURI, localName, value);
+                } else {
+                    if (xPathNode.getAnyAttributeNodeValue() != null) {
+                        xPathNode.getAnyAttributeNodeValue().attribute(this, namespaceURI, localName, value);
+                    }
+                }
+            } catch(EclipseLinkException e) {
+                if ((null == xmlReader) || (null == xmlReader.getErrorHandler())) {
+                    throw e;
+                } else {
+                    SAXParseException saxParseException = new SAXParseException(e.getLocalizedMessage(), getDocumentLocator(), e);
+                    xmlReader.getErrorHandler().warning(saxParseException);
+                }
+            }
+        }
+    }
+
     private void updateXPathFragment(String qName, String localName, String namespaceURI) {
         if (namespaceURI != null && namespaceURI.length() == 0) {
             xPathFragment.setLocalName(qName);
@@ -1562,7 +1602,9 @@ public UnmarshalRecord getChildUnmarshalRecord(ObjectBuilder treeObjectBuilder)
             childRecord.setParentRecord(this);
             return childRecord;
     }else{
-        childRecord = new UnmarshalRecordImpl(treeObjectBuilder, referenceResolver);
+        UnmarshalRecordImpl newChildRecord = new UnmarshalRecordImpl(treeObjectBuilder, referenceResolver);
+        newChildRecord.stringBuffer = stringBuffer;
+        childRecord = newChildRecord;
         childRecord.setSession(session);
             childRecord.setUnmarshaller(unmarshaller);
             childRecord.setTextWrapperFragment(textWrapperFragment);
@@ -1633,6 +1675,72 @@ public void resolveReferences(CoreAbstractSession abstractSession, IDResolver id
         }
     }
 
+    /**
+     * INTERNAL:
+     * Set the object given to the unmarshal listener as the parent of this
+     * record, when the record is used without its parent record.
+     * @since 2.7.8
+     */
+    public void setParentObject(Object parentObject) {
+        this.parentObject = parentObject;
+    }
+
+    /**
+     * INTERNAL:
+     * Called by the handler of an item of the parallel unmarshal element when
+     * the item ends, before its end element event is passed to this record.
+     * @since 2.7.8
+     */
+    public void setEndedParallelItem(ParallelItemContentHandler item) {
+        this.endedParallelItem = item;
+        if (null == parallelItems) {
+            parallelItems = new ArrayDeque<ParallelItemContentHandler>();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Queue the item of the parallel unmarshal element that just ended, to be
+     * added to the collection when it is unmarshalled.  Return false if the
+     * element that ended was not unmarshalled in parallel, the queued items are
+     * then added first to keep the document order.
+     * @since 2.7.8
+     */
+    public boolean endParallelItem(Object collection) {
+        if (null == parallelItems) {
+            return false;
+        }
+        ParallelItemContentHandler item = endedParallelItem;
+        if (null == item) {
+            resolveParallelItems();
+            return false;
+        }
+        endedParallelItem = null;
+        item.setCollection(collection);
+        parallelItems.add(item);
+        // Bound the events held in memory when the parsing is faster than the unmarshalling.
+        while (parallelItems.size() > ParallelItemContentHandler.MAX_PENDING_ITEMS) {
+            parallelItems.poll().addItem();
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Wait for the queued items of the parallel unmarshal element and add them
+     * to their collections, in document order.
+     * @since 2.7.8
+     */
+    public void resolveParallelItems() {
+        if (null == parallelItems) {
+            return;
+        }
+        ParallelItemContentHandler item;
+        while (null != (item = parallelItems.poll())) {
+            item.addItem();
+        }
+    }
+
     /**
      * INTERNAL:
      * @since EclipseLink 2.5.0
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -39,6 +39,7 @@ public class BinaryMappingContentHandler extends DeferredContentHandler {
     private boolean isCollection;
     private UnmarshalRecord workingUnmarshalRecord;
     private boolean finished;
+    private boolean streaming;
 
     public BinaryMappingContentHandler(UnmarshalRecord parentRecord, NodeValue nodeValue, BinaryDataMapping mapping) {
         super(parentRecord);
@@ -47,6 +48,7 @@ public BinaryMappingContentHandler(UnmarshalRecord parentRecord, NodeValue nodeV
         this.nodeValue = nodeValue;
         this.isCollection = false;
         this.finished = false;
+        this.streaming = XMLInlineBinaryHandler.isStreaming(parentRecord, mapping, false);
     }
 
     public BinaryMappingContentHandler(UnmarshalRecord parentRecord, NodeValue nodeValue, BinaryDataCollectionMapping mapping) {
@@ -73,6 +75,25 @@ public void processEmptyElement() throws SAXException {
         processSimpleElement();
     }
 
+    /**
+     * Once text which is not white space is read the element can only be
+     * simple.  When its base64 content is decoded while it is read, the
+     * following characters are passed to the inline binary handler instead
+     * of being stored.
+     */
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        super.characters(ch, start, length);
+        if (streaming && !finished) {
+            for (int index = start, end = start + length; index < end; index++) {
+                if (ch[index] > ' ') {
+                    processSimpleElement();
+                    return;
+                }
+            }
+        }
+    }
+
     protected void executeEvents(UnmarshalRecord unmarshalRecord) throws SAXException {
         super.executeEvents(unmarshalRecord);
         finished = true;
@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.internal.oxm.CollectionGroupingElementNodeValue;
+import org.eclipse.persistence.internal.oxm.Constants;
+import org.eclipse.persistence.internal.oxm.ContainerValue;
+import org.eclipse.persistence.internal.oxm.ConversionManager;
+import org.eclipse.persistence.internal.oxm.MediaType;
+import org.eclipse.persistence.internal.oxm.NamespaceResolver;
+import org.eclipse.persistence.internal.oxm.NodeValue;
+import org.eclipse.persistence.internal.oxm.Root;
+import org.eclipse.persistence.internal.oxm.Unmarshaller;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.XPathNode;
+import org.eclipse.persistence.internal.oxm.mappings.Descriptor;
+import org.eclipse.persistence.internal.oxm.mappings.Field;
+import org.eclipse.persistence.internal.oxm.record.AbstractUnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.SAXUnmarshallerHandler;
+import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
+import org.eclipse.persistence.internal.oxm.record.XMLReaderAdapter;
+import org.eclipse.persistence.internal.oxm.record.deferred.DeferredContentHandler;
+import org.eclipse.persistence.oxm.mappings.nullpolicy.AbstractNullPolicy;
+import org.eclipse.persistence.oxm.record.XMLRootRecord;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * INTERNAL:
+ * Common super class of the JSON readers, reporting the members of JSON objects
+ * to the content handler as elements, independently of how the document is parsed.
+ */
+public abstract class AbstractJsonReader extends XMLReaderAdapter {
+
+    protected static final String TRUE = "true";
+    protected static final String FALSE = "false";
+    /** Returned by resolveElement if the value of the member is the text of the current element. */
+    protected static final String[] TEXT_VALUE = new String[0];
+    protected String attributePrefix = null;
+    protected NamespaceResolver namespaces = null;
+    protected boolean includeRoot;
+    protected String textWrapper;
+    protected Class unmarshalClass;
+    private boolean isInCollection;
+    private final String typeAttributeName;
+
+    /**
+     * If we should treat unqualified type property in JSON as MOXy type discriminator.
+     */
+    protected boolean jsonTypeCompatibility;
+
+    protected AbstractJsonReader(Unmarshaller u, Class clazz) {
+        this.attributePrefix = u.getAttributePrefix();
+        if (Constants.EMPTY_STRING.equals(attributePrefix)) {
+            attributePrefix = null;
+        }
+        namespaces = u.getNamespaceResolver();
+
+        setNamespaceAware(u.getNamespaceResolver() != null);
+        setNamespaceSeparator(u.getNamespaceSeparator());
+        this.includeRoot = u.isIncludeRoot();
+        this.setErrorHandler(u.getErrorHandler());
+        this.textWrapper = u.getValueWrapper();
+        this.unmarshalClass = clazz;
+        this.jsonTypeCompatibility = u.getJsonTypeConfiguration().useJsonTypeCompatibility();
+        this.typeAttributeName = u.getJsonTypeConfiguration().getJsonTypeAttributeName();
+    }
+
+    protected void startPrefixMappings() throws SAXException {
+        if (namespaces != null) {
+            Map<String, String> namespacePairs = namespaces.getPrefixesToNamespaces();
+            for (Entry<String, String> namespacePair : namespacePairs.entrySet()) {
+                contentHandler.startPrefixMapping(namespacePair.getKey(), namespacePair.getValue());
+            }
+        }
+    }
+
+    /**
+     * Add the object unmarshalled from an item of a root array to the list.
+     */
+    protected void addRootObject(List<Object> list) {
+        if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+            SAXUnmarshallerHandler saxUnmarshallerHandler = (SAXUnmarshallerHandler) contentHandler;
+            list.add(saxUnmarshallerHandler.getObject());
+            saxUnmarshallerHandler.setObject(null);
+        } else if (getContentHandler() instanceof UnmarshalRecord) {
+            UnmarshalRecord unmarshalRecord = (UnmarshalRecord) contentHandler;
+            Object unmarshalledObject = unmarshalRecord.getCurrentObject();
+            if (includeRoot && unmarshalClass != null) {
+                if (!(unmarshalledObject instanceof Root)) {
+                    Root xmlRoot = unmarshalRecord.createRoot();
+                    xmlRoot.setNamespaceURI(unmarshalRecord.getRootElementNamespaceUri());
+                    xmlRoot.setLocalName(unmarshalRecord.getLocalName());
+                    xmlRoot.setObject(unmarshalledObject);
+                    unmarshalledObject = xmlRoot;
+                }
+            }
+            list.add(unmarshalledObject);
+            unmarshalRecord.setCurrentObject(null);
+            unmarshalRecord.setRootElementName(null);
+            unmarshalRecord.setLocalName(null);
+        }
+    }
+
+    /**
+     * Set the objects unmarshalled from the items of a root array as the result.
+     */
+    protected void setRootObjects(List<Object> list, SAXUnmarshallerHandler rootContentHandler) {
+        if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+            ((SAXUnmarshallerHandler) getContentHandler()).setObject(list);
+        } else if (getContentHandler() instanceof UnmarshalRecord) {
+            ((UnmarshalRecord) getContentHandler()).setCurrentObject(list);
+            ((UnmarshalRecord) getContentHandler()).setRootElementName(Constants.EMPTY_STRING);
+            ((UnmarshalRecord) getContentHandler()).setLocalName(Constants.EMPTY_STRING);
+            if (rootContentHandler != null) {
+                rootContentHandler.setObject(list);
+            }
+        }
+    }
+
+    /**
+     * Return the namespace URI and local name of the elements of an array member,
+     * or null if the member is an attribute.
+     */
+    protected String[] resolveCollection(String name) {
+        String parentLocalName = name;
+
+        if (attributePrefix != null && parentLocalName.startsWith(attributePrefix)) {
+            // do nothing;
+            return null;
+        }
+        String uri = Constants.EMPTY_STRING;
+        if (isNamespaceAware() && namespaces != null) {
+            if (parentLocalName.length() > 2) {
+                int nsIndex = parentLocalName.indexOf(getNamespaceSeparator(), 1);
+                if (nsIndex > -1) {
+                    String prefix = parentLocalName.substring(0, nsIndex);
+                    uri = namespaces.resolveNamespacePrefix(prefix);
+                }
+                if (uri == null || uri == Constants.EMPTY_STRING) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    parentLocalName = parentLocalName.substring(nsIndex + 1);
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+        return new String[] {uri, parentLocalName};
+    }
+
+    /**
+     * Create the container of an empty array member.
+     */
+    protected void startEmptyCollection(String uri, String parentLocalName) {
+        if (contentHandler instanceof UnmarshalRecord || isUnmarshalRecordWithinAdapter()) {
+            final UnmarshalRecord ur = this.contentHandler instanceof UnmarshalRecord ? (UnmarshalRecord) this.contentHandler : getUnmarshalRecordFromAdapter();
+            XPathNode node = ur.getNonAttributeXPathNode(uri, parentLocalName, parentLocalName, null);
+            if (node != null) {
+                NodeValue nv = node.getNodeValue();
+                if (nv == null && node.getTextNode() != null) {
+                    nv = node.getTextNode().getUnmarshalNodeValue();
+                }
+                if (nv != null && nv.isContainerValue()) {
+                    ur.getContainerInstance(((ContainerValue) nv));
+                }
+            }
+        }
+    }
+
+    /**
+     * Start the grouping element of an array member if the wrapper is used as the collection name.
+     * Return the grouping and item fragments, null if there is no grouping element.
+     */
+    protected XPathFragment[] startGroupingElement(UnmarshalRecord unmarshalRecord, String uri, String parentLocalName) throws SAXException {
+        XPathFragment groupingXPathFragment = null;
+        XPathFragment itemXPathFragment = null;
+        if (unmarshalRecord.getUnmarshaller().isWrapperAsCollectionName()) {
+            XPathNode unmarshalRecordXPathNode = unmarshalRecord.getXPathNode();
+            if (null != unmarshalRecordXPathNode) {
+                XPathFragment currentFragment = new XPathFragment();
+                currentFragment.setLocalName(parentLocalName);
+                currentFragment.setNamespaceURI(uri);
+                currentFragment.setNamespaceAware(isNamespaceAware());
+                XPathNode groupingXPathNode = unmarshalRecordXPathNode.getNonAttributeChildrenMap().get(currentFragment);
+                if (groupingXPathNode != null) {
+                    if (groupingXPathNode.getUnmarshalNodeValue() instanceof CollectionGroupingElementNodeValue) {
+                        groupingXPathFragment = groupingXPathNode.getXPathFragment();
+                        unmarshalRecord.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
+                        XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
+                        itemXPathFragment = itemXPathNode.getXPathFragment();
+                    } else if (groupingXPathNode.getUnmarshalNodeValue() == null) {
+                        XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
+                        if (itemXPathNode != null) {
+                            if ((itemXPathNode.getUnmarshalNodeValue()).isContainerValue()) {
+                                groupingXPathFragment = groupingXPathNode.getXPathFragment();
+                                unmarshalRecord.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
+                                itemXPathFragment = itemXPathNode.getXPathFragment();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new XPathFragment[] {groupingXPathFragment, itemXPathFragment};
+    }
+
+    /**
+     * Return the namespace URI and local name of the element of a non array member,
+     * {@link #TEXT_VALUE} if its value is the text of the current element, or null if it is not reported.
+     */
+    protected String[] resolveElement(String name) {
+        if (attributePrefix != null && name.startsWith(attributePrefix)) {
+            return null;
+        }
+        String localName = name;
+        String uri = Constants.EMPTY_STRING;
+        if (isNamespaceAware() && namespaces != null) {
+            if (localName.length() > 2) {
+                int nsIndex = localName.indexOf(getNamespaceSeparator(), 1);
+                String prefix = Constants.EMPTY_STRING;
+                if (nsIndex > -1) {
+                    prefix = localName.substring(0, nsIndex);
+                }
+                uri = namespaces.resolveNamespacePrefix(prefix);
+                if (uri == null || uri == Constants.EMPTY_STRING) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    localName = localName.substring(nsIndex + 1);
+                }
+
+                if (localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && uri != null && uri.equals(javax.xml.XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI)) {
+                    return null;
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+        if (contentHandler instanceof XMLRootRecord || contentHandler instanceof DeferredContentHandler) {
+            if (jsonTypeCompatibility) {
+                // if its not namespaceAware don't report the "type" child as it
+                // is will be read by the xsi:type lookup
+                if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE)) {
+                    return null;
+                }
+            }
+            if (textWrapper != null && textWrapper.equals(localName)) {
+                return TEXT_VALUE;
+            }
+        } else if (contentHandler instanceof UnmarshalRecord && ((UnmarshalRecord) contentHandler).getXPathNode() != null) {
+            if (jsonTypeCompatibility) {
+                if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && !((UnmarshalRecord) contentHandler).getXPathNode().hasTypeChild()) {
+                    return null;
+                }
+            }
+            boolean isTextValue = isTextValue(localName, (UnmarshalRecord) contentHandler);
+            if (isTextValue) {
+                return TEXT_VALUE;
+            }
+            NodeValue nv = ((UnmarshalRecord) contentHandler).getAttributeChildNodeValue(uri, localName);
+            if (attributePrefix == null && nv != null) {
+                return null;
+            }
+        } else if (isUnmarshalRecordWithinAdapter()) {
+            @SuppressWarnings("rawtypes") final UnmarshalRecord contentHandler_ = getUnmarshalRecordFromAdapter();
+            if (jsonTypeCompatibility) {
+                if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && !contentHandler_.getXPathNode().hasTypeChild()) {
+                    return null;
+                }
+            }
+            boolean isTextValue = isTextValue(localName, contentHandler_);
+            if (isTextValue) {
+                return TEXT_VALUE;
+            }
+            NodeValue nv = contentHandler_.getAttributeChildNodeValue(uri, localName);
+            if (attributePrefix == null && nv != null) {
+                return null;
+            }
+        }
+        return new String[] {uri, localName};
+    }
+
+    /**
+     * Return the namespace URI and local name of the attribute of a scalar member of the current object
+     * read after its element was started, or null if the member is not an attribute and is reported as an element.
+     * <p>
+     * The type of an object selects its descriptor when its element is started,
+     * so a SAXParseException is thrown for a type member that follows nested objects or arrays.
+     */
+    protected String[] resolveLateAttribute(String name) throws SAXException {
+        String localName = name;
+        if (attributePrefix != null) {
+            if (!name.startsWith(attributePrefix)) {
+                return null;
+            }
+            localName = name.substring(attributePrefix.length());
+        }
+        String uri = Constants.EMPTY_STRING;
+        if (isNamespaceAware() && namespaces != null) {
+            if (localName.length() > 2) {
+                String prefix = Constants.EMPTY_STRING;
+                int nsIndex = localName.indexOf(getNamespaceSeparator(), 1);
+                if (nsIndex > -1) {
+                    prefix = localName.substring(0, nsIndex);
+                }
+                uri = namespaces.resolveNamespacePrefix(prefix);
+                if (uri == null) {
+                    uri = namespaces.getDefaultNamespaceURI();
+                } else {
+                    localName = localName.substring(nsIndex + 1);
+                }
+            } else {
+                uri = namespaces.getDefaultNamespaceURI();
+            }
+        }
+
+        UnmarshalRecord unmarshalRecord = getCurrentUnmarshalRecord();
+        if (unmarshalRecord != null && unmarshalRecord.getXPathNode() != null
+                && unmarshalRecord.getAttributeChildNodeValue(uri, localName) == null) {
+            XPathNode xPathNode = unmarshalRecord.getXPathNode();
+            Descriptor descriptor = unmarshalRecord.getDescriptor();
+            if (xPathNode.getParent() == null && !xPathNode.hasTypeChild()
+                    && (localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) || localName.equals(typeAttributeName))
+                    && descriptor != null && descriptor.hasInheritance() && descriptor.getInheritancePolicy().getClassIndicatorField() != null) {
+                throw new SAXParseException("The type member \"" + name + "\" of a JSON object must precede its nested objects and arrays", null);
+            }
+            if (attributePrefix == null) {
+                return null;
+            }
+        } else if (unmarshalRecord == null && attributePrefix == null) {
+            return null;
+        }
+        return new String[] {uri, localName};
+    }
+
+    /**
+     * Set the value of an attribute resolved by {@link #resolveLateAttribute(String)} to the current record.
+     */
+    protected void lateAttribute(String[] attributeName, String value) throws SAXException {
+        UnmarshalRecord unmarshalRecord = getCurrentUnmarshalRecord();
+        if (unmarshalRecord != null && unmarshalRecord.getXPathNode() != null) {
+            unmarshalRecord.attribute(attributeName[0], attributeName[1], value);
+        }
+    }
+
+    /**
+     * Return the record of the current object, null if the content handler is not an unmarshal record.
+     */
+    protected UnmarshalRecord getCurrentUnmarshalRecord() {
+        if (contentHandler instanceof UnmarshalRecord) {
+            return (UnmarshalRecord) contentHandler;
+        } else if (isUnmarshalRecordWithinAdapter()) {
+            return getUnmarshalRecordFromAdapter();
+        }
+        return null;
+    }
+
+    protected UnmarshalRecord getUnmarshalRecordFromAdapter() {
+        return (UnmarshalRecord) ((ValidatingContentHandler) ((ExtendedContentHandlerAdapter) contentHandler)
+                .getContentHandler()).getContentHandler();
+    }
+
+    protected boolean isUnmarshalRecordWithinAdapter() {
+        return contentHandler instanceof ExtendedContentHandlerAdapter
+                && ((ExtendedContentHandlerAdapter) contentHandler)
+                .getContentHandler() instanceof ValidatingContentHandler
+                && ((ValidatingContentHandler) ((ExtendedContentHandlerAdapter) contentHandler).getContentHandler())
+                .getContentHandler() instanceof UnmarshalRecord;
+    }
+
+    public boolean isNullRepresentedByXsiNil(AbstractNullPolicy nullPolicy) {
+        return true;
+    }
+
+    protected void startCollection() {
+        isInCollection = true;
+    }
+
+    protected void endCollection() {
+        isInCollection = false;
+    }
+
+    @Override
+    public boolean isInCollection() {
+        return isInCollection;
+    }
+
+    protected boolean isTextValue(String localName, UnmarshalRecord contentHandler_) {
+        XPathNode currentNode = ((UnmarshalRecord) contentHandler_).getXPathNode();
+        if (currentNode == null) {
+            return textWrapper != null && textWrapper.equals(localName);
+        }
+
+        return ((currentNode.getNonAttributeChildrenMap() == null
+                || currentNode.getNonAttributeChildrenMap().size() == 0
+                || (currentNode.getNonAttributeChildrenMap().size() == 1
+                && currentNode.getTextNode() != null)
+        ) && textWrapper != null && textWrapper.equals(localName)
+        );
+    }
+
+
+    @Override
+    public Object convertValueBasedOnSchemaType(Field xmlField, Object value, ConversionManager conversionManager, AbstractUnmarshalRecord record) {
+        if (xmlField.getSchemaType() != null) {
+            if (Constants.QNAME_QNAME.equals(xmlField.getSchemaType())) {
+                String stringValue = (String) value;
+                int indexOpen = stringValue.indexOf('{');
+                int indexClose = stringValue.indexOf('}');
+                String uri;
+                String localName;
+                if (indexOpen > -1 && indexClose > -1) {
+                    uri = stringValue.substring(indexOpen + 1, indexClose);
+                    localName = stringValue.substring(indexClose + 1);
+                } else {
+                    QName obj = (QName) xmlField.convertValueBasedOnSchemaType(stringValue, conversionManager, record);
+                    localName = obj.getLocalPart();
+                    uri = obj.getNamespaceURI();
+                }
+                if (uri != null) {
+                    return new QName(uri, localName);
+                } else {
+                    return new QName(localName);
+                }
+            } else {
+                Class fieldType = xmlField.getType();
+                if (fieldType == null) {
+                    fieldType = xmlField.getJavaClass(xmlField.getSchemaType(), conversionManager);
+                }
+                return conversionManager.convertObject(value, fieldType, xmlField.getSchemaType());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * INTERNAL: The MediaType associated with this reader
+     */
+    @Override
+    public MediaType getMediaType() {
+        return Constants.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URL;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.oxm.json.JsonParserSource;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose:</b>Position a JSR-353 stream parser on the items found at a path
+ * of a JSON document, so that they can be unmarshalled one at a time.
+ * <p>The path is the names of the members from the root object to the items.
+ * If its last member is an array, each of its values is an item, otherwise the
+ * value itself is the only item.  With no member names the root value is used
+ * the same way.  Other members are skipped without being kept in memory.
+ * <p>Usage:
+ * <pre>
+ * while (cursor.next()) {
+ *     unmarshaller.unmarshal(cursor.getItemSource(), itemClass);
+ * }
+ * cursor.close();
+ * </pre>
+ * Each item must be read from the item source before the cursor is moved.
+ * @since 2.7.8
+ */
+public final class JsonParserItemCursor {
+
+    private final PushbackJsonParser parser;
+    private final String[] memberNames;
+    private final InputStream openedStream;
+    private final boolean closeParser;
+    private boolean started;
+    private boolean inArray;
+    private boolean finished;
+
+    /**
+     * @param source a JsonParserSource, or a StreamSource with a Reader, an InputStream or a system id.
+     * @param memberNames the names of the members from the root object to the items.
+     */
+    public JsonParserItemCursor(Source source, String[] memberNames) {
+        this.memberNames = memberNames;
+        InputStream inputStream = null;
+        JsonParser jsonParser;
+        try {
+            if (source instanceof JsonParserSource) {
+                jsonParser = ((JsonParserSource) source).getParser();
+            } else if (source instanceof StreamSource) {
+                StreamSource streamSource = (StreamSource) source;
+                if (null != streamSource.getReader()) {
+                    jsonParser = Json.createParser(streamSource.getReader());
+                } else if (null != streamSource.getInputStream()) {
+                    jsonParser = Json.createParser(streamSource.getInputStream());
+                } else {
+                    inputStream = new URL(streamSource.getSystemId()).openStream();
+                    jsonParser = Json.createParser(inputStream);
+                }
+            } else {
+                throw new IllegalArgumentException(String.valueOf(source));
+            }
+        } catch (IOException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        } catch (JsonException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+        this.parser = new PushbackJsonParser(jsonParser);
+        this.openedStream = inputStream;
+        // The parser of a JsonParserSource belongs to the caller.
+        this.closeParser = !(source instanceof JsonParserSource);
+    }
+
+    /**
+     * Move to the next item.
+     * @return false if there are no more items.
+     */
+    public boolean next() {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (!started) {
+                started = true;
+                if (!locate()) {
+                    finished = true;
+                }
+                return !finished;
+            }
+            if (inArray) {
+                Event event = parser.next();
+                if (event != Event.END_ARRAY) {
+                    parser.pushBack(event);
+                    return true;
+                }
+            }
+            finished = true;
+            return false;
+        } catch (JsonException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+    }
+
+    /**
+     * Return the source of the current item, the parser is moved after the item when it is read.
+     */
+    public Source getItemSource() {
+        return new JsonParserSource(parser);
+    }
+
+    /**
+     * Close the parser, unless it was provided by a JsonParserSource.
+     */
+    public void close() {
+        finished = true;
+        try {
+            if (closeParser) {
+                parser.close();
+            }
+            if (null != openedStream) {
+                openedStream.close();
+            }
+        } catch (IOException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        } catch (JsonException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+    }
+
+    /**
+     * Read the document up to the first item.
+     */
+    private boolean locate() {
+        if (!parser.hasNext()) {
+            return false;
+        }
+        Event event = parser.next();
+        for (String memberName : memberNames) {
+            if (event != Event.START_OBJECT) {
+                return false;
+            }
+            event = readMember(memberName);
+            if (event == null) {
+                return false;
+            }
+        }
+        if (event == Event.START_ARRAY) {
+            inArray = true;
+            event = parser.next();
+            if (event == Event.END_ARRAY) {
+                return false;
+            }
+        }
+        parser.pushBack(event);
+        return true;
+    }
+
+    /**
+     * Read the members of the current object up to the value of the named member.
+     * @return the first event of the value, or null if the object has no such member.
+     */
+    private Event readMember(String memberName) {
+        Event event;
+        while ((event = parser.next()) != Event.END_OBJECT) {
+            String name = parser.getString();
+            event = parser.next();
+            if (memberName.equals(name)) {
+                return event;
+            }
+            skipValue(event);
+        }
+        return null;
+    }
+
+    private void skipValue(Event event) {
+        if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            event = parser.next();
+            if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                depth++;
+            } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Return the first event of an item again to the reader of the item.
+     * The event was the last one read, so the other methods are delegated as is.
+     */
+    private static final class PushbackJsonParser implements JsonParser {
+
+        private final JsonParser parser;
+        private Event pushedBackEvent;
+
+        PushbackJsonParser(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        void pushBack(Event event) {
+            pushedBackEvent = event;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pushedBackEvent != null || parser.hasNext();
+        }
+
+        @Override
+        public Event next() {
+            Event event = pushedBackEvent;
+            if (event != null) {
+                pushedBackEvent = null;
+                return event;
+            }
+            return parser.next();
+        }
+
+        @Override
+        public String getString() {
+            return parser.getString();
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return parser.isIntegralNumber();
+        }
+
+        @Override
+        public int getInt() {
+            return parser.getInt();
+        }
+
+        @Override
+        public long getLong() {
+            return parser.getLong();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return parser.getBigDecimal();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return parser.getLocation();
+        }
+
+        @Override
+        public void close() {
+            parser.close();
+        }
+    }
+
+}
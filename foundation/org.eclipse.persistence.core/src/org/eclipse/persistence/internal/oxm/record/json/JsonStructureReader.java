@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -19,12 +19,14 @@
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -34,75 +36,44 @@
 import javax.json.JsonReader;
 import javax.json.JsonStructure;
 import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
-import javax.xml.namespace.QName;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
 
 import org.eclipse.persistence.exceptions.XMLMarshalException;
-import org.eclipse.persistence.internal.oxm.CollectionGroupingElementNodeValue;
-import org.eclipse.persistence.internal.oxm.ConversionManager;
 import org.eclipse.persistence.internal.oxm.Constants;
-import org.eclipse.persistence.internal.oxm.ContainerValue;
-import org.eclipse.persistence.internal.oxm.MediaType;
 import org.eclipse.persistence.internal.oxm.NamespaceResolver;
-import org.eclipse.persistence.internal.oxm.NodeValue;
 import org.eclipse.persistence.internal.oxm.OXMSystemProperties;
-import org.eclipse.persistence.internal.oxm.Root;
 import org.eclipse.persistence.internal.oxm.Unmarshaller;
 import org.eclipse.persistence.internal.oxm.XPathFragment;
-import org.eclipse.persistence.internal.oxm.mappings.Field;
-import org.eclipse.persistence.internal.oxm.record.AbstractUnmarshalRecord;
 import org.eclipse.persistence.internal.oxm.record.SAXUnmarshallerHandler;
 import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
-import org.eclipse.persistence.internal.oxm.XPathNode;
-import org.eclipse.persistence.internal.oxm.record.XMLReaderAdapter;
-import org.eclipse.persistence.internal.oxm.record.deferred.DeferredContentHandler;
-import org.eclipse.persistence.oxm.mappings.nullpolicy.AbstractNullPolicy;
-import org.eclipse.persistence.oxm.record.XMLRootRecord;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import org.xml.sax.helpers.AttributesImpl;
-
-public class JsonStructureReader extends XMLReaderAdapter {
-
-    private static final String TRUE = "true";
-    private static final String FALSE = "false";
-    private String attributePrefix = null;
-    private NamespaceResolver namespaces = null;
-    private boolean includeRoot;
-    private String textWrapper;
-    private Class unmarshalClass;
-    private boolean isInCollection;
+
+public class JsonStructureReader extends AbstractJsonReader {
+
     private JsonStructure jsonStructure;
     private JsonAttributes attributes = new JsonAttributes();
-
-    /**
-     * If we should treat unqualified type property in JSON as MOXy type discriminator.
-     */
-    private boolean jsonTypeCompatibility;
+    /** The parser read by parseRoot(JsonParser). */
+    private JsonParser parser;
+    /** The name and first event of the member following the head of the object read by readObjectHead, null at its end. */
+    private String nextName;
+    private Event nextEvent;
+    private JsonBuilderFactory builderFactory;
 
     public JsonStructureReader(Unmarshaller u) {
         this(u, null);
     }
 
     public JsonStructureReader(Unmarshaller u, Class clazz) {
-        this.attributePrefix = u.getAttributePrefix();
-        if (Constants.EMPTY_STRING.equals(attributePrefix)) {
-            attributePrefix = null;
-        }
-        namespaces = u.getNamespaceResolver();
-
-        setNamespaceAware(u.getNamespaceResolver() != null);
-        setNamespaceSeparator(u.getNamespaceSeparator());
-        this.includeRoot = u.isIncludeRoot();
-        this.setErrorHandler(u.getErrorHandler());
-        this.textWrapper = u.getValueWrapper();
-        this.unmarshalClass = clazz;
-        this.jsonTypeCompatibility = u.getJsonTypeConfiguration().useJsonTypeCompatibility();
+        super(u, clazz);
     }
 
     public void setJsonStructure(JsonStructure jsonStructure) {
@@ -162,12 +133,7 @@ public void parse(String systemId) {
     }
 
     public void parseRoot(JsonValue jsonValue) throws SAXException {
-        if (namespaces != null) {
-            Map<String, String> namespacePairs = namespaces.getPrefixesToNamespaces();
-            for (Entry<String, String> namespacePair : namespacePairs.entrySet()) {
-                contentHandler.startPrefixMapping(namespacePair.getKey(), namespacePair.getValue());
-            }
-        }
+        startPrefixMappings();
 
         if (jsonValue.getValueType() == ValueType.OBJECT) {
             contentHandler.startDocument();
@@ -208,38 +174,9 @@ public void parseRoot(JsonValue jsonValue) throws SAXException {
             List<Object> list = new ArrayList<>(jsonArray.size());
             for (JsonValue aJsonArray : jsonArray) {
                 parseRoot(aJsonArray);
-                if (getContentHandler() instanceof SAXUnmarshallerHandler) {
-                    SAXUnmarshallerHandler saxUnmarshallerHandler = (SAXUnmarshallerHandler) contentHandler;
-                    list.add(saxUnmarshallerHandler.getObject());
-                    saxUnmarshallerHandler.setObject(null);
-                } else if (getContentHandler() instanceof UnmarshalRecord) {
-                    UnmarshalRecord unmarshalRecord = (UnmarshalRecord) contentHandler;
-                    Object unmarshalledObject = unmarshalRecord.getCurrentObject();
-                    if (includeRoot && unmarshalClass != null) {
-                        if (!(unmarshalledObject instanceof Root)) {
-                            Root xmlRoot = unmarshalRecord.createRoot();
-                            xmlRoot.setNamespaceURI(unmarshalRecord.getRootElementNamespaceUri());
-                            xmlRoot.setLocalName(unmarshalRecord.getLocalName());
-                            xmlRoot.setObject(unmarshalledObject);
-                            unmarshalledObject = xmlRoot;
-                        }
-                    }
-                    list.add(unmarshalledObject);
-                    unmarshalRecord.setCurrentObject(null);
-                    unmarshalRecord.setRootElementName(null);
-                    unmarshalRecord.setLocalName(null);
-                }
-            }
-            if (getContentHandler() instanceof SAXUnmarshallerHandler) {
-                ((SAXUnmarshallerHandler) getContentHandler()).setObject(list);
-            } else if (getContentHandler() instanceof UnmarshalRecord) {
-                ((UnmarshalRecord) getContentHandler()).setCurrentObject(list);
-                ((UnmarshalRecord) getContentHandler()).setRootElementName(Constants.EMPTY_STRING);
-                ((UnmarshalRecord) getContentHandler()).setLocalName(Constants.EMPTY_STRING);
-                if (rootContentHandler != null) {
-                    rootContentHandler.setObject(list);
-                }
+                addRootObject(list);
             }
+            setRootObjects(list, rootContentHandler);
 
         } else {
             getContentHandler().startDocument();
@@ -297,293 +234,498 @@ private void parseValue(JsonValue jsonValue) throws SAXException {
         }
     }
 
-    private void parsePair(String name, JsonValue jsonValue) throws SAXException {
-        if (jsonValue == null) {
+    /**
+     * Parse the value of the current event of the parser, reporting the events of the content handler
+     * while the parser is read, instead of reading the document into a {@link JsonStructure} first.
+     * <p>
+     * The items of a root array are read and reported one by one. With the root included,
+     * only the first member of the root object is read, the others are skipped.
+     * The members of the root object are reported while they are read: its scalar members before
+     * its first nested object or array, and its attribute arrays, are read ahead to report them
+     * as the attributes of its element. The attributes following a nested value are set to the record
+     * of the object when they are read, its type must precede its nested values, as it is marshalled.
+     * The items of its arrays are read and reported one by one, and each of its other nested objects
+     * is read into a {@link JsonObject} before it is reported. So the memory used is bounded
+     * by the largest of these objects and items, independently of the size of the document.
+     */
+    public void parseRoot(JsonParser parser) throws SAXException {
+        if (!parser.hasNext()) {
             return;
         }
-        ValueType valueType = jsonValue.getValueType();
+        this.parser = parser;
+        try {
+            parseRoot(parser.next());
+        } finally {
+            this.parser = null;
+        }
+    }
 
-        if (valueType == ValueType.ARRAY) {
-            JsonArray jsonArray = (JsonArray) jsonValue;
-            String parentLocalName = name;
+    private void parseRoot(Event event) throws SAXException {
+        if (event == Event.START_ARRAY) {
+            startPrefixMappings();
 
-            if (attributePrefix != null && parentLocalName.startsWith(attributePrefix)) {
-                // do nothing;
-                return;
-            }
-            String uri = Constants.EMPTY_STRING;
-            if (isNamespaceAware() && namespaces != null) {
-                if (parentLocalName.length() > 2) {
-                    int nsIndex = parentLocalName.indexOf(getNamespaceSeparator(), 1);
-                    if (nsIndex > -1) {
-                        String prefix = parentLocalName.substring(0, nsIndex);
-                        uri = namespaces.resolveNamespacePrefix(prefix);
-                    }
-                    if (uri == null || uri == Constants.EMPTY_STRING) {
-                        uri = namespaces.getDefaultNamespaceURI();
-                    } else {
-                        parentLocalName = parentLocalName.substring(nsIndex + 1);
-                    }
-                } else {
-                    uri = namespaces.getDefaultNamespaceURI();
-                }
+            SAXUnmarshallerHandler rootContentHandler = null;
+            if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+                rootContentHandler = (SAXUnmarshallerHandler) getContentHandler();
             }
 
-            boolean isTextValue;
-            int arraySize = jsonArray.size();
-            if (arraySize == 0) {
-                if (contentHandler instanceof UnmarshalRecord || isUnmarshalRecordWithinAdapter()) {
-                    final UnmarshalRecord ur = this.contentHandler instanceof UnmarshalRecord ? (UnmarshalRecord) this.contentHandler : getUnmarshalRecordFromAdapter();
-                    XPathNode node = ur.getNonAttributeXPathNode(uri, parentLocalName, parentLocalName, null);
-                    if (node != null) {
-                        NodeValue nv = node.getNodeValue();
-                        if (nv == null && node.getTextNode() != null) {
-                            nv = node.getTextNode().getUnmarshalNodeValue();
-                        }
-                        if (nv != null && nv.isContainerValue()) {
-                            ur.getContainerInstance(((ContainerValue) nv));
-                        }
-                    }
-                }
+            List<Object> list = new ArrayList<>();
+            Event itemEvent;
+            while ((itemEvent = parser.next()) != Event.END_ARRAY) {
+                parseRoot(itemEvent);
+                addRootObject(list);
             }
-            startCollection();
-
-            XPathFragment groupingXPathFragment = null;
-            XPathFragment itemXPathFragment = null;
-            if (contentHandler instanceof UnmarshalRecord || isUnmarshalRecordWithinAdapter()) {
-                final UnmarshalRecord contentHandler_ = contentHandler instanceof UnmarshalRecord ? (UnmarshalRecord) contentHandler : getUnmarshalRecordFromAdapter();
-                isTextValue = isTextValue(parentLocalName, contentHandler_);
-                UnmarshalRecord unmarshalRecord = contentHandler_;
-                if (unmarshalRecord.getUnmarshaller().isWrapperAsCollectionName()) {
-                    XPathNode unmarshalRecordXPathNode = unmarshalRecord.getXPathNode();
-                    if (null != unmarshalRecordXPathNode) {
-                        XPathFragment currentFragment = new XPathFragment();
-                        currentFragment.setLocalName(parentLocalName);
-                        currentFragment.setNamespaceURI(uri);
-                        currentFragment.setNamespaceAware(isNamespaceAware());
-                        XPathNode groupingXPathNode = unmarshalRecordXPathNode.getNonAttributeChildrenMap().get(currentFragment);
-                        if (groupingXPathNode != null) {
-                            if (groupingXPathNode.getUnmarshalNodeValue() instanceof CollectionGroupingElementNodeValue) {
-                                groupingXPathFragment = groupingXPathNode.getXPathFragment();
-                                contentHandler_.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
-                                XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
-                                itemXPathFragment = itemXPathNode.getXPathFragment();
-                            } else if (groupingXPathNode.getUnmarshalNodeValue() == null) {
-                                XPathNode itemXPathNode = groupingXPathNode.getNonAttributeChildren().get(0);
-                                if (itemXPathNode != null) {
-                                    if ((itemXPathNode.getUnmarshalNodeValue()).isContainerValue()) {
-                                        groupingXPathFragment = groupingXPathNode.getXPathFragment();
-                                        contentHandler_.startElement(uri, parentLocalName, parentLocalName, new AttributesImpl());
-                                        itemXPathFragment = itemXPathNode.getXPathFragment();
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-
-                for (JsonValue nextArrayValue : jsonArray) {
-                    if (nextArrayValue.getValueType() == ValueType.NULL) {
-                        contentHandler.setNil(true);
-                    }
-
-                    if (!isTextValue) {
-                        if (null != itemXPathFragment) {
-                            contentHandler.startElement(itemXPathFragment.getNamespaceURI(), itemXPathFragment.getLocalName(), itemXPathFragment.getLocalName(), attributes.setValue(nextArrayValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
-                        } else {
-                            contentHandler.startElement(uri, parentLocalName, parentLocalName, attributes.setValue(nextArrayValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
-                        }
-
-                    }
-                    //Internally store each nested array it as JsonObject with name: "item"
-                    if (valueType == nextArrayValue.getValueType()) {
-                        JsonBuilderFactory factory = Json.createBuilderFactory(null);
-                        JsonObjectBuilder jsonObjectBuilder = factory.createObjectBuilder();
-                        jsonObjectBuilder.add("item", nextArrayValue);
-                        nextArrayValue = jsonObjectBuilder.build();
-                    }
-                    parseValue(nextArrayValue);
-                    if (!isTextValue) {
-                        if (null != itemXPathFragment) {
-                            contentHandler.endElement(itemXPathFragment.getNamespaceURI(), itemXPathFragment.getLocalName(), itemXPathFragment.getLocalName());
-                        } else {
-                            contentHandler.endElement(uri, parentLocalName, parentLocalName);
-                        }
-                    }
+            setRootObjects(list, rootContentHandler);
+        } else if (event == Event.START_OBJECT && includeRoot) {
+            startPrefixMappings();
+            contentHandler.startDocument();
+            if (parser.next() != Event.END_OBJECT) {
+                String name = parser.getString();
+                Event valueEvent = parser.next();
+                String[] elementName;
+                if (valueEvent == Event.START_ARRAY) {
+                    parseArrayPair(name);
+                } else if (valueEvent == Event.START_OBJECT && (elementName = resolveElement(name)) != null && elementName != TEXT_VALUE) {
+                    parseObject(readObjectHead(), elementName[0], elementName[1], elementName[1]);
+                } else {
+                    parsePair(name, readValue(valueEvent));
                 }
+                skipMembers();
+            } else if (unmarshalClass == null) {
+                return;
             }
-            if (null != groupingXPathFragment) {
-                contentHandler.endElement(uri, groupingXPathFragment.getLocalName(), groupingXPathFragment.getLocalName());
+            contentHandler.endDocument();
+        } else if (event == Event.START_OBJECT) {
+            startPrefixMappings();
+            contentHandler.startDocument();
+            JsonObject head = readObjectHead();
+            if (head.isEmpty() && nextName == null && unmarshalClass == null) {
+                return;
             }
-            endCollection();
+            parseObject(head, Constants.EMPTY_STRING, Constants.EMPTY_STRING, null);
+            contentHandler.endDocument();
         } else {
-            if (attributePrefix != null && name.startsWith(attributePrefix)) {
-                return;
+            parseRoot(readValue(event));
+        }
+    }
+
+    /**
+     * Read the members of an object, after its start event, reported as the attributes of its element:
+     * its scalar members, and the members starting with the attribute prefix,
+     * until its first other nested object or array, kept in nextName and nextEvent, or its end.
+     */
+    private JsonObject readObjectHead() {
+        JsonObjectBuilder builder = getBuilderFactory().createObjectBuilder();
+        nextName = null;
+        while (parser.next() != Event.END_OBJECT) {
+            String name = parser.getString();
+            Event event = parser.next();
+            if ((event == Event.START_OBJECT || event == Event.START_ARRAY)
+                    && (attributePrefix == null || !name.startsWith(attributePrefix))) {
+                nextName = name;
+                nextEvent = event;
+                break;
             }
-            String localName = name;
-            String uri = Constants.EMPTY_STRING;
-            if (isNamespaceAware() && namespaces != null) {
-                if (localName.length() > 2) {
-                    int nsIndex = localName.indexOf(getNamespaceSeparator(), 1);
-                    String prefix = Constants.EMPTY_STRING;
-                    if (nsIndex > -1) {
-                        prefix = localName.substring(0, nsIndex);
-                    }
-                    uri = namespaces.resolveNamespacePrefix(prefix);
-                    if (uri == null || uri == Constants.EMPTY_STRING) {
-                        uri = namespaces.getDefaultNamespaceURI();
-                    } else {
-                        localName = localName.substring(nsIndex + 1);
-                    }
+            builder.add(name, readValue(event));
+        }
+        return builder.build();
+    }
 
-                    if (localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && uri != null && uri.equals(javax.xml.XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI)) {
-                        return;
-                    }
+    /**
+     * Report the element of the object the head of which has been read,
+     * then its members while they are read, the text wrapper member last.
+     */
+    private void parseObject(JsonObject head, String uri, String localName, String qName) throws SAXException {
+        contentHandler.startElement(uri, localName, qName, attributes.setValue(head, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
+        JsonValue xmlValue = null;
+        for (Entry<String, JsonValue> entry : head.entrySet()) {
+            if (textWrapper != null && textWrapper.equals(entry.getKey())) {
+                xmlValue = entry.getValue();
+            } else {
+                parsePair(entry.getKey(), entry.getValue());
+            }
+        }
+        String name = nextName;
+        Event event = nextEvent;
+        while (name != null) {
+            if (event == Event.START_ARRAY) {
+                parseArrayPair(name);
+            } else if (event == Event.START_OBJECT) {
+                parsePair(name, readValue(event));
+            } else {
+                JsonValue value = readScalar(event);
+                String[] attributeName;
+                if (textWrapper != null && textWrapper.equals(name)) {
+                    xmlValue = value;
+                } else if ((attributeName = resolveLateAttribute(name)) != null) {
+                    parseLateAttribute(attributeName, value);
                 } else {
-                    uri = namespaces.getDefaultNamespaceURI();
+                    parsePair(name, value);
                 }
             }
-            if (contentHandler instanceof XMLRootRecord || contentHandler instanceof DeferredContentHandler) {
-                if (jsonTypeCompatibility) {
-                    // if its not namespaceAware don't report the "type" child as it
-                    // is will be read by the xsi:type lookup
-                    if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE)) {
-                        return;
-                    }
-                }
-                if (textWrapper != null && textWrapper.equals(localName)) {
-                    parseValue(jsonValue);
-                    return;
-                }
-            } else if (contentHandler instanceof UnmarshalRecord && ((UnmarshalRecord) contentHandler).getXPathNode() != null) {
-                if (jsonTypeCompatibility) {
-                    if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && !((UnmarshalRecord) contentHandler).getXPathNode().hasTypeChild()) {
-                        return;
-                    }
-                }
-                boolean isTextValue = isTextValue(localName, (UnmarshalRecord) contentHandler);
-                if (isTextValue) {
-                    parseValue(jsonValue);
-                    return;
-                }
-                NodeValue nv = ((UnmarshalRecord) contentHandler).getAttributeChildNodeValue(uri, localName);
-                if (attributePrefix == null && nv != null) {
-                    return;
-                }
-            } else if (isUnmarshalRecordWithinAdapter()) {
-                @SuppressWarnings("rawtypes") final UnmarshalRecord contentHandler_ = getUnmarshalRecordFromAdapter();
-                if (jsonTypeCompatibility) {
-                    if (!isNamespaceAware() && localName.equals(Constants.SCHEMA_TYPE_ATTRIBUTE) && !contentHandler_.getXPathNode().hasTypeChild()) {
-                        return;
-                    }
-                }
-                boolean isTextValue = isTextValue(localName, contentHandler_);
-                if (isTextValue) {
-                    parseValue(jsonValue);
-                    return;
-                }
-                NodeValue nv = contentHandler_.getAttributeChildNodeValue(uri, localName);
-                if (attributePrefix == null && nv != null) {
-                    return;
-                }
+            if (parser.next() == Event.END_OBJECT) {
+                break;
             }
+            name = parser.getString();
+            event = parser.next();
+        }
+        //Proceed JSON value mapped to @XmlValue property as a last
+        if (xmlValue != null) {
+            parsePair(textWrapper, xmlValue);
+        }
+        contentHandler.endElement(uri, localName, qName);
+    }
 
-            if (jsonValue.getValueType() == ValueType.NULL) {
-                contentHandler.setNil(true);
+    /**
+     * Report an array member read from the parser, after its start event, one item at a time.
+     * The values of an array member starting with the attribute prefix are set to the attribute of the current record.
+     */
+    private void parseArrayPair(String name) throws SAXException {
+        if (attributePrefix != null && name.startsWith(attributePrefix)) {
+            String[] attributeName = resolveLateAttribute(name);
+            JsonArray values = readArray(parser.next());
+            if (values.isEmpty()) {
+                lateAttribute(attributeName, Constants.EMPTY_STRING);
             }
-
-            contentHandler.startElement(uri, localName, localName, attributes.setValue(jsonValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
-            parseValue(jsonValue);
-            contentHandler.endElement(uri, localName, localName);
-
+            for (JsonValue value : values) {
+                parseLateAttribute(attributeName, value);
+            }
+            return;
         }
+        ParserItems items = new ParserItems();
+        parseArrayPair(name, items);
+        items.skip();
+    }
 
+    private void parseLateAttribute(String[] attributeName, JsonValue value) throws SAXException {
+        switch (value.getValueType()) {
+            case STRING:
+                lateAttribute(attributeName, ((JsonString) value).getString());
+                break;
+            case NUMBER:
+                lateAttribute(attributeName, value.toString());
+                break;
+            case TRUE:
+                lateAttribute(attributeName, TRUE);
+                break;
+            case FALSE:
+                lateAttribute(attributeName, FALSE);
+                break;
+            default:
+                break;
+        }
     }
 
-    private UnmarshalRecord getUnmarshalRecordFromAdapter() {
-        return (UnmarshalRecord) ((ValidatingContentHandler) ((ExtendedContentHandlerAdapter) contentHandler)
-                .getContentHandler()).getContentHandler();
+    /**
+     * Read the value starting with the event.
+     */
+    private JsonValue readValue(Event event) {
+        if (event == Event.START_ARRAY) {
+            return readArray(parser.next());
+        } else if (event == Event.START_OBJECT) {
+            JsonObjectBuilder builder = getBuilderFactory().createObjectBuilder();
+            while (parser.next() != Event.END_OBJECT) {
+                String name = parser.getString();
+                builder.add(name, readValue(parser.next()));
+            }
+            return builder.build();
+        }
+        return readScalar(event);
     }
 
-    private boolean isUnmarshalRecordWithinAdapter() {
-        return contentHandler instanceof ExtendedContentHandlerAdapter
-                && ((ExtendedContentHandlerAdapter) contentHandler)
-                .getContentHandler() instanceof ValidatingContentHandler
-                && ((ValidatingContentHandler) ((ExtendedContentHandlerAdapter) contentHandler).getContentHandler())
-                .getContentHandler() instanceof UnmarshalRecord;
+    /**
+     * Read the items of an array starting with the event following its start event.
+     */
+    private JsonArray readArray(Event event) {
+        JsonArrayBuilder builder = getBuilderFactory().createArrayBuilder();
+        for (; event != Event.END_ARRAY; event = parser.next()) {
+            builder.add(readValue(event));
+        }
+        return builder.build();
     }
 
-    public boolean isNullRepresentedByXsiNil(AbstractNullPolicy nullPolicy) {
-        return true;
+    private JsonValue readScalar(Event event) {
+        switch (event) {
+            case VALUE_STRING:
+                return new StreamString(parser.getString());
+            case VALUE_NUMBER:
+                return new StreamNumber(parser.getBigDecimal());
+            case VALUE_TRUE:
+                return JsonValue.TRUE;
+            case VALUE_FALSE:
+                return JsonValue.FALSE;
+            case VALUE_NULL:
+                return JsonValue.NULL;
+            default:
+                throw new IllegalStateException("Unhandled event: " + event);
+        }
     }
 
-    private void startCollection() {
-        isInCollection = true;
+    /**
+     * Skip the value starting with the event.
+     */
+    private void skipValue(Event event) {
+        if (event != Event.START_OBJECT && event != Event.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
     }
 
-    private void endCollection() {
-        isInCollection = false;
+    /**
+     * Skip the remaining members of the current object, including its end event.
+     */
+    private void skipMembers() {
+        while (parser.next() != Event.END_OBJECT) {
+            skipValue(parser.next());
+        }
     }
 
-    @Override
-    public boolean isInCollection() {
-        return isInCollection;
+    private JsonBuilderFactory getBuilderFactory() {
+        if (builderFactory == null) {
+            builderFactory = Json.createBuilderFactory(null);
+        }
+        return builderFactory;
     }
 
-    private boolean isTextValue(String localName, UnmarshalRecord contentHandler_) {
-        XPathNode currentNode = ((UnmarshalRecord) contentHandler_).getXPathNode();
-        if (currentNode == null) {
-            return textWrapper != null && textWrapper.equals(localName);
+    private void parsePair(String name, JsonValue jsonValue) throws SAXException {
+        if (jsonValue == null) {
+            return;
+        }
+        ValueType valueType = jsonValue.getValueType();
+
+        if (valueType == ValueType.ARRAY) {
+            parseArrayPair(name, ((JsonArray) jsonValue).iterator());
+        } else {
+            String[] elementName = resolveElement(name);
+            if (elementName == null) {
+                return;
+            } else if (elementName == TEXT_VALUE) {
+                parseValue(jsonValue);
+                return;
+            }
+            String uri = elementName[0];
+            String localName = elementName[1];
+
+            if (jsonValue.getValueType() == ValueType.NULL) {
+                contentHandler.setNil(true);
+            }
+
+            contentHandler.startElement(uri, localName, localName, attributes.setValue(jsonValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
+            parseValue(jsonValue);
+            contentHandler.endElement(uri, localName, localName);
+
         }
 
-        return ((currentNode.getNonAttributeChildrenMap() == null
-                || currentNode.getNonAttributeChildrenMap().size() == 0
-                || (currentNode.getNonAttributeChildrenMap().size() == 1
-                && currentNode.getTextNode() != null)
-        ) && textWrapper != null && textWrapper.equals(localName)
-        );
     }
 
+    /**
+     * Report the items of an array member, read from the parser or from a {@link JsonArray}.
+     */
+    private void parseArrayPair(String name, Iterator<JsonValue> items) throws SAXException {
+        String[] collectionName = resolveCollection(name);
+        if (collectionName == null) {
+            return;
+        }
+        String uri = collectionName[0];
+        String parentLocalName = collectionName[1];
 
-    @Override
-    public Object convertValueBasedOnSchemaType(Field xmlField, Object value, ConversionManager conversionManager, AbstractUnmarshalRecord record) {
-        if (xmlField.getSchemaType() != null) {
-            if (Constants.QNAME_QNAME.equals(xmlField.getSchemaType())) {
-                String stringValue = (String) value;
-                int indexOpen = stringValue.indexOf('{');
-                int indexClose = stringValue.indexOf('}');
-                String uri;
-                String localName;
-                if (indexOpen > -1 && indexClose > -1) {
-                    uri = stringValue.substring(indexOpen + 1, indexClose);
-                    localName = stringValue.substring(indexClose + 1);
-                } else {
-                    QName obj = (QName) xmlField.convertValueBasedOnSchemaType(stringValue, conversionManager, record);
-                    localName = obj.getLocalPart();
-                    uri = obj.getNamespaceURI();
+        boolean isTextValue;
+        if (!items.hasNext()) {
+            startEmptyCollection(uri, parentLocalName);
+        }
+        startCollection();
+
+        XPathFragment groupingXPathFragment = null;
+        XPathFragment itemXPathFragment = null;
+        if (contentHandler instanceof UnmarshalRecord || isUnmarshalRecordWithinAdapter()) {
+            final UnmarshalRecord contentHandler_ = contentHandler instanceof UnmarshalRecord ? (UnmarshalRecord) contentHandler : getUnmarshalRecordFromAdapter();
+            isTextValue = isTextValue(parentLocalName, contentHandler_);
+            XPathFragment[] fragments = startGroupingElement(contentHandler_, uri, parentLocalName);
+            groupingXPathFragment = fragments[0];
+            itemXPathFragment = fragments[1];
+
+            while (items.hasNext()) {
+                JsonValue nextArrayValue = items.next();
+                if (nextArrayValue.getValueType() == ValueType.NULL) {
+                    contentHandler.setNil(true);
                 }
-                if (uri != null) {
-                    return new QName(uri, localName);
-                } else {
-                    return new QName(localName);
+
+                if (!isTextValue) {
+                    if (null != itemXPathFragment) {
+                        contentHandler.startElement(itemXPathFragment.getNamespaceURI(), itemXPathFragment.getLocalName(), itemXPathFragment.getLocalName(), attributes.setValue(nextArrayValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
+                    } else {
+                        contentHandler.startElement(uri, parentLocalName, parentLocalName, attributes.setValue(nextArrayValue, attributePrefix, namespaces, getNamespaceSeparator(), isNamespaceAware()));
+                    }
+
                 }
-            } else {
-                Class fieldType = xmlField.getType();
-                if (fieldType == null) {
-                    fieldType = xmlField.getJavaClass(xmlField.getSchemaType(), conversionManager);
+                //Internally store each nested array it as JsonObject with name: "item"
+                if (nextArrayValue.getValueType() == ValueType.ARRAY) {
+                    JsonBuilderFactory factory = Json.createBuilderFactory(null);
+                    JsonObjectBuilder jsonObjectBuilder = factory.createObjectBuilder();
+                    jsonObjectBuilder.add("item", nextArrayValue);
+                    nextArrayValue = jsonObjectBuilder.build();
+                }
+                parseValue(nextArrayValue);
+                if (!isTextValue) {
+                    if (null != itemXPathFragment) {
+                        contentHandler.endElement(itemXPathFragment.getNamespaceURI(), itemXPathFragment.getLocalName(), itemXPathFragment.getLocalName());
+                    } else {
+                        contentHandler.endElement(uri, parentLocalName, parentLocalName);
+                    }
                 }
-                return conversionManager.convertObject(value, fieldType, xmlField.getSchemaType());
             }
         }
-        return value;
+        if (null != groupingXPathFragment) {
+            contentHandler.endElement(uri, groupingXPathFragment.getLocalName(), groupingXPathFragment.getLocalName());
+        }
+        endCollection();
     }
 
     /**
-     * INTERNAL: The MediaType associated with this reader
+     * The items of an array read from the parser one at a time, after its start event.
      */
-    @Override
-    public MediaType getMediaType() {
-        return Constants.APPLICATION_JSON;
+    private final class ParserItems implements Iterator<JsonValue> {
+        /** The first event of the next item, null if it has not been read. */
+        private Event event;
+
+        @Override
+        public boolean hasNext() {
+            if (event == null) {
+                event = parser.next();
+            }
+            return event != Event.END_ARRAY;
+        }
+
+        @Override
+        public JsonValue next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JsonValue value = readValue(event);
+            event = null;
+            return value;
+        }
+
+        /**
+         * Skip the items that have not been read, including the end event of the array.
+         */
+        void skip() {
+            while (hasNext()) {
+                skipValue(event);
+                event = null;
+            }
+        }
+    }
+
+    /**
+     * String value read from the parser.
+     */
+    private static final class StreamString implements JsonString {
+        private final String value;
+
+        StreamString(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType getValueType() {
+            return ValueType.STRING;
+        }
+
+        @Override
+        public String getString() {
+            return value;
+        }
+
+        @Override
+        public CharSequence getChars() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Number value read from the parser.
+     */
+    private static final class StreamNumber implements JsonNumber {
+        private final BigDecimal value;
+
+        StreamNumber(BigDecimal value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType getValueType() {
+            return ValueType.NUMBER;
+        }
+
+        @Override
+        public boolean isIntegral() {
+            return value.scale() == 0;
+        }
+
+        @Override
+        public int intValue() {
+            return value.intValue();
+        }
+
+        @Override
+        public int intValueExact() {
+            return value.intValueExact();
+        }
+
+        @Override
+        public long longValue() {
+            return value.longValue();
+        }
+
+        @Override
+        public long longValueExact() {
+            return value.longValueExact();
+        }
+
+        @Override
+        public BigInteger bigIntegerValue() {
+            return value.toBigInteger();
+        }
+
+        @Override
+        public BigInteger bigIntegerValueExact() {
+            return value.toBigIntegerExact();
+        }
+
+        @Override
+        public double doubleValue() {
+            return value.doubleValue();
+        }
+
+        @Override
+        public BigDecimal bigDecimalValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
     }
 
     private static class JsonAttributes extends IndexedAttributeList {
@@ -0,0 +1,635 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * INTERNAL:
+ * Tokenizer of a JSON document read as UTF-8 bytes, used by {@link NativeJsonReader}.
+ * <p>
+ * String and number values are decoded into a character buffer reused for each token.
+ * Member names are looked up from their bytes in a table of names,
+ * so the String of a name is only created the first time it is read,
+ * and is the same instance as the name added with {@link #addName(String)}.
+ */
+final class JsonTokenizer {
+
+    static final int END_DOCUMENT = 0;
+    static final int START_OBJECT = 1;
+    static final int END_OBJECT = 2;
+    static final int START_ARRAY = 3;
+    static final int END_ARRAY = 4;
+    static final int KEY_NAME = 5;
+    static final int VALUE_STRING = 6;
+    static final int VALUE_NUMBER = 7;
+    static final int VALUE_TRUE = 8;
+    static final int VALUE_FALSE = 9;
+    static final int VALUE_NULL = 10;
+
+    /** What is expected from the next token. */
+    private static final int EXPECT_ROOT = 0;
+    private static final int EXPECT_FIRST_KEY = 1;
+    private static final int EXPECT_KEY = 2;
+    private static final int EXPECT_FIRST_VALUE = 3;
+    private static final int EXPECT_VALUE = 4;
+    private static final int EXPECT_NEXT = 5;
+    private static final int EXPECT_END = 6;
+
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+
+    /** The names read from documents are not kept above this number, their values may be arbitrary. */
+    private static final int MAX_NAMES = 4096;
+
+    /** The minimum free space of the buffer before it is filled. */
+    private static final int MIN_READ = 16;
+
+    private InputStream inputStream;
+    private byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+    /** The offset of the buffer in the document, for the error messages. */
+    private long offset;
+
+    private char[] text = new char[128];
+    private int textLength;
+    private String name;
+
+    private byte[] containers = new byte[32];
+    private int depth;
+    private int expected;
+
+    private String[] names = new String[64];
+    private byte[][] nameBytes = new byte[64][];
+    private int[] nameHashes = new int[64];
+    private int nameCount;
+
+    /**
+     * Start reading the document from the stream of UTF-8 bytes.
+     */
+    void reset(InputStream inputStream) {
+        this.inputStream = inputStream;
+        this.position = 0;
+        this.limit = 0;
+        this.offset = 0;
+        this.depth = 0;
+        this.expected = EXPECT_ROOT;
+    }
+
+    /**
+     * Start reading the document from the stream of characters, encoded into UTF-8.
+     */
+    void reset(Reader reader) {
+        reset(new EncodingInputStream(reader));
+    }
+
+    /**
+     * Read the next token, END_DOCUMENT once the root value is read.
+     */
+    int next() throws IOException, SAXException {
+        int b = skipWhitespace();
+        switch (expected) {
+            case EXPECT_NEXT:
+                if (b == ',') {
+                    position++;
+                    expected = containers[depth - 1] == OBJECT ? EXPECT_KEY : EXPECT_VALUE;
+                    b = skipWhitespace();
+                } else if (b == '}' || b == ']') {
+                    return endContainer(b);
+                } else {
+                    throw unexpected(b);
+                }
+                break;
+            case EXPECT_END:
+                if (b == -1) {
+                    return END_DOCUMENT;
+                }
+                throw unexpected(b);
+            case EXPECT_FIRST_KEY:
+                if (b == '}') {
+                    return endContainer(b);
+                }
+                break;
+            case EXPECT_FIRST_VALUE:
+                if (b == ']') {
+                    return endContainer(b);
+                }
+                break;
+            default:
+                break;
+        }
+        if (expected == EXPECT_KEY || expected == EXPECT_FIRST_KEY) {
+            if (b != '"') {
+                throw unexpected(b);
+            }
+            position++;
+            name = readName();
+            b = skipWhitespace();
+            if (b != ':') {
+                throw unexpected(b);
+            }
+            position++;
+            expected = EXPECT_VALUE;
+            return KEY_NAME;
+        }
+        return readValue(b);
+    }
+
+    /**
+     * Return the name of the KEY_NAME token.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Return the buffer of the characters of the VALUE_STRING or VALUE_NUMBER token.
+     */
+    char[] getText() {
+        return text;
+    }
+
+    int getTextLength() {
+        return textLength;
+    }
+
+    String getTextString() {
+        return new String(text, 0, textLength);
+    }
+
+    /**
+     * Add a name, so that it is returned by getName when it is read.
+     */
+    void addName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int hash = 0;
+        for (byte b : bytes) {
+            hash = 31 * hash + b;
+        }
+        int index = indexOfName(bytes, 0, bytes.length, hash);
+        if (names[index] == null) {
+            insertName(index, name, bytes, hash);
+        }
+    }
+
+    private int readValue(int b) throws IOException, SAXException {
+        switch (b) {
+            case '{':
+                position++;
+                push(OBJECT);
+                expected = EXPECT_FIRST_KEY;
+                return START_OBJECT;
+            case '[':
+                position++;
+                push(ARRAY);
+                expected = EXPECT_FIRST_VALUE;
+                return START_ARRAY;
+            case '"':
+                position++;
+                textLength = 0;
+                readString();
+                endValue();
+                return VALUE_STRING;
+            case 't':
+                readLiteral("true");
+                endValue();
+                return VALUE_TRUE;
+            case 'f':
+                readLiteral("false");
+                endValue();
+                return VALUE_FALSE;
+            case 'n':
+                readLiteral("null");
+                endValue();
+                return VALUE_NULL;
+            default:
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    readNumber();
+                    endValue();
+                    return VALUE_NUMBER;
+                }
+                throw unexpected(b);
+        }
+    }
+
+    private void push(byte container) {
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        containers[depth++] = container;
+    }
+
+    private int endContainer(int b) throws SAXException {
+        byte container = b == '}' ? OBJECT : ARRAY;
+        if (depth == 0 || containers[depth - 1] != container) {
+            throw unexpected(b);
+        }
+        position++;
+        depth--;
+        endValue();
+        return container == OBJECT ? END_OBJECT : END_ARRAY;
+    }
+
+    private void endValue() {
+        expected = depth == 0 ? EXPECT_END : EXPECT_NEXT;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (position == limit && !fill(position)) {
+                return -1;
+            }
+            int b = buffer[position] & 0xFF;
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+            position++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill(position)) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException, SAXException {
+        if (position == limit && !fill(position)) {
+            throw unexpected(-1);
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Read more bytes, keeping the bytes of the buffer from the start index, moved to the start of the buffer.
+     */
+    private boolean fill(int start) throws IOException {
+        int kept = limit - start;
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, kept);
+            offset += start;
+            position -= start;
+            limit = kept;
+        }
+        if (buffer.length - limit < MIN_READ) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Read the characters of a string after its opening quote, appended to the text.
+     */
+    private void readString() throws IOException, SAXException {
+        while (true) {
+            byte[] buffer = this.buffer;
+            char[] text = this.text;
+            int position = this.position;
+            int limit = Math.min(this.limit, position + text.length - textLength);
+            int length = textLength;
+            while (position < limit) {
+                byte b = buffer[position];
+                if (b == '"' || b == '\\' || b < 0x20) {
+                    break;
+                }
+                text[length++] = (char) b;
+                position++;
+            }
+            this.position = position;
+            textLength = length;
+            int b = read();
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                readEscape();
+            } else if (b >= 0x80) {
+                readMultiByteCharacter(b);
+            } else if (b < 0x20) {
+                position--;
+                throw unexpected(b);
+            } else {
+                append((char) b);
+            }
+        }
+    }
+
+    private void readEscape() throws IOException, SAXException {
+        int b = read();
+        switch (b) {
+            case '"':
+            case '\\':
+            case '/':
+                append((char) b);
+                break;
+            case 'b':
+                append('\b');
+                break;
+            case 'f':
+                append('\f');
+                break;
+            case 'n':
+                append('\n');
+                break;
+            case 'r':
+                append('\r');
+                break;
+            case 't':
+                append('\t');
+                break;
+            case 'u':
+                int c = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        position--;
+                        throw unexpected(buffer[position] & 0xFF);
+                    }
+                    c = (c << 4) | digit;
+                }
+                append((char) c);
+                break;
+            default:
+                position--;
+                throw unexpected(b);
+        }
+    }
+
+    private void readMultiByteCharacter(int b) throws IOException, SAXException {
+        int codePoint;
+        int following;
+        int minimum;
+        if ((b & 0xE0) == 0xC0) {
+            codePoint = b & 0x1F;
+            following = 1;
+            minimum = 0x80;
+        } else if ((b & 0xF0) == 0xE0) {
+            codePoint = b & 0x0F;
+            following = 2;
+            minimum = 0x800;
+        } else if ((b & 0xF8) == 0xF0) {
+            codePoint = b & 0x07;
+            following = 3;
+            minimum = 0x10000;
+        } else {
+            throw malformed();
+        }
+        for (int i = 0; i < following; i++) {
+            int next = read();
+            if ((next & 0xC0) != 0x80) {
+                throw malformed();
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT) {
+            throw malformed();
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            append(Character.highSurrogate(codePoint));
+            append(Character.lowSurrogate(codePoint));
+        } else {
+            append((char) codePoint);
+        }
+    }
+
+    private void readNumber() throws IOException, SAXException {
+        textLength = 0;
+        int b = peek();
+        if (b == '-') {
+            appendRead();
+            b = peek();
+        }
+        if (b == '0') {
+            appendRead();
+        } else {
+            readDigits();
+        }
+        b = peek();
+        if (b == '.') {
+            appendRead();
+            readDigits();
+            b = peek();
+        }
+        if (b == 'e' || b == 'E') {
+            appendRead();
+            b = peek();
+            if (b == '+' || b == '-') {
+                appendRead();
+            }
+            readDigits();
+        }
+    }
+
+    /**
+     * Read one or more digits.
+     */
+    private void readDigits() throws IOException, SAXException {
+        int b = peek();
+        if (b < '0' || b > '9') {
+            throw unexpected(b);
+        }
+        do {
+            appendRead();
+            b = peek();
+        } while (b >= '0' && b <= '9');
+    }
+
+    private void appendRead() {
+        append((char) buffer[position++]);
+    }
+
+    private void readLiteral(String literal) throws IOException, SAXException {
+        for (int i = 0; i < literal.length(); i++) {
+            int b = peek();
+            if (b != literal.charAt(i)) {
+                throw unexpected(b);
+            }
+            position++;
+        }
+    }
+
+    private void append(char c) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength * 2);
+        }
+        text[textLength++] = c;
+    }
+
+    /**
+     * Read a name after its opening quote, looked up from its bytes if it has no escaped characters.
+     */
+    private String readName() throws IOException, SAXException {
+        int start = position;
+        int hash = 0;
+        while (true) {
+            if (position == limit) {
+                if (!fill(start)) {
+                    throw unexpected(-1);
+                }
+                start = 0;
+            }
+            byte b = buffer[position];
+            if (b == '"') {
+                String name = lookupName(start, position - start, hash);
+                position++;
+                return name;
+            } else if (b == '\\') {
+                position = start;
+                textLength = 0;
+                readString();
+                return getTextString();
+            } else if (b >= 0 && b < 0x20) {
+                throw unexpected(b);
+            }
+            hash = 31 * hash + b;
+            position++;
+        }
+    }
+
+    private String lookupName(int start, int length, int hash) throws SAXException {
+        int index = indexOfName(buffer, start, length, hash);
+        String name = names[index];
+        if (name == null) {
+            byte[] bytes = Arrays.copyOfRange(buffer, start, start + length);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            if (nameCount < MAX_NAMES) {
+                insertName(index, name, bytes, hash);
+            }
+        }
+        return name;
+    }
+
+    private int indexOfName(byte[] bytes, int start, int length, int hash) {
+        int mask = names.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (names[index] != null) {
+            if (nameHashes[index] == hash && equals(nameBytes[index], bytes, start, length)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static boolean equals(byte[] name, byte[] bytes, int start, int length) {
+        if (name.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name[i] != bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insertName(int index, String name, byte[] bytes, int hash) {
+        names[index] = name;
+        nameBytes[index] = bytes;
+        nameHashes[index] = hash;
+        if (++nameCount * 2 > names.length) {
+            String[] oldNames = names;
+            byte[][] oldBytes = nameBytes;
+            int[] oldHashes = nameHashes;
+            names = new String[oldNames.length * 2];
+            nameBytes = new byte[oldNames.length * 2][];
+            nameHashes = new int[oldNames.length * 2];
+            for (int i = 0; i < oldNames.length; i++) {
+                if (oldNames[i] != null) {
+                    int newIndex = indexOfName(oldBytes[i], 0, oldBytes[i].length, oldHashes[i]);
+                    names[newIndex] = oldNames[i];
+                    nameBytes[newIndex] = oldBytes[i];
+                    nameHashes[newIndex] = oldHashes[i];
+                }
+            }
+        }
+    }
+
+    private SAXParseException unexpected(int b) {
+        if (b == -1) {
+            return new SAXParseException("Unexpected end of JSON document at offset " + (offset + position), null);
+        }
+        return new SAXParseException("Unexpected character '" + (char) b + "' in JSON document at offset " + (offset + position), null);
+    }
+
+    private SAXParseException malformed() {
+        return new SAXParseException("Malformed UTF-8 character in JSON document at offset " + (offset + position), null);
+    }
+
+    /**
+     * Encodes the characters of a reader into UTF-8.
+     */
+    private static final class EncodingInputStream extends InputStream {
+        private final Reader reader;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer characters = CharBuffer.allocate(4096);
+        private boolean endOfInput;
+
+        EncodingInputStream(Reader reader) {
+            this.reader = reader;
+            characters.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] bytes = new byte[1];
+            return read(bytes, 0, 1) == -1 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            ByteBuffer output = ByteBuffer.wrap(bytes, offset, length);
+            while (true) {
+                encoder.encode(characters, output, endOfInput);
+                if (output.position() > offset) {
+                    return output.position() - offset;
+                }
+                if (endOfInput) {
+                    encoder.flush(output);
+                    return output.position() > offset ? output.position() - offset : -1;
+                }
+                characters.compact();
+                if (reader.read(characters) < 0) {
+                    endOfInput = true;
+                }
+                characters.flip();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,621 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.oxm.record.json;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.oxm.Constants;
+import org.eclipse.persistence.internal.oxm.NamespaceResolver;
+import org.eclipse.persistence.internal.oxm.Unmarshaller;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.XPathNode;
+import org.eclipse.persistence.internal.oxm.record.SAXUnmarshallerHandler;
+import org.eclipse.persistence.internal.oxm.record.UnmarshalRecord;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * INTERNAL:
+ * Reader of JSON documents from UTF-8 bytes with {@link JsonTokenizer}, without JSON-P.
+ * <p>
+ * The tokens are reported to the content handler as they are read.
+ * String and number values are reported as characters from the buffer of the tokenizer,
+ * they are only converted by the conversion manager of the mapping.
+ * The member names are looked up by the tokenizer, which knows the names of the XPathNodes of the objects read,
+ * so that the names are the same String instances as the names of the XPathFragments.
+ * <p>
+ * The scalar members of an object before its first nested object or array,
+ * and its members starting with the attribute prefix, are read before its element is started
+ * to report them as attributes, without reading the nested values ahead.
+ * The attributes following a nested value are set to the record of the object when they are read.
+ * The type of an object selects its descriptor when its element is started,
+ * so it must precede its nested objects and arrays, as it is marshalled.
+ *
+ * @see org.eclipse.persistence.internal.oxm.XMLUnmarshaller#setNativeJsonParser(boolean)
+ */
+public class NativeJsonReader extends AbstractJsonReader {
+
+    private final JsonTokenizer tokenizer = new JsonTokenizer();
+    private final HeadAttributes attributes = new HeadAttributes();
+    /** The XPathNodes the names of the children of which have been added to the tokenizer. */
+    private final Set<XPathNode> namedNodes = Collections.newSetFromMap(new IdentityHashMap<XPathNode, Boolean>());
+
+    /** The members of the current object read before its element is started, their values in headText. */
+    private String[] headNames = new String[16];
+    private int[] headTokens = new int[16];
+    private int[] headStarts = new int[16];
+    private int[] headLengths = new int[16];
+    private int headSize;
+    private char[] headText = new char[256];
+    private int headTextLength;
+    /** The name and first token of the member following the head, null if the object has been read. */
+    private String nextName;
+    private int nextToken;
+
+    public NativeJsonReader(Unmarshaller u) {
+        this(u, null);
+    }
+
+    public NativeJsonReader(Unmarshaller u, Class clazz) {
+        super(u, clazz);
+    }
+
+    @Override
+    public void parse(InputSource input) throws IOException, SAXException {
+        if (input == null) {
+            return;
+        }
+        InputStream inputStream = null;
+        try {
+            if (null != input.getByteStream()) {
+                tokenizer.reset(input.getByteStream());
+            } else if (null != input.getCharacterStream()) {
+                tokenizer.reset(input.getCharacterStream());
+            } else {
+                try {
+                    URL url = new URL(input.getSystemId());
+                    inputStream = url.openStream();
+                } catch (MalformedURLException malformedURLException) {
+                    try {
+                        inputStream = new FileInputStream(input.getSystemId());
+                    } catch (FileNotFoundException fileNotFoundException) {
+                        throw malformedURLException;
+                    }
+                }
+                tokenizer.reset(inputStream);
+            }
+            parseRoot(tokenizer.next());
+            // only whitespace may follow the root value
+            tokenizer.next();
+        } finally {
+            tokenizer.reset((InputStream) null);
+            if (null != inputStream) {
+                inputStream.close();
+            }
+        }
+    }
+
+    @Override
+    public void parse(String systemId) {
+        try {
+            parse(new InputSource(systemId));
+        } catch (IOException | SAXException e) {
+            throw XMLMarshalException.unmarshalException(e);
+        }
+    }
+
+    private void parseRoot(int token) throws IOException, SAXException {
+        startPrefixMappings();
+
+        if (token == JsonTokenizer.START_OBJECT) {
+            contentHandler.startDocument();
+            readObjectHead();
+            if (headSize == 0 && nextName == null && unmarshalClass == null) {
+                return;
+            }
+
+            if (includeRoot) {
+                String name = nextName;
+                int nextToken = this.nextToken;
+                if (headSize > 0) {
+                    parseScalarPair(headNames[0], headTokens[0], headText, headStarts[0], headLengths[0]);
+                    if (name != null) {
+                        skipValue(nextToken);
+                        skipMembers();
+                    }
+                } else if (name != null) {
+                    parsePair(name, nextToken);
+                    skipMembers();
+                }
+            } else {
+                contentHandler.startElement(Constants.EMPTY_STRING, Constants.EMPTY_STRING, null, attributes.setSize(headSize));
+                parseObject();
+                contentHandler.endElement(Constants.EMPTY_STRING, Constants.EMPTY_STRING, null);
+            }
+            contentHandler.endDocument();
+        } else if (token == JsonTokenizer.START_ARRAY) {
+
+            SAXUnmarshallerHandler rootContentHandler = null;
+            if (getContentHandler() instanceof SAXUnmarshallerHandler) {
+                rootContentHandler = (SAXUnmarshallerHandler) getContentHandler();
+            }
+
+            List<Object> list = new ArrayList<>();
+            while ((token = tokenizer.next()) != JsonTokenizer.END_ARRAY) {
+                parseRoot(token);
+                addRootObject(list);
+            }
+            setRootObjects(list, rootContentHandler);
+
+        } else {
+            getContentHandler().startDocument();
+            parseScalarValue(token, tokenizer.getText(), 0, tokenizer.getTextLength());
+        }
+    }
+
+    /**
+     * Parse the members of the object the head of which has been read, the text wrapper member last.
+     */
+    private void parseObject() throws IOException, SAXException {
+        addNames();
+        String name = nextName;
+        int token = nextToken;
+        int xmlValueToken = 0;
+        char[] xmlValue = null;
+        for (int index = 0; index < headSize; index++) {
+            if (textWrapper != null && textWrapper.equals(headNames[index])) {
+                xmlValueToken = headTokens[index];
+                xmlValue = Arrays.copyOfRange(headText, headStarts[index], headStarts[index] + headLengths[index]);
+            } else {
+                parseScalarPair(headNames[index], headTokens[index], headText, headStarts[index], headLengths[index]);
+            }
+        }
+        String[] attributeName;
+        while (name != null) {
+            if (textWrapper != null && textWrapper.equals(name) && isScalar(token)) {
+                xmlValueToken = token;
+                xmlValue = Arrays.copyOf(tokenizer.getText(), tokenizer.getTextLength());
+            } else if (isScalar(token) && (attributeName = resolveLateAttribute(name)) != null) {
+                parseLateAttribute(attributeName, token);
+            } else if (token == JsonTokenizer.START_ARRAY && attributePrefix != null && name.startsWith(attributePrefix)) {
+                parseLateAttributeArray(name);
+            } else {
+                parsePair(name, token);
+            }
+            if (tokenizer.next() == JsonTokenizer.END_OBJECT) {
+                break;
+            }
+            name = tokenizer.getName();
+            token = tokenizer.next();
+        }
+        //Proceed JSON value mapped to @XmlValue property as a last
+        if (xmlValue != null) {
+            parseScalarPair(textWrapper, xmlValueToken, xmlValue, 0, xmlValue.length);
+        }
+    }
+
+    /**
+     * Set the values of an attribute from an array following the nested objects or arrays of the current object.
+     */
+    private void parseLateAttributeArray(String name) throws IOException, SAXException {
+        String[] attributeName = resolveLateAttribute(name);
+        int token = tokenizer.next();
+        if (token == JsonTokenizer.END_ARRAY) {
+            lateAttribute(attributeName, Constants.EMPTY_STRING);
+            return;
+        }
+        for (; token != JsonTokenizer.END_ARRAY; token = tokenizer.next()) {
+            if (isScalar(token)) {
+                parseLateAttribute(attributeName, token);
+            } else {
+                skipValue(token);
+            }
+        }
+    }
+
+    private void parseLateAttribute(String[] attributeName, int token) throws SAXException {
+        switch (token) {
+            case JsonTokenizer.VALUE_STRING:
+            case JsonTokenizer.VALUE_NUMBER:
+                lateAttribute(attributeName, new String(tokenizer.getText(), 0, tokenizer.getTextLength()));
+                break;
+            case JsonTokenizer.VALUE_TRUE:
+                lateAttribute(attributeName, TRUE);
+                break;
+            case JsonTokenizer.VALUE_FALSE:
+                lateAttribute(attributeName, FALSE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void parsePair(String name, int token) throws IOException, SAXException {
+        if (token == JsonTokenizer.START_ARRAY) {
+            parseArrayPair(name);
+        } else if (token == JsonTokenizer.START_OBJECT) {
+            String[] elementName = resolveElement(name);
+            if (elementName == null) {
+                skipValue(token);
+            } else if (elementName == TEXT_VALUE) {
+                readObjectHead();
+                parseObject();
+            } else {
+                String uri = elementName[0];
+                String localName = elementName[1];
+                readObjectHead();
+                contentHandler.startElement(uri, localName, localName, attributes.setSize(headSize));
+                parseObject();
+                contentHandler.endElement(uri, localName, localName);
+            }
+        } else {
+            parseScalarPair(name, token, tokenizer.getText(), 0, tokenizer.getTextLength());
+        }
+    }
+
+    private void parseScalarPair(String name, int token, char[] text, int start, int length) throws SAXException {
+        String[] elementName = resolveElement(name);
+        if (elementName == null) {
+            return;
+        } else if (elementName == TEXT_VALUE) {
+            parseScalarValue(token, text, start, length);
+            return;
+        }
+        String uri = elementName[0];
+        String localName = elementName[1];
+
+        if (token == JsonTokenizer.VALUE_NULL) {
+            contentHandler.setNil(true);
+        }
+
+        contentHandler.startElement(uri, localName, localName, attributes.setSize(0));
+        parseScalarValue(token, text, start, length);
+        contentHandler.endElement(uri, localName, localName);
+    }
+
+    private void parseScalarValue(int token, char[] text, int start, int length) throws SAXException {
+        switch (token) {
+            case JsonTokenizer.VALUE_STRING:
+            case JsonTokenizer.VALUE_NUMBER:
+                contentHandler.characters(text, start, length);
+                break;
+            case JsonTokenizer.VALUE_TRUE:
+                contentHandler.characters(TRUE);
+                break;
+            case JsonTokenizer.VALUE_FALSE:
+                contentHandler.characters(FALSE);
+                break;
+            case JsonTokenizer.VALUE_NULL:
+                contentHandler.setNil(true);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled token: " + token);
+        }
+    }
+
+    private void parseArrayPair(String name) throws IOException, SAXException {
+        String[] collectionName = resolveCollection(name);
+        if (collectionName == null) {
+            skipValue(JsonTokenizer.START_ARRAY);
+            return;
+        }
+        String uri = collectionName[0];
+        String parentLocalName = collectionName[1];
+
+        int token = tokenizer.next();
+        if (token == JsonTokenizer.END_ARRAY) {
+            startEmptyCollection(uri, parentLocalName);
+        }
+        startCollection();
+
+        XPathFragment groupingXPathFragment = null;
+        if (contentHandler instanceof UnmarshalRecord || isUnmarshalRecordWithinAdapter()) {
+            final UnmarshalRecord contentHandler_ = contentHandler instanceof UnmarshalRecord ? (UnmarshalRecord) contentHandler : getUnmarshalRecordFromAdapter();
+            boolean isTextValue = isTextValue(parentLocalName, contentHandler_);
+            XPathFragment[] fragments = startGroupingElement(contentHandler_, uri, parentLocalName);
+            groupingXPathFragment = fragments[0];
+            XPathFragment itemXPathFragment = fragments[1];
+            String itemUri = uri;
+            String itemLocalName = parentLocalName;
+            if (null != itemXPathFragment) {
+                itemUri = itemXPathFragment.getNamespaceURI();
+                itemLocalName = itemXPathFragment.getLocalName();
+            }
+
+            for (; token != JsonTokenizer.END_ARRAY; token = tokenizer.next()) {
+                if (token == JsonTokenizer.VALUE_NULL) {
+                    contentHandler.setNil(true);
+                }
+                boolean isObject = token == JsonTokenizer.START_OBJECT;
+                if (isObject) {
+                    readObjectHead();
+                }
+                if (!isTextValue) {
+                    contentHandler.startElement(itemUri, itemLocalName, itemLocalName, attributes.setSize(isObject ? headSize : 0));
+                }
+                if (isObject) {
+                    parseObject();
+                } else if (token == JsonTokenizer.START_ARRAY) {
+                    //Each nested array is parsed as the value of a member with name: "item"
+                    parseArrayPair("item");
+                } else {
+                    parseScalarValue(token, tokenizer.getText(), 0, tokenizer.getTextLength());
+                }
+                if (!isTextValue) {
+                    contentHandler.endElement(itemUri, itemLocalName, itemLocalName);
+                }
+            }
+        } else {
+            for (; token != JsonTokenizer.END_ARRAY; token = tokenizer.next()) {
+                skipValue(token);
+            }
+        }
+        if (null != groupingXPathFragment) {
+            contentHandler.endElement(uri, groupingXPathFragment.getLocalName(), groupingXPathFragment.getLocalName());
+        }
+        endCollection();
+    }
+
+    /**
+     * Read the members of an object, after its start token, reported as the attributes of its element:
+     * its scalar members, and the members starting with the attribute prefix,
+     * until its first other nested object or array, or its end.
+     */
+    private void readObjectHead() throws IOException, SAXException {
+        headSize = 0;
+        headTextLength = 0;
+        nextName = null;
+        int token;
+        while ((token = tokenizer.next()) != JsonTokenizer.END_OBJECT) {
+            String name = tokenizer.getName();
+            token = tokenizer.next();
+            if (token == JsonTokenizer.START_OBJECT || token == JsonTokenizer.START_ARRAY) {
+                if (attributePrefix != null && name.startsWith(attributePrefix)) {
+                    if (token == JsonTokenizer.START_ARRAY) {
+                        readAttributeArray(name);
+                    } else {
+                        // not an attribute value
+                        skipValue(token);
+                    }
+                    continue;
+                }
+                nextName = name;
+                nextToken = token;
+                return;
+            }
+            addHeadMember(name, token, tokenizer.getText(), tokenizer.getTextLength());
+        }
+    }
+
+    /**
+     * Read the values of an attribute from an array, an empty array is an empty value.
+     */
+    private void readAttributeArray(String name) throws IOException, SAXException {
+        int token = tokenizer.next();
+        if (token == JsonTokenizer.END_ARRAY) {
+            addHeadMember(name, JsonTokenizer.VALUE_STRING, headText, 0);
+            return;
+        }
+        for (; token != JsonTokenizer.END_ARRAY; token = tokenizer.next()) {
+            if (isScalar(token)) {
+                addHeadMember(name, token, tokenizer.getText(), tokenizer.getTextLength());
+            } else {
+                skipValue(token);
+            }
+        }
+    }
+
+    private void addHeadMember(String name, int token, char[] text, int length) {
+        if (headSize == headNames.length) {
+            int size = headSize * 2;
+            headNames = Arrays.copyOf(headNames, size);
+            headTokens = Arrays.copyOf(headTokens, size);
+            headStarts = Arrays.copyOf(headStarts, size);
+            headLengths = Arrays.copyOf(headLengths, size);
+        }
+        if (headTextLength + length > headText.length) {
+            headText = Arrays.copyOf(headText, Math.max(headText.length * 2, headTextLength + length));
+        }
+        if (token == JsonTokenizer.VALUE_STRING || token == JsonTokenizer.VALUE_NUMBER) {
+            System.arraycopy(text, 0, headText, headTextLength, length);
+        } else {
+            length = 0;
+        }
+        headNames[headSize] = name;
+        headTokens[headSize] = token;
+        headStarts[headSize] = headTextLength;
+        headLengths[headSize] = length;
+        headTextLength += length;
+        headSize++;
+    }
+
+    private static boolean isScalar(int token) {
+        return token >= JsonTokenizer.VALUE_STRING;
+    }
+
+    /**
+     * Skip the value starting with the token.
+     */
+    private void skipValue(int token) throws IOException, SAXException {
+        if (token != JsonTokenizer.START_OBJECT && token != JsonTokenizer.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (tokenizer.next()) {
+                case JsonTokenizer.START_OBJECT:
+                case JsonTokenizer.START_ARRAY:
+                    depth++;
+                    break;
+                case JsonTokenizer.END_OBJECT:
+                case JsonTokenizer.END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skip the remaining members of the current object, including its end token.
+     */
+    private void skipMembers() throws IOException, SAXException {
+        while (tokenizer.next() != JsonTokenizer.END_OBJECT) {
+            skipValue(tokenizer.next());
+        }
+    }
+
+    /**
+     * Add the names of the children of the XPathNode of the current record to the tokenizer.
+     */
+    private void addNames() {
+        UnmarshalRecord unmarshalRecord = getCurrentUnmarshalRecord();
+        if (unmarshalRecord == null) {
+            return;
+        }
+        XPathNode xPathNode = unmarshalRecord.getXPathNode();
+        if (xPathNode == null || !namedNodes.add(xPathNode)) {
+            return;
+        }
+        if (xPathNode.getNonAttributeChildren() != null) {
+            for (XPathNode child : xPathNode.getNonAttributeChildren()) {
+                String localName = child.getXPathFragment().getLocalName();
+                if (localName != null) {
+                    tokenizer.addName(localName);
+                }
+            }
+        }
+        if (xPathNode.getAttributeChildren() != null && attributePrefix == null) {
+            for (XPathNode child : xPathNode.getAttributeChildren()) {
+                String localName = child.getXPathFragment().getLocalName();
+                if (localName != null) {
+                    tokenizer.addName(localName);
+                }
+            }
+        }
+    }
+
+    /**
+     * The attributes of the element of the current object, from the members of its head.
+     * They are built when the element is started, as the head is read again by the nested objects.
+     */
+    private class HeadAttributes extends IndexedAttributeList {
+
+        private int size;
+
+        public HeadAttributes setSize(int size) {
+            reset();
+            this.size = size;
+            attributes();
+            return this;
+        }
+
+        @Override
+        public int getIndex(String uri, String localName) {
+            if (null == localName) {
+                return -1;
+            }
+            int index = 0;
+            for (Attribute attribute : attributes()) {
+                if (isNamespaceAware()) {
+                    if (localName.equals(attribute.getLocalName()) && uri.equals(attribute.getUri())) {
+                        return index;
+                    }
+                } else {
+                    if (attribute.getName().equals(localName)) {
+                        return index;
+                    }
+                }
+                index++;
+            }
+            return -1;
+        }
+
+        @Override
+        protected Attribute[] attributes() {
+            if (null == attributes) {
+                if (size == 0) {
+                    attributes = NO_ATTRIBUTES;
+                    return attributes;
+                }
+                ArrayList<Attribute> attributesList = new ArrayList<>(size);
+                NamespaceResolver namespaces = NativeJsonReader.this.namespaces;
+                for (int index = 0; index < size; index++) {
+                    String attributeLocalName = headNames[index];
+
+                    if (attributePrefix != null) {
+                        if (attributeLocalName.startsWith(attributePrefix)) {
+                            attributeLocalName = attributeLocalName.substring(attributePrefix.length());
+                        } else {
+                            continue;
+                        }
+                    }
+
+                    String uri = Constants.EMPTY_STRING;
+
+                    if (isNamespaceAware() && namespaces != null) {
+                        if (attributeLocalName.length() > 2) {
+                            String prefix = Constants.EMPTY_STRING;
+                            int nsIndex = attributeLocalName.indexOf(getNamespaceSeparator(), 1);
+                            if (nsIndex > -1) {
+                                prefix = attributeLocalName.substring(0, nsIndex);
+                            }
+                            uri = namespaces.resolveNamespacePrefix(prefix);
+                            if (uri == null) {
+                                uri = namespaces.getDefaultNamespaceURI();
+                            } else {
+                                attributeLocalName = attributeLocalName.substring(nsIndex + 1);
+                            }
+                        } else {
+                            uri = namespaces.getDefaultNamespaceURI();
+                        }
+                    }
+
+                    String value;
+                    switch (headTokens[index]) {
+                        case JsonTokenizer.VALUE_STRING:
+                        case JsonTokenizer.VALUE_NUMBER:
+                            value = new String(headText, headStarts[index], headLengths[index]);
+                            break;
+                        case JsonTokenizer.VALUE_TRUE:
+                            value = TRUE;
+                            break;
+                        case JsonTokenizer.VALUE_FALSE:
+                            value = FALSE;
+                            break;
+                        default:
+                            continue;
+                    }
+                    attributesList.add(new Attribute(uri, attributeLocalName, attributeLocalName, value));
+                }
+                attributes = attributesList.toArray(new Attribute[attributesList.size()]);
+            }
+            return attributes;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.queries;
+
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * INTERNAL:
+ * Statistics of the batch queries of a mapping, used by adaptive batch fetching
+ * to choose the batch fetch type each time a query is executed.
+ * <p>
+ * The average time of a batch query is recorded for each type.
+ * An IN batch query only selects the targets of a batch of source rows (the batch fetch size),
+ * so its expected cost is its average time by the number of batches required for the source rows,
+ * where JOIN and EXISTS select all the targets in one query, but re-execute the source query's criteria.
+ * <p>
+ * Each type is first tried a few times, and the least recently used type is retried periodically,
+ * so the choice follows changes in the data and the database.
+ */
+public class BatchFetchStatistics {
+    /** Number of samples of a type required before its average time is used. */
+    public static final int MIN_SAMPLES = 2;
+    /** Every how many choices the least recently used type is retried. */
+    public static final int RETRY_INTERVAL = 50;
+    /** Weight of a new sample in the moving average time. */
+    protected static final double WEIGHT = 0.2;
+
+    /** The types that can be chosen, JOIN is used first if nothing is known. */
+    protected static final BatchFetchType[] TYPES = { BatchFetchType.JOIN, BatchFetchType.EXISTS, BatchFetchType.IN };
+
+    /** Number of batch queries recorded per type. */
+    protected long[] samples = new long[TYPES.length];
+    /** Moving average time in nanoseconds of a batch query per type. */
+    protected double[] averageTimes = new double[TYPES.length];
+    /** The choice each type was last chosen, used to retry the least recently used type. */
+    protected long[] lastChosen = new long[TYPES.length];
+    /** Number of choices made. */
+    protected long choices;
+    /** The number of source rows of the last choice, -1 if not known. */
+    protected int lastSourceRows = -1;
+
+    /**
+     * Choose the batch fetch type to use for a query execution.
+     * @param sourceRows the number of source rows, or -1 if not available, in which case IN cannot be used
+     * @param batchSize the number of source rows batched in each IN batch query
+     */
+    public synchronized BatchFetchType chooseType(int sourceRows, int batchSize) {
+        this.choices++;
+        this.lastSourceRows = sourceRows;
+        boolean canUseIN = sourceRows >= 0;
+        int inQueries = numberOfINQueries(sourceRows, batchSize);
+        BatchFetchType type = null;
+        // A single IN query is the cheapest, it does not re-execute the source query.
+        if (canUseIN && (inQueries <= 1) && (this.samples[indexOf(BatchFetchType.IN)] < MIN_SAMPLES)) {
+            type = BatchFetchType.IN;
+        }
+        if (type == null) {
+            // Measure each type before comparing them.
+            for (BatchFetchType candidate : TYPES) {
+                if ((canUseIN || (candidate != BatchFetchType.IN)) && (this.samples[indexOf(candidate)] < MIN_SAMPLES)) {
+                    type = candidate;
+                    break;
+                }
+            }
+        }
+        if ((type == null) && ((this.choices % RETRY_INTERVAL) == 0)) {
+            // Retry the least recently used type.
+            long oldest = Long.MAX_VALUE;
+            for (BatchFetchType candidate : TYPES) {
+                if ((canUseIN || (candidate != BatchFetchType.IN)) && (this.lastChosen[indexOf(candidate)] < oldest)) {
+                    oldest = this.lastChosen[indexOf(candidate)];
+                    type = candidate;
+                }
+            }
+        }
+        if (type == null) {
+            // Use the type with the lowest expected cost.
+            double lowestCost = Double.MAX_VALUE;
+            for (BatchFetchType candidate : TYPES) {
+                if (canUseIN || (candidate != BatchFetchType.IN)) {
+                    double cost = this.averageTimes[indexOf(candidate)];
+                    if (candidate == BatchFetchType.IN) {
+                        cost = cost * inQueries;
+                    }
+                    if (cost < lowestCost) {
+                        lowestCost = cost;
+                        type = candidate;
+                    }
+                }
+            }
+        }
+        this.lastChosen[indexOf(type)] = this.choices;
+        return type;
+    }
+
+    /**
+     * Record the time of a batch query of the type.
+     * @param time the nanoseconds spent executing the batch query
+     */
+    public synchronized void recordTime(BatchFetchType type, long time) {
+        int index = indexOf(type);
+        if (this.samples[index] == 0) {
+            this.averageTimes[index] = time;
+        } else {
+            this.averageTimes[index] = (this.averageTimes[index] * (1 - WEIGHT)) + (time * WEIGHT);
+        }
+        this.samples[index]++;
+    }
+
+    /**
+     * Return the moving average time in nanoseconds of a batch query of the type.
+     */
+    public synchronized long getAverageTime(BatchFetchType type) {
+        return (long)this.averageTimes[indexOf(type)];
+    }
+
+    /**
+     * Return the number of batch queries of the type recorded.
+     */
+    public synchronized long getSamples(BatchFetchType type) {
+        return this.samples[indexOf(type)];
+    }
+
+    /**
+     * Return the number of source rows of the last choice, -1 if not known.
+     */
+    public synchronized int getLastSourceRows() {
+        return this.lastSourceRows;
+    }
+
+    /**
+     * Return the number of IN batch queries required for the source rows.
+     */
+    public static int numberOfINQueries(int sourceRows, int batchSize) {
+        if ((sourceRows <= 0) || (batchSize <= 0)) {
+            return 1;
+        }
+        return ((sourceRows - 1) / batchSize) + 1;
+    }
+
+    /**
+     * Return the session profiler counter of the choices of the type.
+     */
+    public static String getProfileCounter(BatchFetchType type) {
+        if (type == BatchFetchType.IN) {
+            return SessionProfiler.BatchFetchIN;
+        } else if (type == BatchFetchType.EXISTS) {
+            return SessionProfiler.BatchFetchEXISTS;
+        }
+        return SessionProfiler.BatchFetchJOIN;
+    }
+
+    protected static int indexOf(BatchFetchType type) {
+        if (type == BatchFetchType.IN) {
+            return 2;
+        } else if (type == BatchFetchType.EXISTS) {
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -219,6 +219,13 @@ public SQLSelectStatement buildBaseSelectStatement(boolean isSubSelect, Map clon
         //of table alias always be correct
         if (query.hasOrderByExpressions()) {
             selectStatement.setOrderByExpressions(cloneExpressions(query.getOrderByExpressions(), clonedExpressions));
+            // Keyset pagination, only select the results ordered after the after key.
+            // The criteria is copied after the ordering, so both use the same cloned keys.
+            if (!isSubSelect && query.isReadAllQuery() && ((ReadAllQuery)query).hasAfterKey()) {
+                Expression keysetCriteria = ((ReadAllQuery)query).buildKeysetCriteria(getSession().getPlatform()).copiedVersionFrom(clonedExpressions);
+                Expression whereClause = selectStatement.getWhereClause();
+                selectStatement.setWhereClause((whereClause == null) ? keysetCriteria : whereClause.and(keysetCriteria));
+            }
         }
         if (query.hasNonFetchJoinedAttributeExpressions()) {
             selectStatement.setNonSelectFields(cloneExpressions(query.getNonFetchJoinAttributeExpressions(), clonedExpressions));
@@ -923,7 +930,9 @@ public Object checkCacheForObject(AbstractRecord translationRow, AbstractSession
                                 ExpressionBuilder builder = selectionCriteria.getBuilder();
                                 builder.setSession(session.getRootSession(null));
                                 builder.setQueryClass(descriptor.getJavaClass());
-                                if (!selectionCriteria.doesConform(cachedObject, session, translationRow, policyToUse)) {
+                                boolean conforms = (query.getCompiledExpression() == null) ? selectionCriteria.doesConform(cachedObject, session, translationRow, policyToUse)
+                                        : query.buildConformEvaluator(selectionCriteria, session, translationRow).conforms(cachedObject, session, translationRow, policyToUse);
+                                if (!conforms) {
                                     cachedObject = null;
                                 }
                             } catch (QueryException exception) {// Ignore if expression too complex.
@@ -951,7 +960,7 @@ public Object checkCacheForObject(AbstractRecord translationRow, AbstractSession
                                 builder.setQueryClass(descriptor.getJavaClass());
                             }
                             try {
-                                cachedObject = session.getIdentityMapAccessorInstance().getFromIdentityMap(selectionCriteria, query.getReferenceClass(), translationRow, policyToUse, conforming, false, descriptor);
+                                cachedObject = session.getIdentityMapAccessorInstance().getFromIdentityMap(selectionCriteria, query.getReferenceClass(), translationRow, policyToUse, conforming, false, descriptor, query.getCompiledExpression());
                             } catch (QueryException exception) {// Ignore if expression too complex.
                                 if (query.shouldCheckCacheOnly()) {// Throw on only cache.
                                     throw exception;
@@ -978,7 +987,7 @@ public Object checkCacheForObject(AbstractRecord translationRow, AbstractSession
                         builder.setQueryClass(descriptor.getJavaClass());
                     }
                     try {
-                        cachedObject = uow.getObjectFromNewObjects(selectionCriteria, query.getReferenceClass(), translationRow, policyToUse);
+                        cachedObject = uow.getObjectFromNewObjects(selectionCriteria, query.getReferenceClass(), translationRow, policyToUse, query.getCompiledExpression());
                     } catch (QueryException exception) {
                         // Ignore if expression too complex.
                     }
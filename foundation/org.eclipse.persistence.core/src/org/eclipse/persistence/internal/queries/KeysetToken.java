@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.queries;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.eclipse.persistence.exceptions.QueryException;
+
+/**
+ * INTERNAL:
+ * Encodes the after key of a keyset paginated query as an opaque continuation token, and decodes it back.
+ * <p>
+ * The token is the URL safe Base64 encoding of the type and the text of each value of the after key,
+ * so it can be passed to clients and used in URLs.
+ * As the token is provided by clients it is never deserialized as Java objects,
+ * only the basic value types used as ordering keys are supported.
+ *
+ * @see org.eclipse.persistence.queries.ReadAllQuery#setAfterKey(Object[])
+ */
+public class KeysetToken {
+    /** Version of the token format. */
+    protected static final byte VERSION = 1;
+
+    /** The supported value types, the index of the type is its code in the token. */
+    protected static final Class[] TYPES = {
+        null, String.class, Character.class, Boolean.class, Byte.class, Short.class, Integer.class, Long.class,
+        BigInteger.class, Float.class, Double.class, BigDecimal.class, java.sql.Date.class, java.sql.Time.class,
+        java.sql.Timestamp.class, java.util.Date.class, java.time.LocalDate.class, java.time.LocalTime.class,
+        java.time.LocalDateTime.class, java.time.OffsetDateTime.class, java.time.Instant.class, UUID.class
+    };
+
+    private KeysetToken() {
+    }
+
+    /**
+     * Return the continuation token for the after key values.
+     * Throw a QueryException if a value is null or not of a supported type.
+     */
+    public static String encode(Object[] afterKey) throws QueryException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(VERSION);
+            output.writeShort(afterKey.length);
+            for (Object value : afterKey) {
+                Class type = (value == null) ? null : value.getClass();
+                if ((value instanceof java.util.Date) && !isSupported(type)) {
+                    type = java.util.Date.class;
+                }
+                if (!isSupported(type)) {
+                    throw QueryException.invalidKeysetAfterKey(null, Arrays.asList(afterKey));
+                }
+                output.writeByte(typeCode(type));
+                if (type == java.util.Date.class) {
+                    output.writeUTF(String.valueOf(((java.util.Date)value).getTime()));
+                } else {
+                    output.writeUTF(value.toString());
+                }
+            }
+            output.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException exception) {
+            // Cannot happen writing to memory.
+            throw QueryException.invalidKeysetAfterKey(null, Arrays.asList(afterKey));
+        }
+    }
+
+    /**
+     * Return the after key values of the continuation token.
+     * Throw a QueryException if the token is not a valid continuation token.
+     */
+    public static Object[] decode(String token) throws QueryException {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)));
+            if (input.readByte() != VERSION) {
+                throw QueryException.invalidKeysetContinuationToken(token, null);
+            }
+            int size = input.readShort();
+            if (size <= 0) {
+                throw QueryException.invalidKeysetContinuationToken(token, null);
+            }
+            Object[] afterKey = new Object[size];
+            for (int index = 0; index < size; index++) {
+                int code = input.readByte();
+                if ((code <= 0) || (code >= TYPES.length)) {
+                    throw QueryException.invalidKeysetContinuationToken(token, null);
+                }
+                afterKey[index] = valueOf(TYPES[code], input.readUTF());
+            }
+            if (input.available() > 0) {
+                throw QueryException.invalidKeysetContinuationToken(token, null);
+            }
+            return afterKey;
+        } catch (QueryException exception) {
+            throw exception;
+        } catch (IOException | RuntimeException exception) {
+            throw QueryException.invalidKeysetContinuationToken(token, exception);
+        }
+    }
+
+    /**
+     * Return if the values of the type can be encoded in a continuation token.
+     */
+    public static boolean isSupported(Class type) {
+        if (type == null) {
+            return false;
+        }
+        for (int index = 1; index < TYPES.length; index++) {
+            if (TYPES[index] == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static int typeCode(Class type) {
+        for (int index = 1; index < TYPES.length; index++) {
+            if (TYPES[index] == type) {
+                return index;
+            }
+        }
+        return 0;
+    }
+
+    protected static Object valueOf(Class type, String text) {
+        if (type == String.class) {
+            return text;
+        } else if (type == Character.class) {
+            if (text.length() != 1) {
+                throw new IllegalArgumentException(text);
+            }
+            return Character.valueOf(text.charAt(0));
+        } else if (type == Boolean.class) {
+            return Boolean.valueOf(text);
+        } else if (type == Byte.class) {
+            return Byte.valueOf(text);
+        } else if (type == Short.class) {
+            return Short.valueOf(text);
+        } else if (type == Integer.class) {
+            return Integer.valueOf(text);
+        } else if (type == Long.class) {
+            return Long.valueOf(text);
+        } else if (type == BigInteger.class) {
+            return new BigInteger(text);
+        } else if (type == Float.class) {
+            return Float.valueOf(text);
+        } else if (type == Double.class) {
+            return Double.valueOf(text);
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        } else if (type == java.sql.Date.class) {
+            return java.sql.Date.valueOf(text);
+        } else if (type == java.sql.Time.class) {
+            return java.sql.Time.valueOf(text);
+        } else if (type == java.sql.Timestamp.class) {
+            return java.sql.Timestamp.valueOf(text);
+        } else if (type == java.util.Date.class) {
+            return new java.util.Date(Long.parseLong(text));
+        } else if (type == java.time.LocalDate.class) {
+            return java.time.LocalDate.parse(text);
+        } else if (type == java.time.LocalTime.class) {
+            return java.time.LocalTime.parse(text);
+        } else if (type == java.time.LocalDateTime.class) {
+            return java.time.LocalDateTime.parse(text);
+        } else if (type == java.time.OffsetDateTime.class) {
+            return java.time.OffsetDateTime.parse(text);
+        } else if (type == java.time.Instant.class) {
+            return java.time.Instant.parse(text);
+        } else {
+            return UUID.fromString(text);
+        }
+    }
+}
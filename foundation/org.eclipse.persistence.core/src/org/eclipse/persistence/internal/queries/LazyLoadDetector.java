@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.queries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * INTERNAL:
+ * Counts the individual lazy loads triggered by the objects of a query execution,
+ * to detect the N+1 queries problem.
+ * <p>
+ * The lazy relationships of the objects built by the query execution share a copy of the mapping's selection query
+ * referencing the detector, so the value holders can report their instantiation.
+ * When the number of lazy loads exceeds the threshold, the query is logged as a warning and counted by the session profiler.
+ * Batch fetched relationships are not counted.
+ * <p>
+ * The detector only references the name of the source query, so the source query execution is not kept
+ * by the value holders of the objects.
+ *
+ * @see org.eclipse.persistence.sessions.Project#setLazyLoadThreshold(int)
+ */
+public class LazyLoadDetector {
+    /** Name of the source query, as reported to the session profiler. */
+    protected final String queryName;
+    /** Number of lazy loads above which the query is reported. */
+    protected final int threshold;
+    /** Number of lazy loads triggered so far. */
+    protected final AtomicInteger loads = new AtomicInteger();
+    /** The selection queries shared by the objects of the source query execution per mapping. */
+    protected final Map<DatabaseMapping, ReadQuery> queries = new ConcurrentHashMap<>();
+
+    public LazyLoadDetector(String queryName, int threshold) {
+        this.queryName = queryName;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Return the detector of the source query execution, create it if not yet defined.
+     */
+    public static LazyLoadDetector getDetector(DatabaseQuery sourceQuery, int threshold) {
+        LazyLoadDetector detector = (LazyLoadDetector)sourceQuery.getProperty(LazyLoadDetector.class);
+        if (detector == null) {
+            detector = new LazyLoadDetector(sourceQuery.getMonitorName(), threshold);
+            sourceQuery.setProperty(LazyLoadDetector.class, detector);
+        }
+        return detector;
+    }
+
+    /**
+     * Return the selection query of the mapping shared by the objects of the source query execution.
+     */
+    public ReadQuery getQuery(DatabaseMapping mapping) {
+        return this.queries.get(mapping);
+    }
+
+    /**
+     * Set the selection query of the mapping shared by the objects of the source query execution.
+     */
+    public void setQuery(DatabaseMapping mapping, ReadQuery query) {
+        this.queries.put(mapping, query);
+    }
+
+    /**
+     * Return the name of the source query.
+     */
+    public String getQueryName() {
+        return queryName;
+    }
+
+    /**
+     * Return the number of lazy loads above which the query is reported.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Return the number of lazy loads triggered so far by the objects of the source query execution.
+     */
+    public int getLoads() {
+        return this.loads.get();
+    }
+
+    /**
+     * Record the lazy load of a relationship by its selection query.
+     * The first time the threshold is exceeded the query is logged and counted,
+     * the current number of lazy loads of the query is then reported to the profiler with each further lazy load.
+     */
+    public void lazyLoaded(ReadQuery query, AbstractSession session) {
+        int count = this.loads.incrementAndGet();
+        session.incrementProfile(SessionProfiler.LazyLoads);
+        if (count > this.threshold) {
+            session.updateProfile(SessionProfiler.LazyLoadsPerQuery + ":" + this.queryName, Integer.valueOf(count));
+            if (count == (this.threshold + 1)) {
+                session.incrementProfile(SessionProfiler.LazyLoadThresholdExceeded);
+                session.incrementProfile(SessionProfiler.LazyLoadThresholdExceeded + ":" + this.queryName);
+                if (session.shouldLog(SessionLog.WARNING, SessionLog.QUERY)) {
+                    DatabaseMapping mapping = query.getSourceMapping();
+                    String attribute = (mapping == null) ? null
+                            : Helper.getShortClassName(mapping.getDescriptor().getJavaClassName()) + "." + mapping.getAttributeName();
+                    session.log(SessionLog.WARNING, SessionLog.QUERY, "lazy_load_threshold_exceeded", new Object[] {this.queryName, Integer.valueOf(this.threshold), attribute});
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.queries;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+
+/**
+ * INTERNAL:
+ * Fixed size cache of prepared queries keyed by a structural fingerprint.
+ * This is used to avoid re-preparing dynamic queries (such as criteria queries)
+ * that only differ in their literal or parameter values.
+ * <p>
+ * Along with the query the time it took to prepare it is stored, so the
+ * cache can report its hits, misses and the preparation time saved.
+ */
+public class PreparedQueryCache extends ConcurrentFixedCache {
+
+    private static final long serialVersionUID = -4457207167153933797L;
+
+    protected AtomicLong timeSaved = new AtomicLong();
+
+    /**
+     * Cache entry, the prepared query and the nanoseconds spent preparing it.
+     */
+    protected static class PreparedQuery {
+        protected final DatabaseQuery query;
+        protected final long prepareTime;
+
+        protected PreparedQuery(DatabaseQuery query, long prepareTime) {
+            this.query = query;
+            this.prepareTime = prepareTime;
+        }
+    }
+
+    /**
+     * Create a new prepared query cache, with the max size.
+     */
+    public PreparedQueryCache(int maxSize) {
+        super(maxSize);
+    }
+
+    /**
+     * Return the prepared query for the fingerprint, or null if not cached.
+     * The hit or miss is recorded and reported to the session's profiler.
+     * An entry whose query is not prepared yet counts as a miss in both.
+     */
+    public DatabaseQuery getPreparedQuery(Object key, AbstractSession session) {
+        PreparedQuery entry = (PreparedQuery)get(key);
+        if ((entry == null) || (!entry.query.isPrepared())) {
+            if (entry != null) {
+                // get() counted the unusable entry as a hit.
+                this.hits.decrement();
+                this.misses.increment();
+            }
+            session.incrementProfile(SessionProfiler.CriteriaQueryCacheMisses);
+            return null;
+        }
+        long saved = this.timeSaved.addAndGet(entry.prepareTime);
+        session.incrementProfile(SessionProfiler.CriteriaQueryCacheHits);
+        session.updateProfile(SessionProfiler.CriteriaQueryCacheTimeSaved, saved);
+        return entry.query;
+    }
+
+    /**
+     * Cache the prepared query for the fingerprint,
+     * recording the nanoseconds spent building and preparing it.
+     */
+    public void putPreparedQuery(Object key, DatabaseQuery query, long prepareTime) {
+        put(key, new PreparedQuery(query, prepareTime));
+    }
+
+    /**
+     * Return the total preparation time in nanoseconds avoided by cache hits.
+     */
+    public long getTimeSaved() {
+        return this.timeSaved.get();
+    }
+}
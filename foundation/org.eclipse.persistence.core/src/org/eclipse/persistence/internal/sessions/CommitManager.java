@@ -273,7 +273,7 @@ protected void commitChangedObjectsForClassWithChangeSet(UnitOfWorkChangeSet uow
                 }
                 if (!isProcessedCommit(objectToWrite)) {
                     List<org.eclipse.persistence.sessions.changesets.ChangeRecord> changeSetToWriteChanges = changeSetToWrite.changes;
-                    if (changeSetToWrite.isNew() || (changeSetToWriteChanges != null && !changeSetToWriteChanges.isEmpty())) {
+                    if (changeSetToWrite.isNew() || (changeSetToWriteChanges != null && !changeSetToWriteChanges.isEmpty()) || changeSetToWrite.hasDirectChanges()) {
                         // Original code that issues insert and update queries
                         WriteObjectQuery commitQuery = null;
                         if (changeSetToWrite.isNew()) {
@@ -407,7 +407,7 @@ protected void commitChangedObjectsForClassWithChangeSet1(UnitOfWorkChangeSet uo
                         // removed checking session type to set cascade level
                         // will always be a unitOfWork so we need to cascade dependent parts
                         session.executeQuery(commitQuery);
-                    } else if (!changeSetToWrite.getChanges().isEmpty()) {
+                    } else if (!changeSetToWrite.getBuiltChangeRecords().isEmpty() || changeSetToWrite.hasDirectChanges()) {
                         commitQuery = new UpdateObjectQuery();
                         commitQuery.setIsExecutionClone(true);
                         commitQuery.setDescriptor(descriptor);
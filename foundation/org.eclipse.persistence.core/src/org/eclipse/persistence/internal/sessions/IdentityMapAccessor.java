@@ -22,6 +22,7 @@
 
 import org.eclipse.persistence.internal.identitymaps.*;
 import org.eclipse.persistence.internal.descriptors.*;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
 import org.eclipse.persistence.queries.*;
 import org.eclipse.persistence.descriptors.CacheIndex;
 import org.eclipse.persistence.descriptors.ClassDescriptor;
@@ -311,7 +312,16 @@ public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass
      * Only return objects that are invalid in the cache if specified.
      */
     public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean shouldReturnInvalidatedObjects) throws QueryException {
-        return getIdentityMapManager().getAllFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, shouldReturnInvalidatedObjects);
+        return getAllFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, shouldReturnInvalidatedObjects, null);
+    }
+
+    /**
+     * INTERNAL:
+     * Query the cache in-memory.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     */
+    public Vector getAllFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean shouldReturnInvalidatedObjects, CompiledExpression compiledExpression) throws QueryException {
+        return getIdentityMapManager().getAllFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, shouldReturnInvalidatedObjects, compiledExpression);
     }
 
     /**
@@ -526,7 +536,16 @@ public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, R
      * If the expression is too complex an exception will be thrown.
      */
     public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean conforming, boolean shouldReturnInvalidatedObjects, ClassDescriptor descriptor) {
-        return getIdentityMapManager().getFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, conforming, shouldReturnInvalidatedObjects, descriptor);
+        return getFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, conforming, shouldReturnInvalidatedObjects, descriptor, null);
+    }
+
+    /**
+     * INTERNAL:
+     * Query the cache in-memory.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     */
+    public Object getFromIdentityMap(Expression selectionCriteria, Class theClass, Record translationRow, int valueHolderPolicy, boolean conforming, boolean shouldReturnInvalidatedObjects, ClassDescriptor descriptor, CompiledExpression compiledExpression) {
+        return getIdentityMapManager().getFromIdentityMap(selectionCriteria, theClass, translationRow, valueHolderPolicy, conforming, shouldReturnInvalidatedObjects, descriptor, compiledExpression);
     }
 
     /**
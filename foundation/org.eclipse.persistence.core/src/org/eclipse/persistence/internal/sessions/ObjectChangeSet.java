@@ -17,6 +17,8 @@
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -64,19 +66,35 @@ public int compare(Object object1, Object object2) {
             ObjectChangeSet left = (ObjectChangeSet)object1;
             ObjectChangeSet right = (ObjectChangeSet)object2;
             // Sort by changes to keep same SQL together for batching.
-            if ((left.changes != null) && right.changes != null) {
-                int size = left.changes.size();
-                List otherChanges = right.changes;
-                int otherSize = otherChanges.size();
+            // PERF: Compact direct changes are compared by their mapping's attribute, without building their records.
+            if (((left.changes != null) || (left.directChanges != null)) && ((right.changes != null) || (right.directChanges != null))) {
+                int size = left.getChangeCount();
+                int otherSize = right.getChangeCount();
                 if (size > otherSize) {
                     return 1;
                 } else if (size < otherSize) {
                     return -1;
                 }
+                List changes = left.getBuiltChangeRecords();
+                List otherChanges = right.getBuiltChangeRecords();
+                int mappingIndex = -1;
+                int otherMappingIndex = -1;
                 for (int index = 0; index < size; index++) {
-                    ChangeRecord record = (ChangeRecord)left.changes.get(index);
-                    ChangeRecord otherRecord = (ChangeRecord)otherChanges.get(index);
-                    int compare = record.getAttribute().compareTo(otherRecord.getAttribute());
+                    String attribute;
+                    if (index < changes.size()) {
+                        attribute = ((ChangeRecord)changes.get(index)).getAttribute();
+                    } else {
+                        mappingIndex = left.directChanges.nextSetBit(mappingIndex + 1);
+                        attribute = left.descriptor.getMappings().get(mappingIndex).getAttributeName();
+                    }
+                    String otherAttribute;
+                    if (index < otherChanges.size()) {
+                        otherAttribute = ((ChangeRecord)otherChanges.get(index)).getAttribute();
+                    } else {
+                        otherMappingIndex = right.directChanges.nextSetBit(otherMappingIndex + 1);
+                        otherAttribute = right.descriptor.getMappings().get(otherMappingIndex).getAttributeName();
+                    }
+                    int compare = attribute.compareTo(otherAttribute);
                     if (compare != 0) {
                         return compare;
                     }
@@ -89,6 +107,13 @@ public int compare(Object object1, Object object2) {
     /** This is the collection of changes */
     protected List<org.eclipse.persistence.sessions.changesets.ChangeRecord> changes;
     protected transient Map<String, ChangeRecord> attributesToChanges;
+    /**
+     * PERF: Compact form of direct to field changes, the indexes of the changed direct mappings in the descriptor's mappings.
+     * Change records are only built from these if required, see buildDirectChangeRecords().
+     */
+    protected transient BitSet directChanges;
+    /** PERF: The new and old values of the compact direct to field changes, in pairs, ordered by mapping index. */
+    protected transient Object[] directChangeValues;
     protected boolean shouldBeDeleted;
     protected Object id;
     protected transient Class classType;
@@ -179,6 +204,8 @@ public void clear(boolean clearKeys) {
         this.shouldBeDeleted = false;
         this.changes = null;
         this.attributesToChanges = null;
+        this.directChanges = null;
+        this.directChangeValues = null;
         this.deferredSet = null;
         if (clearKeys){
             this.setOldKey(null);
@@ -193,6 +220,8 @@ public void addChange(ChangeRecord changeRecord) {
         if (changeRecord == null) {
             return;
         }
+        // Compact changes were recorded before this change, build them first so they stay ahead of it.
+        buildDirectChangeRecords();
         String attributeName = changeRecord.getAttribute();
         Map attributeToChanges = getAttributesToChanges();
         List changes = getChanges();
@@ -206,7 +235,142 @@ public void addChange(ChangeRecord changeRecord) {
         dirtyUOWChangeSet();
 
         // now let's do some house keeping.
-        DatabaseMapping mapping = changeRecord.getMapping();
+        updateVersionFieldForChange(changeRecord.getMapping());
+    }
+
+    /**
+     * INTERNAL:
+     * PERF: Add the change to the direct mapping at the index in the descriptor's mappings,
+     * without building a change record.
+     * The change record is only built if the changes are accessed, the update row and the merge
+     * are built directly from the compact changes.
+     */
+    public void addDirectChange(int mappingIndex, Object newValue, Object oldValue) {
+        AbstractDirectMapping mapping = (AbstractDirectMapping)this.descriptor.getMappings().get(mappingIndex);
+        if ((this.attributesToChanges != null) && this.attributesToChanges.containsKey(mapping.getAttributeName())) {
+            // A record already exists for the attribute, so it must be replaced.
+            addChange(mapping.internalBuildChangeRecord(newValue, oldValue, this));
+            return;
+        }
+        if (this.directChanges == null) {
+            this.directChanges = new BitSet(this.descriptor.getMappings().size());
+            this.directChangeValues = new Object[8];
+        }
+        // Values are kept ordered by mapping index, not in the order the changes are added in.
+        int position = this.directChanges.get(0, mappingIndex).cardinality() * 2;
+        if (this.directChanges.get(mappingIndex)) {
+            this.directChangeValues[position] = newValue;
+            this.directChangeValues[position + 1] = oldValue;
+            return;
+        }
+        int size = this.directChanges.cardinality() * 2;
+        if (size == this.directChangeValues.length) {
+            this.directChangeValues = Arrays.copyOf(this.directChangeValues, size * 2);
+        }
+        if (position < size) {
+            System.arraycopy(this.directChangeValues, position, this.directChangeValues, position + 2, size - position);
+        }
+        this.directChanges.set(mappingIndex);
+        this.directChangeValues[position] = newValue;
+        this.directChangeValues[position + 1] = oldValue;
+        dirtyUOWChangeSet();
+        updateVersionFieldForChange(mapping);
+    }
+
+    /**
+     * INTERNAL:
+     * PERF: Add the change to the direct mapping without building a change record.
+     */
+    public void addDirectChange(AbstractDirectMapping mapping, Object newValue, Object oldValue) {
+        int mappingIndex = this.descriptor.getMappings().indexOf(mapping);
+        if (mappingIndex < 0) {
+            addChange(mapping.internalBuildChangeRecord(newValue, oldValue, this));
+        } else {
+            addDirectChange(mappingIndex, newValue, oldValue);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of changes, the built change records and the compact direct changes.
+     */
+    protected int getChangeCount() {
+        int count = (this.changes == null) ? 0 : this.changes.size();
+        if (this.directChanges != null) {
+            count = count + this.directChanges.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the change set has compact direct changes that have not been built into change records.
+     */
+    public boolean hasDirectChanges() {
+        return (this.directChanges != null) && !this.directChanges.isEmpty();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the indexes in the descriptor's mappings of the compact direct changes, or null.
+     * The new value of the n-th set index is at getDirectChangeValues()[n * 2], and the old value at [n * 2 + 1].
+     */
+    public BitSet getDirectChanges() {
+        return this.directChanges;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the new and old values of the compact direct changes, in pairs, ordered by mapping index.
+     */
+    public Object[] getDirectChangeValues() {
+        return this.directChangeValues;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the change records that have been built, without building records for the compact direct changes.
+     * This is used by callers that process the direct changes separately, or only require relationship changes.
+     */
+    public List<org.eclipse.persistence.sessions.changesets.ChangeRecord> getBuiltChangeRecords() {
+        if (this.changes == null) {
+            return Collections.emptyList();
+        }
+        return this.changes;
+    }
+
+    /**
+     * INTERNAL:
+     * Build the change records for the compact direct changes.
+     * This is done lazily when a consumer of the change records (events, cache coordination, merge of change sets) requires them.
+     * The records are added after the existing records, in the order of their mappings in the descriptor,
+     * which is not necessarily the order the changes were made in.
+     */
+    public void buildDirectChangeRecords() {
+        BitSet directChanges = this.directChanges;
+        if (directChanges == null) {
+            return;
+        }
+        Object[] values = this.directChangeValues;
+        this.directChanges = null;
+        this.directChangeValues = null;
+        Map attributeToChanges = getAttributesToChanges();
+        List changes = getChanges();
+        List<DatabaseMapping> mappings = this.descriptor.getMappings();
+        int position = 0;
+        for (int index = directChanges.nextSetBit(0); index >= 0; index = directChanges.nextSetBit(index + 1)) {
+            AbstractDirectMapping mapping = (AbstractDirectMapping)mappings.get(index);
+            ChangeRecord changeRecord = mapping.internalBuildChangeRecord(values[position], values[position + 1], this);
+            changes.add(changeRecord);
+            attributeToChanges.put(changeRecord.getAttribute(), changeRecord);
+            position = position + 2;
+        }
+    }
+
+    /**
+     * Mark the version field to be modified if the optimistic locking policy requires it for a change to the mapping.
+     */
+    protected void updateVersionFieldForChange(DatabaseMapping mapping) {
         OptimisticLockingPolicy olp = getDescriptor().getOptimisticLockingPolicy();
         if (olp != null){
             if ((olp.shouldUpdateVersionOnOwnedMappingChange() && mapping.isOwned()) || (olp.shouldUpdateVersionOnMappingChange())){
@@ -291,6 +455,7 @@ public int compareTo(ObjectChangeSet changeSet) {
      * stores the change records indexed by the attribute names
      */
     public Map getAttributesToChanges() {
+        buildDirectChangeRecords();
         if (this.attributesToChanges == null) {
             this.attributesToChanges = new HashMap();
         }
@@ -325,6 +490,7 @@ public List<String> getChangedAttributeNames() {
      */
     @Override
     public List<org.eclipse.persistence.sessions.changesets.ChangeRecord> getChanges() {
+        buildDirectChangeRecords();
         if (this.changes == null) {
             this.changes = new ArrayList<org.eclipse.persistence.sessions.changesets.ChangeRecord>();
         }
@@ -425,6 +591,7 @@ public Object getOldValue(AbstractSession session) {
         if (this.isNew) {
             return null;
         }
+        buildDirectChangeRecords();
         if (this.changes == null || this.changes.isEmpty()) {
             // object has not changed
             return this.cloneObject;
@@ -633,7 +800,7 @@ public boolean hasChanges() {
         // a change set must also be considered dirty if only the version number has been updated
         // and the version is not a mapped field.  This is required to propagate the change
         // set via cache sync. to avoid opt. lock exceptions on the remote servers.
-        return this.isNew || this.hasVersionChange || ((this.changes != null) && (!this.changes.isEmpty()));
+        return this.isNew || this.hasVersionChange || ((this.changes != null) && (!this.changes.isEmpty())) || hasDirectChanges();
     }
 
     /**
@@ -832,6 +999,8 @@ public void readCompleteChangeSet(java.io.ObjectInputStream stream) throws java.
         // bug 3526981 - avoid side effects of setter methods by directly assigning variables
         // still calling setOldKey to avoid duplicating the code in that method
         this.changes = (List)stream.readObject();
+        this.directChanges = null;
+        this.directChangeValues = null;
         this.oldKey = stream.readObject();
         this.newKey = stream.readObject();
         this.protectedForeignKeys = (AbstractRecord)stream.readObject();
@@ -888,6 +1057,8 @@ public void setId(Object id) {
      */
     public void setChanges(List changesList) {
         this.changes = changesList;
+        this.directChanges = null;
+        this.directChangeValues = null;
         updateUOWChangeSet();
     }
 
@@ -1121,6 +1292,7 @@ public void writeIdentityInformation(java.io.ObjectOutputStream stream) throws j
      */
     public void writeCompleteChangeSet(java.io.ObjectOutputStream stream) throws java.io.IOException {
         writeIdentityInformation(stream);
+        buildDirectChangeRecords();
         stream.writeObject(this.changes);
         stream.writeObject(this.oldKey);
         stream.writeObject(this.newKey);
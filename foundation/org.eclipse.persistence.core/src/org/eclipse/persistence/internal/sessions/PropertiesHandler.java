@@ -217,6 +217,7 @@ protected static abstract class Prop {
             addProp(new BooleanProp(PersistenceUnitProperties.PERSISTENCE_CONTEXT_CLOSE_ON_COMMIT, "false"));
             addProp(new BooleanProp(PersistenceUnitProperties.PERSISTENCE_CONTEXT_PERSIST_ON_COMMIT, "true"));
             addProp(new BooleanProp(PersistenceUnitProperties.PERSISTENCE_CONTEXT_COMMIT_WITHOUT_PERSIST_RULES, "false"));
+            addProp(new BooleanProp(PersistenceUnitProperties.PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH, "false"));
             addProp(new BooleanProp(PersistenceUnitProperties.VALIDATE_EXISTENCE, "false"));
             addProp(new BooleanProp(PersistenceUnitProperties.ORDER_UPDATES, "true"));
             addProp(new CommitOrderProp());
@@ -237,6 +238,7 @@ protected static abstract class Prop {
             addProp(new BooleanProp(PersistenceUnitProperties.USE_LOCAL_TIMESTAMP, "false"));
             addProp(new BooleanProp(PersistenceUnitProperties.SQL_CALL_DEFERRAL, "true"));
             addProp(new BooleanProp(PersistenceUnitProperties.NAMING_INTO_INDEXED, "false"));
+            addProp(new BooleanProp(PersistenceUnitProperties.BATCH_AUTO_DEFAULT, "false"));
         }
 
         Prop(String name) {
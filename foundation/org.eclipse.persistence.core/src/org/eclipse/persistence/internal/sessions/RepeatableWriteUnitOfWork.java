@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -25,15 +25,27 @@
 import org.eclipse.persistence.config.ReferenceMode;
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.descriptors.changetracking.AttributeChangeTrackingPolicy;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
+import org.eclipse.persistence.internal.expressions.ExpressionIterator;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.helper.DatabaseTable;
 import org.eclipse.persistence.internal.helper.IdentityHashSet;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
+import org.eclipse.persistence.internal.queries.ReportItem;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.OptimisticLockException;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectBuildingQuery;
+import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.queries.ReportQuery;
 import org.eclipse.persistence.sessions.IdentityMapAccessor;
 
 
@@ -85,6 +97,25 @@ public class RepeatableWriteUnitOfWork extends UnitOfWorkImpl {
      */
     protected boolean discoverUnregisteredNewObjectsWithoutPersist;
 
+    /**
+     * Allows a flush done only for query consistency to be skipped if none of the pending writes
+     * affect the tables read by the query. The changes remain in the unit of work and are written by
+     * the next flush or commit, so an object changed between several queries is only written once.
+     */
+    protected boolean shouldDeferQueryFlush;
+
+    /** The descriptors of the objects registered as new or changed since the last flush, if deferring query flushes. */
+    protected transient Set<ClassDescriptor> pendingWriteDescriptors;
+
+    /** The tables the objects registered as new or changed since the last flush may write to. */
+    protected transient Set<DatabaseTable> pendingWriteTables;
+
+    /** Set if a new object using identity sequencing was registered since the last flush. */
+    protected boolean hasPendingIdentityInserts;
+
+    /** Lazily initialized tables that may be written by objects using deferred change detection. */
+    protected transient Set<DatabaseTable> deferredChangeDetectionTables;
+
     public RepeatableWriteUnitOfWork() {
     }
 
@@ -110,6 +141,21 @@ public void setDiscoverUnregisteredNewObjectsWithoutPersist(boolean discoverUnre
         this.discoverUnregisteredNewObjectsWithoutPersist = discoverUnregisteredNewObjectsWithoutPersist;
     }
 
+    /**
+     * Return if a flush done only for query consistency is skipped when the query's tables have no pending writes.
+     */
+    public boolean shouldDeferQueryFlush() {
+        return shouldDeferQueryFlush;
+    }
+
+    /**
+     * Set if a flush done only for query consistency is skipped when the query's tables have no pending writes.
+     * The deferred changes are collapsed into a single write per object by the next flush or commit.
+     */
+    public void setShouldDeferQueryFlush(boolean shouldDeferQueryFlush) {
+        this.shouldDeferQueryFlush = shouldDeferQueryFlush;
+    }
+
     /**
      * INTERNAL:
      * This method will clear all registered objects from this UnitOfWork.
@@ -117,6 +163,7 @@ public void setDiscoverUnregisteredNewObjectsWithoutPersist(boolean discoverUnre
      */
     public void clear(boolean shouldClearCache) {
         super.clear(shouldClearCache);
+        clearPendingWrites();
         if (this.cumulativeUOWChangeSet != null) {
             if (this.flushClearCache == FlushClearCache.Drop) {
                 this.cumulativeUOWChangeSet = null;
@@ -428,6 +475,8 @@ public void writeChanges() {
         }
         log(SessionLog.FINER, SessionLog.TRANSACTION, "begin_unit_of_work_flush");
 
+        // Changes registered from now on are written by this flush, or recorded again.
+        clearPendingWrites();
         // 256277: stop any nested flushing - there should only be one level
         this.isWithinFlush = true; // set before calculateChanges as a PrePersist callback may contain a query that requires a pre flush()
 
@@ -476,6 +525,225 @@ public void writeChanges() {
         log(SessionLog.FINER, SessionLog.TRANSACTION, "resume_unit_of_work");
     }
 
+    /**
+     * INTERNAL:
+     * Flush the changes before the execution of the query so the query sees them in the database.
+     * If deferring query flushes, and the platform supports it, the flush is skipped
+     * if the query only reads tables without pending writes, otherwise (or if the tables of the query cannot be determined) all changes are written.
+     */
+    public void writeChangesForQuery(DatabaseQuery query) {
+        if (this.shouldDeferQueryFlush && (query != null) && !this.isWithinFlush
+                && getPlatform(query.getReferenceClass()).supportsDeferredQueryFlush()) {
+            Set<DatabaseTable> queryTables = getTablesReadByQuery(query);
+            if ((queryTables != null) && !hasPendingWritesForTables(queryTables)) {
+                log(SessionLog.FINER, SessionLog.TRANSACTION, "unit_of_work_flush_deferred", query.getReferenceClassName());
+                return;
+            }
+        }
+        writeChanges();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the tables the query reads, or null if they cannot be determined.
+     * Only expression read queries that access direct attributes of their reference class are supported,
+     * anything that may join to other tables (relationships, joining, batching, sub-selects, unions) returns null.
+     */
+    protected Set<DatabaseTable> getTablesReadByQuery(DatabaseQuery query) {
+        if (!query.isObjectLevelReadQuery() || !query.isExpressionQuery()) {
+            return null;
+        }
+        ObjectLevelReadQuery readQuery = (ObjectLevelReadQuery)query;
+        if (readQuery.hasJoining() || readQuery.hasBatchReadAttributes() || readQuery.hasUnionExpressions()
+                || readQuery.hasNonFetchJoinedAttributeExpressions() || readQuery.hasAdditionalFields()
+                || (readQuery.isReadAllQuery() && ((ReadAllQuery)readQuery).hasHierarchicalExpressions())) {
+            return null;
+        }
+        final Class referenceClass = readQuery.getReferenceClass();
+        final ClassDescriptor descriptor = (readQuery.getDescriptor() != null) ? readQuery.getDescriptor() : getDescriptor(referenceClass);
+        if ((descriptor == null) || descriptor.isDescriptorTypeAggregate()) {
+            return null;
+        }
+        List<Expression> expressions = new ArrayList<Expression>();
+        if (readQuery.getSelectionCriteria() != null) {
+            expressions.add(readQuery.getSelectionCriteria());
+        }
+        if (readQuery.hasOrderByExpressions()) {
+            expressions.addAll(readQuery.getOrderByExpressions());
+        }
+        if (readQuery.isReportQuery()) {
+            ReportQuery reportQuery = (ReportQuery)readQuery;
+            for (ReportItem item : reportQuery.getItems()) {
+                if (item.getAttributeExpression() != null) {
+                    expressions.add(item.getAttributeExpression());
+                }
+            }
+            if (reportQuery.hasGroupByExpressions()) {
+                expressions.addAll(reportQuery.getGroupByExpressions());
+            }
+            if (reportQuery.getHavingExpression() != null) {
+                expressions.add(reportQuery.getHavingExpression());
+            }
+        }
+        ExpressionIterator iterator = new ExpressionIterator() {
+            @Override
+            public void iterate(Expression each) {
+                if (each.isExpressionBuilder()) {
+                    Class queryClass = ((ExpressionBuilder)each).getQueryClass();
+                    if ((queryClass != null) && (queryClass != referenceClass)) {
+                        setResult(Boolean.FALSE);
+                    }
+                } else if (each.isQueryKeyExpression() && !each.isTreatExpression() && !each.isMapEntryExpression()
+                        && ((QueryKeyExpression)each).getBaseExpression().isExpressionBuilder()) {
+                    DatabaseMapping mapping = descriptor.getObjectBuilder().getMappingForAttributeName(((QueryKeyExpression)each).getName());
+                    if ((mapping == null) || !mapping.isAbstractDirectMapping()) {
+                        setResult(Boolean.FALSE);
+                    }
+                } else if (each.isDataExpression() || each.isSubSelectExpression()) {
+                    setResult(Boolean.FALSE);
+                }
+            }
+        };
+        iterator.setResult(Boolean.TRUE);
+        for (Expression expression : expressions) {
+            iterator.iterateOn(expression);
+        }
+        if (iterator.getResult() != Boolean.TRUE) {
+            return null;
+        }
+        Set<DatabaseTable> tables = new HashSet<DatabaseTable>(descriptor.getTables());
+        if (descriptor.hasInheritance()) {
+            for (ClassDescriptor childDescriptor : descriptor.getInheritancePolicy().getAllChildDescriptors()) {
+                tables.addAll(childDescriptor.getTables());
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if any of the changes pending in the unit of work may be written to one of the tables.
+     * The pending writes are tracked as new objects are registered and change tracked objects are changed,
+     * objects using deferred change detection are only compared on flush, so the tables of their classes
+     * are considered to have pending writes as soon as the unit of work has clones.
+     * Deletes, modify all queries, private owned removals, and new objects with identity sequencing
+     * are always considered to require a flush.
+     */
+    protected boolean hasPendingWritesForTables(Set<DatabaseTable> tables) {
+        if (hasDeletedObjects() || hasModifyAllQueries() || hasDeferredModifyAllQueries() || hasPrivateOwnedObjects()
+                || ((this.deletedPrivateOwnedObjects != null) && !this.deletedPrivateOwnedObjects.isEmpty())) {
+            return true;
+        }
+        if (this.hasPendingIdentityInserts) {
+            return true;
+        }
+        if ((this.pendingWriteTables != null) && !Collections.disjoint(this.pendingWriteTables, tables)) {
+            return true;
+        }
+        return hasCloneMapping() && !Collections.disjoint(getDeferredChangeDetectionTables(), tables);
+    }
+
+    /**
+     * INTERNAL:
+     * Record that the objects of the descriptor have pending writes, if deferring query flushes.
+     */
+    protected void addPendingWrites(ClassDescriptor descriptor) {
+        if (this.pendingWriteDescriptors == null) {
+            this.pendingWriteDescriptors = new HashSet<ClassDescriptor>();
+            this.pendingWriteTables = new HashSet<DatabaseTable>();
+        }
+        if (this.pendingWriteDescriptors.add(descriptor)) {
+            addTablesWrittenBy(descriptor, this.pendingWriteTables, new HashSet<ClassDescriptor>());
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Forget the pending writes, called when the changes are written or cleared.
+     */
+    protected void clearPendingWrites() {
+        this.pendingWriteDescriptors = null;
+        this.pendingWriteTables = null;
+        this.hasPendingIdentityInserts = false;
+    }
+
+    /**
+     * INTERNAL:
+     * Add the tables a change to an object of the descriptor may write to.
+     * This includes the tables of the relationships' targets, as their foreign keys may be updated,
+     * and of the targets reached through cascade persist, as new targets are inserted on flush.
+     */
+    protected void addTablesWrittenBy(ClassDescriptor descriptor, Set<DatabaseTable> tables, Set<ClassDescriptor> visited) {
+        if (!visited.add(descriptor)) {
+            return;
+        }
+        tables.addAll(descriptor.getTables());
+        if (descriptor.hasInheritance()) {
+            for (ClassDescriptor childDescriptor : descriptor.getInheritancePolicy().getAllChildDescriptors()) {
+                tables.addAll(childDescriptor.getTables());
+            }
+        }
+        for (DatabaseMapping mapping : descriptor.getObjectBuilder().getRelationshipMappings()) {
+            ClassDescriptor referenceDescriptor = mapping.getReferenceDescriptor();
+            if (referenceDescriptor == null) {
+                continue;
+            }
+            if (mapping.isAggregateMapping() || this.discoverUnregisteredNewObjectsWithoutPersist
+                    || (mapping.isForeignReferenceMapping() && ((ForeignReferenceMapping)mapping).isCascadePersist())) {
+                addTablesWrittenBy(referenceDescriptor, tables, visited);
+            } else {
+                tables.addAll(referenceDescriptor.getTables());
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the tables that may be written by the objects using deferred change detection,
+     * their changes are not known until they are compared on flush.
+     */
+    protected Set<DatabaseTable> getDeferredChangeDetectionTables() {
+        if (this.deferredChangeDetectionTables == null) {
+            Set<DatabaseTable> tables = new HashSet<DatabaseTable>();
+            Set<ClassDescriptor> visited = new HashSet<ClassDescriptor>();
+            for (ClassDescriptor descriptor : getDescriptors().values()) {
+                if (!descriptor.isDescriptorTypeAggregate() && !descriptor.getObjectChangePolicy().isAttributeChangeTrackingPolicy()) {
+                    addTablesWrittenBy(descriptor, tables, visited);
+                }
+            }
+            this.deferredChangeDetectionTables = tables;
+        }
+        return this.deferredChangeDetectionTables;
+    }
+
+    /**
+     * INTERNAL:
+     * Record the change of a change tracked object as a pending write, if deferring query flushes.
+     */
+    @Override
+    public void addToChangeTrackedHardList(Object obj) {
+        super.addToChangeTrackedHardList(obj);
+        if (this.shouldDeferQueryFlush) {
+            addPendingWrites(getDescriptor(obj));
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Record the new object as a pending write, if deferring query flushes.
+     */
+    @Override
+    protected void registerNewObjectClone(Object clone, Object original, ClassDescriptor descriptor) {
+        if (this.shouldDeferQueryFlush) {
+            addPendingWrites(descriptor);
+            // The id of an identity object is only known once it is inserted.
+            if (descriptor.usesSequenceNumbers() && (descriptor.getSequence() != null) && descriptor.getSequence().shouldAcquireValueAfterInsert()) {
+                this.hasPendingIdentityInserts = true;
+            }
+        }
+        super.registerNewObjectClone(clone, original, descriptor);
+    }
+
     /**
      * ADVANCED:
      * Register the new object with the unit of work.
@@ -556,6 +824,7 @@ protected void rollbackTransaction(boolean intendedToCommitTransaction) throws D
      */
     public void synchronizeAndResume() {
         this.cumulativeUOWChangeSet = null;
+        clearPendingWrites();
         this.unregisteredDeletedObjectsCloneToBackupAndOriginal = null;
         super.synchronizeAndResume();
     }
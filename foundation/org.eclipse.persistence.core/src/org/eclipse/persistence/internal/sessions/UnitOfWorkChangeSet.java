@@ -345,7 +345,7 @@ public UnitOfWorkChangeSet buildCacheCoordinationMergeChangeSet(AbstractSession
                 writableChangeSets.put(changeSet, changeSet);
             }
             // bug 530681: ensureChanges(AbstractSession, ObjectChangeSet, ClassDescriptor) from ObjectChangeSet was moved here
-            if (changeSet.isNew() && ((changeSet.changes == null) || changeSet.changes.isEmpty()
+            if (changeSet.isNew() && (((changeSet.changes == null) || changeSet.changes.isEmpty()) && !changeSet.hasDirectChanges()
                     || syncType != ClassDescriptor.SEND_NEW_OBJECTS_WITH_CHANGES)) {
                 ensureChanges(session, changeSet, descriptor);
             }
@@ -74,6 +74,8 @@
 import org.eclipse.persistence.internal.descriptors.DescriptorIterator.CascadeCondition;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
 import org.eclipse.persistence.internal.descriptors.PersistenceEntity;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
+import org.eclipse.persistence.internal.expressions.ConformEvaluator;
 import org.eclipse.persistence.internal.helper.ConcurrencyManager;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.IdentityHashSet;
@@ -1992,6 +1994,16 @@ public org.eclipse.persistence.sessions.UnitOfWork getActiveUnitOfWork() {
      * Used for in-memory querying.
      */
     public Vector getAllFromNewObjects(Expression selectionCriteria, Class theClass, AbstractRecord translationRow, int valueHolderPolicy) {
+        return getAllFromNewObjects(selectionCriteria, theClass, translationRow, valueHolderPolicy, null);
+    }
+
+    /**
+     * INTERNAL:
+     * Return any new objects matching the expression.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     * Used for in-memory querying.
+     */
+    public Vector getAllFromNewObjects(Expression selectionCriteria, Class theClass, AbstractRecord translationRow, int valueHolderPolicy, CompiledExpression compiledExpression) {
         // PERF: Avoid initialization of new objects if none.
         if (!hasNewObjects()) {
             return new Vector(1);
@@ -2001,15 +2013,26 @@ public Vector getAllFromNewObjects(Expression selectionCriteria, Class theClass,
         ClassDescriptor descriptor = getDescriptor(theClass);
         boolean readSubclassesOrNoInheritance = (!descriptor.hasInheritance() || descriptor.getInheritancePolicy().shouldReadSubclasses());
 
+        // PERF: Compile the selection criteria once instead of interpreting it for each object, if enabled.
+        ConformEvaluator evaluator = null;
+        if (selectionCriteria != null) {
+            if (compiledExpression != null) {
+                evaluator = compiledExpression.buildEvaluator(selectionCriteria, this, translationRow);
+            } else if (ConformEvaluator.shouldCompile(this)) {
+                evaluator = ConformEvaluator.compile(selectionCriteria, this, translationRow);
+            } else {
+                evaluator = ConformEvaluator.interpret(selectionCriteria);
+            }
+        }
         Vector objects = new Vector();
         for (Iterator newObjectsEnum = getNewObjectsCloneToOriginal().keySet().iterator();
                  newObjectsEnum.hasNext();) {
             Object object = newObjectsEnum.next();
             // bug 327900
             if ((object.getClass() == theClass) || (readSubclassesOrNoInheritance && (theClass.isInstance(object)))) {
-                if (selectionCriteria == null) {
+                if (evaluator == null) {
                     objects.addElement(object);
-                } else if (selectionCriteria.doesConform(object, this, translationRow, valueHolderPolicy)) {
+                } else if (evaluator.conforms(object, this, translationRow, valueHolderPolicy)) {
                     objects.addElement(object);
                 }
             }
@@ -2552,6 +2575,16 @@ public Object getObjectFromNewObjects(Class theClass, Object selectionKey) {
      * Used for in-memory querying.
      */
     public Object getObjectFromNewObjects(Expression selectionCriteria, Class theClass, AbstractRecord translationRow, int valueHolderPolicy) {
+        return getObjectFromNewObjects(selectionCriteria, theClass, translationRow, valueHolderPolicy, null);
+    }
+
+    /**
+     * INTERNAL:
+     * Return any new object matching the expression.
+     * The selection criteria are conformed by the compiled expression of the query, if not null.
+     * Used for in-memory querying.
+     */
+    public Object getObjectFromNewObjects(Expression selectionCriteria, Class theClass, AbstractRecord translationRow, int valueHolderPolicy, CompiledExpression compiledExpression) {
         // PERF: Avoid initialization of new objects if none.
         if (!hasNewObjects()) {
             return null;
@@ -2561,13 +2594,18 @@ public Object getObjectFromNewObjects(Expression selectionCriteria, Class theCla
         ClassDescriptor descriptor = getDescriptor(theClass);
         boolean readSubclassesOrNoInheritance = (!descriptor.hasInheritance() || descriptor.getInheritancePolicy().shouldReadSubclasses());
 
+        ConformEvaluator evaluator = null;
+        if ((selectionCriteria != null) && (compiledExpression != null)) {
+            evaluator = compiledExpression.buildEvaluator(selectionCriteria, this, translationRow);
+        }
         for (Object object : getNewObjectsCloneToOriginal().keySet()) {
             // bug 327900
             if ((object.getClass() == theClass) || (readSubclassesOrNoInheritance && (theClass.isInstance(object)))) {
                 if (selectionCriteria == null) {
                     return object;
                 }
-                if (selectionCriteria.doesConform(object, this, translationRow, valueHolderPolicy)) {
+                if ((evaluator == null) ? selectionCriteria.doesConform(object, this, translationRow, valueHolderPolicy)
+                        : evaluator.conforms(object, this, translationRow, valueHolderPolicy)) {
                     return object;
                 }
             }
@@ -4822,7 +4860,7 @@ public Map<Object, Object> scanForConformingInstances(Expression selectionCriter
                 // assume objects that have the compared relationship
                 // untriggered do not conform as they have not been changed.
                 // bug 2637555
-                fromCache = getIdentityMapAccessor().getAllFromIdentityMap(selectionCriteria, referenceClass, arguments, policy);
+                fromCache = getIdentityMapAccessorInstance().getAllFromIdentityMap(selectionCriteria, referenceClass, arguments, policy, true, query.getCompiledExpression());
                 for (Object object : fromCache) {
                     if (!isObjectDeleted(object)) {
                         indexedInterimResult.put(object, object);
@@ -4832,7 +4870,7 @@ public Map<Object, Object> scanForConformingInstances(Expression selectionCriter
 
             // Add any new objects that conform to the query.
             List newObjects = null;
-            newObjects = getAllFromNewObjects(selectionCriteria, referenceClass, arguments, policy);
+            newObjects = getAllFromNewObjects(selectionCriteria, referenceClass, arguments, policy, query.getCompiledExpression());
             for (Object object : newObjects) {
                 if (!isObjectDeleted(object)) {
                     indexedInterimResult.put(object, object);
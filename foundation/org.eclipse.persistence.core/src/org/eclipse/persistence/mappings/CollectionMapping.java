@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1998, 2018 IBM Corporation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -1874,6 +1874,7 @@ public void postInitialize(AbstractSession session) {
         if (this.referenceDescriptor != null && this.mustDeleteReferenceObjectsOneByOne == null) {
             this.mustDeleteReferenceObjectsOneByOne = this.referenceDescriptor.hasDependencyOnParts()
                     || this.referenceDescriptor.usesOptimisticLocking()
+                    || this.referenceDescriptor.getEventManager().hasDeleteEventListeners()
                     || (this.referenceDescriptor.hasInheritance() && this.referenceDescriptor.getInheritancePolicy().shouldReadSubclasses())
                     || this.referenceDescriptor.hasMultipleTables() || this.containerPolicy.propagatesEventsToCollection()
                     || this.referenceDescriptor.hasRelationshipsExceptBackpointer(descriptor);
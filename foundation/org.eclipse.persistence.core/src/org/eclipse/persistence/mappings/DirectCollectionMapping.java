@@ -259,10 +259,8 @@ public ReadQuery prepareNestedBatchQuery(ObjectLevelReadQuery query) {
         Expression batchSelectionCriteria = null;
 
         // Build the batch query, either using joining, or an exist sub-select.
-        BatchFetchType batchType = query.getBatchFetchPolicy().getType();
-        if (this.batchFetchType != null) {
-            batchType = this.batchFetchType;
-        }
+        // The mapping's type overrides the query's, and the type chosen for this execution is used for ADAPTIVE.
+        BatchFetchType batchType = query.getBatchFetchPolicy().getType(this);
         if (batchType == BatchFetchType.EXISTS) {
             // Using a EXISTS sub-select (WHERE EXIST (<original-query> AND <mapping-join> AND <mapping-join>)
             ExpressionBuilder subBuilder = new ExpressionBuilder(descriptorToUse.getJavaClass());
@@ -1018,7 +1016,7 @@ protected Expression buildBatchCriteria(ExpressionBuilder builder, ObjectLevelRe
             }
             return query.getSession().getPlatform().buildBatchCriteriaForComplexId(builder, fields);
         } else {
-            return query.getSession().getPlatform().buildBatchCriteria(builder, table.getField(this.referenceKeyFields.get(0)));
+            return query.getSession().getPlatform().buildBatchFetchCriteria(builder, table.getField(this.referenceKeyFields.get(0)));
         }
     }
 
@@ -3149,7 +3147,7 @@ public Object valueFromRow(AbstractRecord row, JoinedAttributeManager joinManage
             return getAttributeValueFromObject(row.getSopObject());
         }
         if (sourceQuery.isObjectLevelReadQuery() && (((ObjectLevelReadQuery)sourceQuery).isAttributeBatchRead(this.descriptor, getAttributeName())
-                || (sourceQuery.isReadAllQuery() && shouldUseBatchReading()))) {
+                || (sourceQuery.isReadAllQuery() && (shouldUseBatchReading() || shouldAutoBatchFetch((ObjectLevelReadQuery)sourceQuery))))) {
             return batchedValueFromRow(row, (ObjectLevelReadQuery)sourceQuery, cacheKey);
         }
 
@@ -3194,6 +3192,9 @@ public Object valueFromRow(AbstractRecord row, JoinedAttributeManager joinManage
             statement.normalize(sourceQuery.getSession(), null);
             targetQuery.setSQLStatement(statement);
         }
+        if ((session.getProject().getLazyLoadThreshold() > 0) && this.indirectionPolicy.usesIndirection()) {
+            targetQuery = prepareLazyLoadDetection(targetQuery, sourceQuery, session, row);
+        }
 
         return getIndirectionPolicy().valueFromQuery(targetQuery, row, sourceQuery.getSession());
     }
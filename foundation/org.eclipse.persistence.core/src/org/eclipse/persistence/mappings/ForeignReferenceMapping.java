@@ -68,8 +68,11 @@
 import org.eclipse.persistence.internal.indirection.IndirectionPolicy;
 import org.eclipse.persistence.internal.indirection.NoIndirectionPolicy;
 import org.eclipse.persistence.internal.indirection.WeavedObjectBasicIndirectionPolicy;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.queries.AttributeItem;
+import org.eclipse.persistence.internal.queries.BatchFetchStatistics;
 import org.eclipse.persistence.internal.queries.JoinedAttributeManager;
+import org.eclipse.persistence.internal.queries.LazyLoadDetector;
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.security.PrivilegedClassForName;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
@@ -93,6 +96,7 @@
 import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.ReportQuery;
 import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
 import org.eclipse.persistence.sessions.remote.DistributedSession;
 
 /**
@@ -125,6 +129,9 @@ public abstract class ForeignReferenceMapping extends DatabaseMapping {
      */
     protected BatchFetchType batchFetchType;
 
+    /** Statistics of the batch queries, used by adaptive batch fetching to choose the batch fetch type. */
+    protected transient BatchFetchStatistics batchFetchStatistics;
+
     /** Implements indirection behavior */
     protected IndirectionPolicy indirectionPolicy;
 
@@ -262,14 +269,29 @@ public void setPartitioningPolicyName(String partitioningPolicyName) {
     protected Object batchedValueFromRow(AbstractRecord row, ObjectLevelReadQuery query, CacheKey parentCacheKey) {
         ReadQuery batchQuery = (ReadQuery)query.getProperty(this);
         if (batchQuery == null) {
-            if (query.hasBatchReadAttributes()) {
-                Map<DatabaseMapping, ReadQuery> queries = query.getBatchFetchPolicy().getMappingQueries();
+            BatchFetchPolicy policy = query.getBatchFetchPolicy();
+            Map<DatabaseMapping, ReadQuery> adaptiveQueries = null;
+            if (policy.isADAPTIVE(this)) {
+                BatchFetchType type = chooseAdaptiveBatchFetchType(query);
+                // The JOIN batch query is the one prepared with the query.
+                if (type != BatchFetchType.JOIN) {
+                    adaptiveQueries = policy.getAdaptiveMappingQueries(type);
+                    batchQuery = adaptiveQueries.get(this);
+                }
+            }
+            if ((adaptiveQueries == null) && query.hasBatchReadAttributes()) {
+                Map<DatabaseMapping, ReadQuery> queries = policy.getMappingQueries();
                 if (queries != null) {
                     batchQuery = queries.get(this);
                 }
             }
             if (batchQuery == null) {
                 batchQuery = prepareNestedBatchQuery(query);
+                if (adaptiveQueries != null) {
+                    // Share the batch query of the chosen type with the next executions.
+                    adaptiveQueries.put(this, batchQuery);
+                    batchQuery = (ReadQuery)batchQuery.clone();
+                }
                 batchQuery.setIsExecutionClone(true);
             } else {
                 batchQuery = (ReadQuery)batchQuery.clone();
@@ -280,6 +302,55 @@ protected Object batchedValueFromRow(AbstractRecord row, ObjectLevelReadQuery qu
         return this.indirectionPolicy.valueFromBatchQuery(batchQuery, row, query, parentCacheKey);
     }
 
+    /**
+     * INTERNAL:
+     * Choose the type of batch fetching to use for this execution of the query,
+     * from the number of source rows and the times of the previous batch queries of this mapping.
+     * IN can only be chosen if the source rows are available, i.e. not for cursors.
+     * The choice and the number of source rows are reported to the session profiler.
+     */
+    protected BatchFetchType chooseAdaptiveBatchFetchType(ObjectLevelReadQuery query) {
+        BatchFetchPolicy policy = query.getBatchFetchPolicy();
+        int sourceRows = -1;
+        if (policy.getDataResults() != null) {
+            sourceRows = policy.getDataResults(this).size();
+        }
+        BatchFetchType type = getBatchFetchStatistics().chooseType(sourceRows, policy.getSize());
+        policy.setAdaptiveType(this, type);
+        AbstractSession session = query.getSession();
+        session.incrementProfile(BatchFetchStatistics.getProfileCounter(type), query);
+        if (sourceRows >= 0) {
+            session.updateProfile(SessionProfiler.BatchFetchSourceRows + ":" + getBatchFetchProfileName(), Integer.valueOf(sourceRows));
+        }
+        return type;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the name used to report the adaptive batch fetching of this mapping to the session profiler.
+     */
+    protected String getBatchFetchProfileName() {
+        return Helper.getShortClassName(getDescriptor().getJavaClassName()) + "." + getAttributeName();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the statistics of the batch queries of this mapping, used by adaptive batch fetching.
+     */
+    public BatchFetchStatistics getBatchFetchStatistics() {
+        BatchFetchStatistics statistics = this.batchFetchStatistics;
+        if (statistics == null) {
+            synchronized (this) {
+                statistics = this.batchFetchStatistics;
+                if (statistics == null) {
+                    statistics = new BatchFetchStatistics();
+                    this.batchFetchStatistics = statistics;
+                }
+            }
+        }
+        return statistics;
+    }
+
     /**
      * INTERNAL:
      * Clone the attribute from the clone and assign it to the backup.
@@ -553,7 +624,7 @@ public Object extractResultFromBatchQuery(ReadQuery batchQuery, CacheKey parentC
                 if (result == Helper.NULL_VALUE) {
                     return null;
                 // If IN may not have that batch yet, or it may have been null.
-                } else if ((result != null) || (!originalPolicy.isIN())) {
+                } else if ((result != null) || (!originalPolicy.isIN(this))) {
                     return result;
                 }
             }
@@ -563,7 +634,7 @@ public Object extractResultFromBatchQuery(ReadQuery batchQuery, CacheKey parentC
                 translationRow = new DatabaseRecord();
             }
             // Execute query and index resulting object sets by key.
-            if (originalPolicy.isIN()) {
+            if (originalPolicy.isIN(this)) {
                 // Need to extract all foreign key values from all parent rows for IN parameter.
                 List<AbstractRecord> parentRows = originalPolicy.getDataResults(this);
                 // Execute queries by batch if too many rows.
@@ -636,7 +707,12 @@ public Object extractResultFromBatchQuery(ReadQuery batchQuery, CacheKey parentC
                 }
                 originalPolicy.setDataResults(this, remainingParentRows);
                 translationRow = translationRow.clone();
-                translationRow.put(QUERY_BATCH_PARAMETER, foreignKeyValues);
+                Object batchParameter = foreignKeyValues;
+                if (session.getDatasourcePlatform() instanceof DatabasePlatform) {
+                    // The platform may bind the foreign key values as an array.
+                    batchParameter = ((DatabasePlatform)session.getDatasourcePlatform()).buildBatchFetchParameter(foreignKeyValues);
+                }
+                translationRow.put(QUERY_BATCH_PARAMETER, batchParameter);
                 // Register each id as null, in case it has no relationship.
                 for (Object foreignKey : foreignKeys) {
                     batchedObjects.put(foreignKey, Helper.NULL_VALUE);
@@ -644,7 +720,18 @@ public Object extractResultFromBatchQuery(ReadQuery batchQuery, CacheKey parentC
             } else if (batchQuery.isReadAllQuery() && ((ReadAllQuery)batchQuery).getBatchFetchPolicy().isIN()) {
                 throw QueryException.originalQueryMustUseBatchIN(this, originalQuery);
             }
-            executeBatchQuery(batchQuery, parentCacheKey, batchedObjects, session, translationRow);
+            BatchFetchType adaptiveType = originalPolicy.getAdaptiveType(this);
+            if (adaptiveType == null) {
+                executeBatchQuery(batchQuery, parentCacheKey, batchedObjects, session, translationRow);
+            } else {
+                // Record the time of the batch query to choose the type of the next executions.
+                long start = System.nanoTime();
+                executeBatchQuery(batchQuery, parentCacheKey, batchedObjects, session, translationRow);
+                BatchFetchStatistics statistics = getBatchFetchStatistics();
+                statistics.recordTime(adaptiveType, System.nanoTime() - start);
+                session.updateProfile(SessionProfiler.BatchFetch + ":" + getBatchFetchProfileName() + ":" + adaptiveType,
+                        Long.valueOf(statistics.getAverageTime(adaptiveType)));
+            }
             batchQuery.setSession(null);
         }
         result = batchedObjects.get(sourceKey);
@@ -861,10 +948,8 @@ public ReadQuery prepareNestedBatchQuery(ObjectLevelReadQuery query) {
 
         Expression batchSelectionCriteria = null;
         // Build the batch query, either using joining, or an exist sub-select.
-        BatchFetchType batchType = query.getBatchFetchPolicy().getType();
-        if (this.batchFetchType != null) {
-            batchType = this.batchFetchType;
-        }
+        // The mapping's type overrides the query's, and the type chosen for this execution is used for ADAPTIVE.
+        BatchFetchType batchType = query.getBatchFetchPolicy().getType(this);
         if (batchType == BatchFetchType.EXISTS) {
             // Using a EXISTS sub-select (WHERE EXIST (<original-query> AND <mapping-join> AND <mapping-join>)
             ExpressionBuilder subBuilder = new ExpressionBuilder(descriptorToUse.getJavaClass());
@@ -2179,13 +2264,28 @@ public Object valueFromRow(AbstractRecord row, JoinedAttributeManager joinManage
         // If the query uses batch reading, return a special value holder
         // or retrieve the object from the query property.
         if (sourceQuery.isObjectLevelReadQuery() && (((ObjectLevelReadQuery)sourceQuery).isAttributeBatchRead(this.descriptor, getAttributeName())
-                || (sourceQuery.isReadAllQuery() && shouldUseBatchReading()))) {
+                || (sourceQuery.isReadAllQuery() && (shouldUseBatchReading() || shouldAutoBatchFetch((ObjectLevelReadQuery)sourceQuery))))) {
             return batchedValueFromRow(row, (ObjectLevelReadQuery)sourceQuery, cacheKey);
         } else {
             return valueFromRowInternal(row, joinManager, sourceQuery, executionSession, false);
         }
     }
 
+    /**
+     * INTERNAL:
+     * Return if the relationship should be batch fetched for all the objects of the query when first accessed,
+     * as the query uses auto batch fetching.
+     * Only lazy relationships are auto batched, and IN batch fetching requires the rows of the query,
+     * which are not available for cursors.
+     */
+    protected boolean shouldAutoBatchFetch(ObjectLevelReadQuery sourceQuery) {
+        if (!sourceQuery.isAutoBatchFetched() || !this.indirectionPolicy.usesIndirection()) {
+            return false;
+        }
+        BatchFetchPolicy policy = sourceQuery.getBatchFetchPolicy();
+        return !policy.isIN() || (policy.getDataResults() != null);
+    }
+
     /**
      * INTERNAL:
      * Indicates whether valueFromRow should call valueFromRowInternalWithJoin (true)
@@ -2340,10 +2440,39 @@ protected Object valueFromRowInternal(AbstractRecord row, JoinedAttributeManager
             }
         }
         targetQuery = prepareHistoricalQuery(targetQuery, sourceQuery, executionSession);
+        if ((executionSession.getProject().getLazyLoadThreshold() > 0) && this.indirectionPolicy.usesIndirection()) {
+            targetQuery = prepareLazyLoadDetection(targetQuery, sourceQuery, executionSession, row);
+        }
 
         return this.indirectionPolicy.valueFromQuery(targetQuery, row, executionSession);
     }
 
+    /**
+     * INTERNAL:
+     * Return the query used to lazy load the relationship of an object of the source query,
+     * that counts the lazy loads triggered by the objects of the source query execution.
+     * The selection query is cloned once per source query execution, the clone is shared by its objects.
+     */
+    protected ReadQuery prepareLazyLoadDetection(ReadQuery targetQuery, ObjectBuildingQuery sourceQuery, AbstractSession executionSession, AbstractRecord row) {
+        LazyLoadDetector detector = LazyLoadDetector.getDetector(sourceQuery, executionSession.getProject().getLazyLoadThreshold());
+        if (targetQuery != this.selectionQuery) {
+            // Already cloned for this object.
+            targetQuery.setProperty(LazyLoadDetector.class, detector);
+            return targetQuery;
+        }
+        ReadQuery detectedQuery = detector.getQuery(this);
+        if (detectedQuery == null) {
+            // perf: bug#4751950, first prepare the query before cloning.
+            if (targetQuery.shouldPrepare()) {
+                targetQuery.checkPrepare(executionSession, row);
+            }
+            detectedQuery = (ReadQuery)targetQuery.clone();
+            detectedQuery.setProperty(LazyLoadDetector.class, detector);
+            detector.setQuery(this, detectedQuery);
+        }
+        return detectedQuery;
+    }
+
     /**
      * INTERNAL:
      * Indicates whether the source query's pessimistic lock scope scope should be extended in the target query.
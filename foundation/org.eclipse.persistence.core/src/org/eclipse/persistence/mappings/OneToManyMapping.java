@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -337,7 +337,10 @@ protected void deleteAll(DeleteObjectQuery query, AbstractSession session) throw
         if (usesIndirection()) {
            if (!this.indirectionPolicy.objectIsInstantiated(attribute)) {
                // An empty Vector indicates to DeleteAllQuery that no objects should be removed from cache
-               ((DeleteAllQuery)this.deleteAllQuery).executeDeleteAll(session.getSessionForClass(this.referenceClass), query.getTranslationRow(), new Vector(0));
+               AbstractSession executionSession = session.getSessionForClass(this.referenceClass);
+               ((DeleteAllQuery)this.deleteAllQuery).executeDeleteAll(executionSession, query.getTranslationRow(), new Vector(0));
+               // The targets were never read, so invalidate any cached ones by their foreign key instead.
+               invalidateReferenceObjectsInSharedCache(query.getTranslationRow(), executionSession);
                return;
            }
         }
@@ -349,6 +352,26 @@ protected void deleteAll(DeleteObjectQuery query, AbstractSession session) throw
         ((DeleteAllQuery)this.deleteAllQuery).executeDeleteAll(session.getSessionForClass(getReferenceClass()), query.getTranslationRow(), this.containerPolicy.vectorFor(referenceObjects, session));
      }
 
+    /**
+     * INTERNAL:
+     * Invalidate the target objects of the source row in the shared cache.
+     * Used after the targets have been deleted by a single statement without being read,
+     * the deleted rows are matched in-memory using the mapping's selection criteria,
+     * if the criteria cannot be conformed (or custom SQL is used) the reference class is invalidated.
+     * In a unit of work the invalidation is deferred to the merge on commit, as for a ModifyAllQuery,
+     * so the shared cache is left untouched if the transaction is rolled back.
+     */
+    protected void invalidateReferenceObjectsInSharedCache(AbstractRecord translationRow, AbstractSession session) {
+        DeleteAllQuery invalidationQuery = (DeleteAllQuery)this.deleteAllQuery.clone();
+        invalidationQuery.setTranslationRow(translationRow);
+        if (session.isUnitOfWork()) {
+            ((UnitOfWorkImpl)session).storeModifyAllQuery(invalidationQuery);
+        } else {
+            invalidationQuery.setSession(session);
+            invalidationQuery.mergeChangesIntoSharedCache();
+        }
+    }
+
     /**
      *    This method will make sure that all the records privately owned by this mapping are
      * actually removed. If such records are found then those are all read and removed one
@@ -1183,7 +1206,7 @@ protected Expression buildBatchCriteria(ExpressionBuilder builder, ObjectLevelRe
             }
             return query.getSession().getPlatform().buildBatchCriteriaForComplexId(builder, fields);
         } else {
-            return query.getSession().getPlatform().buildBatchCriteria(builder, builder.getField(this.targetForeignKeyFields.get(0)));
+            return query.getSession().getPlatform().buildBatchFetchCriteria(builder, builder.getField(this.targetForeignKeyFields.get(0)));
         }
     }
 
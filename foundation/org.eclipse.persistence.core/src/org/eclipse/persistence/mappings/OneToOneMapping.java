@@ -790,7 +790,7 @@ protected Expression buildBatchCriteria(ExpressionBuilder builder, ObjectLevelRe
                 }
                 return query.getSession().getPlatform().buildBatchCriteriaForComplexId(builder, fields);
             } else {
-                return query.getSession().getPlatform().buildBatchCriteria(builder, builder.getField(this.sourceToTargetKeyFields.values().iterator().next()));
+                return query.getSession().getPlatform().buildBatchFetchCriteria(builder, builder.getField(this.sourceToTargetKeyFields.values().iterator().next()));
             }
         } else {
             return this.mechanism.buildBatchCriteria(builder, query);
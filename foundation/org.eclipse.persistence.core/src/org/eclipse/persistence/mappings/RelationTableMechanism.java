@@ -346,7 +346,7 @@ protected Expression buildBatchCriteria(ExpressionBuilder builder, ObjectLevelRe
             }
             return criteria.and(query.getSession().getPlatform().buildBatchCriteriaForComplexId(builder, fields));
         } else {
-            return criteria.and(query.getSession().getPlatform().buildBatchCriteria(builder, linkTable.getField(this.sourceRelationKeyFields.get(0))));
+            return criteria.and(query.getSession().getPlatform().buildBatchFetchCriteria(builder, linkTable.getField(this.sourceRelationKeyFields.get(0))));
         }
     }
 
@@ -379,6 +379,22 @@ public ChangeRecord compareForChange(Object clone, Object backUp, ObjectChangeSe
         return null;
     }
 
+    /**
+     * INTERNAL:
+     * PERF: Compare the clone and backup clone values of an existing object and record the change
+     * in the owner's compact direct changes, avoiding building a change record.
+     * The mapping index is the index of this mapping in the owner's descriptor's mappings.
+     */
+    public void compareForDirectChange(Object clone, Object backUp, ObjectChangeSet owner, int mappingIndex, AbstractSession session) {
+        if (!compareObjects(backUp, clone, session)) {
+            Object oldValue = null;
+            if (backUp != null && clone != backUp) {
+                oldValue = getAttributeValueFromObject(backUp);
+            }
+            owner.addDirectChange(mappingIndex, getAttributeValueFromObject(clone), oldValue);
+        }
+    }
+
     /**
      * INTERNAL:
      * For mappings used as MapKeys in MappedKeyContainerPolicy, Delete the passed object if necessary.
@@ -1005,7 +1021,16 @@ public void iterateOnMapKey(DescriptorIterator iterator, Object element){
      */
     @Override
     public void mergeChangesIntoObject(Object target, ChangeRecord changeRecord, Object source, MergeManager mergeManager, AbstractSession targetSession) {
-        setAttributeValueInObject(target, buildCloneValue(((DirectToFieldChangeRecord)changeRecord).getNewValue(), mergeManager.getSession()));
+        mergeNewValueIntoObject(target, ((DirectToFieldChangeRecord)changeRecord).getNewValue(), mergeManager);
+    }
+
+    /**
+     * INTERNAL:
+     * Merge the new value of a change into the target object.
+     * This is used for both change records and compact direct changes.
+     */
+    public void mergeNewValueIntoObject(Object target, Object newValue, MergeManager mergeManager) {
+        setAttributeValueInObject(target, buildCloneValue(newValue, mergeManager.getSession()));
     }
 
     /**
@@ -1244,17 +1269,26 @@ public Object valueFromResultSet(ResultSet resultSet, ObjectBuildingQuery query,
      */
     @Override
     public void writeFromObjectIntoRowWithChangeRecord(ChangeRecord changeRecord, AbstractRecord row, AbstractSession session, WriteType writeType) {
+        writeNewValueIntoRow(((DirectToFieldChangeRecord)changeRecord).getNewValue(), (ObjectChangeSet)changeRecord.getOwner(), row, session, writeType);
+    }
+
+    /**
+     * INTERNAL:
+     * Set the new value of a change in the respective field of the row.
+     * This is used for both change records and compact direct changes.
+     * Validation preventing primary key updates is implemented here.
+     */
+    public void writeNewValueIntoRow(Object attributeValue, ObjectChangeSet owner, AbstractRecord row, AbstractSession session, WriteType writeType) {
         if (isReadOnly() ||
            (writeType.equals(WriteType.INSERT) && ! isInsertable()) ||
            (writeType.equals(WriteType.UPDATE) && ! isUpdatable())) {
            return;
         }
 
-        if (this.isPrimaryKeyMapping && !changeRecord.getOwner().isNew()) {
-           throw ValidationException.primaryKeyUpdateDisallowed(changeRecord.getOwner().getClassName(), changeRecord.getAttribute());
+        if (this.isPrimaryKeyMapping && !owner.isNew()) {
+           throw ValidationException.primaryKeyUpdateDisallowed(owner.getClassName(), getAttributeName());
         }
 
-        Object attributeValue = ((DirectToFieldChangeRecord)changeRecord).getNewValue();
         Object fieldValue = getFieldValue(attributeValue, session);
 
         // EL Bug 319759 - if a field is null, then the update call cache should not be used
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -17,6 +17,8 @@
 import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 
+import javax.activation.DataHandler;
+
 import org.eclipse.persistence.exceptions.XMLMarshalException;
 import org.eclipse.persistence.internal.oxm.Constants;
 import org.eclipse.persistence.internal.oxm.NamespaceResolver;
@@ -171,6 +173,15 @@ public void characters(String value) {
         complexType = false;
     }
 
+    /**
+     * INTERNAL:
+     */
+    public void base64Characters(DataHandler dataHandler) {
+        super.base64Characters(dataHandler);
+        isLastEventText = true;
+        complexType = false;
+    }
+
     /**
      * INTERNAL:
      */
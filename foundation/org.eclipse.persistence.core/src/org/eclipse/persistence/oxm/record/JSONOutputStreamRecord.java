@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.oxm.record;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.core.helper.CoreClassConstants;
+import org.eclipse.persistence.internal.oxm.CharacterEscapeHandler;
+import org.eclipse.persistence.internal.oxm.Constants;
+import org.eclipse.persistence.internal.oxm.XMLMarshaller;
+import org.eclipse.persistence.internal.oxm.XPathFragment;
+
+/**
+ * <p>Use this type of MarshalRecord when the marshal target is an OutputStream and the
+ * JSON should not be formatted with carriage returns or indenting.  This type is only
+ * used if the encoding of the OutputStream is UTF-8.</p>
+ * <p>The JSON is encoded directly into a byte buffer: the keys are written from the
+ * UTF-8 bytes cached by their XPathFragments, the ASCII characters of the values are
+ * copied without encoder, and integral and boolean values are written without
+ * being converted to Strings.</p>
+ * <p><code>
+ * XMLContext xmlContext = new XMLContext("session-name");<br>
+ * XMLMarshaller xmlMarshaller = xmlContext.createMarshaller();<br>
+ * JSONOutputStreamRecord jsonRecord = new JSONOutputStreamRecord(myOutputStream);<br>
+ * xmlMarshaller.marshal(myObject, jsonRecord);<br>
+ * </code></p>
+ * <p>If the marshal(OutputStream) and setMediaType(MediaType.APPLICATION_JSON) and
+ * setFormattedOutput(false) method is called on XMLMarshaller and the encoding is UTF-8,
+ * then the OutputStream is automatically wrapped in a JSONOutputStreamRecord.</p>
+ *
+ * @see org.eclipse.persistence.oxm.XMLMarshaller
+ */
+public class JSONOutputStreamRecord extends JSONWriterRecord {
+
+    private Utf8Output output;
+
+    public JSONOutputStreamRecord(OutputStream outputStream) {
+        super();
+        output = new Utf8Output(outputStream);
+        writer = output;
+    }
+
+    public JSONOutputStreamRecord(OutputStream outputStream, String callbackName) {
+        this(outputStream);
+        setCallbackName(callbackName);
+    }
+
+    /**
+     * Return the OutputStream that the object will be marshalled to.
+     *
+     * @return The marshal target.
+     */
+    public OutputStream getOutputStream() {
+        return output.getOutputStream();
+    }
+
+    @Override
+    protected void writeKey(XPathFragment xPathFragment) throws IOException {
+        if ((xPathFragment.isAttribute() && attributePrefix != null) || (isNamespaceAware() && xPathFragment.getNamespaceURI() != null)) {
+            super.writeKey(xPathFragment);
+            return;
+        }
+        byte[] keyBytes = xPathFragment.getJsonKeyBytes();
+        if (keyBytes != null) {
+            addPositionalNodes(xPathFragment, namespaceResolver);
+            output.write(keyBytes);
+        }
+    }
+
+    @Override
+    protected void writeValue(String value, boolean isAttribute) {
+        if (characterEscapeHandler != null) {
+            super.writeValue(value, isAttribute);
+            return;
+        }
+        try {
+            output.writeEscaped(value);
+        } catch (IOException e) {
+            throw XMLMarshalException.marshalException(e);
+        }
+    }
+
+    @Override
+    public void characters(QName schemaType, Object value, String mimeType, boolean isCDATA, boolean isAttribute) {
+        if (mimeType == null && !isCDATA && (schemaType == null || isNumericOrBooleanType(schemaType))) {
+            Class valueClass = value.getClass();
+            if (valueClass == CoreClassConstants.INTEGER || valueClass == CoreClassConstants.LONG
+                    || valueClass == CoreClassConstants.SHORT || valueClass == CoreClassConstants.BYTE) {
+                writeLiteral(((Number) value).longValue(), null);
+                return;
+            } else if (valueClass == CoreClassConstants.BOOLEAN) {
+                writeLiteral(0, ((Boolean) value) ? Utf8Output.TRUE : Utf8Output.FALSE);
+                return;
+            }
+        }
+        super.characters(schemaType, value, mimeType, isCDATA, isAttribute);
+    }
+
+    /**
+     * Write an unquoted value, the bytes or else the long value, as characters(String, false, boolean) does.
+     */
+    private void writeLiteral(long longValue, byte[] bytes) {
+        boolean textWrapperOpened = false;
+        if (!charactersAllowed && textWrapperFragment != null) {
+            openStartElement(textWrapperFragment, namespaceResolver);
+            textWrapperOpened = true;
+        }
+        level.setNeedToOpenComplex(false);
+        try {
+            if (bytes != null) {
+                output.write(bytes);
+            } else {
+                output.writeLong(longValue);
+            }
+        } catch (IOException e) {
+            throw XMLMarshalException.marshalException(e);
+        }
+        if (textWrapperOpened) {
+            endElement(textWrapperFragment, namespaceResolver);
+        }
+        charactersAllowed = false;
+    }
+
+    /**
+     * Output of UTF-8 bytes into a buffer reused for the whole document.
+     * The values are escaped as by {@link JSONWriterRecord#writeValue(String, boolean)}
+     * with a UTF-8 encoder: control characters and surrogates are written as unicode escapes.
+     */
+    private static final class Utf8Output implements Output {
+
+        static final byte[] TRUE = "true".getBytes(Constants.DEFAULT_CHARSET);
+        static final byte[] FALSE = "false".getBytes(Constants.DEFAULT_CHARSET);
+        private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(Constants.DEFAULT_CHARSET);
+        private static final byte[] HEX = "0123456789ABCDEF".getBytes(Constants.DEFAULT_CHARSET);
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int bufferIndex;
+        private final OutputStream outputStream;
+        private XMLMarshaller marshaller;
+        private byte[] attributePrefix;
+        private CharacterEscapeHandler characterEscapeHandler;
+        private char namespaceSeparator;
+        private byte[] cr;
+        /** The high surrogate written by write(char), until its low surrogate. */
+        private char highSurrogate;
+
+        Utf8Output(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+            outputStream.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            outputStream.write(buffer, 0, bufferIndex);
+            bufferIndex = 0;
+        }
+
+        /**
+         * Make room in the buffer for the number of bytes, at most BUFFER_SIZE.
+         */
+        private void ensureCapacity(int length) throws IOException {
+            if (bufferIndex + length > BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+
+        @Override
+        public XMLMarshaller getMarshaller() {
+            return marshaller;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public Writer getWriter() {
+            return null;
+        }
+
+        @Override
+        public void setMarshaller(XMLMarshaller marshaller) {
+            this.marshaller = marshaller;
+            String attributePrefix = marshaller.getAttributePrefix();
+            if (null != attributePrefix) {
+                this.attributePrefix = attributePrefix.getBytes(Constants.DEFAULT_CHARSET);
+            }
+            this.characterEscapeHandler = marshaller.getCharacterEscapeHandler();
+            this.namespaceSeparator = marshaller.getNamespaceSeparator();
+            this.cr = Constants.cr().getBytes(Constants.DEFAULT_CHARSET);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            int length = bytes.length;
+            if (length > BUFFER_SIZE) {
+                flushBuffer();
+                outputStream.write(bytes);
+                return;
+            }
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, bufferIndex, length);
+            bufferIndex += length;
+        }
+
+        @Override
+        public void write(char character) throws IOException {
+            ensureCapacity(4);
+            if (character < 0x80) {
+                buffer[bufferIndex++] = (byte) character;
+            } else if (Character.isHighSurrogate(character)) {
+                highSurrogate = character;
+            } else if (Character.isLowSurrogate(character) && highSurrogate != 0) {
+                writeCodePoint(Character.toCodePoint(highSurrogate, character));
+                highSurrogate = 0;
+            } else {
+                writeMultiByte(character);
+            }
+        }
+
+        @Override
+        public void write(String text) throws IOException {
+            for (int index = 0, length = text.length(); index < length; index++) {
+                char character = text.charAt(index);
+                if (character < 0x80) {
+                    if (bufferIndex == BUFFER_SIZE) {
+                        flushBuffer();
+                    }
+                    buffer[bufferIndex++] = (byte) character;
+                } else {
+                    ensureCapacity(4);
+                    if (Character.isHighSurrogate(character) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+                        writeCodePoint(Character.toCodePoint(character, text.charAt(++index)));
+                    } else {
+                        writeMultiByte(character);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Write the value escaped for a JSON string.
+         */
+        void writeEscaped(String value) throws IOException {
+            for (int index = 0, length = value.length(); index < length; index++) {
+                char character = value.charAt(index);
+                if (character < 0x80) {
+                    if (character >= 0x20 && character != '"' && character != '\\' && character != 0x7F) {
+                        if (bufferIndex == BUFFER_SIZE) {
+                            flushBuffer();
+                        }
+                        buffer[bufferIndex++] = (byte) character;
+                        continue;
+                    }
+                    ensureCapacity(6);
+                    switch (character) {
+                        case '"':
+                            writeEscape('"');
+                            break;
+                        case '\\':
+                            writeEscape('\\');
+                            break;
+                        case '\b':
+                            writeEscape('b');
+                            break;
+                        case '\f':
+                            writeEscape('f');
+                            break;
+                        case '\n':
+                            writeEscape('n');
+                            break;
+                        case '\r':
+                            writeEscape('r');
+                            break;
+                        case '\t':
+                            writeEscape('t');
+                            break;
+                        default:
+                            writeUnicodeEscape(character);
+                    }
+                } else {
+                    ensureCapacity(6);
+                    if (character <= 0x9F || Character.isSurrogate(character)) {
+                        writeUnicodeEscape(character);
+                    } else {
+                        writeMultiByte(character);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Write the decimal digits of the value.
+         */
+        void writeLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                write(MIN_LONG);
+                return;
+            }
+            ensureCapacity(20);
+            if (value < 0) {
+                buffer[bufferIndex++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long remainder = value / 10; remainder != 0; remainder /= 10) {
+                digits++;
+            }
+            int index = bufferIndex + digits;
+            bufferIndex = index;
+            do {
+                buffer[--index] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value != 0);
+        }
+
+        private void writeEscape(char character) {
+            buffer[bufferIndex++] = '\\';
+            buffer[bufferIndex++] = (byte) character;
+        }
+
+        private void writeUnicodeEscape(char character) {
+            buffer[bufferIndex++] = '\\';
+            buffer[bufferIndex++] = 'u';
+            buffer[bufferIndex++] = HEX[(character >> 12) & 0xF];
+            buffer[bufferIndex++] = HEX[(character >> 8) & 0xF];
+            buffer[bufferIndex++] = HEX[(character >> 4) & 0xF];
+            buffer[bufferIndex++] = HEX[character & 0xF];
+        }
+
+        /**
+         * Write a character of the basic multilingual plane from 0x80, with room for 3 bytes.
+         */
+        private void writeMultiByte(char character) {
+            if (character < 0x800) {
+                buffer[bufferIndex++] = (byte) (0xC0 | (character >> 6));
+            } else {
+                buffer[bufferIndex++] = (byte) (0xE0 | (character >> 12));
+                buffer[bufferIndex++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+            }
+            buffer[bufferIndex++] = (byte) (0x80 | (character & 0x3F));
+        }
+
+        /**
+         * Write a supplementary code point, with room for 4 bytes.
+         */
+        private void writeCodePoint(int codePoint) {
+            buffer[bufferIndex++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[bufferIndex++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[bufferIndex++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[bufferIndex++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+
+        @Override
+        public void writeAttributePrefix() throws IOException {
+            write(attributePrefix);
+        }
+
+        @Override
+        public void writeCR() throws IOException {
+            write(cr);
+        }
+
+        @Override
+        public void writeLocalName(XPathFragment xPathFragment) throws IOException {
+            write(xPathFragment.getLocalNameBytes());
+        }
+
+        @Override
+        public void writeNamespaceSeparator() throws IOException {
+            write(namespaceSeparator);
+        }
+
+        @Override
+        public void writeResultFromCharEscapeHandler(String value, boolean isAttribute) {
+            try {
+                CharArrayWriter out = new CharArrayWriter();
+                characterEscapeHandler.escape(value.toCharArray(), 0, value.length(), isAttribute, out);
+                write(out.toString());
+            } catch (IOException e) {
+                throw XMLMarshalException.marshalException(e);
+            }
+        }
+
+    }
+
+}
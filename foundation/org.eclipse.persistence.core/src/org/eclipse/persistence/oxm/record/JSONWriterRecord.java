@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -511,7 +511,7 @@ public void characters(QName schemaType, Object value, String mimeType, boolean
     }
 
 
-    private boolean isNumericOrBooleanType(QName schemaType) {
+    protected boolean isNumericOrBooleanType(QName schemaType) {
         if (schemaType == null) {
             return false;
         } else if (schemaType.equals(Constants.BOOLEAN_QNAME)
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -24,12 +24,15 @@
 import java.util.Map.Entry;
 import java.util.Set;
 
+import javax.activation.DataHandler;
+
 import org.eclipse.persistence.exceptions.XMLMarshalException;
 import org.eclipse.persistence.internal.oxm.CharacterEscapeHandler;
 import org.eclipse.persistence.internal.oxm.Constants;
 import org.eclipse.persistence.internal.oxm.NamespaceResolver;
 import org.eclipse.persistence.internal.oxm.XMLMarshaller;
 import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.conversion.Base64;
 import org.eclipse.persistence.internal.oxm.record.ExtendedContentHandler;
 import org.eclipse.persistence.internal.oxm.record.XMLFragmentReader;
 import org.w3c.dom.Attr;
@@ -243,6 +246,29 @@ public void characters(String value) {
         writeValue(value, true);
     }
 
+    /**
+     * INTERNAL:
+     * Write the base64 encoding of the content of the DataHandler as text,
+     * straight to the OutputStream, without building the bytes or the
+     * characters of the whole value.
+     * @since 2.7.8
+     */
+    public void base64Characters(DataHandler dataHandler) {
+        if (isStartElementOpen) {
+            isStartElementOpen = false;
+            outputStreamWrite(CLOSE_ELEMENT);
+        }
+        try {
+            outputStream.write(buffer, 0, bufferIndex);
+            bufferIndex = 0;
+            OutputStream base64Stream = Base64.base64EncodingStream(outputStream);
+            dataHandler.writeTo(base64Stream);
+            base64Stream.close();
+        } catch (IOException e) {
+            throw XMLMarshalException.marshalException(e);
+        }
+    }
+
     /**
      * INTERNAL:
      */
@@ -90,6 +90,11 @@ public void comment(char[] ch, int start, int length) throws SAXException {
         unmarshalRecord.comment(ch, start, length);
     }
 
+    @Override
+    public void attribute(String namespaceURI, String localName, String value) throws SAXException {
+        unmarshalRecord.attribute(namespaceURI, localName, value);
+    }
+
     @Override
     public Root createRoot() {
          return unmarshalRecord.createRoot();
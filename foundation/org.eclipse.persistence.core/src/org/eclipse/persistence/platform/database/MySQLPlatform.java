@@ -593,6 +593,15 @@ public boolean supportsGlobalTempTables() {
         return true;
     }
 
+    /**
+     * INTERNAL:
+     * MySQL supports row value comparisons, used by keyset pagination.
+     */
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
     /**
      * INTERNAL:
      * Indicates whether locking clause could be selectively applied only to some tables in a ReadQuery.
@@ -29,6 +29,8 @@
 import org.eclipse.persistence.mappings.structures.ObjectRelationalDatabaseField;
 import org.eclipse.persistence.queries.StoredProcedureCall;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
 import org.eclipse.persistence.expressions.ExpressionOperator;
 import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
 import org.eclipse.persistence.internal.databaseaccess.DatasourceCall;
@@ -37,6 +39,7 @@
 import org.eclipse.persistence.internal.expressions.RelationExpression;
 import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
 import org.eclipse.persistence.internal.helper.*;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
 import org.eclipse.persistence.queries.SQLCall;
 import org.eclipse.persistence.queries.ValueReadQuery;
 import org.eclipse.persistence.tools.schemaframework.FieldDefinition;
@@ -158,6 +161,24 @@ public static ExpressionOperator regexpOperator() {
         return result;
     }
 
+    /**
+     * INTERNAL:
+     * Create the = ANY() operator.
+     * Used to compare a field to the elements of an array parameter for IN batch fetching.
+     */
+    public static ExpressionOperator equalAnyOperator() {
+        ExpressionOperator result = new ExpressionOperator();
+        result.setType(ExpressionOperator.FunctionOperator);
+        Vector v = NonSynchronizedVector.newInstance(3);
+        v.add("(");
+        v.add(" = ANY(");
+        v.add("))");
+        result.printsAs(v);
+        result.bePrefix();
+        result.setNodeClass(ClassConstants.FunctionExpression_Class);
+        return result;
+    }
+
     /**
      * INTERNAL: Postgres to_number has two arguments, as fix format argument.
      */
@@ -307,6 +328,50 @@ public void printFieldIdentityClause(Writer writer) throws ValidationException {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Postgres supports binding the foreign key values of IN batch fetching as an array, using "= ANY(?)".
+     */
+    @Override
+    public boolean supportsArrayBindingForBatchFetch() {
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Postgres supports row value comparisons, used by keyset pagination.
+     */
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Compare the field to the elements of the array parameter if array binding is used for batch fetching.
+     */
+    @Override
+    public Expression buildBatchFetchCriteria(ExpressionBuilder builder, Expression field) {
+        if (shouldUseArrayBindingForBatchFetch()) {
+            return equalAnyOperator().expressionFor(field, builder.getParameter(ForeignReferenceMapping.QUERY_BATCH_PARAMETER));
+        }
+        return super.buildBatchFetchCriteria(builder, field);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the Postgres type name of the elements of an array of values of the class.
+     */
+    @Override
+    public String getArrayElementTypeName(Class javaClass) {
+        if (javaClass == java.util.UUID.class) {
+            return "uuid";
+        } else if ((javaClass == Double.class) || (javaClass == Float.class)) {
+            return "float8";
+        }
+        return super.getArrayElementTypeName(javaClass);
+    }
+
     @Override
     protected Hashtable buildFieldTypes() {
         Hashtable fieldTypeMapping = new Hashtable();
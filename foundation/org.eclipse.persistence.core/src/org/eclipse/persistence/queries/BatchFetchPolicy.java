@@ -19,6 +19,8 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.descriptors.ClassDescriptor;
@@ -26,6 +28,7 @@
 import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
 
 /**
  * BatchFetchPolicy defines batch reading configuration.
@@ -42,6 +45,8 @@ public class BatchFetchPolicy implements Serializable, Cloneable {
     protected List<Expression> attributeExpressions;
     /** Define the mapping to be batch fetched (from mapping settings). */
     protected List<DatabaseMapping> batchedMappings;
+    /** Define if the lazy relationships that are not batched are batch fetched when first accessed. */
+    protected boolean isAutoBatch;
     /** PERF: Used internally to store the prepared mapping queries. */
     protected transient Map<DatabaseMapping, ReadQuery> mappingQueries;
     /** PERF: Cache the local batch read attribute names. */
@@ -50,6 +55,10 @@ public class BatchFetchPolicy implements Serializable, Cloneable {
     protected transient Map<Object, List<AbstractRecord>> dataResults;
     /** Stores temporary map of batched objects (this queries results). */
     protected transient Map<Object, Object> batchObjects;
+    /** Stores the batch fetch type chosen for this execution per adaptive batched mapping. */
+    protected transient Map<DatabaseMapping, BatchFetchType> adaptiveTypes;
+    /** PERF: Used internally to store the prepared mapping queries per batch fetch type chosen by adaptive batch fetching. */
+    protected transient ConcurrentMap<BatchFetchType, Map<DatabaseMapping, ReadQuery>> adaptiveMappingQueries;
 
     public BatchFetchPolicy() {
         this.type = BatchFetchType.JOIN;
@@ -69,6 +78,9 @@ public BatchFetchPolicy clone() {
         if (clone.dataResults != null) {
             clone.dataResults.put(clone, clone.dataResults.get(this));
         }
+        if (clone.adaptiveTypes != null) {
+            clone.adaptiveTypes = new HashMap<DatabaseMapping, BatchFetchType>(clone.adaptiveTypes);
+        }
         return clone;
     }
 
@@ -94,14 +106,124 @@ public boolean isEXISTS() {
     }
 
     /**
-     * Return the batch fetch type, (JOIN, IN, EXISTS).
+     * Return if using the ADAPTIVE fetch type.
+     */
+    public boolean isADAPTIVE() {
+        return this.type == BatchFetchType.ADAPTIVE;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the mapping uses the ADAPTIVE fetch type,
+     * either set on the mapping, or on this policy if the mapping does not define its type.
+     */
+    public boolean isADAPTIVE(ForeignReferenceMapping mapping) {
+        BatchFetchType mappingType = mapping.getBatchFetchType();
+        if (mappingType == null) {
+            return isADAPTIVE();
+        }
+        return mappingType == BatchFetchType.ADAPTIVE;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the mapping's batch query uses IN in this execution.
+     * This is the type chosen for the mapping if it uses adaptive batch fetching,
+     * otherwise if this policy uses IN.
+     */
+    public boolean isIN(ForeignReferenceMapping mapping) {
+        if (this.adaptiveTypes != null) {
+            BatchFetchType adaptiveType = this.adaptiveTypes.get(mapping);
+            if (adaptiveType != null) {
+                return adaptiveType == BatchFetchType.IN;
+            }
+        }
+        return isIN();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the type of batch fetching to use to build the mapping's batch query.
+     * The mapping's type overrides this policy's type.
+     * If the type is ADAPTIVE, the type chosen for this execution is returned,
+     * or JOIN if none has been chosen yet (when the query is prepared).
+     */
+    public BatchFetchType getType(ForeignReferenceMapping mapping) {
+        BatchFetchType mappingType = mapping.getBatchFetchType();
+        if (mappingType == null) {
+            mappingType = this.type;
+        }
+        if (mappingType == BatchFetchType.ADAPTIVE) {
+            BatchFetchType adaptiveType = getAdaptiveType(mapping);
+            if (adaptiveType == null) {
+                return BatchFetchType.JOIN;
+            }
+            return adaptiveType;
+        }
+        return mappingType;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the batch fetch type chosen for the adaptive batched mapping in this execution,
+     * or null if not yet chosen.
+     */
+    public BatchFetchType getAdaptiveType(DatabaseMapping mapping) {
+        if (this.adaptiveTypes == null) {
+            return null;
+        }
+        return this.adaptiveTypes.get(mapping);
+    }
+
+    /**
+     * INTERNAL:
+     * Set the batch fetch type chosen for the adaptive batched mapping in this execution.
+     */
+    public void setAdaptiveType(DatabaseMapping mapping, BatchFetchType type) {
+        if (this.adaptiveTypes == null) {
+            this.adaptiveTypes = new HashMap<DatabaseMapping, BatchFetchType>();
+        }
+        this.adaptiveTypes.put(mapping, type);
+    }
+
+    /**
+     * INTERNAL:
+     * PERF: Return the prepared mapping queries for the batch fetch type chosen by adaptive batch fetching.
+     * The queries are shared by the executions of the query, so the maps must be concurrent.
+     */
+    public Map<DatabaseMapping, ReadQuery> getAdaptiveMappingQueries(BatchFetchType type) {
+        if (this.adaptiveMappingQueries == null) {
+            this.adaptiveMappingQueries = new ConcurrentHashMap<BatchFetchType, Map<DatabaseMapping, ReadQuery>>(4);
+        }
+        Map<DatabaseMapping, ReadQuery> queries = this.adaptiveMappingQueries.get(type);
+        if (queries == null) {
+            queries = new ConcurrentHashMap<DatabaseMapping, ReadQuery>();
+            Map<DatabaseMapping, ReadQuery> existing = this.adaptiveMappingQueries.putIfAbsent(type, queries);
+            if (existing != null) {
+                queries = existing;
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * INTERNAL:
+     * PERF: Set the prepared mapping queries per batch fetch type chosen by adaptive batch fetching.
+     * This is set when the query is prepared, so its executions share the mapping queries.
+     */
+    public void setAdaptiveMappingQueries(ConcurrentMap<BatchFetchType, Map<DatabaseMapping, ReadQuery>> adaptiveMappingQueries) {
+        this.adaptiveMappingQueries = adaptiveMappingQueries;
+    }
+
+    /**
+     * Return the batch fetch type, (JOIN, IN, EXISTS, ADAPTIVE).
      */
     public BatchFetchType getType() {
         return type;
     }
 
     /**
-     * Set the batch fetch type, (JOIN, IN, EXISTS).
+     * Set the batch fetch type, (JOIN, IN, EXISTS, ADAPTIVE).
      */
     public void setType(BatchFetchType type) {
         this.type = type;
@@ -193,6 +315,24 @@ public void setBatchedMappings(List<DatabaseMapping> batchedMappings) {
         this.batchedMappings = batchedMappings;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the lazy relationships that are not batched are batch fetched when first accessed.
+     * The first access to the relationship of one of the query's objects then loads it
+     * for all the query's objects.
+     */
+    public boolean isAutoBatch() {
+        return isAutoBatch;
+    }
+
+    /**
+     * INTERNAL:
+     * Set if the lazy relationships that are not batched are batch fetched when first accessed.
+     */
+    public void setIsAutoBatch(boolean isAutoBatch) {
+        this.isAutoBatch = isAutoBatch;
+    }
+
     /**
      * INTERNAL:
      * Return if the attribute is specified for batch reading.
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.queries;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <b>Purpose</b>: The result of a ReportQuery stored by column.<p>
+ *
+ * <b>Description</b>: Instead of a ReportQueryResult per row, the values of each report item are stored in one array.
+ * The values of a column of Long, Integer, Short or Byte values are stored in a <code>long[]</code>,
+ * of Double or Float values in a <code>double[]</code>, and of other values in an <code>Object[]</code>.
+ * The item names are shared by all the rows.
+ * <p>
+ * The result is also a List of the rows as Object arrays, built on access,
+ * so it can be returned from JPA <code>getResultList()</code>.
+ * <p>
+ * Only the memory retained by the result is reduced. The rows are first read from the JDBC result set
+ * into database records, as for other report queries, and the columns are built from them,
+ * so the peak memory of the query execution still includes all the rows of the result.
+ * Results too large to be read at once should be paged, or read with a cursor.
+ *
+ * <b>Responsibilities</b>:<ul>
+ * <li> Store the report item values by column, in primitive arrays for numeric values.
+ * <li> Provide access to the values by column, by row and column, or by row.
+ * </ul>
+ *
+ * @see ReportQuery#returnColumnar()
+ * @see org.eclipse.persistence.config.ResultType#Columnar
+ */
+public class ColumnarReportQueryResult extends AbstractList<Object[]> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = -5719093558578267527L;
+
+    /** The storage of the columns. */
+    protected static final byte NULL_COLUMN = 0;
+    protected static final byte LONG_COLUMN = 1;
+    protected static final byte DOUBLE_COLUMN = 2;
+    protected static final byte OBJECT_COLUMN = 3;
+
+    /** Item names, shared by all rows. */
+    protected List<String> names;
+
+    /** The number of rows. */
+    protected int size;
+
+    /** The values of each column, a long[], double[] or Object[]. */
+    protected Object[] columns;
+
+    /** The storage of each column. */
+    protected byte[] columnTypes;
+
+    /** The class of the values of each numeric column, used to box its values. */
+    protected Class[] valueClasses;
+
+    /** The null values of each numeric column, null if none. */
+    protected BitSet[] nulls;
+
+    /** The allocated number of rows of the columns, while the result is built. */
+    protected transient int capacity;
+
+    /**
+     * INTERNAL:
+     * Create an empty result for the item names, with the initial number of rows.
+     */
+    public ColumnarReportQueryResult(List<String> names, int initialSize) {
+        int columnCount = names.size();
+        this.names = names;
+        this.columns = new Object[columnCount];
+        this.columnTypes = new byte[columnCount];
+        this.valueClasses = new Class[columnCount];
+        this.nulls = new BitSet[columnCount];
+        this.capacity = Math.max(initialSize, 1);
+    }
+
+    /**
+     * INTERNAL:
+     * Add the values of a row.
+     */
+    public void addRow(Object[] values) {
+        int row = this.size;
+        if (row == this.capacity) {
+            this.capacity = this.capacity + (this.capacity >> 1) + 1;
+            for (int column = 0; column < this.columns.length; column++) {
+                resizeColumn(column, this.capacity);
+            }
+        }
+        for (int column = 0; column < this.columns.length; column++) {
+            setValue(row, column, values[column]);
+        }
+        this.size = row + 1;
+    }
+
+    /**
+     * INTERNAL:
+     * Trim the columns to the number of rows, once all the rows are added.
+     */
+    public void trimToSize() {
+        if (this.capacity != this.size) {
+            this.capacity = this.size;
+            for (int column = 0; column < this.columns.length; column++) {
+                resizeColumn(column, this.size);
+            }
+        }
+    }
+
+    protected void resizeColumn(int column, int newSize) {
+        Object values = this.columns[column];
+        if (values instanceof long[]) {
+            this.columns[column] = Arrays.copyOf((long[])values, newSize);
+        } else if (values instanceof double[]) {
+            this.columns[column] = Arrays.copyOf((double[])values, newSize);
+        } else if (values != null) {
+            this.columns[column] = Arrays.copyOf((Object[])values, newSize);
+        }
+    }
+
+    /**
+     * Store the value in the column, changing the column to an Object[] if the value does not fit.
+     */
+    protected void setValue(int row, int column, Object value) {
+        byte type = this.columnTypes[column];
+        if (type == NULL_COLUMN) {
+            if (value == null) {
+                markNull(row, column);
+                return;
+            }
+            type = initializeColumn(column, value);
+        }
+        if (type == OBJECT_COLUMN) {
+            ((Object[])this.columns[column])[row] = value;
+        } else if (value == null) {
+            markNull(row, column);
+        } else if (value.getClass() != this.valueClasses[column]) {
+            toObjectColumn(column);
+            ((Object[])this.columns[column])[row] = value;
+        } else if (type == LONG_COLUMN) {
+            ((long[])this.columns[column])[row] = ((Number)value).longValue();
+        } else {
+            ((double[])this.columns[column])[row] = ((Number)value).doubleValue();
+        }
+    }
+
+    /**
+     * Choose the storage of the column from its first non null value.
+     */
+    protected byte initializeColumn(int column, Object value) {
+        Class valueClass = value.getClass();
+        byte type;
+        if ((valueClass == Long.class) || (valueClass == Integer.class) || (valueClass == Short.class) || (valueClass == Byte.class)) {
+            type = LONG_COLUMN;
+            this.columns[column] = new long[this.capacity];
+        } else if ((valueClass == Double.class) || (valueClass == Float.class)) {
+            type = DOUBLE_COLUMN;
+            this.columns[column] = new double[this.capacity];
+        } else {
+            // The null values of a column of objects are stored in its array.
+            type = OBJECT_COLUMN;
+            this.columns[column] = new Object[this.capacity];
+            this.nulls[column] = null;
+        }
+        this.columnTypes[column] = type;
+        this.valueClasses[column] = valueClass;
+        return type;
+    }
+
+    protected void markNull(int row, int column) {
+        if (this.nulls[column] == null) {
+            this.nulls[column] = new BitSet();
+        }
+        this.nulls[column].set(row);
+    }
+
+    /**
+     * Box the values of a numeric column, when a value of another class is added.
+     */
+    protected void toObjectColumn(int column) {
+        Object[] values = new Object[this.capacity];
+        for (int row = 0; row < this.size; row++) {
+            values[row] = getValue(row, column);
+        }
+        this.columns[column] = values;
+        this.columnTypes[column] = OBJECT_COLUMN;
+        this.nulls[column] = null;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of rows.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of the row as an array, the array is built on each call.
+     */
+    @Override
+    public Object[] get(int row) {
+        checkRow(row);
+        Object[] values = new Object[this.columns.length];
+        for (int column = 0; column < values.length; column++) {
+            values[column] = getValue(row, column);
+        }
+        return values;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the item names of the columns.
+     */
+    public List<String> getNames() {
+        return this.names;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of columns.
+     */
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the index of the column of the item name, or -1.
+     */
+    public int getColumnIndex(String name) {
+        return this.names.indexOf(name);
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the column is stored as a <code>long[]</code>.
+     */
+    public boolean isLongColumn(int column) {
+        return this.columnTypes[column] == LONG_COLUMN;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the column is stored as a <code>double[]</code>.
+     */
+    public boolean isDoubleColumn(int column) {
+        return this.columnTypes[column] == DOUBLE_COLUMN;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a column stored as a <code>long[]</code>.
+     * The array is not copied, null values are 0, see {@link #isNull(int, int)}.
+     */
+    public long[] getLongColumn(int column) {
+        if (!isLongColumn(column)) {
+            throw new IllegalArgumentException(this.names.get(column));
+        }
+        return (long[])this.columns[column];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of the column of the item name stored as a <code>long[]</code>.
+     */
+    public long[] getLongColumn(String name) {
+        return getLongColumn(checkColumn(name));
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a column stored as a <code>double[]</code>.
+     * The array is not copied, null values are 0, see {@link #isNull(int, int)}.
+     */
+    public double[] getDoubleColumn(int column) {
+        if (!isDoubleColumn(column)) {
+            throw new IllegalArgumentException(this.names.get(column));
+        }
+        return (double[])this.columns[column];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of the column of the item name stored as a <code>double[]</code>.
+     */
+    public double[] getDoubleColumn(String name) {
+        return getDoubleColumn(checkColumn(name));
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of a column as objects, numeric values are boxed into a new array.
+     */
+    public Object[] getColumn(int column) {
+        if (this.columnTypes[column] == OBJECT_COLUMN) {
+            return (Object[])this.columns[column];
+        }
+        Object[] values = new Object[this.size];
+        for (int row = 0; row < this.size; row++) {
+            values[row] = getValue(row, column);
+        }
+        return values;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the values of the column of the item name as objects.
+     */
+    public Object[] getColumn(String name) {
+        return getColumn(checkColumn(name));
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the value of the row and column is null.
+     */
+    public boolean isNull(int row, int column) {
+        byte type = this.columnTypes[column];
+        if (type == OBJECT_COLUMN) {
+            return ((Object[])this.columns[column])[row] == null;
+        }
+        return (type == NULL_COLUMN) || ((this.nulls[column] != null) && this.nulls[column].get(row));
+    }
+
+    /**
+     * PUBLIC:
+     * Return the value of the row and column of a <code>long[]</code> column.
+     */
+    public long getLong(int row, int column) {
+        checkRow(row);
+        return getLongColumn(column)[row];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the value of the row and column of a <code>double[]</code> column.
+     */
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        return getDoubleColumn(column)[row];
+    }
+
+    /**
+     * PUBLIC:
+     * Return the value of the row and column, numeric values are boxed into their original class.
+     */
+    public Object getValue(int row, int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        byte type = this.columnTypes[column];
+        if (type == OBJECT_COLUMN) {
+            return ((Object[])this.columns[column])[row];
+        }
+        Class valueClass = this.valueClasses[column];
+        if (type == LONG_COLUMN) {
+            long value = ((long[])this.columns[column])[row];
+            if (valueClass == Integer.class) {
+                return Integer.valueOf((int)value);
+            } else if (valueClass == Short.class) {
+                return Short.valueOf((short)value);
+            } else if (valueClass == Byte.class) {
+                return Byte.valueOf((byte)value);
+            }
+            return Long.valueOf(value);
+        }
+        double value = ((double[])this.columns[column])[row];
+        if (valueClass == Float.class) {
+            return Float.valueOf((float)value);
+        }
+        return Double.valueOf(value);
+    }
+
+    protected void checkRow(int row) {
+        if ((row < 0) || (row >= this.size)) {
+            throw new IndexOutOfBoundsException(String.valueOf(row));
+        }
+    }
+
+    protected int checkColumn(String name) {
+        int column = getColumnIndex(name);
+        if (column < 0) {
+            throw new IllegalArgumentException(name);
+        }
+        return column;
+    }
+}
@@ -52,6 +52,8 @@
 import org.eclipse.persistence.history.AsOfClause;
 import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
 import org.eclipse.persistence.internal.descriptors.OptimisticLockingPolicy;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
+import org.eclipse.persistence.internal.expressions.ConformEvaluator;
 import org.eclipse.persistence.internal.expressions.FieldExpression;
 import org.eclipse.persistence.internal.expressions.ForUpdateClause;
 import org.eclipse.persistence.internal.expressions.ForUpdateOfClause;
@@ -62,6 +64,7 @@
 import org.eclipse.persistence.internal.helper.InvalidObject;
 import org.eclipse.persistence.internal.helper.NonSynchronizedVector;
 import org.eclipse.persistence.internal.history.UniversalAsOfClause;
+import org.eclipse.persistence.internal.queries.CallQueryMechanism;
 import org.eclipse.persistence.internal.queries.DatabaseQueryMechanism;
 import org.eclipse.persistence.internal.queries.ExpressionQueryMechanism;
 import org.eclipse.persistence.internal.queries.JoinedAttributeManager;
@@ -243,6 +246,16 @@ If ResultSet optimization is used (isResultSetOptimizedQuery is set to true) the
     /** Indicates whether the query should use SerializedObjectPolicy if descriptor has it.*/
     protected boolean shouldUseSerializedObjectPolicy;
 
+    /** Indicates whether the lazy relationships of the objects are batch fetched when first accessed, null to use the project default. */
+    protected Boolean shouldAutoBatchFetch;
+
+    /** The selection criteria compiled for conforming objects in-memory, shared by the execution clones, set on prepare. */
+    protected transient CompiledExpression compiledExpression;
+
+    /** The evaluator conforming the results of this execution, and the selection criteria and arguments it was built for. */
+    protected transient ConformEvaluator conformEvaluator;
+    protected transient Object[] conformEvaluatorArguments;
+
     /**
      * INTERNAL:
      * Initialize the state of the query
@@ -345,7 +358,7 @@ public boolean equals(Object object) {
         }
         ObjectLevelReadQuery query = (ObjectLevelReadQuery) object;
         // Only check expression queries for now.
-        if ((!isExpressionQuery()) || (!isDefaultPropertiesQuery())) {
+        if ((!isExpressionQuery()) || (!isCacheableExpressionQuery())) {
             return this == object;
         }
         if (!getExpressionBuilder().equals(query.getExpressionBuilder())) {
@@ -354,6 +367,32 @@ public boolean equals(Object object) {
         if (this.distinctState != query.distinctState) {
             return false;
         }
+        // The auto batch fetch policy is shared with the cached query.
+        if (shouldAutoBatchFetch() != query.shouldAutoBatchFetch()) {
+            return false;
+        }
+        // The pagination values are bound, only the shape affects the SQL.
+        if (!hasSamePaginationShape(query)) {
+            return false;
+        }
+        if ((this.shouldUseDefaultFetchGroup != query.shouldUseDefaultFetchGroup)
+                || (!((this.fetchGroupName == query.fetchGroupName) || ((this.fetchGroupName != null) && this.fetchGroupName.equals(query.fetchGroupName))))
+                || (!((this.fetchGroup == query.fetchGroup) || ((this.fetchGroup != null) && this.fetchGroup.equals(query.fetchGroup))))) {
+            return false;
+        }
+        if (hasBatchReadAttributes()) {
+            if (!query.hasBatchReadAttributes()) {
+                return false;
+            }
+            BatchFetchPolicy batchPolicy = getBatchFetchPolicy();
+            BatchFetchPolicy otherBatchPolicy = query.getBatchFetchPolicy();
+            if ((batchPolicy.getType() != otherBatchPolicy.getType()) || (batchPolicy.getSize() != otherBatchPolicy.getSize())
+                    || (!batchPolicy.getAttributeExpressions().equals(otherBatchPolicy.getAttributeExpressions()))) {
+                return false;
+            }
+        } else if (query.hasBatchReadAttributes()) {
+            return false;
+        }
         if (hasJoining()) {
             if (!query.hasJoining()) {
                 return false;
@@ -529,6 +568,8 @@ protected DatabaseQuery checkForCustomQuery(final AbstractSession session, final
     @Override
     public Object clone() {
         final ObjectLevelReadQuery cloneQuery = (ObjectLevelReadQuery)super.clone();
+        cloneQuery.conformEvaluator = null;
+        cloneQuery.conformEvaluatorArguments = null;
         // Must also clone the joined expressions as always joined attribute will be added
         // don't use setters as this will trigger unprepare.
         if (joinedAttributeManager != null) {
@@ -1066,7 +1107,18 @@ protected Object conformIndividualResult(Object clone, UnitOfWorkImpl unitOfWork
             if (policy != InMemoryQueryIndirectionPolicy.SHOULD_TRIGGER_INDIRECTION) {
                 policy = InMemoryQueryIndirectionPolicy.SHOULD_IGNORE_EXCEPTION_RETURN_CONFORMED;
             }
-            if (selectionCriteriaClone.doesConform(clone, unitOfWork, arguments, policy)) {
+            boolean conforms;
+            if (this.compiledExpression == null) {
+                conforms = selectionCriteriaClone.doesConform(clone, unitOfWork, arguments, policy);
+            } else {
+                // PERF: Build the evaluator once for all the results of the execution.
+                if ((this.conformEvaluator == null) || (this.conformEvaluatorArguments[0] != selectionCriteriaClone) || (this.conformEvaluatorArguments[1] != arguments)) {
+                    this.conformEvaluator = buildConformEvaluator(selectionCriteriaClone, unitOfWork, arguments);
+                    this.conformEvaluatorArguments = new Object[] {selectionCriteriaClone, arguments};
+                }
+                conforms = this.conformEvaluator.conforms(clone, unitOfWork, arguments, policy);
+            }
+            if (conforms) {
                  if (alreadyReturned != null) {
                     alreadyReturned.remove(clone);
                 }
@@ -2007,6 +2059,7 @@ protected void setIsPreparedKeepingSubclassData(boolean isPrepared) {
     protected void prepare() throws QueryException {
         super.prepare();
         prepareQuery();
+        prepareCompiledExpression();
         if (hasJoining()) {
             this.joinedAttributeManager.computeJoiningMappingQueries(session);
         }
@@ -2018,6 +2071,39 @@ protected void prepare() throws QueryException {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Compile the selection criteria for conforming objects in-memory, if enabled on the project.
+     */
+    protected void prepareCompiledExpression() {
+        if (getSession().getProject().shouldCompileExpressions() && (getSelectionCriteria() != null) && (this.descriptor != null)) {
+            this.compiledExpression = new CompiledExpression(this.descriptor);
+        } else {
+            this.compiledExpression = null;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the selection criteria compiled for conforming objects in-memory,
+     * or null if the selection criteria are interpreted.
+     */
+    public CompiledExpression getCompiledExpression() {
+        return this.compiledExpression;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the evaluator conforming objects in-memory to the selection criteria with the arguments.
+     * If the selection criteria are compiled the evaluator is generated in bytecode, or reused from a previous execution.
+     */
+    public ConformEvaluator buildConformEvaluator(Expression selectionCriteria, AbstractSession session, AbstractRecord translationRow) {
+        if (this.compiledExpression != null) {
+            return this.compiledExpression.buildEvaluator(selectionCriteria, session, translationRow);
+        }
+        return ConformEvaluator.compile(selectionCriteria, session, translationRow);
+    }
+
     /**
      * INTERNAL:
      * Check if the query is cached and prepare from it.
@@ -2026,7 +2112,9 @@ protected void prepare() throws QueryException {
     protected boolean prepareFromCachedQuery() {
         // PERF: Check if the equivalent expression query has already been prepared.
         // Only allow queries with default properties to be cached.
-        boolean isCacheable = isExpressionQuery() && (!getQueryMechanism().isJPQLCallQueryMechanism()) && isDefaultPropertiesQuery() && (!getSession().isHistoricalSession());
+        // Queries that only differ in their pagination values, fetch group or batch fetching are also cached,
+        // as these are part of the cache key (see equals()), allowing clones for different pages to share the SQL.
+        boolean isCacheable = isExpressionQuery() && (!getQueryMechanism().isJPQLCallQueryMechanism()) && isCacheableExpressionQuery() && (!getSession().isHistoricalSession());
         DatabaseQuery cachedQuery = null;
         if (isCacheable) {
             cachedQuery = this.descriptor.getQueryManager().getCachedExpressionQuery(this);
@@ -2034,7 +2122,25 @@ protected boolean prepareFromCachedQuery() {
             return false;
         }
         if ((cachedQuery != null) && cachedQuery.isPrepared()) {
+            ObjectLevelReadQuery cachedReadQuery = (ObjectLevelReadQuery)cachedQuery;
+            boolean isSamePagination = (this.firstResult == cachedReadQuery.firstResult) && (this.maxRows == cachedReadQuery.maxRows);
+            if (!isSamePagination) {
+                // Batch mapping queries are built from the paged query, so cannot be shared with other pages.
+                if (hasBatchReadAttributes() || !isPaginationCompatible(cachedReadQuery)) {
+                    return false;
+                }
+            }
             prepareFromQuery(cachedQuery);
+            if (!isSamePagination) {
+                // The call is shared with the cached query, clone it to configure this query's pagination.
+                boolean shouldCloneCall = this.shouldCloneCall;
+                this.shouldCloneCall = true;
+                try {
+                    ((CallQueryMechanism)getQueryMechanism()).prepareCall();
+                } finally {
+                    this.shouldCloneCall = shouldCloneCall;
+                }
+            }
             setIsPrepared(true);
             return true;
         }
@@ -2086,7 +2192,7 @@ public void prepareFromQuery(DatabaseQuery query) {
             if (objectQuery.hasJoining()) {
                 getJoinedAttributeManager().copyFrom(objectQuery.getJoinedAttributeManager());
             }
-            if (objectQuery.hasBatchReadAttributes()) {
+            if (objectQuery.hasBatchReadAttributes() || objectQuery.isAutoBatchFetched()) {
                 this.batchFetchPolicy = objectQuery.getBatchFetchPolicy().clone();
             }
             this.nonFetchJoinAttributeExpressions = objectQuery.nonFetchJoinAttributeExpressions;
@@ -2096,6 +2202,8 @@ public void prepareFromQuery(DatabaseQuery query) {
             this.isReferenceClassLocked = objectQuery.isReferenceClassLocked;
             this.shouldOuterJoinSubclasses = objectQuery.shouldOuterJoinSubclasses;
             this.shouldUseDefaultFetchGroup = objectQuery.shouldUseDefaultFetchGroup;
+            this.shouldAutoBatchFetch = objectQuery.shouldAutoBatchFetch;
+            this.compiledExpression = objectQuery.compiledExpression;
             this.concreteSubclassCalls = objectQuery.concreteSubclassCalls;
             this.concreteSubclassQueries = objectQuery.concreteSubclassQueries;
             this.aggregateQueries = objectQuery.aggregateQueries;
@@ -2962,6 +3070,19 @@ public boolean isDefaultLock() {
     @Override
     public boolean isDefaultPropertiesQuery() {
         return super.isDefaultPropertiesQuery()
+            && (this.fetchGroup == null)
+            && (this.fetchGroupName == null)
+            && (this.shouldUseDefaultFetchGroup);
+    }
+
+    /**
+     * INTERNAL:
+     * Return true if the query's prepared call can be shared through the descriptor's expression query cache.
+     * Unlike isDefaultPropertiesQuery(), fetch groups are allowed, as they are part of the cache key.
+     */
+    @Override
+    public boolean isCacheableExpressionQuery() {
+        return super.isCacheableExpressionQuery()
             && (!this.isResultSetOptimizedQuery)
             && (this.isResultSetAccessOptimizedQuery == null || this.isResultSetAccessOptimizedQuery.equals(isResultSetAccessOptimizedQueryDefault))
             && (this.shouldUseSerializedObjectPolicy == shouldUseSerializedObjectPolicyDefault)
@@ -2969,10 +3090,7 @@ public boolean isDefaultPropertiesQuery() {
             && (!hasAdditionalFields())
             && (!hasPartialAttributeExpressions())
             && (!hasUnionExpressions())
-            && (!hasNonFetchJoinedAttributeExpressions())
-            && (this.fetchGroup == null)
-            && (this.fetchGroupName == null)
-            && (this.shouldUseDefaultFetchGroup);
+            && (!hasNonFetchJoinedAttributeExpressions());
     }
 
     /**
@@ -3268,6 +3386,8 @@ public void computeBatchReadMappingQueries() {
                 this.batchFetchPolicy = new BatchFetchPolicy();
                 if (getDescriptor().getObjectBuilder().hasInBatchFetchedAttribute()) {
                     this.batchFetchPolicy.setType(BatchFetchType.IN);
+                } else if (getDescriptor().getObjectBuilder().hasAdaptiveBatchFetchedAttribute()) {
+                    this.batchFetchPolicy.setType(BatchFetchType.ADAPTIVE);
                 }
                 List<DatabaseMapping> batchedMappings = getDescriptor().getObjectBuilder().getBatchFetchedAttributes();
                 this.batchFetchPolicy.setMappingQueries(new HashMap(batchedMappings.size()));
@@ -3293,6 +3413,18 @@ public void computeBatchReadMappingQueries() {
             }
             computeNestedQueriesForBatchReadExpressions(batchReadAttributeExpressions);
         }
+        boolean shouldAutoBatchFetch = isReadAllQuery() && !isReportQuery() && shouldAutoBatchFetch();
+        if (shouldAutoBatchFetch && (this.batchFetchPolicy == null)) {
+            // IN does not re-execute the query, the rows are kept to build the batch queries.
+            this.batchFetchPolicy = new BatchFetchPolicy(BatchFetchType.IN);
+        }
+        if (this.batchFetchPolicy != null) {
+            this.batchFetchPolicy.setIsAutoBatch(shouldAutoBatchFetch);
+        }
+        if ((this.batchFetchPolicy != null) && (this.batchFetchPolicy.isADAPTIVE() || getDescriptor().getObjectBuilder().hasAdaptiveBatchFetchedAttribute())) {
+            // The batch queries of the types chosen at execution are shared by the executions of the query.
+            this.batchFetchPolicy.setAdaptiveMappingQueries(new ConcurrentHashMap(4));
+        }
     }
 
     /**
@@ -3414,8 +3546,9 @@ public void addBatchReadAttribute(Expression attributeExpression) {
     /**
      * PUBLIC:
      * Set the batch fetch type for the query.
-     * This can be JOIN, EXISTS, or IN.
+     * This can be JOIN, EXISTS, IN, or ADAPTIVE.
      * This defines the type of batch reading to use with the query.
+     * ADAPTIVE chooses between the other types each time the query is executed.
      * The query must have defined batch read attributes to set its fetch type.
      *
      * @see #addBatchReadAttribute(Expression)
@@ -3425,6 +3558,50 @@ public void setBatchFetchType(BatchFetchType type) {
         setIsPrepared(false);
     }
 
+    /**
+     * PUBLIC:
+     * Return if the lazy relationships of the objects of the query are batch fetched when first accessed.
+     * If not set on the query, the project's default is used.
+     *
+     * @see #setShouldAutoBatchFetch(boolean)
+     * @see org.eclipse.persistence.sessions.Project#shouldAutoBatchFetch()
+     */
+    public boolean shouldAutoBatchFetch() {
+        if (this.shouldAutoBatchFetch == null) {
+            return (this.session != null) && this.session.getProject().shouldAutoBatchFetch();
+        }
+        return this.shouldAutoBatchFetch.booleanValue();
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the lazy relationships of the objects of the query are batch fetched when first accessed.
+     * This is only relevant for read all queries.
+     * The first access to a lazy relationship, that is not already batch fetched or join fetched,
+     * of one of the query's objects loads the relationship for all the query's objects in a single batch query,
+     * instead of one query per object (the N+1 queries problem).
+     * The batch fetch type of the query is used, IN by default.
+     * For cursors IN batch fetching is not used, and each relationship is loaded individually.
+     *
+     * @see #setBatchFetchType(BatchFetchType)
+     * @see #setBatchFetchSize(int)
+     */
+    public void setShouldAutoBatchFetch(boolean shouldAutoBatchFetch) {
+        if ((this.shouldAutoBatchFetch == null) || (this.shouldAutoBatchFetch.booleanValue() != shouldAutoBatchFetch)) {
+            this.shouldAutoBatchFetch = Boolean.valueOf(shouldAutoBatchFetch);
+            setIsPrepared(false);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the lazy relationships of the objects of this execution are batch fetched when first accessed.
+     * This is only known once the query is prepared.
+     */
+    public boolean isAutoBatchFetched() {
+        return (this.batchFetchPolicy != null) && this.batchFetchPolicy.isAutoBatch();
+    }
+
     /**
      * PUBLIC:
      * Set the batch fetch size for the query.
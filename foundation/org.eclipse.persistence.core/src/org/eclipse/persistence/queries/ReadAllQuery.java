@@ -23,6 +23,7 @@
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -34,10 +35,13 @@
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionOperator;
 import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
 import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
 import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.descriptors.ObjectBuilder;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.ParameterExpression;
 import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
 import org.eclipse.persistence.internal.helper.ClassConstants;
 import org.eclipse.persistence.internal.helper.DatabaseField;
@@ -45,6 +49,7 @@
 import org.eclipse.persistence.internal.helper.ThreadCursoredList;
 import org.eclipse.persistence.internal.queries.ContainerPolicy;
 import org.eclipse.persistence.internal.queries.DatasourceCallQueryMechanism;
+import org.eclipse.persistence.internal.queries.KeysetToken;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.ResultSetRecord;
@@ -55,6 +60,7 @@
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.eclipse.persistence.mappings.OneToManyMapping;
 import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.SessionProfiler;
 import org.eclipse.persistence.sessions.remote.DistributedSession;
 import org.eclipse.persistence.tools.profiler.QueryMonitor;
@@ -80,6 +86,12 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
     protected List<Expression> orderSiblingsByExpressions;
     protected Direction direction;
 
+    /** Used for keyset pagination, the values of the ordering of the last result of the previous page. */
+    protected Object[] afterKey;
+
+    /** Name prefix of the parameters of the after key values in the keyset pagination criteria. */
+    public static final String KEYSET_PARAMETER = "query-keyset-parameter-";
+
     /**
      * Specifies the direction in which the hierarchy is traversed in a
      * hierarchical query.
@@ -241,7 +253,7 @@ protected Object checkEarlyReturnLocal(AbstractSession session, AbstractRecord t
             while (rootSession.isUnitOfWork()) {
                 rootSession = ((UnitOfWorkImpl)rootSession).getParent();
             }
-            Vector allCachedVector = rootSession.getIdentityMapAccessor().getAllFromIdentityMap(getSelectionCriteria(), getReferenceClass(), translationRow, getInMemoryQueryIndirectionPolicyState(), false);
+            Vector allCachedVector = rootSession.getIdentityMapAccessorInstance().getAllFromIdentityMap(getSelectionCriteria(), getReferenceClass(), translationRow, getInMemoryQueryIndirectionPolicyState(), false, this.compiledExpression);
 
             // Must ensure that all of the objects returned are correctly registered in the unit of work.
             if (session.isUnitOfWork()) {
@@ -292,6 +304,117 @@ protected ObjectLevelReadQuery getReadQuery() {
         return descriptor.getQueryManager().getReadAllQuery();
     }
 
+    /**
+     * PUBLIC:
+     * Return the after key values of the result of the previous page, for keyset pagination.
+     * The after key is built from the last result of the previous page by buildAfterKey().
+     * @see #setAfterKey(Object[])
+     */
+    public Object[] buildAfterKey(Object lastResult, Session session) {
+        if (!hasOrderByExpressions()) {
+            throw QueryException.keysetPaginationRequiresOrdering(this);
+        }
+        if (isReportQuery()) {
+            // Report query results do not include the ordering values.
+            throw QueryException.invalidKeysetAfterKey(this, lastResult);
+        }
+        AbstractSession rootSession = ((AbstractSession)session).getRootSession(this);
+        List<Expression> orderings = getOrderByExpressions();
+        Object[] values = new Object[orderings.size()];
+        for (int index = 0; index < values.length; index++) {
+            Expression key = getKeysetKey(orderings.get(index), null, index);
+            ExpressionBuilder builder = key.getBuilder();
+            if (builder.getSession() == null) {
+                builder.setSession(rootSession);
+            }
+            if (builder.getQueryClass() == null) {
+                builder.setQueryClass(getReferenceClass());
+            }
+            values[index] = key.valueFromObject(lastResult, rootSession, null, InMemoryQueryIndirectionPolicy.SHOULD_TRIGGER_INDIRECTION, false);
+            if (values[index] == null) {
+                throw QueryException.invalidKeysetAfterKey(this, Arrays.asList(values));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the opaque continuation token of the page following the last result, for keyset pagination.
+     * The token can be passed to clients, and is decoded by the "eclipselink.keyset.after" query hint.
+     * Only basic value types are supported as ordering values, i.e. numbers, strings, dates and times, and UUIDs.
+     * @see #buildAfterKey(Object, Session)
+     * @see org.eclipse.persistence.config.QueryHints#KEYSET_AFTER
+     */
+    public String buildContinuationToken(Object lastResult, Session session) {
+        return KeysetToken.encode(buildAfterKey(lastResult, session));
+    }
+
+    /**
+     * INTERNAL:
+     * Return the selection criteria of the results ordered after the after key, for keyset pagination.
+     * The criteria compares the ordering expressions to the after key values,
+     * bound as parameters so the SQL is the same for any page.
+     * @see DatabasePlatform#buildKeysetCriteria(List, List, boolean[])
+     */
+    public Expression buildKeysetCriteria(DatabasePlatform platform) {
+        List<Expression> orderings = getOrderByExpressions();
+        int size = orderings.size();
+        List<Expression> keys = new ArrayList<>(size);
+        List<Expression> values = new ArrayList<>(size);
+        boolean[] isDescending = new boolean[size];
+        for (int index = 0; index < size; index++) {
+            Expression key = getKeysetKey(orderings.get(index), isDescending, index);
+            ParameterExpression value = (ParameterExpression)key.getBuilder().getParameter(KEYSET_PARAMETER + index);
+            // Ensure the value is converted by the key's mapping.
+            value.setLocalBase(key);
+            keys.add(key);
+            values.add(value);
+        }
+        return platform.buildKeysetCriteria(keys, values, isDescending);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the key of the ordering expression, without its direction and null ordering.
+     * The direction is set in the isDescending array if provided.
+     */
+    protected Expression getKeysetKey(Expression ordering, boolean[] isDescending, int index) {
+        Expression key = ordering;
+        while (key.isFunctionExpression()) {
+            int selector = ((FunctionExpression)key).getOperator().getSelector();
+            if (selector == ExpressionOperator.Descending) {
+                if (isDescending != null) {
+                    isDescending[index] = true;
+                }
+            } else if ((selector != ExpressionOperator.Ascending) && (selector != ExpressionOperator.NullsFirst)
+                    && (selector != ExpressionOperator.NullsLast)) {
+                break;
+            }
+            key = ((FunctionExpression)key).getBaseExpression();
+        }
+        return key;
+    }
+
+    /**
+     * INTERNAL:
+     * Return a copy of the arguments including the after key values, for keyset pagination.
+     */
+    protected AbstractRecord buildKeysetRow(AbstractRecord row) {
+        if ((hasOrderByExpressions() && (this.afterKey.length != getOrderByExpressions().size())) || (this.afterKey.length == 0)) {
+            throw QueryException.invalidKeysetAfterKey(this, Arrays.asList(this.afterKey));
+        }
+        AbstractRecord keysetRow = (row == null) ? new DatabaseRecord() : row.clone();
+        for (int index = 0; index < this.afterKey.length; index++) {
+            Object value = this.afterKey[index];
+            if (value == null) {
+                throw QueryException.invalidKeysetAfterKey(this, Arrays.asList(this.afterKey));
+            }
+            keysetRow.put(new DatabaseField(KEYSET_PARAMETER + index), value);
+        }
+        return keysetRow;
+    }
+
     /**
      * INTERNAL:
      * Creates and returns a copy of this query.
@@ -444,6 +567,10 @@ protected Object conformResult(Object result, UnitOfWorkImpl unitOfWork, Abstrac
      */
     @Override
     public Object execute(AbstractSession session, AbstractRecord row) throws DatabaseException {
+        if (this.afterKey != null) {
+            // The after key values are part of the arguments, so the query results cache applies per page.
+            row = buildKeysetRow(row);
+        }
         if (shouldCacheQueryResults()) {
             if (getContainerPolicy().overridesRead()) {
                 throw QueryException.cannotCacheCursorResultsOnQuery(this);
@@ -589,7 +716,8 @@ protected Object executeObjectLevelReadQuery() throws DatabaseException {
                         this.joinedAttributeManager.setDataResults(rows, this.session);
                     }
                     // Batch fetching in IN requires access to the rows to build the id array.
-                    if ((this.batchFetchPolicy != null) && this.batchFetchPolicy.isIN()) {
+                    // Adaptive batch fetching may choose IN, and uses the number of rows to choose.
+                    if ((this.batchFetchPolicy != null) && (this.batchFetchPolicy.isIN() || this.batchFetchPolicy.isADAPTIVE())) {
                         this.batchFetchPolicy.setDataResults(rows);
                     }
                 }
@@ -771,7 +899,17 @@ public boolean hasHierarchicalExpressions() {
     @Override
     public boolean isDefaultPropertiesQuery() {
         return super.isDefaultPropertiesQuery()
-            && (!hasBatchReadAttributes())
+            && (!hasBatchReadAttributes());
+    }
+
+    /**
+     * INTERNAL:
+     * Return true if the query's prepared call can be shared through the descriptor's expression query cache.
+     * Unlike isDefaultPropertiesQuery(), batch fetching is allowed, as it is part of the cache key.
+     */
+    @Override
+    public boolean isCacheableExpressionQuery() {
+        return super.isCacheableExpressionQuery()
             && (!hasHierarchicalExpressions())
             && (!this.containerPolicy.isCursorPolicy());
     }
@@ -793,6 +931,10 @@ public boolean equals(Object object) {
         if (!this.containerPolicy.equals(query.containerPolicy)) {
             return false;
         }
+        // The after key values are parameters, so keyset paginated queries share the SQL of any page.
+        if ((this.afterKey == null) != (query.afterKey == null)) {
+            return false;
+        }
         return true;
     }
 
@@ -830,6 +972,10 @@ protected void prepare() throws QueryException {
             }
         }
 
+        if ((this.afterKey != null) && (!hasOrderByExpressions() || !getQueryMechanism().isExpressionQueryMechanism())) {
+            throw QueryException.keysetPaginationRequiresOrdering(this);
+        }
+
         if (this.containerPolicy.overridesRead()) {
             return;
         }
@@ -1126,6 +1272,46 @@ public Map replaceValueHoldersIn(Object object, RemoteSessionController controll
         return controller.replaceValueHoldersInAll(object, getContainerPolicy());
     }
 
+    /**
+     * PUBLIC:
+     * Return the after key of keyset pagination, the ordering values of the last result of the previous page.
+     * @see #setAfterKey(Object[])
+     */
+    public Object[] getAfterKey() {
+        return afterKey;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if keyset pagination is used, i.e. an after key is set.
+     */
+    public boolean hasAfterKey() {
+        return this.afterKey != null;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the after key for keyset (seek) pagination.
+     * The after key is the values of the ordering expressions of the query for the last result of the previous page,
+     * the query then only returns the results ordered after it, i.e. "WHERE (A, B) &gt; (?, ?)".
+     * Unlike setFirstResult() the database does not read and skip the results of the previous pages,
+     * so the time to read a page does not depend on its depth.
+     * Use setMaxRows() to define the size of the page.
+     * <p>
+     * The query must be ordered, and the ordering should be unique, typically ending with the primary key.
+     * The after key must have one non null value per ordering expression, these are bound as parameters,
+     * so the same SQL is used for any page.
+     * @see #buildAfterKey(Object, Session)
+     * @see #buildContinuationToken(Object, Session)
+     */
+    public void setAfterKey(Object[] afterKey) {
+        // The criteria only depends on the ordering, so only needs to be prepared when keyset pagination is switched.
+        if ((this.afterKey == null) != (afterKey == null)) {
+            setIsPrepared(false);
+        }
+        this.afterKey = afterKey;
+    }
+
     /**
      * PUBLIC:
      * Set the container policy. Used to support different containers
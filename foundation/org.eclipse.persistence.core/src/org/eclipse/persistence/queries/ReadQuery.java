@@ -19,6 +19,7 @@
 
 import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
 import org.eclipse.persistence.internal.helper.NonSynchronizedVector;
+import org.eclipse.persistence.internal.queries.DatasourceCallQueryMechanism;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.sessions.DatabaseRecord;
@@ -260,14 +261,66 @@ public Object getTemporaryCachedQueryResults(){
      * This is used to determine if this query is cacheable.
      * i.e. does not use any properties that may conflict with another query
      * with the same EJBQL or selection criteria.
+     * This adds the properties that are part of the expression query cache key to
+     * the checks of isCacheableExpressionQuery().
      */
     public boolean isDefaultPropertiesQuery() {
-        return super.isDefaultPropertiesQuery()
+        return isCacheableExpressionQuery()
             && (this.maxRows == 0)
-            && (this.firstResult == 0)
+            && (this.firstResult == 0);
+    }
+
+    /**
+     * INTERNAL:
+     * Return true if the query's prepared call can be shared through the descriptor's expression query cache.
+     * Unlike isDefaultPropertiesQuery(), pagination is allowed,
+     * as the cache is keyed by the pagination shape, and only rebinds its values.
+     */
+    public boolean isCacheableExpressionQuery() {
+        return super.isDefaultPropertiesQuery()
             && (this.fetchSize == 0);
     }
 
+    /**
+     * INTERNAL:
+     * Return if the query has the same pagination shape as the other query,
+     * i.e. both or neither use a first result, and both or neither use max rows.
+     */
+    protected boolean hasSamePaginationShape(ReadQuery query) {
+        return ((this.firstResult > 0) == (query.firstResult > 0))
+            && ((this.maxRows > 0) == (query.maxRows > 0));
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the prepared call of the other query can be used with this query's pagination values.
+     * This is the case if the values are the same, or if the calls do not print the values in their SQL,
+     * i.e. they bind them as parameters, or apply them through JDBC.
+     */
+    protected boolean isPaginationCompatible(ReadQuery query) {
+        if ((this.firstResult == query.firstResult) && (this.maxRows == query.maxRows)) {
+            return true;
+        }
+        if (!(query.getQueryMechanism() instanceof DatasourceCallQueryMechanism)) {
+            return false;
+        }
+        for (Object call : query.getDatasourceCalls()) {
+            if (!(call instanceof DatabaseCall)) {
+                return false;
+            }
+            DatabaseCall databaseCall = (DatabaseCall)call;
+            if ((this.firstResult != query.firstResult) && databaseCall.shouldIgnoreFirstRowSetting()
+                    && !databaseCall.getParameters().contains(DatabaseCall.FIRSTRESULT_FIELD)) {
+                return false;
+            }
+            if ((this.maxRows != query.maxRows) && databaseCall.shouldIgnoreMaxResultsSetting()
+                    && !databaseCall.getParameters().contains(DatabaseCall.MAXROW_FIELD)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * PUBLIC:
      * Return if this is a read query.
@@ -71,6 +71,9 @@ public class ReportQuery extends ReadAllQuery {
     /** For example, ... EXISTS( SELECT 1 FROM ... */
     public static final int ShouldSelectValue1 = 6;
 
+    /** Returns the results stored by column in a ColumnarReportQueryResult, numeric values in primitive arrays. */
+    public static final int ShouldReturnColumnar = 7;
+
     /** Specifies whether to retrieve primary keys, first primary key, or no primary key.*/
     public static final int FULL_PRIMARY_KEY = 2;
     public static final int FIRST_PRIMARY_KEY = 1;
@@ -649,7 +652,7 @@ public Object buildObject(AbstractRecord row, Vector toManyJoinData) {
         //end GF_ISSUE_395
         if (shouldReturnSingleAttribute()) {
             return reportQueryResult.getResults().get(0);
-        } else if (shouldReturnArray()) {
+        } else if (shouldReturnArray() || shouldReturnColumnar()) {
             return reportQueryResult.toArray();
         } else if (shouldReturnWithoutReportQueryResult()) {
             if (reportQueryResult.size() == 1) {
@@ -679,12 +682,15 @@ public Object buildObjects(Vector rows) {
 
         ContainerPolicy containerPolicy = getContainerPolicy();
         int size = rows.size();
-        Object reportResults = containerPolicy.containerInstance(size);
         // GF_ISSUE_395
         if (shouldDistinctBeUsed()){
             this.returnedKeys = new HashSet(size);
         }
         //end GF_ISSUE
+        if (shouldReturnColumnar()) {
+            return buildColumnarResult(rows);
+        }
+        Object reportResults = containerPolicy.containerInstance(size);
         //If only the attribute is desired, then buildObject will only get the first attribute each time
         for (int index = 0; index < size; index++) {
             // GF_ISSUE_395
@@ -700,6 +706,27 @@ public Object buildObjects(Vector rows) {
         return reportResults;
     }
 
+    /**
+     * INTERNAL:
+     * Construct a ColumnarReportQueryResult from the rows.
+     * The values of each row are added to the columns, so only the columns are retained.
+     */
+    protected ColumnarReportQueryResult buildColumnarResult(Vector rows) {
+        int size = rows.size();
+        ColumnarReportQueryResult reportResults = new ColumnarReportQueryResult(getNames(), size);
+        for (int index = 0; index < size; index++) {
+            Object result = buildObject((AbstractRecord)rows.get(index), rows);
+            if (result != ResultStatus.IGNORED) {
+                reportResults.addRow((Object[])result);
+            }
+        }
+        reportResults.trimToSize();
+        if (shouldCacheQueryResults()) {
+            setTemporaryCachedQueryResults(reportResults);
+        }
+        return reportResults;
+    }
+
     /**
      * INTERNAL:
      * The cache check is done before the prepare as a hit will not require the work to be done.
@@ -1327,6 +1354,7 @@ public int getReturnType() {
      * <li>ShouldReturnSingleAttribute - return {@literal List<Object>} : Only first column of (all) rows are returned.
      * <li>ShouldReturnSingleValue - return Object : Only first value of first row is returned.
      * <li>ShouldReturnWithoutReportQueryResult - return {@literal List<Object[]>} : Array of each row is returned.
+     * <li>ShouldReturnColumnar - return ColumnarReportQueryResult : The values of each item are returned in one array.
      * </ul>
      */
     public void setReturnType(int returnChoice) {
@@ -1370,6 +1398,19 @@ public void returnWithoutReportQueryResult() {
         this.returnChoice = ShouldReturnWithoutReportQueryResult;
     }
 
+    /**
+     * PUBLIC:
+     * Return the results stored by column in a ColumnarReportQueryResult instead of a ReportQueryResult per row.
+     * The values of numeric items are stored in primitive arrays, and the item names are shared,
+     * which reduces the memory retained by large numeric reports.
+     * The result is also a List of the rows as Object arrays.
+     * The columns are built once all the rows are read from the result set,
+     * so the peak memory of the execution is not reduced, see {@link ColumnarReportQueryResult}.
+     */
+    public void returnColumnar() {
+        this.returnChoice = ShouldReturnColumnar;
+    }
+
     /**
      * PUBLIC:
      * Simplifies the result by only returning a single value.
@@ -1519,6 +1560,14 @@ public boolean shouldReturnArray() {
         return this.returnChoice == ShouldReturnArray;
     }
 
+    /**
+     * PUBLIC:
+     * Returns true if results should be returned stored by column in a ColumnarReportQueryResult.
+     */
+    public boolean shouldReturnColumnar() {
+        return this.returnChoice == ShouldReturnColumnar;
+    }
+
     /**
      * PUBLIC:
      * Returns true if results should be returned as an Object array.
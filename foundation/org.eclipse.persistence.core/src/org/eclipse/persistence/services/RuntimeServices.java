@@ -1195,6 +1195,41 @@ public Integer getNumberOfPersistentClasses() {
          return Integer.valueOf(classesTable.size());
      }
 
+     /**
+      * Return the number of JPQL parse cache lookups that found a parsed query.
+      */
+     public Long getJPQLParseCacheHits() {
+         return Long.valueOf(getSession().getProject().getJPQLParseCache().getHits());
+     }
+
+     /**
+      * Return the number of JPQL parse cache lookups that required the JPQL to be parsed.
+      */
+     public Long getJPQLParseCacheMisses() {
+         return Long.valueOf(getSession().getProject().getJPQLParseCache().getMisses());
+     }
+
+     /**
+      * Return the number of parsed queries evicted from the full JPQL parse cache.
+      */
+     public Long getJPQLParseCacheEvictions() {
+         return Long.valueOf(getSession().getProject().getJPQLParseCache().getEvictions());
+     }
+
+     /**
+      * Return the number of parsed queries not admitted to the full JPQL parse cache.
+      */
+     public Long getJPQLParseCacheRejections() {
+         return Long.valueOf(getSession().getProject().getJPQLParseCache().getRejections());
+     }
+
+     /**
+      * Return the number of parsed queries in the JPQL parse cache.
+      */
+     public Integer getJPQLParseCacheSize() {
+         return Integer.valueOf(getSession().getProject().getJPQLParseCache().getCache().size());
+     }
+
      /**
      * Return the log type, either "EclipseLink",  "Java" or the simple name of the logging class used.
      *
@@ -406,6 +406,31 @@ public interface MBeanRuntimeServicesMBean {
     */
     public Integer getNumberOfPersistentClasses();
 
+    /**
+    *        This method will answer the number of JPQL parse cache lookups that found a parsed query.
+    */
+    public Long getJPQLParseCacheHits();
+
+    /**
+    *        This method will answer the number of JPQL parse cache lookups that required the JPQL to be parsed.
+    */
+    public Long getJPQLParseCacheMisses();
+
+    /**
+    *        This method will answer the number of parsed queries evicted from the full JPQL parse cache.
+    */
+    public Long getJPQLParseCacheEvictions();
+
+    /**
+    *        This method will answer the number of parsed queries not admitted to the full JPQL parse cache.
+    */
+    public Long getJPQLParseCacheRejections();
+
+    /**
+    *        This method will answer the number of parsed queries in the JPQL parse cache.
+    */
+    public Integer getJPQLParseCacheSize();
+
     /**
     *        This method will log the instance level locks in all Identity Maps in the session.
     */
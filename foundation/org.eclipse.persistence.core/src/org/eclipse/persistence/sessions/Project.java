@@ -60,6 +60,7 @@
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.helper.NonSynchronizedVector;
 import org.eclipse.persistence.internal.identitymaps.AbstractIdentityMap;
+import org.eclipse.persistence.internal.queries.PreparedQueryCache;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
 import org.eclipse.persistence.queries.AttributeGroup;
@@ -112,6 +113,9 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
     /** PERF: Provide an JPQL parse cache to optimize dynamic JPQL. */
     protected transient ConcurrentFixedCache jpqlParseCache;
 
+    /** Cache of prepared criteria queries keyed by their structural fingerprint. */
+    protected transient PreparedQueryCache criteriaQueryCache;
+
     /** Define the default setting for configuring if dates and calendars are mutable. */
     protected boolean defaultTemporalMutable = false;
 
@@ -159,6 +163,18 @@ public class Project extends CoreProject<ClassDescriptor, Login, DatabaseSession
     /** Flag that allows transform named stored procedure parameters into positional/index based */
     protected boolean namingIntoIndexed = false;
 
+    /** Flag that enables auto batch fetching of lazy relationships by default on read all queries */
+    protected boolean shouldAutoBatchFetch = false;
+
+    /** Number of individual lazy loads triggered by the objects of a query above which the query is reported, 0 to disable */
+    protected int lazyLoadThreshold = 0;
+
+    /** Number of cached objects from which in-memory queries conform the objects in parallel, 0 to disable */
+    protected int parallelConformThreshold = 0;
+
+    /** Flag that enables compiling the selection criteria of in-memory queries into bytecode */
+    protected boolean shouldCompileExpressions = false;
+
     /**
      * Mapped Superclasses (JPA 2) collection of parent non-relational descriptors keyed on MetadataClass
      * without creating a compile time dependency on JPA.
@@ -206,6 +222,7 @@ public Project() {
         this.hasGenericHistorySupport = false;
         this.hasProxyIndirection = false;
         this.jpqlParseCache = new ConcurrentFixedCache(200);
+        this.criteriaQueryCache = new PreparedQueryCache(0);
         this.queries = new ArrayList<DatabaseQuery>();
         this.mappedSuperclassDescriptors = new HashMap<String, ClassDescriptor>(2);
         this.metamodelIdClassMap = new HashMap<String, List<String>>();
@@ -335,6 +352,40 @@ protected void setJPQLParseCache(ConcurrentFixedCache jpqlParseCache) {
         this.jpqlParseCache = jpqlParseCache;
     }
 
+    /**
+     * INTERNAL:
+     * Return the criteria query cache.
+     * This is used to optimize dynamic criteria queries, caching the prepared query
+     * by the structure of the criteria, independent of its literal values.
+     */
+    public PreparedQueryCache getCriteriaQueryCache() {
+        if (criteriaQueryCache == null) {
+            criteriaQueryCache = new PreparedQueryCache(0);
+        }
+        return criteriaQueryCache;
+    }
+
+    /**
+     * ADVANCED:
+     * Set the criteria query cache max size.
+     * This is used to optimize dynamic criteria queries.
+     * The literals compared in the where clause of cached criteria queries are bound as parameters.
+     * The cache is disabled by default (a size of 0).
+     * @see org.eclipse.persistence.config.PersistenceUnitProperties#CRITERIA_QUERY_CACHE_SIZE
+     */
+    public void setCriteriaQueryCacheMaxSize(int maxSize) {
+        this.criteriaQueryCache = new PreparedQueryCache(maxSize);
+    }
+
+    /**
+     * ADVANCED:
+     * Return the criteria query cache max size.
+     * This is used to optimize dynamic criteria queries.
+     */
+    public int getCriteriaQueryCacheMaxSize() {
+        return getCriteriaQueryCache().getMaxSize();
+    }
+
     /**
      * INTERNAL:
      * List of queries that upon initialization are copied over to the session
@@ -1393,6 +1444,92 @@ public void setNamingIntoIndexed(boolean namingIntoIndexed) {
         this.namingIntoIndexed = namingIntoIndexed;
     }
 
+    /**
+     * PUBLIC:
+     * Return if read all queries batch fetch the lazy relationships of their objects by default.
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setShouldAutoBatchFetch(boolean)
+     */
+    public boolean shouldAutoBatchFetch() {
+        return this.shouldAutoBatchFetch;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if read all queries batch fetch the lazy relationships of their objects by default.
+     * When enabled, the first access to a lazy relationship of an object read by a read all query
+     * loads the relationship for all the objects of the query in a single IN batch query,
+     * instead of one query per object.
+     * This is disabled by default.
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setShouldAutoBatchFetch(boolean)
+     */
+    public void setShouldAutoBatchFetch(boolean shouldAutoBatchFetch) {
+        this.shouldAutoBatchFetch = shouldAutoBatchFetch;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of individual lazy loads triggered by the objects of a query above which the query is reported.
+     * 0 if lazy loads are not counted.
+     */
+    public int getLazyLoadThreshold() {
+        return this.lazyLoadThreshold;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of individual lazy loads triggered by the objects of a query above which the query is reported.
+     * A query whose objects trigger more lazy loads (the N+1 queries problem) is logged as a warning
+     * and counted by the session profiler.
+     * Lazy loads that are batch fetched are not counted.
+     * This is 0 by default, which disables the detection.
+     */
+    public void setLazyLoadThreshold(int lazyLoadThreshold) {
+        this.lazyLoadThreshold = lazyLoadThreshold;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of cached objects of a class from which in-memory queries conform the objects in parallel.
+     * 0 if in-memory queries are always conformed sequentially.
+     */
+    public int getParallelConformThreshold() {
+        return this.parallelConformThreshold;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of cached objects of a class from which in-memory queries conform the objects in parallel.
+     * Only a full identity map is conformed in parallel, and only if the selection criteria
+     * compares direct attributes of the queried objects, so the conforming does not trigger indirection.
+     * This is 0 by default, which disables parallel conforming.
+     *
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#checkCacheOnly()
+     */
+    public void setParallelConformThreshold(int parallelConformThreshold) {
+        this.parallelConformThreshold = parallelConformThreshold;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the selection criteria of queries conforming objects in-memory are compiled into bytecode.
+     */
+    public boolean shouldCompileExpressions() {
+        return this.shouldCompileExpressions;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the selection criteria of queries conforming objects in-memory are compiled into bytecode.
+     * The comparisons of direct attributes of the queried objects are generated into an evaluator class
+     * that reads the attributes through their public getter or field, the evaluator is cached on the query.
+     * This applies to checking the cache, and to conforming in the unit of work.
+     * Other selection criteria are conformed as usual.
+     * This is false by default.
+     */
+    public void setShouldCompileExpressions(boolean shouldCompileExpressions) {
+        this.shouldCompileExpressions = shouldCompileExpressions;
+    }
+
     /**
      * INTERNAL:
      * Indicates whether there is at least one descriptor that has at least on mapping that
@@ -35,6 +35,8 @@ public interface SessionProfiler {
     public static final String LoginTime = "Info:LoginTime";
     public static final String RcmStatus = "Info:CacheCoordinationStatus";
     public static final String CacheSize = "Info:CacheSize";//TODO
+    public static final String BatchFetchSourceRows = "Info:BatchFetchSourceRows";
+    public static final String LazyLoadsPerQuery = "Info:LazyLoads";
 
     public static final String ClientSessionCreated = "Counter:ClientSessionCreates";
     public static final String ClientSessionReleased = "Counter:ClientSessionReleases";
@@ -52,11 +54,24 @@ public interface SessionProfiler {
     public static final String CacheMisses = "Counter:CacheMisses";
     public static final String ChangeSetsProcessed = "Counter:ChangesProcessed";
     public static final String ChangeSetsNotProcessed = "Counter:ChangesNotProcessed";
+    public static final String CriteriaQueryCacheHits = "Counter:CriteriaQueryCacheHits";
+    public static final String CriteriaQueryCacheMisses = "Counter:CriteriaQueryCacheMisses";
+    public static final String JPQLParseCacheHits = "Counter:JPQLParseCacheHits";
+    public static final String JPQLParseCacheMisses = "Counter:JPQLParseCacheMisses";
+    public static final String JPQLParseCacheEvictions = "Counter:JPQLParseCacheEvictions";
+    public static final String JPQLParseCacheRejections = "Counter:JPQLParseCacheRejections";
+    public static final String BatchFetchJOIN = "Counter:BatchFetchJOIN";
+    public static final String BatchFetchEXISTS = "Counter:BatchFetchEXISTS";
+    public static final String BatchFetchIN = "Counter:BatchFetchIN";
+    public static final String LazyLoads = "Counter:LazyLoads";
+    public static final String LazyLoadThresholdExceeded = "Counter:LazyLoadThresholdExceeded";
 
     public static final String DescriptorEvent = "Timer:DescriptorEvents";
     public static final String SessionEvent = "Timer:SessionEvents";
     public static final String QueryPreparation = "Timer:QueryPreparation";
     public static final String SqlGeneration = "Timer:SqlGeneration";
+    public static final String CriteriaQueryCacheTimeSaved = "Timer:CriteriaQueryCacheTimeSaved";
+    public static final String BatchFetch = "Timer:BatchFetch";
     public static final String SqlPrepare = "Timer:SqlPrepare";
     public static final String StatementExecute = "Timer:StatementExecute";
     public static final String RowFetch = "Timer:RowFetch";
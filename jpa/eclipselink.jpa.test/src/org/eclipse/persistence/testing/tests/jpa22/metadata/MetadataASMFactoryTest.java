@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -16,6 +16,22 @@
 //       - 535250: Test meta-annotations with dependency cycle
 package org.eclipse.persistence.testing.tests.jpa22.metadata;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataLogger;
 import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataAnnotation;
@@ -45,9 +61,91 @@ public static Test suite() {
         suite.addTest(new MetadataASMFactoryTest("testMetadataAnnotations"));
         suite.addTest(new MetadataASMFactoryTest("testAnnotationsWithCycle"));
         suite.addTest(new MetadataASMFactoryTest("testAnnotationsWithPrimitiveCycle"));
+        suite.addTest(new MetadataASMFactoryTest("testUnannotatedClassSkipped"));
+        suite.addTest(new MetadataASMFactoryTest("testMemberAnnotationsRead"));
+        suite.addTest(new MetadataASMFactoryTest("testMetaAnnotatedEntityRead"));
+        suite.addTest(new MetadataASMFactoryTest("testLongAndDoubleConstants"));
+        suite.addTest(new MetadataASMFactoryTest("testUnreadableClassReturned"));
+        suite.addTest(new MetadataASMFactoryTest("testParallelRead"));
         return suite;
     }
 
+    public static class Unannotated {
+        public String name;
+    }
+
+    public static class MemberAnnotated {
+        @Column(name = "NAME")
+        public String name;
+    }
+
+    @Entity
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface MetaEntity {
+    }
+
+    @MetaEntity
+    public static class MetaAnnotated {
+    }
+
+    public static class UnannotatedConstants {
+        public static final long LONG = 1234567890123L;
+        public static final double DOUBLE = 1.5;
+        public static final String NAME = "RuntimeVisible";
+    }
+
+    @Entity
+    public static class AnnotatedConstants {
+        public static final long LONG = 1234567890123L;
+        public static final double DOUBLE = 1.5;
+    }
+
+    /**
+     * Class loader supplying the bytes of the class files, read from the class loader of the test,
+     * or given by the test.
+     */
+    private static class ClassFileLoader extends ClassLoader {
+        private final Map<String, byte[]> classFiles = new HashMap<>();
+
+        ClassFileLoader() {
+            super(MetadataASMFactoryTest.class.getClassLoader());
+        }
+
+        void addClassFile(String className, byte[] bytes) {
+            classFiles.put(className.replace('.', '/') + ".class", bytes);
+        }
+
+        void addClassFile(Class<?> javaClass) throws IOException {
+            String resource = javaClass.getName().replace('.', '/') + ".class";
+            try (InputStream stream = getParent().getResourceAsStream(resource)) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int length = stream.read(buffer); length != -1; length = stream.read(buffer)) {
+                    output.write(buffer, 0, length);
+                }
+                addClassFile(javaClass.getName(), output.toByteArray());
+            }
+        }
+
+        byte[] getClassFile(Class<?> javaClass) {
+            return classFiles.get(javaClass.getName().replace('.', '/') + ".class");
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            byte[] bytes = classFiles.get(name);
+            if (bytes == null) {
+                return super.getResourceAsStream(name);
+            }
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    private static Set<String> buildAnnotatedMetadataClasses(ClassFileLoader loader, boolean parallel, String... classNames) {
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), loader);
+        return factory.buildAnnotatedMetadataClasses(Arrays.asList(classNames), false, parallel);
+    }
+
     public void testMetadataAnnotations() {
         MetadataAsmFactory fact = new MetadataAsmFactory(new MetadataLogger(null), MetadataASMFactoryTest.class.getClassLoader());
         MetadataClass metadataClass = fact.getMetadataClass(Employee.class.getName());
@@ -88,4 +186,84 @@ public void testAnnotationsWithPrimitiveCycle() {
         }
     }
 
+    public void testUnannotatedClassSkipped() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(Unannotated.class);
+        Assert.assertTrue(buildAnnotatedMetadataClasses(loader, false, Unannotated.class.getName()).isEmpty());
+    }
+
+    public void testMemberAnnotationsRead() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(MemberAnnotated.class);
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), loader);
+        Set<String> annotated = factory.buildAnnotatedMetadataClasses(Arrays.asList(MemberAnnotated.class.getName()), false, false);
+        Assert.assertEquals(1, annotated.size());
+        Assert.assertTrue(annotated.contains(MemberAnnotated.class.getName()));
+        MetadataClass metadataClass = factory.getMetadataClass(MemberAnnotated.class.getName());
+        Assert.assertNotNull(metadataClass.getField("name").getAnnotation("javax.persistence.Column"));
+    }
+
+    public void testMetaAnnotatedEntityRead() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(MetaAnnotated.class);
+        loader.addClassFile(MetaEntity.class);
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), loader);
+        Set<String> annotated = factory.buildAnnotatedMetadataClasses(Arrays.asList(MetaAnnotated.class.getName()), false, false);
+        Assert.assertTrue(annotated.contains(MetaAnnotated.class.getName()));
+        MetadataClass metadataClass = factory.getMetadataClass(MetaAnnotated.class.getName());
+        Assert.assertNotNull(metadataClass.getAnnotation(MetaEntity.class.getName()));
+        MetadataClass annotationClass = factory.getMetadataClass(MetaEntity.class.getName());
+        Assert.assertNotNull(annotationClass.getAnnotation("javax.persistence.Entity"));
+    }
+
+    /**
+     * The Long and Double entries take two slots of the constant pool.
+     */
+    public void testLongAndDoubleConstants() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(UnannotatedConstants.class);
+        loader.addClassFile(AnnotatedConstants.class);
+        Set<String> annotated = buildAnnotatedMetadataClasses(loader, false,
+                UnannotatedConstants.class.getName(), AnnotatedConstants.class.getName());
+        Assert.assertEquals(1, annotated.size());
+        Assert.assertTrue(annotated.contains(AnnotatedConstants.class.getName()));
+    }
+
+    /**
+     * The classes which can not be checked are returned, getMetadataClass reports them.
+     */
+    public void testUnreadableClassReturned() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(Unannotated.class);
+        byte[] bytes = loader.getClassFile(Unannotated.class);
+        loader.addClassFile("test.Truncated", Arrays.copyOf(bytes, 20));
+        loader.addClassFile("test.NotAClass", "not a class file".getBytes("UTF-8"));
+        byte[] unknownTag = Arrays.copyOf(bytes, bytes.length);
+        // The tag of the first constant.
+        unknownTag[10] = 2;
+        loader.addClassFile("test.UnknownTag", unknownTag);
+        Set<String> annotated = buildAnnotatedMetadataClasses(loader, false,
+                "test.Truncated", "test.NotAClass", "test.UnknownTag", "test.Missing", Unannotated.class.getName());
+        Assert.assertEquals(Arrays.asList("test.Truncated", "test.NotAClass", "test.UnknownTag", "test.Missing"), new ArrayList<>(annotated));
+    }
+
+    public void testParallelRead() throws IOException {
+        ClassFileLoader loader = new ClassFileLoader();
+        loader.addClassFile(Unannotated.class);
+        loader.addClassFile(MemberAnnotated.class);
+        List<String> classNames = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int index = 0; index < 50; index++) {
+            Class<?> javaClass = index % 2 == 0 ? Unannotated.class : MemberAnnotated.class;
+            String className = "test.Class" + index;
+            loader.addClassFile(className, loader.getClassFile(javaClass));
+            classNames.add(className);
+            if (javaClass == MemberAnnotated.class) {
+                expected.add(className);
+            }
+        }
+        Set<String> annotated = buildAnnotatedMetadataClasses(loader, true, classNames.toArray(new String[classNames.size()]));
+        Assert.assertEquals(expected, new ArrayList<>(annotated));
+    }
+
 }
@@ -39,11 +39,14 @@
 import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
 
+import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
 import org.eclipse.persistence.internal.helper.ClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.jpa.jpql.JPQLLiteralNormalizer;
 import org.eclipse.persistence.internal.jpa.querydef.ParameterExpressionImpl;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.queries.ContainerPolicy;
@@ -61,6 +64,7 @@
 import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.ResultSetMappingQuery;
 import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * Concrete JPA query class. The JPA query wraps a DatabaseQuery which is
@@ -101,7 +105,21 @@ public EJBQueryImpl(String queryDescription, EntityManagerImpl entityManager, bo
             this.queryName = queryDescription;
         } else {
             if (databaseQuery == null) {
-                databaseQuery = buildEJBQLDatabaseQuery(queryDescription, entityManager.getActiveSessionIfExists());
+                AbstractSession session = entityManager.getActiveSessionIfExists();
+                JPQLLiteralNormalizer normalizer = null;
+                if ("true".equalsIgnoreCase((String)session.getProperty(PersistenceUnitProperties.JPQL_PARAMETERIZE_LITERALS))) {
+                    // PERF: Hoist the literals into parameters, to share the parse cache entry and SQL.
+                    normalizer = JPQLLiteralNormalizer.normalize(queryDescription);
+                }
+                if (normalizer == null) {
+                    databaseQuery = buildEJBQLDatabaseQuery(queryDescription, session);
+                } else {
+                    databaseQuery = buildEJBQLDatabaseQuery(normalizer.getJPQLQuery(), session);
+                    List<Object> literalValues = normalizer.getLiteralValues();
+                    for (int index = 0; index < literalValues.size(); index++) {
+                        setInternalArgumentValue(JPQLLiteralNormalizer.getLiteralParameterName(index), literalValues.get(index));
+                    }
+                }
             }
         }
     }
@@ -136,6 +154,7 @@ public static DatabaseQuery buildEJBQLDatabaseQuery(String queryName, String jpq
         DatabaseQuery databaseQuery = null;
         if (isCacheable) {
             databaseQuery = (DatabaseQuery) session.getProject().getJPQLParseCache().get(jpqlQuery);
+            session.incrementProfile((databaseQuery == null) ? SessionProfiler.JPQLParseCacheMisses : SessionProfiler.JPQLParseCacheHits);
         }
         if ((databaseQuery == null) || (!databaseQuery.isPrepared())) {
             JPAQueryBuilder queryBuilder = session.getQueryBuilder();
@@ -192,7 +211,10 @@ public static DatabaseQuery buildEJBQLDatabaseQuery(String queryName, String jpq
                 // Prepare query as hint may cause cloning (but not un-prepare
                 // as in read-only).
                 databaseQuery.checkPrepare(session, new DatabaseRecord());
-                session.getProject().getJPQLParseCache().put(jpqlQuery, databaseQuery);
+                ConcurrentFixedCache parseCache = session.getProject().getJPQLParseCache();
+                parseCache.put(jpqlQuery, databaseQuery);
+                session.updateProfile(SessionProfiler.JPQLParseCacheEvictions, parseCache.getEvictions());
+                session.updateProfile(SessionProfiler.JPQLParseCacheRejections, parseCache.getRejections());
             }
         }
 
@@ -348,6 +370,21 @@ public Collection getResultCollection() {
         }
     }
 
+    /**
+     * Non-standard method to return the continuation token of the page following the last result,
+     * for keyset pagination.
+     *
+     * @return the continuation token to set as the "eclipselink.keyset.after" hint.
+     */
+    @Override
+    public String getContinuationToken(Object lastResult) {
+        this.entityManager.verifyOpenWithSetRollbackOnly();
+        if (!(getDatabaseQueryInternal() instanceof ReadAllQuery)) {
+            throw QueryException.incorrectQueryObjectFound(getDatabaseQueryInternal(), ReadAllQuery.class);
+        }
+        return ((ReadAllQuery) getDatabaseQueryInternal()).buildContinuationToken(lastResult, getActiveSession());
+    }
+
     /**
      * Non-standard method to return results of a ReadQuery that uses a Cursor.
      *
@@ -149,6 +149,9 @@ public class EntityManagerFactoryDelegate implements EntityManagerFactory, Persi
 
     protected boolean commitWithoutPersistRules;
 
+    /** Default to determine if flushes for queries are skipped when the query's tables have no pending changes. */
+    protected boolean deferQueryFlush;
+
     /** Pointer to the EntityManagerFactoryImpl that created me */
     protected JpaEntityManagerFactory owner = null;
 
@@ -430,6 +433,10 @@ protected void processProperties(Map properties) {
         if (commitWithoutPersist != null) {
             this.commitWithoutPersistRules = "true".equalsIgnoreCase(commitWithoutPersist);
         }
+        String deferQueryFlush = PropertiesHandler.getPropertyValueLogDebug(EntityManagerProperties.PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH, properties, this.session, true);
+        if (deferQueryFlush != null) {
+            this.deferQueryFlush = "true".equalsIgnoreCase(deferQueryFlush);
+        }
         String shouldValidateExistence = PropertiesHandler.getPropertyValueLogDebug(EntityManagerProperties.VALIDATE_EXISTENCE, properties, this.session, true);
         if (shouldValidateExistence != null) {
             this.shouldValidateExistence = "true".equalsIgnoreCase(shouldValidateExistence);
@@ -574,6 +581,22 @@ public void setCommitWithoutPersistRules(boolean commitWithoutPersistRules) {
         this.commitWithoutPersistRules = commitWithoutPersistRules;
     }
 
+    /**
+     * Return default property to skip flushes for queries whose tables have
+     * no pending changes.
+     */
+    public boolean getDeferQueryFlush() {
+        return deferQueryFlush;
+    }
+
+    /**
+     * Set default property to skip flushes for queries whose tables have
+     * no pending changes.
+     */
+    public void setDeferQueryFlush(boolean deferQueryFlush) {
+        this.deferQueryFlush = deferQueryFlush;
+    }
+
     /**
      * Return the default FlashClearCache mode to be used. Relevant only in case
      * call to flush method followed by call to clear method.
@@ -479,6 +479,22 @@ public void setCommitWithoutPersistRules(boolean commitWithoutPersistRules) {
         delegate.setCommitWithoutPersistRules(commitWithoutPersistRules);
     }
 
+    /**
+     * Return default property to skip flushes for queries whose tables have
+     * no pending changes.
+     */
+    public boolean getDeferQueryFlush() {
+        return delegate.getDeferQueryFlush();
+    }
+
+    /**
+     * Set default property to skip flushes for queries whose tables have
+     * no pending changes.
+     */
+    public void setDeferQueryFlush(boolean deferQueryFlush) {
+        delegate.setDeferQueryFlush(deferQueryFlush);
+    }
+
     /**
      * Return the default FlashClearCache mode to be used. Relevant only in case
      * call to flush method followed by call to clear method.
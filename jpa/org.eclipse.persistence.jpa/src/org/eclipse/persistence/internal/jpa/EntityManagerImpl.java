@@ -97,6 +97,7 @@
 import org.eclipse.persistence.internal.helper.BasicTypeHelperImpl;
 import org.eclipse.persistence.internal.identitymaps.CacheId;
 import org.eclipse.persistence.internal.jpa.querydef.CriteriaDeleteImpl;
+import org.eclipse.persistence.internal.jpa.querydef.CriteriaQueryFingerprint;
 import org.eclipse.persistence.internal.jpa.querydef.CriteriaQueryImpl;
 import org.eclipse.persistence.internal.jpa.querydef.CriteriaUpdateImpl;
 import org.eclipse.persistence.internal.jpa.transaction.EntityTransactionImpl;
@@ -105,6 +106,7 @@
 import org.eclipse.persistence.internal.jpa.transaction.TransactionWrapper;
 import org.eclipse.persistence.internal.jpa.transaction.TransactionWrapperImpl;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
+import org.eclipse.persistence.internal.queries.PreparedQueryCache;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
 import org.eclipse.persistence.internal.sessions.MergeManager;
@@ -125,6 +127,7 @@
 import org.eclipse.persistence.queries.SQLResultSetMapping;
 import org.eclipse.persistence.queries.StoredProcedureCall;
 import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.DatabaseRecord;
 import org.eclipse.persistence.sessions.DatasourceLogin;
 import org.eclipse.persistence.sessions.DefaultConnector;
 import org.eclipse.persistence.sessions.JNDIConnector;
@@ -249,6 +252,9 @@ protected enum OperationType {FIND, REFRESH, LOCK};
 
     protected boolean commitWithoutPersistRules;
 
+    /** Determine if flushes for queries are skipped when the query's tables have no pending changes. */
+    protected boolean deferQueryFlush;
+
     /** Tracks if this EntityManager should automatically associate with the transaction or not*/
     protected SynchronizationType syncType;
 
@@ -299,6 +305,14 @@ void process(String name, Object value, EntityManagerImpl em) {
                     em.extendedPersistenceContext.setDiscoverUnregisteredNewObjectsWithoutPersist(em.commitWithoutPersistRules);
                 }
             }});
+            put(EntityManagerProperties.PERSISTENCE_CONTEXT_DEFER_QUERY_FLUSH, new PropertyProcessor() {
+            @Override
+            void process(String name, Object value, EntityManagerImpl em) {
+                em.deferQueryFlush = "true".equalsIgnoreCase(getPropertiesHandlerProperty(name, (String)value));
+                if (em.hasActivePersistenceContext()) {
+                    em.extendedPersistenceContext.setShouldDeferQueryFlush(em.deferQueryFlush);
+                }
+            }});
             put(EntityManagerProperties.VALIDATE_EXISTENCE, new PropertyProcessor() {
             @Override
             void process(String name, Object value, EntityManagerImpl em) {
@@ -487,6 +501,7 @@ public EntityManagerImpl(EntityManagerFactoryDelegate factory, Map properties, S
         this.flushMode = factory.getFlushMode();
         this.persistOnCommit = factory.getPersistOnCommit();
         this.commitWithoutPersistRules = factory.getCommitWithoutPersistRules();
+        this.deferQueryFlush = factory.getDeferQueryFlush();
         this.referenceMode = factory.getReferenceMode();
         this.flushClearCache = factory.getFlushClearCache();
         this.shouldValidateExistence = factory.shouldValidateExistence();
@@ -959,6 +974,16 @@ protected Object findInternal(ClassDescriptor descriptor, AbstractSession sessio
      */
     @Override
     public void flush() {
+        flushForQuery(null);
+    }
+
+    /**
+     * INTERNAL:
+     * Synchronize the persistence context with the underlying database before the query is executed.
+     * If the persistence context defers query flushes, the flush is skipped if the query
+     * does not read any table with pending changes.
+     */
+    public void flushForQuery(DatabaseQuery query) {
         try {
             // Based on spec definition 3 possible exceptions are thrown
             // IllegalState by verifyOpen,
@@ -972,7 +997,7 @@ public void flush() {
             verifyOpen();
             try {
                 try {
-                    getActivePersistenceContext(checkForTransaction(true)).writeChanges();
+                    getActivePersistenceContext(checkForTransaction(true)).writeChangesForQuery(query);
                 } catch (org.eclipse.persistence.exceptions.OptimisticLockException eclipselinkOLE) {
                     throw new OptimisticLockException(eclipselinkOLE);
                 }
@@ -1679,7 +1704,33 @@ public javax.persistence.Query createQuery(DatabaseQuery databaseQuery) {
     public <T> TypedQuery<T> createQuery(CriteriaQuery<T> criteriaQuery) {
         try{
             verifyOpen();
-            return new EJBQueryImpl<T>(((CriteriaQueryImpl<T>)criteriaQuery).translate(), this);
+            DatabaseQuery query = ((CriteriaQueryImpl<T>)criteriaQuery).translate();
+            AbstractSession session = getActiveSessionIfExists();
+            PreparedQueryCache cache = session.getProject().getCriteriaQueryCache();
+            CriteriaQueryFingerprint fingerprint = null;
+            if (cache.getMaxSize() > 0) {
+                fingerprint = CriteriaQueryFingerprint.buildFingerprint(query);
+            }
+            if (fingerprint == null) {
+                return new EJBQueryImpl<T>(query, this);
+            }
+            // PERF: Check if a criteria query of the same structure has already been prepared,
+            // the literals of the where clause are bound as parameters of the prepared query.
+            String key = fingerprint.getKey();
+            DatabaseQuery preparedQuery = cache.getPreparedQuery(key, session);
+            if (preparedQuery == null) {
+                long startTime = System.nanoTime();
+                fingerprint.parameterizeLiterals(query);
+                query.checkPrepare(session, new DatabaseRecord());
+                cache.putPreparedQuery(key, query, System.nanoTime() - startTime);
+                preparedQuery = query;
+            }
+            EJBQueryImpl<T> ejbQuery = new EJBQueryImpl<T>(preparedQuery, this);
+            List<Object> literalValues = fingerprint.getLiteralValues();
+            for (int index = 0; index < literalValues.size(); index++) {
+                ejbQuery.setInternalArgumentValue(CriteriaQueryFingerprint.getLiteralParameterName(index), literalValues.get(index));
+            }
+            return ejbQuery;
         }catch (RuntimeException e){
             setRollbackOnly();
             throw e;
@@ -2100,6 +2151,7 @@ public RepeatableWriteUnitOfWork getActivePersistenceContext(Object txn) {
             this.extendedPersistenceContext.setResumeUnitOfWorkOnTransactionCompletion(!this.closeOnCommit);
             this.extendedPersistenceContext.setShouldDiscoverNewObjects(this.persistOnCommit);
             this.extendedPersistenceContext.setDiscoverUnregisteredNewObjectsWithoutPersist(this.commitWithoutPersistRules);
+            this.extendedPersistenceContext.setShouldDeferQueryFlush(this.deferQueryFlush);
             this.extendedPersistenceContext.setFlushClearCache(this.flushClearCache);
             this.extendedPersistenceContext.setShouldValidateExistence(this.shouldValidateExistence);
             this.extendedPersistenceContext.setCommitOrder(this.commitOrder);
@@ -2855,6 +2855,8 @@ protected void updateSession(Map m, ClassLoader loader) {
             updateQueryTimeoutUnit(m);
             updateLockingTimestampDefault(m);
             updateSQLCallDeferralDefault(m);
+            updateLazyLoading(m);
+            updateParallelConform(m);
             updateNamingIntoIndexed(m);
             if (!session.hasBroker()) {
                 updateCacheCoordination(m, loader);
@@ -3386,6 +3388,20 @@ protected void updateJPQLParser(Map m) {
         if (validation != null) {
             this.session.setProperty(PersistenceUnitProperties.JPQL_VALIDATION, validation);
         }
+        // Set JPQL literal parameterization if it was specified.
+        String parameterizeLiterals = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.JPQL_PARAMETERIZE_LITERALS, m, this.session);
+        if (parameterizeLiterals != null) {
+            this.session.setProperty(PersistenceUnitProperties.JPQL_PARAMETERIZE_LITERALS, parameterizeLiterals);
+        }
+        // Set the criteria query cache size if it was specified, criteria queries are not cached by default.
+        String criteriaQueryCacheSize = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.CRITERIA_QUERY_CACHE_SIZE, m, this.session);
+        if (criteriaQueryCacheSize != null) {
+            try {
+                this.session.getProject().setCriteriaQueryCacheMaxSize(Integer.parseInt(criteriaQueryCacheSize.trim()));
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(criteriaQueryCacheSize, PersistenceUnitProperties.CRITERIA_QUERY_CACHE_SIZE, exception));
+            }
+        }
     }
 
     /**
@@ -3701,6 +3717,54 @@ private void updateSQLCallDeferralDefault(Map persistenceProperties) {
         }
     }
 
+    /**
+     * Update the auto batch fetching default and the lazy load threshold of the project.
+     */
+    private void updateLazyLoading(Map persistenceProperties) {
+        String autoBatch = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.BATCH_AUTO_DEFAULT, persistenceProperties, this.session);
+        if (autoBatch != null) {
+            if (autoBatch.equalsIgnoreCase("true")) {
+                this.session.getProject().setShouldAutoBatchFetch(true);
+            } else if (autoBatch.equalsIgnoreCase("false")) {
+                this.session.getProject().setShouldAutoBatchFetch(false);
+            } else {
+                this.session.handleException(ValidationException.invalidBooleanValueForProperty(autoBatch, PersistenceUnitProperties.BATCH_AUTO_DEFAULT));
+            }
+        }
+        String threshold = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.LAZY_LOAD_THRESHOLD, persistenceProperties, this.session);
+        if (threshold != null) {
+            try {
+                this.session.getProject().setLazyLoadThreshold(Integer.parseInt(threshold.trim()));
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(threshold, PersistenceUnitProperties.LAZY_LOAD_THRESHOLD, exception));
+            }
+        }
+    }
+
+    /**
+     * Update the parallel conforming threshold and the compiling of the selection criteria of in-memory queries.
+     */
+    private void updateParallelConform(Map persistenceProperties) {
+        String threshold = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.PARALLEL_CONFORM_THRESHOLD, persistenceProperties, this.session);
+        if (threshold != null) {
+            try {
+                this.session.getProject().setParallelConformThreshold(Integer.parseInt(threshold.trim()));
+            } catch (NumberFormatException exception) {
+                this.session.handleException(ValidationException.invalidValueForProperty(threshold, PersistenceUnitProperties.PARALLEL_CONFORM_THRESHOLD, exception));
+            }
+        }
+        String compile = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COMPILE_EXPRESSIONS, persistenceProperties, this.session);
+        if (compile != null) {
+            if (compile.equalsIgnoreCase("true")) {
+                this.session.getProject().setShouldCompileExpressions(true);
+            } else if (compile.equalsIgnoreCase("false")) {
+                this.session.getProject().setShouldCompileExpressions(false);
+            } else {
+                this.session.handleException(ValidationException.invalidBooleanValueForProperty(compile, PersistenceUnitProperties.COMPILE_EXPRESSIONS));
+            }
+        }
+    }
+
     private void updateNamingIntoIndexed(Map persistenceProperties) {
         String namingIntoIndexed = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.NAMING_INTO_INDEXED, persistenceProperties, this.session);
         if (namingIntoIndexed != null) {
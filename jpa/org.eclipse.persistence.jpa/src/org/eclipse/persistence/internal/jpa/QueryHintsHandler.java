@@ -68,6 +68,7 @@
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.queries.ContainerPolicy;
+import org.eclipse.persistence.internal.queries.KeysetToken;
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.security.PrivilegedClassForName;
 import org.eclipse.persistence.internal.security.PrivilegedNewInstanceFromClass;
@@ -257,6 +258,7 @@ protected static abstract class Hint {
             addHint(new BatchHint());
             addHint(new BatchTypeHint());
             addHint(new BatchSizeHint());
+            addHint(new BatchAutoHint());
             addHint(new FetchHint());
             addHint(new LeftFetchHint());
             addHint(new ReadOnlyHint());
@@ -268,6 +270,7 @@ protected static abstract class Hint {
             addHint(new JDBCFetchSizeHint());
             addHint(new JDBCMaxRowsHint());
             addHint(new JDBCFirstResultHint());
+            addHint(new KeysetAfterHint());
             addHint(new ResultCollectionTypeHint());
             addHint(new RedirectorHint());
             addHint(new PartitioningHint());
@@ -867,7 +870,8 @@ protected static class ResultTypeHint extends Hint {
                 {ResultType.Map, ResultType.Map},
                 {ResultType.Array, ResultType.Array},
                 {ResultType.Value, ResultType.Value},
-                {ResultType.Attribute, ResultType.Attribute}
+                {ResultType.Attribute, ResultType.Attribute},
+                {ResultType.Columnar, ResultType.Columnar}
             };
         }
 
@@ -881,6 +885,8 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
                     ((DataReadQuery)query).setResultType(DataReadQuery.ATTRIBUTE);
                 } else if (valueToApply == ResultType.Value) {
                     ((DataReadQuery)query).setResultType(DataReadQuery.VALUE);
+                } else if (valueToApply == ResultType.Columnar) {
+                    throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
                 }
             } else if (query.isReportQuery()) {
                 if (valueToApply == ResultType.Map) {
@@ -891,6 +897,8 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
                     ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnSingleAttribute);
                 } else if (valueToApply == ResultType.Value) {
                     ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnSingleValue);
+                } else if (valueToApply == ResultType.Columnar) {
+                    ((ReportQuery)query).setReturnType(ReportQuery.ShouldReturnColumnar);
                 }
             } else {
                 throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
@@ -1516,6 +1524,26 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    protected static class BatchAutoHint extends Hint {
+        BatchAutoHint() {
+            super(QueryHints.BATCH_AUTO, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isObjectLevelReadQuery()) {
+                ((ObjectLevelReadQuery) query).setShouldAutoBatchFetch(((Boolean)valueToApply).booleanValue());
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+
+            return query;
+        }
+    }
+
     protected static class BatchSizeHint extends Hint {
         BatchSizeHint() {
             super(QueryHints.BATCH_SIZE, "");
@@ -2012,6 +2040,29 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    protected static class KeysetAfterHint extends Hint {
+        KeysetAfterHint() {
+            super(QueryHints.KEYSET_AFTER, "");
+        }
+
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadAllQuery()) {
+                if ((valueToApply == null) || "".equals(valueToApply)) {
+                    ((ReadAllQuery) query).setAfterKey(null);
+                } else if (valueToApply instanceof String) {
+                    ((ReadAllQuery) query).setAfterKey(KeysetToken.decode((String)valueToApply));
+                } else if (valueToApply instanceof Object[]) {
+                    ((ReadAllQuery) query).setAfterKey((Object[])valueToApply);
+                } else {
+                    throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+                }
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     protected static class ResultCollectionTypeHint extends Hint {
         ResultCollectionTypeHint() {
             super(QueryHints.RESULT_COLLECTION_TYPE, "");
@@ -56,6 +56,8 @@
 import org.eclipse.persistence.internal.helper.ConversionManager;
 import org.eclipse.persistence.internal.helper.DatabaseField;
 import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.jpa.jpql.JPQLLiteralNormalizer;
+import org.eclipse.persistence.internal.jpa.querydef.CriteriaQueryFingerprint;
 import org.eclipse.persistence.internal.jpa.querydef.ParameterExpressionImpl;
 import org.eclipse.persistence.internal.localization.ExceptionLocalization;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
@@ -64,6 +66,7 @@
 import org.eclipse.persistence.platform.database.oracle.plsql.PLSQLStoredProcedureCall;
 import org.eclipse.persistence.platform.database.oracle.plsql.PLSQLargument;
 import org.eclipse.persistence.queries.Call;
+import org.eclipse.persistence.queries.ColumnarReportQueryResult;
 import org.eclipse.persistence.queries.DataModifyQuery;
 import org.eclipse.persistence.queries.DataReadQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
@@ -72,6 +75,7 @@
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.queries.ReportQuery;
 import org.eclipse.persistence.queries.StoredProcedureCall;
 import org.eclipse.persistence.sessions.DatabaseRecord;
 import org.eclipse.persistence.sessions.Session;
@@ -411,6 +415,12 @@ protected Map<String, Parameter<?>> getInternalParameters() {
             if (query.getArguments() != null && !query.getArguments().isEmpty()) {
                 boolean checkParameterType = query.getArgumentParameterTypes().size() == query.getArguments().size();
                 for (String argName : query.getArguments()) {
+                    if (argName.startsWith(CriteriaQueryFingerprint.LITERAL_PARAMETER_PREFIX)
+                            || argName.startsWith(JPQLLiteralNormalizer.LITERAL_PARAMETER_PREFIX)) {
+                        // Hoisted literals of criteria and JPQL queries are not parameters of the JPA query.
+                        ++count;
+                        continue;
+                    }
                     Parameter<?> param = null;
                     ParameterType type = null;
                     if (checkParameterType){
@@ -954,6 +964,16 @@ protected void setParameterInternal(String name, Object value, boolean isIndex)
         this.parameterValues.put(name, value);
     }
 
+    /**
+     * INTERNAL:
+     * Bind the value of an argument that is not a parameter of the JPA query,
+     * such as a literal hoisted into a parameter by the criteria query cache
+     * or the JPQL literal normalizer.
+     */
+    protected void setInternalArgumentValue(String name, Object value) {
+        this.parameterValues.put(name, value);
+    }
+
     protected boolean isValidActualParameter(Object value, Class parameterType) {
         if (value == null) {
             return true;
@@ -973,7 +993,7 @@ protected Session getActiveSession() {
 
     protected void performPreQueryFlush() {
         if (this.entityManager.shouldFlushBeforeQuery()) {
-            this.entityManager.flush();
+            this.entityManager.flushForQuery(getDatabaseQueryInternal());
         }
     }
 
@@ -1167,6 +1187,11 @@ public <T> T unwrap(Class<T> cls) {
         if (cls.isAssignableFrom(getDatabaseQueryInternal().getClass())) {
             return (T) getDatabaseQueryInternal();
         }
+        if ((cls == ColumnarReportQueryResult.class) && getDatabaseQueryInternal().isReportQuery()
+                && ((ReportQuery)getDatabaseQueryInternal()).shouldReturnColumnar()) {
+            // Execute the query, its results are stored by column.
+            return (T) getResultList();
+        }
 
         throw new PersistenceException(ExceptionLocalization.buildMessage("unable_to_unwrap_jpa", new String[]{Query.class.getName(), cls.getName()}));
     }
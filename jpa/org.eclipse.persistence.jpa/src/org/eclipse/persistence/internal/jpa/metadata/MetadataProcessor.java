@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1998, 2018 IBM Corporation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -61,6 +61,7 @@
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.exceptions.PersistenceUnitLoadingException;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.internal.jpa.EntityManagerFactoryProvider;
 import org.eclipse.persistence.internal.jpa.EntityManagerSetupImpl;
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor.Mode;
@@ -346,6 +347,13 @@ protected void initPersistenceUnitClasses() {
         Set<String> unlistedClasses = Collections.EMPTY_SET;
         if (! persistenceUnitInfo.excludeUnlistedClasses()) {
             unlistedClasses = PersistenceUnitProcessor.getClassNamesFromURL(persistenceUnitInfo.getPersistenceUnitRootUrl(), m_loader, m_predeployProperties);
+
+            // Only annotated classes can be discovered, so read the unlisted
+            // classes up front and drop the ones without annotations.
+            if (m_factory instanceof MetadataAsmFactory) {
+                boolean parallel = "true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsString(PersistenceUnitProperties.DEPLOY_PARALLEL_CLASS_SCANNING, m_predeployProperties, "false"));
+                unlistedClasses = ((MetadataAsmFactory) m_factory).buildAnnotatedMetadataClasses(unlistedClasses, true, parallel);
+            }
         }
 
         // 5 - Go through all the class names we found and add those classes
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1998, 2018 Hans Harz, Andrew Rustleund, IBM Corporation. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,12 +27,20 @@
 //       - 480787 : Wrap several privileged method calls with a doPrivileged block
 package org.eclipse.persistence.internal.jpa.metadata.accessors.objects;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataDescriptor;
@@ -66,11 +74,22 @@ public class MetadataAsmFactory extends MetadataFactory {
     /** Set of desc token characters. */
     public static final String TOKENS = "()<>;";
 
+    /** Names of the class file attributes holding the annotations of a class or of its members. */
+    private static final byte[][] ANNOTATION_ATTRIBUTES = {
+        "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8),
+        "RuntimeInvisibleAnnotations".getBytes(StandardCharsets.UTF_8)
+    };
+
+    /** The number of classes read by one task. */
+    private static final int BATCH_SIZE = 16;
+
     /**
      * INTERNAL:
      */
     public MetadataAsmFactory(MetadataLogger logger, ClassLoader loader) {
         super(logger, loader);
+        // The classes may be read on several threads, see buildAnnotatedMetadataClasses.
+        m_metadataClasses = Collections.synchronizedMap(m_metadataClasses);
 
         addMetadataClass("I", new MetadataClass(this, int.class));
         addMetadataClass("J", new MetadataClass(this, long.class));
@@ -90,18 +109,7 @@ protected void buildClassMetadata(MetadataClass metadataClass, String className,
         ClassMetadataVisitor visitor = new ClassMetadataVisitor(metadataClass, isLazy);
         InputStream stream = null;
         try {
-            String resourceString = className.replace('.', '/') + ".class";
-            if (PrivilegedAccessHelper.shouldUsePrivilegedAccess()) {
-                final String f_resourceString = resourceString;
-                stream = AccessController.doPrivileged(new PrivilegedAction<InputStream>() {
-                    @Override
-                    public InputStream run() {
-                        return m_loader.getResourceAsStream(f_resourceString);
-                    }
-                });
-            } else {
-                stream = m_loader.getResourceAsStream(resourceString);
-            }
+            stream = getClassStream(className);
 
             ClassReader reader = new ClassReader(stream);
             Attribute[] attributes = new Attribute[0];
@@ -153,6 +161,174 @@ public InputStream run() {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Build the class metadata of the classes which may be annotated and
+     * return their names, the classes without any annotation are skipped.
+     * A class is read only once: its constant pool is checked for annotation
+     * attributes before the class is parsed. When parallel is true the classes
+     * are read on several threads. The classes which can not be read are
+     * returned unread, getMetadataClass reports them.
+     */
+    public Set<String> buildAnnotatedMetadataClasses(Collection<String> classNames, boolean isLazy, boolean parallel) {
+        List<String> names = new ArrayList<String>(classNames);
+        boolean[] annotated = new boolean[names.size()];
+        // The common pool threads do not have the permissions of the caller.
+        if (parallel && names.size() > BATCH_SIZE && !PrivilegedAccessHelper.shouldUsePrivilegedAccess()) {
+            ForkJoinPool.commonPool().invoke(new ReadTask(names, annotated, isLazy, 0, names.size()));
+        } else {
+            for (int index = 0; index < annotated.length; index++) {
+                annotated[index] = buildAnnotatedMetadataClass(names.get(index), isLazy);
+            }
+        }
+        Set<String> annotatedNames = new LinkedHashSet<String>();
+        for (int index = 0; index < annotated.length; index++) {
+            if (annotated[index]) {
+                annotatedNames.add(names.get(index));
+            }
+        }
+        return annotatedNames;
+    }
+
+    /**
+     * Build the class metadata of the class if it may be annotated. Return
+     * false if the class has no annotation.
+     */
+    private boolean buildAnnotatedMetadataClass(String className, boolean isLazy) {
+        if (metadataClassExists(className)) {
+            return true;
+        }
+        byte[] bytes = null;
+        InputStream stream = null;
+        try {
+            stream = getClassStream(className);
+            if (stream == null) {
+                return true;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int length = stream.read(buffer); length != -1; length = stream.read(buffer)) {
+                output.write(buffer, 0, length);
+            }
+            bytes = output.toByteArray();
+        } catch (IOException exception) {
+            return true;
+        } finally {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException ignore) {
+                // Ignore.
+            }
+        }
+        if (!hasAnnotations(bytes)) {
+            return false;
+        }
+        try {
+            ClassReader reader = new ClassReader(bytes);
+            Attribute[] attributes = new Attribute[0];
+            reader.accept(new ClassMetadataVisitor(null, isLazy), attributes, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (Exception exception) {
+            // Left to getMetadataClass, which logs the failure or reads the
+            // class without class version check.
+            m_metadataClasses.remove(className);
+        }
+        return true;
+    }
+
+    /**
+     * Return false if the constant pool of the class file has no annotation
+     * attribute name, so neither the class nor its members are annotated.
+     * Return true if the class file can not be checked.
+     */
+    private static boolean hasAnnotations(byte[] bytes) {
+        try {
+            if (readInt(bytes, 0) != 0xCAFEBABE) {
+                return true;
+            }
+            int count = readUnsignedShort(bytes, 8);
+            int offset = 10;
+            for (int index = 1; index < count; index++) {
+                switch (bytes[offset]) {
+                    case 1: // Utf8
+                        int length = readUnsignedShort(bytes, offset + 1);
+                        for (byte[] attribute : ANNOTATION_ATTRIBUTES) {
+                            if (length == attribute.length && regionMatches(bytes, offset + 3, attribute)) {
+                                return true;
+                            }
+                        }
+                        offset += 3 + length;
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        offset += 3;
+                        break;
+                    case 15: // MethodHandle
+                        offset += 4;
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        offset += 5;
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        offset += 9;
+                        index++;
+                        break;
+                    default:
+                        return true;
+                }
+            }
+            return false;
+        } catch (ArrayIndexOutOfBoundsException exception) {
+            return true;
+        }
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (readUnsignedShort(bytes, offset) << 16) | readUnsignedShort(bytes, offset + 2);
+    }
+
+    private static boolean regionMatches(byte[] bytes, int offset, byte[] region) {
+        for (int index = 0; index < region.length; index++) {
+            if (bytes[offset + index] != region[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the stream of the class file of the class name, or null if the
+     * class file is not found.
+     */
+    private InputStream getClassStream(String className) {
+        final String resourceString = className.replace('.', '/') + ".class";
+        if (PrivilegedAccessHelper.shouldUsePrivilegedAccess()) {
+            return AccessController.doPrivileged(new PrivilegedAction<InputStream>() {
+                @Override
+                public InputStream run() {
+                    return m_loader.getResourceAsStream(resourceString);
+                }
+            });
+        }
+        return m_loader.getResourceAsStream(resourceString);
+    }
+
     /**
      * Return the class metadata for the class name.
      */
@@ -237,6 +413,38 @@ public void resolveGenericTypes(MetadataClass child, List<String> genericTypes,
         }
     }
 
+    /**
+     * Read a range of the classes, each class is read by one task only.
+     */
+    private final class ReadTask extends RecursiveAction {
+
+        private final List<String> classNames;
+        private final boolean[] annotated;
+        private final boolean isLazy;
+        private final int start;
+        private final int end;
+
+        ReadTask(List<String> classNames, boolean[] annotated, boolean isLazy, int start, int end) {
+            this.classNames = classNames;
+            this.annotated = annotated;
+            this.isLazy = isLazy;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > BATCH_SIZE) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ReadTask(classNames, annotated, isLazy, start, middle), new ReadTask(classNames, annotated, isLazy, middle, end));
+                return;
+            }
+            for (int index = start; index < end; index++) {
+                annotated[index] = buildAnnotatedMetadataClass(classNames.get(index), isLazy);
+            }
+        }
+    }
+
     /**
      * Walk the class byte codes and collect the class info.
      */
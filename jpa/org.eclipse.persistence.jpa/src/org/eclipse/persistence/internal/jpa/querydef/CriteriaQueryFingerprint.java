@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.jpa.querydef;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionOperator;
+import org.eclipse.persistence.internal.expressions.ArgumentListFunctionExpression;
+import org.eclipse.persistence.internal.expressions.CollectionExpression;
+import org.eclipse.persistence.internal.expressions.CompoundExpression;
+import org.eclipse.persistence.internal.expressions.ConstantExpression;
+import org.eclipse.persistence.internal.expressions.FieldExpression;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.LiteralExpression;
+import org.eclipse.persistence.internal.expressions.LogicalExpression;
+import org.eclipse.persistence.internal.expressions.ParameterExpression;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.expressions.RelationExpression;
+import org.eclipse.persistence.internal.queries.ReportItem;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReportQuery;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Structural fingerprint of a translated criteria query.
+ * <p>
+ * <b>Description</b>: The fingerprint describes the shape of the query, its classes,
+ * query keys, operators and functions, but not the values of the literals compared
+ * in the where clause.  Two criteria queries with the same fingerprint can share
+ * the same prepared query, with the literals hoisted into bind parameters.
+ * <p>
+ * Only plain ReadAllQuery and ReportQuery shapes built from the expression nodes
+ * the criteria API produces are fingerprinted, anything else (sub-selects, treat,
+ * constructor or tuple results, partial attributes) is not cacheable and
+ * {@link #buildFingerprint(DatabaseQuery)} returns null.
+ *
+ * @see org.eclipse.persistence.internal.queries.PreparedQueryCache
+ */
+public class CriteriaQueryFingerprint {
+
+    /** Prefix of the arguments the hoisted literals are bound to. */
+    public static final String LITERAL_PARAMETER_PREFIX = "EL_CRITERIA_LITERAL_";
+
+    /** The structural key. */
+    protected StringBuilder key;
+
+    /** The literals hoisted into parameters, in traversal order. */
+    protected List<ConstantExpression> literals;
+
+    /** Every node traversed, used to share the unchanged nodes when parameterizing. */
+    protected List<Expression> nodes;
+
+    /** The nodes above a hoisted literal, these must be copied when parameterizing. */
+    protected Map<Expression, Expression> literalAncestors;
+
+    /** Current path from the root of the expression being traversed. */
+    protected List<Expression> path;
+
+    /** Canonical ids of the expression builders, by first appearance. */
+    protected Map<Expression, Integer> builderIds;
+
+    protected boolean isCacheable;
+
+    protected CriteriaQueryFingerprint() {
+        this.key = new StringBuilder(256);
+        this.literals = new ArrayList<ConstantExpression>();
+        this.nodes = new ArrayList<Expression>();
+        this.literalAncestors = new IdentityHashMap<Expression, Expression>();
+        this.path = new ArrayList<Expression>();
+        this.builderIds = new IdentityHashMap<Expression, Integer>();
+        this.isCacheable = true;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the fingerprint of the translated criteria query,
+     * or null if the query's shape is not supported.
+     */
+    public static CriteriaQueryFingerprint buildFingerprint(DatabaseQuery query) {
+        Class queryClass = query.getClass();
+        if ((queryClass != ReadAllQuery.class) && (queryClass != ReportQuery.class)) {
+            return null;
+        }
+        ObjectLevelReadQuery readQuery = (ObjectLevelReadQuery)query;
+        if (readQuery.hasPartialAttributeExpressions() || (readQuery.getReferenceClass() == null)) {
+            return null;
+        }
+        CriteriaQueryFingerprint fingerprint = new CriteriaQueryFingerprint();
+        fingerprint.appendQuery(readQuery);
+        if (!fingerprint.isCacheable) {
+            return null;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Return the key to cache the prepared query under.
+     */
+    public String getKey() {
+        return this.key.toString();
+    }
+
+    /**
+     * Return the values of the hoisted literals, in argument order.
+     */
+    public List<Object> getLiteralValues() {
+        List<Object> values = new ArrayList<Object>(this.literals.size());
+        for (ConstantExpression literal : this.literals) {
+            values.add(literal.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Return the argument name the hoisted literal at the index is bound to.
+     */
+    public static String getLiteralParameterName(int index) {
+        return LITERAL_PARAMETER_PREFIX + index;
+    }
+
+    /**
+     * Replace the hoisted literals of the query's selection criteria with parameters.
+     * The criteria is copied, as its nodes belong to the criteria query,
+     * but only the nodes above a literal, all other nodes are shared to keep the
+     * identity of the query keys used by the orderings, joins and report items.
+     */
+    public void parameterizeLiterals(DatabaseQuery query) {
+        if (this.literals.isEmpty()) {
+            return;
+        }
+        Map<Expression, Expression> alreadyDone = new IdentityHashMap<Expression, Expression>(this.nodes.size());
+        for (Expression node : this.nodes) {
+            if (!this.literalAncestors.containsKey(node)) {
+                alreadyDone.put(node, node);
+            }
+        }
+        for (int index = 0; index < this.literals.size(); index++) {
+            ConstantExpression literal = this.literals.get(index);
+            String name = getLiteralParameterName(index);
+            Class type = literal.getValue().getClass();
+            alreadyDone.put(literal, new ParameterExpression(name, literal.getLocalBase(), type));
+            query.addArgument(name, type);
+        }
+        query.setSelectionCriteria(query.getSelectionCriteria().copiedVersionFrom(alreadyDone));
+    }
+
+    protected void appendQuery(ObjectLevelReadQuery query) {
+        this.key.append(query.getClass().getSimpleName()).append(':').append(query.getReferenceClass().getName());
+        this.key.append(" distinct=").append(query.getDistinctState());
+        this.key.append(" filter=").append(query.shouldFilterDuplicates());
+        List<Class> argumentTypes = query.getArgumentTypes();
+        List<String> arguments = query.getArguments();
+        this.key.append(" args(");
+        for (int index = 0; index < arguments.size(); index++) {
+            this.key.append(arguments.get(index)).append('=');
+            if (index < argumentTypes.size()) {
+                this.key.append(argumentTypes.get(index));
+            }
+            this.key.append(',');
+        }
+        this.key.append(") builder=");
+        appendExpression(query.getExpressionBuilder(), false);
+        this.key.append(" where=");
+        appendExpression(query.getSelectionCriteria(), true);
+        this.key.append(" order=");
+        appendExpressions(query.getOrderByExpressions());
+        if (query.hasJoining()) {
+            this.key.append(" join=");
+            appendExpressions(query.getJoinedAttributeManager().getJoinedAttributeExpressions());
+        }
+        if (query.hasNonFetchJoinedAttributeExpressions()) {
+            this.key.append(" nonFetchJoin=");
+            appendExpressions(query.getNonFetchJoinAttributeExpressions());
+        }
+        if (query.isReportQuery()) {
+            ReportQuery reportQuery = (ReportQuery)query;
+            this.key.append(" return=").append(reportQuery.getReturnType());
+            this.key.append(" noResult=").append(reportQuery.shouldReturnWithoutReportQueryResult());
+            this.key.append(" items(");
+            for (ReportItem item : reportQuery.getItems()) {
+                if (item.getClass() != ReportItem.class) {
+                    this.isCacheable = false;
+                    return;
+                }
+                this.key.append(item.getName()).append('=').append(item.getResultType()).append(':');
+                appendExpression(item.getAttributeExpression(), false);
+                if (item.hasJoining()) {
+                    this.key.append(" join=");
+                    appendExpressions(item.getJoinedAttributeManager().getJoinedAttributeExpressions());
+                }
+                this.key.append(',');
+            }
+            this.key.append(") group=");
+            appendExpressions(reportQuery.getGroupByExpressions());
+            this.key.append(" having=");
+            appendExpression(reportQuery.getHavingExpression(), false);
+        }
+    }
+
+    protected void appendExpressions(List<Expression> expressions) {
+        this.key.append('[');
+        for (Expression expression : expressions) {
+            appendExpression(expression, false);
+            this.key.append(',');
+        }
+        this.key.append(']');
+    }
+
+    /**
+     * Append the structure of the expression to the key.
+     * Literals are only hoisted from comparisons in the where clause,
+     * possibly nested in and, or and not.
+     */
+    protected void appendExpression(Expression expression, boolean canHoist) {
+        if (!this.isCacheable) {
+            return;
+        }
+        if (expression == null) {
+            this.key.append("null");
+            return;
+        }
+        this.nodes.add(expression);
+        this.path.add(expression);
+        Class expressionClass = expression.getClass();
+        if (expressionClass == ExpressionBuilder.class) {
+            Integer id = this.builderIds.get(expression);
+            if (id == null) {
+                id = this.builderIds.size();
+                this.builderIds.put(expression, id);
+            }
+            Class builderClass = ((ExpressionBuilder)expression).getQueryClass();
+            this.key.append('B').append(id).append('<').append((builderClass == null) ? null : builderClass.getName()).append('>');
+        } else if (expressionClass == QueryKeyExpression.class) {
+            QueryKeyExpression queryKey = (QueryKeyExpression)expression;
+            if ((queryKey.getCastClass() != null) || (queryKey.getOnClause() != null)) {
+                this.isCacheable = false;
+            } else {
+                this.key.append('Q').append(queryKey.getName());
+                if (queryKey.shouldQueryToManyRelationship()) {
+                    this.key.append('*');
+                }
+                if (queryKey.shouldUseOuterJoin()) {
+                    this.key.append('+');
+                }
+                this.key.append('(');
+                appendExpression(queryKey.getBaseExpression(), false);
+                this.key.append(')');
+            }
+        } else if ((expressionClass == RelationExpression.class) || (expressionClass == LogicalExpression.class)) {
+            CompoundExpression compound = (CompoundExpression)expression;
+            int selector = compound.getOperator().getSelector();
+            boolean isComparison = canHoist && isComparison(selector);
+            boolean isLogical = canHoist && (expressionClass == LogicalExpression.class);
+            this.key.append('C').append(selector).append('(');
+            appendOperand(compound.getFirstChild(), compound.getSecondChild(), isComparison, isLogical);
+            this.key.append(',');
+            appendOperand(compound.getSecondChild(), compound.getFirstChild(), isComparison, isLogical);
+            this.key.append(')');
+        } else if ((expressionClass == FunctionExpression.class) || (expressionClass == ArgumentListFunctionExpression.class)) {
+            FunctionExpression function = (FunctionExpression)expression;
+            ExpressionOperator operator = function.getOperator();
+            boolean isNot = canHoist && (operator.getSelector() == ExpressionOperator.Not);
+            this.key.append(expressionClass.getSimpleName()).append(operator.getSelector());
+            this.key.append(Arrays.toString(operator.getDatabaseStrings())).append('<').append(function.getResultType()).append(">(");
+            for (Expression child : function.getChildren()) {
+                appendExpression(child, isNot);
+                this.key.append(',');
+            }
+            this.key.append(')');
+        } else if ((expressionClass == ConstantExpression.class) || (expressionClass == CollectionExpression.class)) {
+            appendValue(((ConstantExpression)expression).getValue());
+        } else if (expressionClass == ParameterExpression.class) {
+            ParameterExpression parameter = (ParameterExpression)expression;
+            this.key.append('P').append(parameter.getField().getName()).append('<').append(parameter.getType()).append('>');
+        } else if (expressionClass == LiteralExpression.class) {
+            this.key.append('L');
+            appendString(((LiteralExpression)expression).getValue());
+        } else if (expressionClass == FieldExpression.class) {
+            FieldExpression field = (FieldExpression)expression;
+            this.key.append('F').append(field.getField().getQualifiedName()).append('(');
+            appendExpression(field.getBaseExpression(), false);
+            this.key.append(')');
+        } else {
+            // Sub-selects, treat, map keys, class type and other expressions are not supported.
+            this.isCacheable = false;
+        }
+        this.path.remove(this.path.size() - 1);
+    }
+
+    /**
+     * Append the operand of the compound expression,
+     * hoisting it if it is a literal compared to the other operand.
+     */
+    protected void appendOperand(Expression operand, Expression other, boolean isComparison, boolean canHoist) {
+        if (isComparison && (operand != null) && (operand.getClass() == ConstantExpression.class)) {
+            ConstantExpression literal = (ConstantExpression)operand;
+            Object value = literal.getValue();
+            if ((value != null) && (literal.getLocalBase() == other) && isBasicValue(value)
+                    && ((other.getClass() == QueryKeyExpression.class) || (other.getClass() == FunctionExpression.class))) {
+                for (Expression ancestor : this.path) {
+                    this.literalAncestors.put(ancestor, ancestor);
+                }
+                this.literals.add(literal);
+                this.key.append('?').append(value.getClass().getName());
+                return;
+            }
+        }
+        appendExpression(operand, canHoist);
+    }
+
+    /**
+     * Append the value of a literal that is not hoisted.
+     * Values that do not have a stable string form are not supported.
+     */
+    protected void appendValue(Object value) {
+        if (value == null) {
+            this.key.append("null");
+        } else if (value instanceof Collection) {
+            this.key.append('[');
+            for (Object element : (Collection)value) {
+                appendValue(element);
+                this.key.append(',');
+            }
+            this.key.append(']');
+        } else if (isBasicValue(value)) {
+            this.key.append(value.getClass().getName());
+            appendString(String.valueOf(value));
+        } else {
+            this.isCacheable = false;
+        }
+    }
+
+    /**
+     * Append the string length prefixed, so values cannot be mistaken for structure.
+     */
+    protected void appendString(String value) {
+        if (value == null) {
+            this.key.append("null");
+        } else {
+            this.key.append(value.length()).append('\'').append(value);
+        }
+    }
+
+    protected static boolean isComparison(int selector) {
+        return (selector == ExpressionOperator.Equal) || (selector == ExpressionOperator.NotEqual)
+                || (selector == ExpressionOperator.LessThan) || (selector == ExpressionOperator.LessThanEqual)
+                || (selector == ExpressionOperator.GreaterThan) || (selector == ExpressionOperator.GreaterThanEqual);
+    }
+
+    protected static boolean isBasicValue(Object value) {
+        return (value instanceof String) || (value instanceof Number) || (value instanceof Boolean)
+                || (value instanceof Character) || (value instanceof java.util.Date) || (value instanceof Calendar)
+                || (value instanceof Enum);
+    }
+}
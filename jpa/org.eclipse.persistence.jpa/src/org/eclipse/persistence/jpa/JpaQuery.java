@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -16,8 +16,10 @@
 
 import java.util.Collection;
 
+import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.queries.Cursor;
 import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
 
 /**
  * PUBLIC:
@@ -56,6 +58,23 @@
      */
     public Cursor getResultCursor();
 
+    /**
+     * PUBLIC:
+     * Non-standard method to return the opaque continuation token of the page following the result,
+     * for keyset (seek) pagination of an ordered query.
+     * The token is passed as the "eclipselink.keyset.after" hint of the query for the next page,
+     * which only returns the results ordered after the result.
+     * @param lastResult the last result of the current page.
+     * @see org.eclipse.persistence.config.QueryHints#KEYSET_AFTER
+     */
+    public default String getContinuationToken(Object lastResult) {
+        DatabaseQuery query = getDatabaseQuery();
+        if (!(query instanceof ReadAllQuery)) {
+            throw QueryException.incorrectQueryObjectFound(query, ReadAllQuery.class);
+        }
+        return ((ReadAllQuery)query).buildContinuationToken(lastResult, getEntityManager().getActiveSession());
+    }
+
     /**
      * PUBLIC:
      * Replace the cached query with the given query.
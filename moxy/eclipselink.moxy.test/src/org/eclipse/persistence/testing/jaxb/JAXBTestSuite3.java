@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -32,6 +32,7 @@
 import org.eclipse.persistence.testing.jaxb.prefixmapper.PrefixMapperTestCases;
 import org.eclipse.persistence.testing.jaxb.properties.PropertyTestCases;
 import org.eclipse.persistence.testing.jaxb.readonly.ReadAndWriteOnlyTestCases;
+import org.eclipse.persistence.testing.jaxb.referenceresolver.ReferenceResolverTestCases;
 import org.eclipse.persistence.testing.jaxb.security.xss.SecurityXSSTestCases;
 import org.eclipse.persistence.testing.jaxb.stax.XMLStreamReaderEndEventTestCases;
 import org.eclipse.persistence.testing.jaxb.stax.XMLStreamWriterDefaultNamespaceTestCases;
@@ -39,7 +40,9 @@
 import org.eclipse.persistence.testing.jaxb.unmarshaller.DefaultValueTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.JSONUnmarshalAutoDetectTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.JSONUnmarshalTestCases;
+import org.eclipse.persistence.testing.jaxb.unmarshaller.ParallelUnmarshalTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.RepeatedUnmarshalTestCases;
+import org.eclipse.persistence.testing.jaxb.unmarshaller.UnmarshalIteratorTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.autodetect.AutoDetectFailsTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.autodetect.AutoDetectMediaTypeTestCases;
 import org.eclipse.persistence.testing.jaxb.unmarshaller.autodetect.AutoDetectSmallDocTestCases;
@@ -123,6 +126,9 @@ public static Test suite() {
         suite.addTestSuite(XmlPathToAttributeTestCases.class);
         suite.addTestSuite(XmlPathWithXmlAttributeTestCases.class);
         suite.addTestSuite(RepeatedUnmarshalTestCases.class);
+        suite.addTestSuite(ParallelUnmarshalTestCases.class);
+        suite.addTestSuite(UnmarshalIteratorTestCases.class);
+        suite.addTestSuite(ReferenceResolverTestCases.class);
         suite.addTestSuite(JSONUnmarshalTestCases.class);
         suite.addTestSuite(JSONUnmarshalAutoDetectTestCases.class);
         suite.addTestSuite(DefaultValueTestCases.class);
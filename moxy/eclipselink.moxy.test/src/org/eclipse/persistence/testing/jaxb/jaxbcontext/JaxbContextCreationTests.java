@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -13,6 +13,8 @@
 package org.eclipse.persistence.testing.jaxb.jaxbcontext;
 
 import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URL;
@@ -25,6 +27,7 @@
 import org.eclipse.persistence.exceptions.SessionLoaderException;
 import org.eclipse.persistence.exceptions.ValidationException;
 import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBContextProperties;
 import org.eclipse.persistence.jaxb.TypeMappingInfo;
 import org.eclipse.persistence.jaxb.javamodel.reflection.JavaClassImpl;
 import org.eclipse.persistence.testing.oxm.classloader.JARClassLoader;
@@ -151,6 +154,33 @@ public void testCreateContextWithGenerics() throws JAXBException {
         JAXBContextFactory.createContext(classes, null);
     }
 
+    public void testCreateContextWithParallelReflectionPreloading() throws Exception {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(JAXBContextProperties.PARALLEL_REFLECTION_PRELOADING, Boolean.TRUE);
+
+        JAXBContext context = JAXBContextFactory.createContext(new Class[] {Employee.class, ConcreteClassWithGenerics.class}, props);
+        assertEquals(new QName("employee"), context.createJAXBIntrospector().getElementName(new Employee()));
+
+        context = JAXBContextFactory.createContext(new Type[] {Employee.class}, props, null);
+        assertEquals(new QName("employee"), context.createJAXBIntrospector().getElementName(new Employee()));
+    }
+
+    public void testCreateContextWithParallelXPathNodeInitialization() throws Exception {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put(JAXBContextProperties.PARALLEL_XPATH_NODE_INITIALIZATION, Boolean.TRUE);
+
+        JAXBContext context = JAXBContextFactory.createContext(new Class[] {Employee.class, ConcreteClassWithGenerics.class}, props);
+        Employee employee = new Employee();
+        employee.id = 7;
+        employee.name = "Jane Doe";
+        StringWriter writer = new StringWriter();
+        context.createMarshaller().marshal(employee, writer);
+
+        Employee result = (Employee) context.createUnmarshaller().unmarshal(new StringReader(writer.toString()));
+        assertEquals(7, result.id);
+        assertEquals("Jane Doe", result.name);
+    }
+
     public void testCreateContextWithPathAndBindings() throws Exception {
         String oxmString = "org/eclipse/persistence/testing/jaxb/jaxbcontext/eclipselink-oxm.xml";
         InputStream oxm = ClassLoader.getSystemClassLoader().getResourceAsStream(oxmString);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -34,6 +34,11 @@
 import org.eclipse.persistence.testing.jaxb.json.namespaces.NamespacesOnContextTestCases;
 import org.eclipse.persistence.testing.jaxb.json.namespaces.NamespacesOnUnmarshalOnlyTestCases;
 import org.eclipse.persistence.testing.jaxb.json.namespaces.SeparatorInNameTestCases;
+import org.eclipse.persistence.testing.jaxb.json.nativeparser.NativeParserAttributeElementFirstTestCases;
+import org.eclipse.persistence.testing.jaxb.json.nativeparser.NativeParserAttributeTestCases;
+import org.eclipse.persistence.testing.jaxb.json.nativeparser.NativeParserEscapeCharactersTestCases;
+import org.eclipse.persistence.testing.jaxb.json.nativeparser.NativeParserMemberOrderTestCases;
+import org.eclipse.persistence.testing.jaxb.json.parser.JsonParserSourceTestCases;
 import org.eclipse.persistence.testing.jaxb.json.nil.NilElementsUsageTestCases;
 import org.eclipse.persistence.testing.jaxb.json.norootelement.IncludeRootFalseWithXMLRootElementTestCases;
 import org.eclipse.persistence.testing.jaxb.json.norootelement.IncludeRootTrueWithXMLRootElementTestCases;
@@ -99,6 +104,11 @@ public static Test suite() {
           suite.addTestSuite(TypePropertyInheritanceTestCases.class);
           suite.addTestSuite(TypePropertyTestCases.class);
           suite.addTestSuite(JsonUnmappedTestCases.class);
+          suite.addTestSuite(NativeParserAttributeTestCases.class);
+          suite.addTestSuite(NativeParserAttributeElementFirstTestCases.class);
+          suite.addTestSuite(NativeParserEscapeCharactersTestCases.class);
+          suite.addTestSuite(NativeParserMemberOrderTestCases.class);
+          suite.addTestSuite(JsonParserSourceTestCases.class);
 
           return suite;
     }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.json.nativeparser;
+
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.testing.jaxb.json.attribute.JSONAttributeOrderElementFirstTestCases;
+
+/**
+ * Unmarshal of the attributes read after the elements by the native JSON tokenizer.
+ */
+public class NativeParserAttributeElementFirstTestCases extends JSONAttributeOrderElementFirstTestCases {
+
+    public NativeParserAttributeElementFirstTestCases(String name) throws Exception {
+        super(name);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        jsonUnmarshaller.setProperty(UnmarshallerProperties.JSON_NATIVE_PARSER, Boolean.TRUE);
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.json.nativeparser;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.UnmarshalException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSeeAlso;
+import javax.xml.transform.stream.StreamSource;
+
+import junit.framework.TestCase;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBContextProperties;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+
+/**
+ * Unmarshal by the native JSON tokenizer of the members of an object in any order,
+ * its elements and attributes before and after its nested objects and arrays.
+ */
+public class NativeParserMemberOrderTestCases extends TestCase {
+
+    @XmlRootElement
+    @XmlSeeAlso(Manager.class)
+    public static class Employee {
+        public int id;
+        @XmlAttribute
+        public String code;
+        public Employee child;
+        public List<Employee> reports;
+        public String name;
+    }
+
+    @XmlRootElement
+    public static class Manager extends Employee {
+    }
+
+    public NativeParserMemberOrderTestCases(String name) {
+        super(name);
+    }
+
+    private Employee unmarshal(String json, String attributePrefix) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JAXBContextProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        properties.put(JAXBContextProperties.JSON_INCLUDE_ROOT, false);
+        if (attributePrefix != null) {
+            properties.put(JAXBContextProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
+        }
+        JAXBContext context = JAXBContextFactory.createContext(new Class[] {Employee.class}, properties);
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_NATIVE_PARSER, Boolean.TRUE);
+        return unmarshaller.unmarshal(new StreamSource(new StringReader(json)), Employee.class).getValue();
+    }
+
+    public void testElementFirst() throws Exception {
+        Employee employee = unmarshal("{\"name\":\"x\",\"@code\":\"a\",\"id\":5}", "@");
+        assertEquals("x", employee.name);
+        assertEquals("a", employee.code);
+        assertEquals(5, employee.id);
+    }
+
+    public void testScalarAfterNestedObject() throws Exception {
+        Employee employee = unmarshal("{\"child\":{\"name\":\"x\"},\"id\":5}", null);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testScalarAfterNestedArray() throws Exception {
+        Employee employee = unmarshal("{\"reports\":[{\"id\":1},{\"id\":2}],\"name\":\"x\",\"id\":5}", null);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.name);
+        assertEquals(2, employee.reports.size());
+        assertEquals(2, employee.reports.get(1).id);
+    }
+
+    public void testAttributeAfterNestedObject() throws Exception {
+        Employee employee = unmarshal("{\"child\":{\"child\":{\"name\":\"y\"},\"@code\":\"b\"},\"id\":5,\"@code\":\"a\"}", "@");
+        assertEquals("a", employee.code);
+        assertEquals(5, employee.id);
+        assertEquals("b", employee.child.code);
+        assertEquals("y", employee.child.child.name);
+    }
+
+    public void testUnprefixedAttributeAfterNestedArray() throws Exception {
+        Employee employee = unmarshal("{\"reports\":[{\"child\":{\"name\":\"y\"},\"code\":\"r\"}],\"code\":\"a\"}", null);
+        assertEquals("a", employee.code);
+        assertEquals("r", employee.reports.get(0).code);
+        assertEquals("y", employee.reports.get(0).child.name);
+    }
+
+    public void testTypeBeforeNestedObject() throws Exception {
+        Employee employee = unmarshal("{\"id\":5,\"type\":\"manager\",\"child\":{\"name\":\"x\"}}", null);
+        assertTrue(employee instanceof Manager);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testTypeAfterNestedObject() throws Exception {
+        try {
+            unmarshal("{\"child\":{\"name\":\"x\"},\"id\":5,\"type\":\"manager\"}", null);
+            fail("The type following a nested object is not applied");
+        } catch (UnmarshalException e) {
+            // the type must precede the nested objects
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.jaxb.json.parser;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.UnmarshalException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSeeAlso;
+
+import junit.framework.TestCase;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBContextProperties;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+import org.eclipse.persistence.oxm.json.JsonParserSource;
+
+/**
+ * Tests the unmarshal from a JsonParserSource of the members of an object following its nested values.
+ */
+public class JsonParserSourceTestCases extends TestCase {
+
+    @XmlRootElement
+    @XmlSeeAlso(Manager.class)
+    public static class Employee {
+        public int id;
+        @XmlAttribute
+        public String code;
+        public Employee child;
+        public List<Employee> reports;
+        public String name;
+    }
+
+    @XmlRootElement
+    public static class Manager extends Employee {
+    }
+
+    public JsonParserSourceTestCases(String name) {
+        super(name);
+    }
+
+    private Object unmarshal(String json, String attributePrefix, boolean includeRoot) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JAXBContextProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        properties.put(JAXBContextProperties.JSON_INCLUDE_ROOT, includeRoot);
+        if (attributePrefix != null) {
+            properties.put(JAXBContextProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
+        }
+        JAXBContext context = JAXBContextFactory.createContext(new Class[] {Employee.class}, properties);
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            JsonParserSource source = new JsonParserSource(parser);
+            if (includeRoot) {
+                return unmarshaller.unmarshal(source);
+            }
+            return unmarshaller.unmarshal(source, Employee.class).getValue();
+        }
+    }
+
+    public void testScalarAfterNestedObject() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"child\":{\"name\":\"x\"},\"id\":5}", null, false);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testScalarAfterNestedArray() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"reports\":[{\"id\":1},{\"id\":2}],\"name\":\"x\",\"id\":5}", null, false);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.name);
+        assertEquals(2, employee.reports.size());
+        assertEquals(2, employee.reports.get(1).id);
+    }
+
+    public void testAttributeAfterNestedObject() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"child\":{\"@code\":\"b\",\"name\":\"x\"},\"id\":5,\"@code\":\"a\"}", "@", false);
+        assertEquals("a", employee.code);
+        assertEquals(5, employee.id);
+        assertEquals("b", employee.child.code);
+    }
+
+    public void testUnprefixedAttributeAfterNestedObject() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"child\":{\"name\":\"x\"},\"code\":\"a\"}", null, false);
+        assertEquals("a", employee.code);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testTypeBeforeNestedObject() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"id\":5,\"type\":\"manager\",\"child\":{\"name\":\"x\"}}", null, false);
+        assertTrue(employee instanceof Manager);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testTypeAfterNestedObject() throws Exception {
+        try {
+            unmarshal("{\"child\":{\"name\":\"x\"},\"id\":5,\"type\":\"manager\"}", null, false);
+            fail("The type following a nested object of the root is not applied");
+        } catch (UnmarshalException e) {
+            // the type of the root must precede its nested values
+        }
+    }
+
+    public void testNestedObjectTypeAfterNestedObject() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"child\":{\"child\":{\"name\":\"y\"},\"type\":\"manager\"},\"id\":5}", null, false);
+        assertTrue(employee.child instanceof Manager);
+        assertEquals("y", employee.child.child.name);
+        assertEquals(5, employee.id);
+    }
+
+    public void testIncludeRootAttributeAfterNestedArray() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"employee\":{\"reports\":[{\"id\":1}],\"@code\":\"a\",\"name\":\"x\"}}", "@", true);
+        assertEquals("a", employee.code);
+        assertEquals("x", employee.name);
+        assertEquals(1, employee.reports.get(0).id);
+    }
+
+    public void testIncludeRoot() throws Exception {
+        Employee employee = (Employee) unmarshal("{\"employee\":{\"child\":{\"name\":\"x\"},\"id\":5},\"other\":{\"id\":6}}", null, true);
+        assertEquals(5, employee.id);
+        assertEquals("x", employee.child.name);
+    }
+
+    public void testRootArray() throws Exception {
+        List<?> employees = (List<?>) unmarshal("[{\"child\":{\"name\":\"x\"},\"id\":1},{\"id\":2,\"type\":\"manager\"}]", null, false);
+        assertEquals(2, employees.size());
+        assertEquals(1, ((Employee) employees.get(0)).id);
+        assertEquals("x", ((Employee) employees.get(0)).child.name);
+        assertTrue(employees.get(1) instanceof Manager);
+        assertEquals(2, ((Employee) employees.get(1)).id);
+    }
+
+}
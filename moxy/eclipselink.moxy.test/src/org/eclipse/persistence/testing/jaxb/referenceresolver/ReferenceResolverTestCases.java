@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.referenceresolver;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlIDREF;
+import javax.xml.bind.annotation.XmlList;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+
+import junit.framework.TestCase;
+
+public class ReferenceResolverTestCases extends TestCase {
+
+    @XmlRootElement
+    public static class Root {
+
+        @XmlElement(name = "layer")
+        public List<Layer> layers = new ArrayList<Layer>();
+
+        @XmlElement(name = "component")
+        public List<Component> components = new ArrayList<Component>();
+
+        @XmlElement(name = "group")
+        public List<Group> groups = new ArrayList<Group>();
+
+    }
+
+    public static class Group {
+
+        @XmlIDREF
+        @XmlList
+        public List<Layer> layers = new ArrayList<Layer>();
+
+        @XmlIDREF
+        @XmlElement(name = "member")
+        public List<Object> members = new ArrayList<Object>();
+
+    }
+
+    private static final int LAYERS = 10;
+    private static final int COMPONENTS = 1000;
+    private static final int GROUPS = 100;
+
+    private Root unmarshal(String document) throws Exception {
+        JAXBContext jaxbContext = JAXBContextFactory.createContext(new Class[] {Root.class}, null);
+        return (Root) jaxbContext.createUnmarshaller().unmarshal(new StringReader(document));
+    }
+
+    public void testResolveReferences() throws Exception {
+        StringBuilder builder = new StringBuilder("<root>");
+        for(int x=0; x<LAYERS; x++) {
+            builder.append("<layer id=\"l").append(x).append("\"/>");
+        }
+        for(int x=0; x<COMPONENTS; x++) {
+            builder.append("<component><name>c").append(x).append("</name><layer>l").append(x % LAYERS).append("</layer></component>");
+        }
+        for(int x=0; x<GROUPS; x++) {
+            builder.append("<group><layers>l").append(x % LAYERS).append(" l").append((x + 1) % LAYERS).append("</layers>");
+            builder.append("<member>l").append((x + 2) % LAYERS).append("</member></group>");
+        }
+        Root root = unmarshal(builder.append("</root>").toString());
+
+        assertEquals(LAYERS, root.layers.size());
+        assertEquals(COMPONENTS, root.components.size());
+        for(int x=0; x<COMPONENTS; x++) {
+            assertEquals("c" + x, root.components.get(x).getName());
+            assertSame(root.layers.get(x % LAYERS), root.components.get(x).getLayer());
+        }
+        assertEquals(GROUPS, root.groups.size());
+        for(int x=0; x<GROUPS; x++) {
+            Group group = root.groups.get(x);
+            assertEquals(2, group.layers.size());
+            assertSame(root.layers.get(x % LAYERS), group.layers.get(0));
+            assertSame(root.layers.get((x + 1) % LAYERS), group.layers.get(1));
+            assertEquals(1, group.members.size());
+            assertSame(root.layers.get((x + 2) % LAYERS), group.members.get(0));
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.rs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
+
+import junit.framework.TestCase;
+
+public class ContextCacheTestCases extends TestCase {
+
+    @XmlRootElement
+    public static class Customer {
+
+        public int id;
+        public String name;
+
+        public Customer() {
+        }
+
+        public Customer(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(null == obj || obj.getClass() != this.getClass()) {
+                return false;
+            }
+            Customer test = (Customer) obj;
+            return id == test.id && name.equals(test.name);
+        }
+
+    }
+
+    private static final String CUSTOMER_JSON = "{\"id\":1,\"name\":\"Jane\"}";
+    private static final Customer CUSTOMER = new Customer(1, "Jane");
+
+    private MOXyJsonProvider moxyJsonProvider;
+
+    @Override
+    protected void setUp() throws Exception {
+        moxyJsonProvider = new MOXyJsonProvider();
+    }
+
+    private String write(MediaType mediaType) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        moxyJsonProvider.writeTo(CUSTOMER, Customer.class, Customer.class, null, mediaType, null, outputStream);
+        return new String(outputStream.toByteArray(), "UTF-8");
+    }
+
+    private Object read() throws Exception {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(CUSTOMER_JSON.getBytes("UTF-8"));
+        return moxyJsonProvider.readFrom((Class) Customer.class, Customer.class, null, null, null, inputStream);
+    }
+
+    public void testContextBuiltOnce() throws Exception {
+        moxyJsonProvider.setPoolSize(16);
+        for(int x=0; x<3; x++) {
+            assertEquals(CUSTOMER_JSON, write(null));
+            assertEquals(CUSTOMER, read());
+        }
+        assertEquals(1, moxyJsonProvider.getContextBuildCount());
+        assertEquals(2, moxyJsonProvider.getPoolMissCount());
+        assertEquals(4, moxyJsonProvider.getPoolHitCount());
+    }
+
+    public void testPreloadContexts() throws Exception {
+        moxyJsonProvider.preloadContexts(Customer.class);
+        assertEquals(1, moxyJsonProvider.getContextBuildCount());
+        assertEquals(CUSTOMER_JSON, write(null));
+        moxyJsonProvider.preloadContexts(Customer.class);
+        assertEquals(1, moxyJsonProvider.getContextBuildCount());
+    }
+
+    public void testConcurrentRequests() throws Exception {
+        int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for(int x=0; x<threads; x++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return write(null);
+                    }
+                }));
+            }
+            start.countDown();
+            for(Future<String> result : results) {
+                assertEquals(CUSTOMER_JSON, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, moxyJsonProvider.getContextBuildCount());
+    }
+
+    public void testPoolDisabledByDefault() throws Exception {
+        assertEquals(0, moxyJsonProvider.getPoolSize());
+        assertEquals(CUSTOMER_JSON, write(null));
+        assertEquals(CUSTOMER, read());
+        assertEquals(0, moxyJsonProvider.getPoolHitCount());
+        assertEquals(0, moxyJsonProvider.getPoolMissCount());
+    }
+
+    public void testPooledMarshallerCharset() throws Exception {
+        moxyJsonProvider.setPoolSize(16);
+        MediaType utf16 = new MediaType("application", "json", Collections.singletonMap("charset", "UTF-16"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        moxyJsonProvider.writeTo(CUSTOMER, Customer.class, Customer.class, null, utf16, null, outputStream);
+        assertEquals(CUSTOMER_JSON, new String(outputStream.toByteArray(), "UTF-16"));
+
+        assertEquals(CUSTOMER_JSON, write(null));
+        assertEquals(1, moxyJsonProvider.getPoolHitCount());
+    }
+
+}
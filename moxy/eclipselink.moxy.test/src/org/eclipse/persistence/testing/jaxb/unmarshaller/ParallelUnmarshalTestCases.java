@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.unmarshaller;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlID;
+import javax.xml.bind.annotation.XmlIDREF;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+
+import junit.framework.TestCase;
+
+public class ParallelUnmarshalTestCases extends TestCase {
+
+    @XmlRootElement
+    public static class Order {
+
+        @XmlElement(name = "item")
+        public List<Item> items = new ArrayList<Item>();
+
+    }
+
+    public static class Item {
+
+        @XmlID
+        @XmlAttribute
+        public String id;
+
+        public String name;
+
+        @XmlElement(name = "part")
+        public List<String> parts = new ArrayList<String>();
+
+        @XmlIDREF
+        public Item related;
+
+    }
+
+    private static final int ITEMS = 1000;
+
+    private JAXBContext jaxbContext;
+    private String document;
+
+    @Override
+    protected void setUp() throws Exception {
+        jaxbContext = JAXBContextFactory.createContext(new Class[] {Order.class}, null);
+        StringBuilder builder = new StringBuilder("<?xml version=\"1.0\"?><order>");
+        for(int x=0; x<ITEMS; x++) {
+            builder.append("<item id=\"i").append(x).append("\"><name>Item &amp; ").append(x).append("</name>");
+            builder.append("<part>a").append(x).append("</part><part>b").append(x).append("</part>");
+            // Reference the next item, which is unmarshalled later.
+            builder.append("<related>i").append((x + 1) % ITEMS).append("</related></item>");
+        }
+        document = builder.append("</order>").toString();
+    }
+
+    private Order unmarshal(Unmarshaller unmarshaller) throws Exception {
+        return (Order) unmarshaller.unmarshal(new StreamSource(new StringReader(document)));
+    }
+
+    private void assertOrder(Order order) {
+        assertEquals(ITEMS, order.items.size());
+        for(int x=0; x<ITEMS; x++) {
+            Item item = order.items.get(x);
+            assertEquals("i" + x, item.id);
+            assertEquals("Item & " + x, item.name);
+            assertEquals(2, item.parts.size());
+            assertEquals("a" + x, item.parts.get(0));
+            assertEquals("b" + x, item.parts.get(1));
+            assertSame(order.items.get((x + 1) % ITEMS), item.related);
+        }
+    }
+
+    public void testSequentialUnmarshal() throws Exception {
+        assertOrder(unmarshal(jaxbContext.createUnmarshaller()));
+    }
+
+    public void testParallelUnmarshal() throws Exception {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT, new QName("item"));
+        assertOrder(unmarshal(unmarshaller));
+        // The unmarshaller is left in a clean state.
+        assertOrder(unmarshal(unmarshaller));
+    }
+
+    public void testParallelUnmarshalExecutor() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AtomicInteger tasks = new AtomicInteger();
+            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT, "item");
+            unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_EXECUTOR, new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    tasks.incrementAndGet();
+                    executor.execute(command);
+                }
+            });
+            assertOrder(unmarshal(unmarshaller));
+            assertEquals(ITEMS, tasks.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testOtherElementNotParallel() throws Exception {
+        final AtomicInteger tasks = new AtomicInteger();
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT, "{urn:other}item");
+        unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_EXECUTOR, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.incrementAndGet();
+                command.run();
+            }
+        });
+        assertOrder(unmarshal(unmarshaller));
+        assertEquals(0, tasks.get());
+        assertEquals(new QName("urn:other", "item"), unmarshaller.getProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT));
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.unmarshaller;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.json.Json;
+import javax.json.stream.JsonParser;
+import javax.xml.bind.DataBindingException;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.persistence.jaxb.JAXBContext;
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBUnmarshalIterator;
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.MediaType;
+import org.eclipse.persistence.oxm.json.JsonParserSource;
+
+import junit.framework.TestCase;
+
+public class UnmarshalIteratorTestCases extends TestCase {
+
+    @XmlRootElement
+    public static class Order {
+
+        public int id;
+        public String customer;
+
+    }
+
+    private static final String XML = "<?xml version=\"1.0\"?><orders><header><order><id>0</id></order></header>"
+            + "<order><id>1</id><customer>Jane</customer></order>"
+            + "<other/>"
+            + "<order><id>2</id><customer>Bob</customer></order>"
+            + "<order><id>3</id><customer>Anna</customer></order></orders>";
+    private static final String NAMESPACE_XML = "<?xml version=\"1.0\"?><o:orders xmlns:o=\"urn:orders/1\">"
+            + "<o:order><id>1</id><customer>Jane</customer></o:order>"
+            + "<order><id>0</id></order></o:orders>";
+    private static final String JSON = "{\"orders\":{\"header\":{\"order\":{\"id\":0}},"
+            + "\"order\":[{\"id\":1,\"customer\":\"Jane\"},{\"id\":2,\"customer\":\"Bob\"},{\"id\":3,\"customer\":\"Anna\"}],"
+            + "\"other\":[1,2]}}";
+
+    private JAXBUnmarshaller unmarshaller;
+
+    @Override
+    protected void setUp() throws Exception {
+        JAXBContext jaxbContext = (JAXBContext) JAXBContextFactory.createContext(new Class[] {Order.class}, null);
+        unmarshaller = jaxbContext.createUnmarshaller();
+    }
+
+    private static void assertOrders(JAXBUnmarshalIterator<Order> iterator, int count) {
+        String[] customers = {"Jane", "Bob", "Anna"};
+        List<Order> orders = new ArrayList<Order>();
+        while (iterator.hasNext()) {
+            orders.add(iterator.next());
+        }
+        assertEquals(count, orders.size());
+        for(int x=0; x<count; x++) {
+            assertEquals(x + 1, orders.get(x).id);
+            assertEquals(customers[x], orders.get(x).customer);
+        }
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+    }
+
+    public void testXmlIterator() throws Exception {
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(XML)), Order.class, "orders/order"), 3);
+    }
+
+    public void testXmlStreamReaderIterator() throws Exception {
+        XMLStreamReader xmlStreamReader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(XML));
+        assertOrders(unmarshaller.unmarshalIterator(new StAXSource(xmlStreamReader), Order.class, "/orders/order/"), 3);
+    }
+
+    public void testXmlNamespaceIterator() throws Exception {
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(NAMESPACE_XML)), Order.class, "{urn:orders/1}orders/{urn:orders/1}order"), 1);
+    }
+
+    public void testXmlNoItems() throws Exception {
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(XML)), Order.class, "orders/item"), 0);
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(XML)), Order.class, "items/order"), 0);
+    }
+
+    public void testXmlIteratorClose() throws Exception {
+        JAXBUnmarshalIterator<Order> iterator = unmarshaller.unmarshalIterator(new StreamSource(new StringReader(XML)), Order.class, "orders/order");
+        assertEquals(1, iterator.next().id);
+        iterator.close();
+        assertFalse(iterator.hasNext());
+    }
+
+    public void testXmlInvalidItem() throws Exception {
+        String xml = "<orders><order><id>1</id></order><order><id>2</order></orders>";
+        JAXBUnmarshalIterator<Order> iterator = unmarshaller.unmarshalIterator(new StreamSource(new StringReader(xml)), Order.class, "orders/order");
+        assertEquals(1, iterator.next().id);
+        try {
+            iterator.next();
+            fail();
+        } catch (DataBindingException e) {
+        }
+    }
+
+    public void testJsonIterator() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(JSON)), Order.class, "orders/order"), 3);
+        assertEquals(Boolean.TRUE, unmarshaller.getProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT));
+    }
+
+    public void testJsonWithoutRootIterator() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, false);
+        String json = "{\"order\":[{\"id\":1,\"customer\":\"Jane\"},{\"id\":2,\"customer\":\"Bob\"}]}";
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(json)), Order.class, "orders/order"), 2);
+        json = "[{\"id\":1,\"customer\":\"Jane\"}]";
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(json)), Order.class, "orders"), 1);
+    }
+
+    public void testJsonParserIterator() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        JsonParser parser = Json.createParser(new StringReader(JSON));
+        assertOrders(unmarshaller.unmarshalIterator(new JsonParserSource(parser), Order.class, "orders/order"), 3);
+        parser.close();
+    }
+
+    public void testJsonSingleItem() throws Exception {
+        unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+        String json = "{\"orders\":{\"order\":{\"id\":1,\"customer\":\"Jane\"}}}";
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(json)), Order.class, "orders/order"), 1);
+        assertOrders(unmarshaller.unmarshalIterator(new StreamSource(new StringReader(JSON)), Order.class, "orders/item"), 0);
+    }
+
+}
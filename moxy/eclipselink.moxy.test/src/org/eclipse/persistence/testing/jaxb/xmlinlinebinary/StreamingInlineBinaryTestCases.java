@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.jaxb.xmlinlinebinary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.persistence.internal.oxm.TemporaryFileDataSource;
+import org.eclipse.persistence.internal.oxm.conversion.Base64;
+import org.eclipse.persistence.jaxb.JAXBContext;
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBMarshaller;
+import org.eclipse.persistence.jaxb.JAXBUnmarshaller;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+
+import junit.framework.TestCase;
+
+public class StreamingInlineBinaryTestCases extends TestCase {
+
+    @XmlRootElement
+    public static class Document {
+
+        public String name;
+        public DataHandler data;
+
+    }
+
+    private static final class BytesDataSource implements DataSource {
+
+        private final byte[] bytes;
+
+        BytesDataSource(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public String getName() {
+            return "bytes";
+        }
+    }
+
+    private JAXBContext jaxbContext;
+    private byte[] bytes;
+
+    @Override
+    protected void setUp() throws Exception {
+        jaxbContext = (JAXBContext) JAXBContextFactory.createContext(new Class[] {Document.class}, null);
+        bytes = new byte[10000];
+        new Random(7).nextBytes(bytes);
+    }
+
+    private Document unmarshal(String xml, Long threshold) throws Exception {
+        JAXBUnmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setProperty(UnmarshallerProperties.BINARY_DATA_STREAMING_THRESHOLD, threshold);
+        return (Document) unmarshaller.unmarshal(new StringReader(xml));
+    }
+
+    private static byte[] read(DataHandler dataHandler) throws IOException {
+        if (null == dataHandler) {
+            return null;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        dataHandler.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private String document(String data) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><document><name>doc</name>" + data + "</document>";
+    }
+
+    public void testUnmarshalInMemory() throws Exception {
+        String base64 = new String(Base64.base64Encode(bytes), "US-ASCII");
+        Document document = unmarshal(document("<data>" + base64 + "</data>"), Long.valueOf(Integer.MAX_VALUE));
+
+        assertEquals("doc", document.name);
+        assertFalse(document.data.getDataSource() instanceof TemporaryFileDataSource);
+        assertTrue(Arrays.equals(bytes, read(document.data)));
+    }
+
+    public void testUnmarshalToFile() throws Exception {
+        String base64 = java.util.Base64.getMimeEncoder().encodeToString(bytes);
+        Document document = unmarshal(document("<data>\n" + base64 + "\n</data>"), Long.valueOf(16));
+
+        assertEquals("doc", document.name);
+        assertTrue(document.data.getDataSource() instanceof TemporaryFileDataSource);
+        TemporaryFileDataSource dataSource = (TemporaryFileDataSource) document.data.getDataSource();
+        File file = dataSource.getFile();
+        assertTrue(file.exists());
+        assertTrue(Arrays.equals(bytes, read(document.data)));
+        assertTrue("The data must be read again", Arrays.equals(bytes, read(document.data)));
+
+        dataSource.close();
+        assertFalse("The file must be deleted once the data is released", file.exists());
+        try {
+            document.data.getInputStream();
+            fail("The data must not be read once released");
+        } catch (IOException expected) {
+        }
+    }
+
+    public void testUnmarshalToFileReleased() throws Exception {
+        String base64 = java.util.Base64.getMimeEncoder().encodeToString(bytes);
+        Document document = unmarshal(document("<data>" + base64 + "</data>"), Long.valueOf(16));
+
+        TemporaryFileDataSource dataSource = (TemporaryFileDataSource) document.data.getDataSource();
+        File file = dataSource.getFile();
+        InputStream inputStream = dataSource.getInputStream();
+        dataSource.close();
+        assertTrue("The file must be kept while it is read", file.exists());
+        assertEquals(bytes[0] & 0xFF, inputStream.read());
+        inputStream.close();
+        assertFalse(file.exists());
+    }
+
+    public void testUnmarshalToFileCollected() throws Exception {
+        String base64 = java.util.Base64.getMimeEncoder().encodeToString(bytes);
+        Document document = unmarshal(document("<data>" + base64 + "</data>"), Long.valueOf(16));
+        File file = ((TemporaryFileDataSource) document.data.getDataSource()).getFile();
+        assertTrue(Arrays.equals(bytes, read(document.data)));
+        document = null;
+
+        // The file of a collected data source is deleted when another one is created.
+        for (int attempt = 0; attempt < 100 && file.exists(); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            File other = File.createTempFile("eclipselink", ".bin");
+            new TemporaryFileDataSource(other, "application/octet-stream").close();
+        }
+        assertFalse("The file must be deleted once the data source is collected", file.exists());
+    }
+
+    public void testUnmarshalEmptyAndNil() throws Exception {
+        String[] xmls = {document("<data/>"), document("<data>  </data>"),
+                document("<data xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:nil=\"true\"/>"), document("")};
+        for (String xml : xmls) {
+            byte[] expected = read(unmarshal(xml, null).data);
+            byte[] actual = read(unmarshal(xml, Long.valueOf(0)).data);
+            assertTrue(xml, Arrays.equals(expected, actual));
+        }
+    }
+
+    public void testMarshal() throws Exception {
+        Document document = new Document();
+        document.name = "doc";
+        document.data = new DataHandler(new BytesDataSource(bytes));
+        for (boolean formatted : new boolean[] {false, true}) {
+            JAXBMarshaller marshaller = jaxbContext.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+
+            // A Writer is marshalled through a WriterRecord, which does not stream.
+            StringWriter writer = new StringWriter();
+            marshaller.marshal(document, writer);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            marshaller.marshal(document, outputStream);
+
+            assertEquals(writer.toString(), outputStream.toString("UTF-8"));
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -35,6 +35,7 @@
 import org.eclipse.persistence.internal.oxm.Root;
 import org.eclipse.persistence.internal.oxm.XMLConversionManager;
 import org.eclipse.persistence.internal.oxm.XPathFragment;
+import org.eclipse.persistence.internal.oxm.XPathNodeTreeInitializer;
 import org.eclipse.persistence.internal.oxm.mappings.ChoiceCollectionMapping;
 import org.eclipse.persistence.internal.oxm.mappings.ChoiceObjectMapping;
 import org.eclipse.persistence.internal.oxm.mappings.Descriptor;
@@ -49,6 +50,7 @@
 import org.eclipse.persistence.jaxb.javamodel.reflection.AnnotationHelper;
 import org.eclipse.persistence.jaxb.javamodel.reflection.JavaModelImpl;
 import org.eclipse.persistence.jaxb.javamodel.reflection.JavaModelInputImpl;
+import org.eclipse.persistence.jaxb.javamodel.reflection.ReflectionPreloader;
 import org.eclipse.persistence.jaxb.json.JsonSchemaOutputResolver;
 import org.eclipse.persistence.jaxb.xmlmodel.JavaType;
 import org.eclipse.persistence.jaxb.xmlmodel.XmlBindings;
@@ -60,6 +62,7 @@
 import org.eclipse.persistence.oxm.MediaType;
 import org.eclipse.persistence.oxm.NamespaceResolver;
 import org.eclipse.persistence.oxm.XMLContext;
+import org.eclipse.persistence.oxm.XMLDescriptor;
 import org.eclipse.persistence.oxm.XMLField;
 import org.eclipse.persistence.oxm.XMLLogin;
 import org.eclipse.persistence.oxm.XMLMarshaller;
@@ -988,6 +991,7 @@ public JaxbClassLoader run() {
             }
 
             jModel.setHasXmlBindings(!xmlBindings.isEmpty());
+            if (properties != null) preloadReflectionIfPropertySetTrue(classesToBeBound, properties);
             JavaModelInputImpl inputImpl = new JavaModelInputImpl(classesToBeBound, jModel);
             if (properties != null) enableFacetsIfPropertySetTrue(inputImpl, properties);
             try {
@@ -1019,7 +1023,14 @@ private JAXBContextState createContextState(Generator generator, JaxbClassLoader
 
             XMLPlatform platform = new SAXPlatform();
             platform.getConversionManager().setLoader(loader);
+            boolean parallelXPathNodeInitialization = isParallelXPathNodeInitialization(properties);
+            if (parallelXPathNodeInitialization) {
+                setDescriptorsLazilyInitialized((Project) proj);
+            }
             XMLContext xmlContext = new XMLContext((Project) proj, loader, sessionEventListeners());
+            if (parallelXPathNodeInitialization) {
+                XPathNodeTreeInitializer.initialize(((Project) proj).getOrderedDescriptors());
+            }
 
             ((XMLLogin) xmlContext.getSession().getDatasourceLogin()).setEqualNamespaceResolvers(true);
 
@@ -1170,6 +1181,13 @@ public JaxbClassLoader run() {
                 }
             }
 
+            if (properties != null) {
+                Type[] boundTypes = new Type[typesToBeBound.length];
+                for (int i = 0; i < typesToBeBound.length; i++) {
+                    boundTypes[i] = typesToBeBound[i].getType();
+                }
+                preloadReflectionIfPropertySetTrue(boundTypes, properties);
+            }
             JavaModelInputImpl inputImpl = new JavaModelInputImpl(typesToBeBound, jModel);
             if (properties != null) enableFacetsIfPropertySetTrue(inputImpl, properties);
             try {
@@ -1201,7 +1219,14 @@ private JAXBContextState createContextState(Generator generator, JaxbClassLoader
 
             XMLPlatform platform = new SAXPlatform();
             platform.getConversionManager().setLoader(loader);
+            boolean parallelXPathNodeInitialization = isParallelXPathNodeInitialization(properties);
+            if (parallelXPathNodeInitialization) {
+                setDescriptorsLazilyInitialized((Project) proj);
+            }
             XMLContext xmlContext = new XMLContext((Project) proj, loader, sessionEventListeners());
+            if (parallelXPathNodeInitialization) {
+                XPathNodeTreeInitializer.initialize(((Project) proj).getOrderedDescriptors());
+            }
 
             ((XMLLogin) xmlContext.getSession().getDatasourceLogin()).setEqualNamespaceResolvers(true);
 
@@ -1694,6 +1719,30 @@ private void setPropertyOnUnmarshaller(String propertyName, JAXBUnmarshaller unm
 
     }
 
+    private static void preloadReflectionIfPropertySetTrue(Type[] types, Map properties) {
+        // The common pool threads do not have the permissions of the caller.
+        if (Boolean.TRUE.equals(properties.get(JAXBContextProperties.PARALLEL_REFLECTION_PRELOADING)) && !PrivilegedAccessHelper.shouldUsePrivilegedAccess()) {
+            ReflectionPreloader.preload(types);
+        }
+    }
+
+    private static boolean isParallelXPathNodeInitialization(Map properties) {
+        // The common pool threads do not have the permissions of the caller.
+        return properties != null && Boolean.TRUE.equals(properties.get(JAXBContextProperties.PARALLEL_XPATH_NODE_INITIALIZATION)) && !PrivilegedAccessHelper.shouldUsePrivilegedAccess();
+    }
+
+    /**
+     * The trees of XPath nodes of lazily initialized descriptors are not built
+     * by the login, they are built in parallel once the session is logged in.
+     */
+    private static void setDescriptorsLazilyInitialized(Project project) {
+        for (ClassDescriptor descriptor : project.getOrderedDescriptors()) {
+            if (descriptor instanceof XMLDescriptor) {
+                ((XMLDescriptor) descriptor).setLazilyInitialized(true);
+            }
+        }
+    }
+
     private static void enableFacetsIfPropertySetTrue(JavaModelInputImpl inputImpl, Map properties) {
         Object propertyValue = properties.get(JAXBContextProperties.BEAN_VALIDATION_FACETS);
         if (propertyValue != null) inputImpl.setFacets((Boolean) propertyValue);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -176,6 +176,33 @@ public class JAXBContextProperties {
      */
     public static final String XML_ACCESSOR_FACTORY_SUPPORT = "eclipselink.xml-accessor-factory.support";
 
+    /**
+     * The name of the boolean property used to read the reflection data of the classes
+     * to be bound, and of the classes they reference, on several threads before their
+     * annotations are processed.  For large models most of the context creation time is
+     * spent reading the fields, methods and annotations of the classes, which the JDK
+     * caches per class and which can be read in parallel.
+     *
+     * <p>Allowed values are {@link Boolean#TRUE} or {@link Boolean#FALSE} (default).
+     * The property is ignored when a security manager is enabled.</p>
+     *
+     * @since 2.7.8
+     */
+    public static final String PARALLEL_REFLECTION_PRELOADING = "eclipselink.parallel-reflection-preloading";
+
+    /**
+     * The name of the boolean property used to build the trees of XPath nodes,
+     * which the descriptors use to marshal and unmarshal, on several threads when
+     * the context is created.  For models with many classes building the trees
+     * one class after the other takes a large part of the context creation.
+     *
+     * <p>Allowed values are {@link Boolean#TRUE} or {@link Boolean#FALSE} (default).
+     * The property is ignored when a security manager is enabled.</p>
+     *
+     * @since 2.7.8
+     */
+    public static final String PARALLEL_XPATH_NODE_INITIALIZATION = "eclipselink.parallel-xpath-node-initialization";
+
     /**
      * The name of the property used to specify an ObjectGraph instance or name of an
      * ObjectGraph to be used on Unmarshallers and Marshallers created by the context.
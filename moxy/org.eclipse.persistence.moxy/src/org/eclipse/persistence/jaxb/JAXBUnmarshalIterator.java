@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jaxb;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.bind.DataBindingException;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.stax.StAXSource;
+
+import org.eclipse.persistence.exceptions.XMLMarshalException;
+import org.eclipse.persistence.internal.oxm.record.json.JsonParserItemCursor;
+import org.eclipse.persistence.oxm.XMLUnmarshaller;
+
+/**
+ * <p><b>Purpose:</b>Unmarshal the items of a large document one at a time,
+ * while the document is read.
+ * <p>The items are the elements found at a path of the document, e.g. the
+ * <i>order</i> elements of <i>&lt;orders&gt;&lt;order&gt;...&lt;/order&gt;...&lt;/orders&gt;</i>
+ * at the path <i>orders/order</i>.  Each item is unmarshalled from an
+ * XMLStreamReader, or a JsonParser if the media type is JSON, when it is
+ * returned by {@link #next()}, and the rest of the document is skipped, so the
+ * memory used does not depend on the number of items.
+ * <p>In JSON documents the names of the path are the names of the members from
+ * the root object to the items.  If the last member is an array, each of its
+ * values is an item.  When the root element is not included, i.e.
+ * {@link UnmarshallerProperties#JSON_INCLUDE_ROOT} is false, the first name of
+ * the path is the root object itself, so the same path applies to both media types.
+ * <p>Each item is unmarshalled by itself: the references between items are
+ * not resolved.  The document must not be read by other means while it is
+ * iterated, and the iterator should be closed if it is not iterated to the end.
+ * A failure to unmarshal an item is reported as a {@link DataBindingException}.
+ *
+ * @since 2.7.8
+ * @see JAXBUnmarshaller#unmarshalIterator(Source, Class, String)
+ */
+public final class JAXBUnmarshalIterator<T> implements Iterator<T>, Closeable {
+
+    private final JAXBUnmarshaller unmarshaller;
+    private final Class<T> javaClass;
+
+    private final QName[] path;
+    private XMLStreamReader xmlStreamReader;
+    private boolean closeXMLStreamReader;
+    /** The number of elements of the path the XMLStreamReader is in. */
+    private int depth;
+
+    private JsonParserItemCursor jsonCursor;
+
+    private Boolean hasNext;
+
+    JAXBUnmarshalIterator(JAXBUnmarshaller unmarshaller, Source source, Class<T> javaClass, String path) throws JAXBException {
+        this.unmarshaller = unmarshaller;
+        this.javaClass = javaClass;
+        this.path = parsePath(path);
+        XMLUnmarshaller xmlUnmarshaller = unmarshaller.getXMLUnmarshaller();
+        try {
+            if (xmlUnmarshaller.getMediaType().isApplicationJSON()) {
+                int start = xmlUnmarshaller.isIncludeRoot() ? 0 : 1;
+                String[] memberNames = new String[this.path.length - start];
+                for (int index = start; index < this.path.length; index++) {
+                    memberNames[index - start] = this.path[index].getLocalPart();
+                }
+                jsonCursor = new JsonParserItemCursor(source, memberNames);
+            } else if (source instanceof StAXSource && null != ((StAXSource) source).getXMLStreamReader()) {
+                xmlStreamReader = ((StAXSource) source).getXMLStreamReader();
+            } else {
+                XMLInputFactory xmlInputFactory = unmarshaller.getJaxbContext().getXMLInputFactory();
+                if (null == xmlInputFactory) {
+                    xmlInputFactory = XMLInputFactory.newInstance();
+                }
+                xmlStreamReader = xmlInputFactory.createXMLStreamReader(source);
+                closeXMLStreamReader = true;
+            }
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        } catch (XMLMarshalException e) {
+            throw new JAXBException(e);
+        }
+    }
+
+    /**
+     * Split the path at the slashes which are not in a namespace URI.
+     */
+    private static QName[] parsePath(String path) {
+        if (null == path) {
+            throw new IllegalArgumentException();
+        }
+        List<QName> names = new ArrayList<QName>();
+        int start = 0;
+        boolean inNamespace = false;
+        for (int index = 0; index <= path.length(); index++) {
+            char character = index < path.length() ? path.charAt(index) : '/';
+            if (character == '{') {
+                inNamespace = true;
+            } else if (character == '}') {
+                inNamespace = false;
+            } else if (character == '/' && !inNamespace) {
+                if (index > start) {
+                    names.add(QName.valueOf(path.substring(start, index)));
+                }
+                start = index + 1;
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException(path);
+        }
+        return names.toArray(new QName[names.size()]);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null == hasNext) {
+            try {
+                if (null != jsonCursor) {
+                    hasNext = jsonCursor.next();
+                } else {
+                    hasNext = nextElement();
+                }
+            } catch (XMLStreamException e) {
+                throw new DataBindingException(e);
+            } catch (XMLMarshalException e) {
+                throw new DataBindingException(e);
+            }
+            if (!hasNext) {
+                close();
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = null;
+        try {
+            if (null != jsonCursor) {
+                // The items are values of a member, they are not wrapped in a root object.
+                XMLUnmarshaller xmlUnmarshaller = unmarshaller.getXMLUnmarshaller();
+                boolean includeRoot = xmlUnmarshaller.isIncludeRoot();
+                xmlUnmarshaller.setIncludeRoot(false);
+                try {
+                    return (T) unmarshaller.unmarshal(jsonCursor.getItemSource(), javaClass).getValue();
+                } finally {
+                    xmlUnmarshaller.setIncludeRoot(includeRoot);
+                }
+            }
+            return (T) unmarshaller.unmarshal(xmlStreamReader, javaClass).getValue();
+        } catch (JAXBException e) {
+            throw new DataBindingException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Close the reader of the document, unless it was provided by a StAXSource
+     * or a JsonParserSource.
+     */
+    @Override
+    public void close() {
+        hasNext = Boolean.FALSE;
+        try {
+            if (null != jsonCursor) {
+                jsonCursor.close();
+            } else if (closeXMLStreamReader) {
+                closeXMLStreamReader = false;
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new DataBindingException(e);
+        } catch (XMLMarshalException e) {
+            throw new DataBindingException(e);
+        }
+    }
+
+    /**
+     * Move the XMLStreamReader to the start of the next element at the path,
+     * skipping the other elements.  The reader is left after the end of the
+     * previous item, at an event which is not processed yet.
+     */
+    private boolean nextElement() throws XMLStreamException {
+        int eventType = xmlStreamReader.getEventType();
+        while (true) {
+            if (eventType == XMLStreamReader.START_ELEMENT) {
+                if (isPathElement(path[depth])) {
+                    if (depth == path.length - 1) {
+                        return true;
+                    }
+                    depth++;
+                } else {
+                    skipElement();
+                }
+            } else if (eventType == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            } else if (eventType == XMLStreamReader.END_DOCUMENT || !xmlStreamReader.hasNext()) {
+                return false;
+            }
+            eventType = xmlStreamReader.next();
+        }
+    }
+
+    /**
+     * A name without a namespace URI matches the local name in any namespace.
+     */
+    private boolean isPathElement(QName name) {
+        if (!name.getLocalPart().equals(xmlStreamReader.getLocalName())) {
+            return false;
+        }
+        if (name.getNamespaceURI().length() == 0) {
+            return true;
+        }
+        return name.getNamespaceURI().equals(xmlStreamReader.getNamespaceURI());
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int level = 1;
+        while (level > 0) {
+            int eventType = xmlStreamReader.next();
+            if (eventType == XMLStreamReader.START_ELEMENT) {
+                level++;
+            } else if (eventType == XMLStreamReader.END_ELEMENT) {
+                level--;
+            }
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1998, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1998, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -30,6 +30,7 @@
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Executor;
 
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
@@ -448,6 +449,26 @@ public JAXBElement unmarshal(Source source, TypeMappingInfo type) throws JAXBExc
         }
     }
 
+    /**
+     * Return an iterator on the items at the path of the document, which are
+     * unmarshalled one at a time while the document is read.
+     * <p>The path is the names of the elements from the root element to the items,
+     * separated by slashes, e.g. <i>orders/order</i>.  A name may be qualified
+     * as <i>{namespaceURI}localPart</i>.  For the JSON media type the source is a
+     * StreamSource or a JsonParserSource, for XML any source supported by StAX.</p>
+     * @param source the document
+     * @param javaClass the class of the items
+     * @param path the path of the items
+     * @see JAXBUnmarshalIterator
+     * @since 2.7.8
+     */
+    public <T> JAXBUnmarshalIterator<T> unmarshalIterator(Source source, Class<T> javaClass, String path) throws JAXBException {
+        if(null == source || null == javaClass) {
+            throw new IllegalArgumentException();
+        }
+        return new JAXBUnmarshalIterator<T>(this, source, javaClass, path);
+    }
+
     @Override
     public JAXBElement unmarshal(XMLStreamReader streamReader, Class javaClass) throws JAXBException {
         if(null == streamReader || null == javaClass) {
@@ -896,6 +917,25 @@ public void setProperty(String key, Object value) throws PropertyException {
             }
         } else if (UnmarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME.equals(key)) {
             xmlUnmarshaller.setWrapperAsCollectionName((Boolean) value);
+        } else if (UnmarshallerProperties.JSON_NATIVE_PARSER.equals(key)) {
+            if (value == null) {
+                throw new PropertyException(key, Constants.EMPTY_STRING);
+            }
+            xmlUnmarshaller.setNativeJsonParser((Boolean) value);
+        } else if (UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT.equals(key)) {
+            if (value instanceof String) {
+                xmlUnmarshaller.setParallelUnmarshalElement(QName.valueOf((String) value));
+            } else {
+                xmlUnmarshaller.setParallelUnmarshalElement((QName) value);
+            }
+        } else if (UnmarshallerProperties.PARALLEL_UNMARSHAL_EXECUTOR.equals(key)) {
+            xmlUnmarshaller.setParallelUnmarshalExecutor((Executor) value);
+        } else if (UnmarshallerProperties.BINARY_DATA_STREAMING_THRESHOLD.equals(key)) {
+            if (value == null) {
+                xmlUnmarshaller.setBinaryDataStreamingThreshold(-1);
+            } else {
+                xmlUnmarshaller.setBinaryDataStreamingThreshold(((Number) value).longValue());
+            }
         } else if (UnmarshallerProperties.BEAN_VALIDATION_MODE.equals(key)){
             if(value == null){
                 throw new PropertyException(key, Constants.EMPTY_STRING);
@@ -1000,6 +1040,14 @@ public Object getProperty(String key) throws PropertyException {
             return graph;
         } else if(UnmarshallerProperties.JSON_WRAPPER_AS_ARRAY_NAME.equals(key)) {
             return xmlUnmarshaller.isWrapperAsCollectionName();
+        } else if (UnmarshallerProperties.JSON_NATIVE_PARSER.equals(key)) {
+            return xmlUnmarshaller.isNativeJsonParser();
+        } else if (UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT.equals(key)) {
+            return xmlUnmarshaller.getParallelUnmarshalElement();
+        } else if (UnmarshallerProperties.PARALLEL_UNMARSHAL_EXECUTOR.equals(key)) {
+            return xmlUnmarshaller.getParallelUnmarshalExecutor();
+        } else if (UnmarshallerProperties.BINARY_DATA_STREAMING_THRESHOLD.equals(key)) {
+            return xmlUnmarshaller.getBinaryDataStreamingThreshold();
         } else if (UnmarshallerProperties.BEAN_VALIDATION_MODE.equals(key)) {
             return this.beanValidationMode;
         } else if (UnmarshallerProperties.BEAN_VALIDATION_FACTORY.equals(key)) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -241,6 +241,56 @@ public class UnmarshallerProperties {
      */
     public static final String JSON_WRAPPER_AS_ARRAY_NAME = JAXBContextProperties.JSON_WRAPPER_AS_ARRAY_NAME;
 
+    /**
+     * If set to <i>Boolean.TRUE</i>, JSON documents are read from their UTF-8 bytes
+     * by the built-in tokenizer of EclipseLink MOXy instead of the JSON-P implementation.
+     * <p>The member names are matched against the mapped names as they are read
+     * and the values are only converted by their mappings, which is faster
+     * and creates less garbage. The attributes of each object, including its type,
+     * must precede its nested objects and arrays, as they are marshalled.
+     * Character streams are encoded into UTF-8 before being read.</p>
+     * @since 2.7.8
+     */
+    public static final String JSON_NATIVE_PARSER = "eclipselink.json.native-parser";
+
+    /**
+     * The name of a repeating element of XML documents whose items are unmarshalled
+     * in parallel, as a <i>javax.xml.namespace.QName</i> or a String in the
+     * <i>{namespaceURI}localPart</i> form of <i>QName.valueOf</i>.
+     * <p>The parser stores the events of each item, which are unmarshalled on the
+     * threads of the {@link #PARALLEL_UNMARSHAL_EXECUTOR} and added to their collection
+     * in document order.  The references between the items are resolved at the end
+     * of the document.  Unmarshal listeners and callbacks of the items are called on
+     * those threads, and the items have no location.</p>
+     * <p>The items must be mapped by a composite collection, e.g. a List of a class.
+     * Items of a class with subclasses, or unmarshalled from JSON, from a DOM, with an
+     * IDResolver or with an object graph, are unmarshalled on the parsing thread.</p>
+     * @since 2.7.8
+     */
+    public static final String PARALLEL_UNMARSHAL_ELEMENT = "eclipselink.parallel-unmarshal.element";
+
+    /**
+     * The <i>java.util.concurrent.Executor</i> the items of the {@link #PARALLEL_UNMARSHAL_ELEMENT}
+     * are unmarshalled on.  If not set, the common fork/join pool is used.
+     * @since 2.7.8
+     */
+    public static final String PARALLEL_UNMARSHAL_EXECUTOR = "eclipselink.parallel-unmarshal.executor";
+
+    /**
+     * The number of bytes, as a <i>Long</i> or an <i>Integer</i>, of inline binary
+     * data kept in memory before it is written to a temporary file.
+     * <p>When set, the base64 content of elements mapped to a <i>javax.activation.DataHandler</i>
+     * is decoded while it is read, instead of being kept as characters and then
+     * as bytes.  Above the threshold the DataHandler reads the data from a
+     * temporary file, which can be read any number of times.  The application
+     * releases the data by closing the data source of the DataHandler, when it is a
+     * <i>java.io.Closeable</i>, otherwise the file is deleted once the data source
+     * is garbage collected, or when the virtual machine exits.</p>
+     * <p>Lists of binary values, hexBinary and swaRef content are not streamed.</p>
+     * @since 2.7.8
+     */
+    public static final String BINARY_DATA_STREAMING_THRESHOLD = "eclipselink.binary-data.streaming-threshold";
+
     /**
      * If set to <i>Boolean.TRUE</i>, {@link org.eclipse.persistence.jaxb.JAXBUnmarshaller} will match
      * XML Elements and XML Attributes to Java fields case insensitively.
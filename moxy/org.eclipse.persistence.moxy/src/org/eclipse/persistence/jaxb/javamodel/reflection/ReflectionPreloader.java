@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jaxb.javamodel.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose:</b>Read the fields, methods and annotations of the classes
+ * reachable from the types to be bound on several threads before the
+ * annotations are processed.
+ *
+ * <p>The annotations processor walks the model on one thread, and for large
+ * models most of its time is spent reading the reflective data and parsing
+ * the annotations of the classes.  The JDK caches this data per class, so
+ * once it is read in parallel the processor only finds cached data.
+ *
+ * <p><b>Responsibilities:</b>
+ * <ul>
+ * <li>Find the classes referenced by the types, their superclasses, fields,
+ * methods and JAXB/MOXy annotations, level by level</li>
+ * <li>Read the reflective data of the classes of each level in parallel on the common fork/join pool</li>
+ * </ul>
+ * Classes whose reflective data cannot be read are skipped, the annotations processor reports
+ * them when it reaches them.
+ *
+ * @since 2.7.8
+ * @see org.eclipse.persistence.jaxb.JAXBContextProperties#PARALLEL_REFLECTION_PRELOADING
+ */
+public final class ReflectionPreloader {
+
+    /** The number of classes read by one task. */
+    private static final int BATCH_SIZE = 8;
+
+    private final Set<Class<?>> loadedClasses = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    private final Set<String> loadedPackages = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private ReflectionPreloader() {
+    }
+
+    /**
+     * Read the reflective data of the classes reachable from the types.
+     * @return the number of classes read.
+     */
+    public static int preload(Type[] types) {
+        ReflectionPreloader preloader = new ReflectionPreloader();
+        List<Class<?>> level = new ArrayList<Class<?>>();
+        for (Type type : types) {
+            preloader.addType(type, level);
+        }
+        level = preloader.selectClasses(level);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        while (!level.isEmpty()) {
+            Queue<Class<?>> nextLevel = new ConcurrentLinkedQueue<Class<?>>();
+            pool.invoke(preloader.new LoadTask(level, 0, level.size(), nextLevel));
+            level = new ArrayList<Class<?>>(nextLevel);
+        }
+        return preloader.loadedClasses.size();
+    }
+
+    /**
+     * Return the classes that were not read yet, and mark them as read.
+     */
+    private List<Class<?>> selectClasses(List<Class<?>> classes) {
+        List<Class<?>> selected = new ArrayList<Class<?>>(classes.size());
+        for (Class<?> javaClass : classes) {
+            while (javaClass.isArray()) {
+                javaClass = javaClass.getComponentType();
+            }
+            if (javaClass.isPrimitive()) {
+                continue;
+            }
+            String className = javaClass.getName();
+            if (className.startsWith("java.") || className.startsWith("javax.")) {
+                continue;
+            }
+            if (loadedClasses.add(javaClass)) {
+                selected.add(javaClass);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Read the reflective data of the class and add the classes it references.
+     */
+    private void load(Class<?> javaClass, List<Class<?>> referencedClasses) {
+        try {
+            addAnnotations(javaClass.getDeclaredAnnotations(), referencedClasses);
+            Package javaPackage = javaClass.getPackage();
+            if (javaPackage != null && loadedPackages.add(javaPackage.getName())) {
+                addAnnotations(javaPackage.getDeclaredAnnotations(), referencedClasses);
+            }
+            addType(javaClass.getGenericSuperclass(), referencedClasses);
+            for (Field field : javaClass.getDeclaredFields()) {
+                addAnnotations(field.getDeclaredAnnotations(), referencedClasses);
+                addType(field.getGenericType(), referencedClasses);
+            }
+            for (Method method : javaClass.getDeclaredMethods()) {
+                addAnnotations(method.getDeclaredAnnotations(), referencedClasses);
+                addType(method.getGenericReturnType(), referencedClasses);
+                for (Type parameterType : method.getGenericParameterTypes()) {
+                    addType(parameterType, referencedClasses);
+                }
+            }
+            for (Constructor<?> constructor : javaClass.getDeclaredConstructors()) {
+                constructor.getDeclaredAnnotations();
+            }
+        } catch (RuntimeException e) {
+            // Reported by the annotations processor.
+        } catch (LinkageError e) {
+            // Reported by the annotations processor.
+        }
+    }
+
+    private void addType(Type type, List<Class<?>> referencedClasses) {
+        if (type instanceof Class) {
+            referencedClasses.add((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            addType(parameterizedType.getRawType(), referencedClasses);
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                addType(argument, referencedClasses);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addType(((GenericArrayType) type).getGenericComponentType(), referencedClasses);
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                addType(bound, referencedClasses);
+            }
+        }
+        // The bounds of type variables are not followed, they may reference the variable.
+    }
+
+    /**
+     * Add the classes referenced by the values of the JAXB and MOXy annotations,
+     * i.e. XmlSeeAlso, XmlElements or XmlJavaTypeAdapter.
+     */
+    private void addAnnotations(Annotation[] annotations, List<Class<?>> referencedClasses) {
+        for (Annotation annotation : annotations) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            String annotationName = annotationType.getName();
+            if (!annotationName.startsWith("javax.xml.bind.") && !annotationName.startsWith("org.eclipse.persistence.")) {
+                continue;
+            }
+            for (Method member : annotationType.getDeclaredMethods()) {
+                Class<?> memberType = member.getReturnType();
+                if (memberType == Class.class || memberType == Class[].class || memberType.isAnnotation() || (memberType.isArray() && memberType.getComponentType().isAnnotation())) {
+                    try {
+                        addAnnotationValue(member.invoke(annotation), referencedClasses);
+                    } catch (ReflectiveOperationException e) {
+                        // Skip the member.
+                    }
+                }
+            }
+        }
+    }
+
+    private void addAnnotationValue(Object value, List<Class<?>> referencedClasses) {
+        if (value instanceof Class) {
+            referencedClasses.add((Class<?>) value);
+        } else if (value instanceof Class[]) {
+            Collections.addAll(referencedClasses, (Class<?>[]) value);
+        } else if (value instanceof Annotation) {
+            addAnnotations(new Annotation[] {(Annotation) value}, referencedClasses);
+        } else if (value instanceof Annotation[]) {
+            addAnnotations((Annotation[]) value, referencedClasses);
+        }
+    }
+
+    /**
+     * Read a range of the classes of a level, the classes they reference are
+     * added to the next level.
+     */
+    private final class LoadTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1975678473595242411L;
+
+        private final List<Class<?>> classes;
+        private final int start;
+        private final int end;
+        private final Queue<Class<?>> nextLevel;
+
+        LoadTask(List<Class<?>> classes, int start, int end, Queue<Class<?>> nextLevel) {
+            this.classes = classes;
+            this.start = start;
+            this.end = end;
+            this.nextLevel = nextLevel;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > BATCH_SIZE) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new LoadTask(classes, start, middle, nextLevel), new LoadTask(classes, middle, end, nextLevel));
+                return;
+            }
+            List<Class<?>> referencedClasses = new ArrayList<Class<?>>();
+            for (int index = start; index < end; index++) {
+                load(classes.get(index), referencedClasses);
+            }
+            nextLevel.addAll(selectClasses(referencedClasses));
+        }
+    }
+
+}
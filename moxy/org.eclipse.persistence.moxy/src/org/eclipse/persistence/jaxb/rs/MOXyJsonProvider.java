@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -29,7 +29,6 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -41,6 +40,13 @@
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.activation.DataSource;
 import javax.ws.rs.Consumes;
@@ -70,6 +76,7 @@
 
 import org.eclipse.persistence.exceptions.JSONException;
 import org.eclipse.persistence.internal.core.helper.CoreClassConstants;
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.localization.JAXBLocalization;
 import org.eclipse.persistence.internal.oxm.Constants;
@@ -215,11 +222,25 @@ public class MOXyJsonProvider implements MessageBodyReader<Object>, MessageBodyW
     private static final String JSON = "json";
     private static final String PLUS_JSON = "+json";
 
+    /** The default maximum number of <i>JAXBContext</i>s cached by the provider. */
+    public static final int DEFAULT_CONTEXT_CACHE_SIZE = 100;
+
+    /**
+     * The default maximum number of idle marshallers and unmarshallers pooled per <i>JAXBContext</i>,
+     * 0 as the pooling is disabled by default.
+     */
+    public static final int DEFAULT_POOL_SIZE = 0;
+
     @Context
     protected Providers providers;
 
     private String attributePrefix = null;
-    private Map<Set<Class<?>>, JAXBContext> contextCache = new HashMap<Set<Class<?>>, JAXBContext>();
+    private ConcurrentFixedCache contextCache = new ConcurrentFixedCache(DEFAULT_CONTEXT_CACHE_SIZE);
+    private ConcurrentMap<Set<Class<?>>, FutureTask<CachedContext>> pendingContexts = new ConcurrentHashMap<Set<Class<?>>, FutureTask<CachedContext>>();
+    private LongAdder contextBuilds = new LongAdder();
+    private LongAdder poolHits = new LongAdder();
+    private LongAdder poolMisses = new LongAdder();
+    private int poolSize = DEFAULT_POOL_SIZE;
     private boolean formattedOutput = false;
     private boolean includeRoot = false;
     private boolean marshalEmptyCollections = true;
@@ -238,6 +259,23 @@ public String getAttributePrefix() {
         return attributePrefix;
     }
 
+    /**
+     * @return the number of <i>JAXBContext</i>s created by this provider.
+     * @since 2.7.8
+     */
+    public long getContextBuildCount() {
+        return contextBuilds.sum();
+    }
+
+    /**
+     * @return the maximum number of <i>JAXBContext</i>s cached by this provider
+     * (default is 100).
+     * @since 2.7.8
+     */
+    public int getContextCacheSize() {
+        return contextCache.getMaxSize();
+    }
+
     /**
      * A convenience method to get the domain class (i.e. <i>Customer</i> or <i>Foo, Bar</i>) from
      * the parameter/return type (i.e. <i>Customer</i>, <i>List&lt;Customer&gt;</i>,
@@ -297,10 +335,13 @@ private Set<Class<?>> asSet(Class<?> clazz) {
      * Return the <i>JAXBContext</i> that corresponds to the domain class.  This
      * method does the following:
      * <ol>
+     * <li>If a <i>JAXBContext</i> was already created for the domain classes
+     * then use it.</li>
      * <li>If an EclipseLink JAXB (MOXy) <i>JAXBContext</i> is available from
      * a <i>ContextResolver</i> then use it.</li>
-     * <li>If an existing <i>JAXBContext</i> was not found in step one, then
-     * create a new one on the domain class.</li>
+     * <li>If an existing <i>JAXBContext</i> was not found in the previous steps,
+     * then create a new one on the domain classes and cache it.  Concurrent
+     * requests for the same domain classes wait for a single creation.</li>
      * </ol>
      * @param domainClasses - The domain classes we need a <i>JAXBContext</i> for.
      * @param annotations - The annotations corresponding to domain object.
@@ -311,40 +352,114 @@ private Set<Class<?>> asSet(Class<?> clazz) {
      */
     protected JAXBContext getJAXBContext(Set<Class<?>> domainClasses, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, ?> httpHeaders) throws JAXBException {
 
-        JAXBContext jaxbContext = contextCache.get(domainClasses);
-        if(null != jaxbContext) {
-            return jaxbContext;
+        CachedContext cachedContext = (CachedContext) contextCache.get(domainClasses);
+        if(null != cachedContext) {
+            return cachedContext.context;
         }
 
-        synchronized (contextCache) {
-            jaxbContext = contextCache.get(domainClasses);
-            if(null != jaxbContext) {
+        ContextResolver<JAXBContext> resolver = null;
+        if(null != providers) {
+            resolver = providers.getContextResolver(JAXBContext.class, mediaType);
+        }
+
+        if (null != resolver && domainClasses.size() == 1) {
+            JAXBContext jaxbContext = resolver.getContext(domainClasses.iterator().next());
+            if (jaxbContext instanceof org.eclipse.persistence.jaxb.JAXBContext) {
                 return jaxbContext;
             }
+        }
+        return buildJAXBContext(domainClasses).context;
+    }
 
-            ContextResolver<JAXBContext> resolver = null;
-            if(null != providers) {
-                resolver = providers.getContextResolver(JAXBContext.class, mediaType);
+    /**
+     * Create and cache the <i>JAXBContext</i> for the domain classes, only one
+     * thread creates the context while the others wait for it.
+     */
+    private CachedContext buildJAXBContext(final Set<Class<?>> domainClasses) throws JAXBException {
+        FutureTask<CachedContext> task = new FutureTask<CachedContext>(new Callable<CachedContext>() {
+            @Override
+            public CachedContext call() throws JAXBException {
+                // The context may have been cached since the caller looked it up.
+                CachedContext cachedContext = (CachedContext) contextCache.get(domainClasses);
+                if (null == cachedContext) {
+                    JAXBContext jaxbContext = JAXBContextFactory.createContext(domainClasses.toArray(new Class[0]), null);
+                    contextBuilds.increment();
+                    cachedContext = new CachedContext(jaxbContext, poolSize);
+                    contextCache.put(domainClasses, cachedContext);
+                }
+                return cachedContext;
             }
-
-            if (null != resolver && domainClasses.size() == 1) {
-                jaxbContext = resolver.getContext(domainClasses.iterator().next());
+        });
+        FutureTask<CachedContext> pendingTask = pendingContexts.putIfAbsent(domainClasses, task);
+        if (null == pendingTask) {
+            pendingTask = task;
+            try {
+                task.run();
+            } finally {
+                pendingContexts.remove(domainClasses, task);
             }
+        }
+        try {
+            return pendingTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JAXBException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JAXBException) {
+                throw (JAXBException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new JAXBException(cause);
+        }
+    }
 
-            if(null == jaxbContext) {
-                jaxbContext = JAXBContextFactory.createContext(domainClasses.toArray(new Class[0]), null);
-                contextCache.put(domainClasses, jaxbContext);
-                return jaxbContext;
-            } else if (jaxbContext instanceof org.eclipse.persistence.jaxb.JAXBContext) {
-                return jaxbContext;
-            } else {
-                jaxbContext = JAXBContextFactory.createContext(domainClasses.toArray(new Class[0]), null);
-                contextCache.put(domainClasses, jaxbContext);
-                return jaxbContext;
+    /**
+     * Create and cache the <i>JAXBContext</i>s of the domain classes in
+     * advance, for example when the application starts, so that the first
+     * requests do not wait for them.  The types are the parameter/return types
+     * of the JAX-RS operations (i.e. <i>Customer</i> or
+     * <i>List&lt;Customer&gt;</i>), each type gets its own <i>JAXBContext</i>
+     * as it would on its first request.
+     * @param genericTypes - The parameter/return types of the JAX-RS operations.
+     * @throws JAXBException if a <i>JAXBContext</i> cannot be created.
+     * @since 2.7.8
+     */
+    public void preloadContexts(Type... genericTypes) throws JAXBException {
+        for (Type genericType : genericTypes) {
+            Set<Class<?>> domainClasses = getDomainClasses(genericType);
+            if (null == contextCache.get(domainClasses)) {
+                buildJAXBContext(domainClasses);
             }
         }
     }
 
+    /**
+     * Return the pooled marshallers and unmarshallers of the <i>JAXBContext</i>,
+     * or null if the context was not created and cached by this provider.
+     */
+    private CachedContext getPool(Set<Class<?>> domainClasses, JAXBContext jaxbContext) {
+        if (poolSize == 0) {
+            return null;
+        }
+        CachedContext cachedContext = (CachedContext) contextCache.get(domainClasses);
+        if (null == cachedContext || cachedContext.context != jaxbContext || null == cachedContext.marshallers) {
+            return null;
+        }
+        return cachedContext;
+    }
+
+    private void countPoolAccess(Object pooled) {
+        if (null == pooled) {
+            poolMisses.increment();
+        } else {
+            poolHits.increment();
+        }
+    }
+
     private JAXBContext getJAXBContext(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         if(null == genericType) {
             genericType = type;
@@ -381,6 +496,34 @@ public char getNamespaceSeparator() {
         return this.namespaceSeperator;
     }
 
+    /**
+     * @return the number of times a pooled marshaller or unmarshaller was
+     * reused.
+     * @since 2.7.8
+     */
+    public long getPoolHitCount() {
+        return poolHits.sum();
+    }
+
+    /**
+     * @return the number of times no pooled marshaller or unmarshaller was
+     * available and a new one was created.
+     * @since 2.7.8
+     */
+    public long getPoolMissCount() {
+        return poolMisses.sum();
+    }
+
+    /**
+     * @return the maximum number of idle marshallers, and of idle
+     * unmarshallers, pooled per <i>JAXBContext</i> (default is 0, the
+     * pooling is disabled).
+     * @since 2.7.8
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
     /*
      * @return -1 since the size of the JSON message is not known.
      * @see javax.ws.rs.ext.MessageBodyWriter#getSize(java.lang.Object, java.lang.Class, java.lang.reflect.Type, java.lang.annotation.Annotation[], javax.ws.rs.core.MediaType)
@@ -666,7 +809,15 @@ public Object readFrom(Class<Object> type, Type genericType, Annotation[] annota
             if (logger.shouldLog(SessionLog.FINE, SessionLog.MOXY)) {
                 logger.log(SessionLog.FINE, SessionLog.MOXY, "moxy_read_from_moxy_json_provider", new Object[0]);
             }
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            CachedContext pool = getPool(domainClasses, jaxbContext);
+            Unmarshaller unmarshaller = null;
+            if (null != pool) {
+                unmarshaller = pool.unmarshallers.poll();
+                countPoolAccess(unmarshaller);
+            }
+            if (null == unmarshaller) {
+                unmarshaller = jaxbContext.createUnmarshaller();
+            }
             unmarshaller.setProperty(UnmarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
             unmarshaller.setProperty(UnmarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
             unmarshaller.setProperty(UnmarshallerProperties.JSON_INCLUDE_ROOT, includeRoot);
@@ -693,6 +844,9 @@ public Object readFrom(Class<Object> type, Type genericType, Annotation[] annota
 
             Class<?> domainClass = getDomainClass(domainClasses);
             JAXBElement<?> jaxbElement = unmarshaller.unmarshal(jsonSource, domainClass);
+            if (null != pool) {
+                pool.unmarshallers.offer(unmarshaller);
+            }
             if(type.isAssignableFrom(JAXBElement.class)) {
                 return jaxbElement;
             } else {
@@ -820,6 +974,16 @@ public void setAttributePrefix(String attributePrefix) {
         this.attributePrefix = attributePrefix;
     }
 
+    /**
+     * Specify the maximum number of <i>JAXBContext</i>s cached by this provider
+     * (default is 100).  When the cache is full the least recently used
+     * context is evicted, unless it is used more often than the new one.
+     * @since 2.7.8
+     */
+    public void setContextCacheSize(int contextCacheSize) {
+        contextCache.setMaxSize(contextCacheSize);
+    }
+
     /**
      * Specify if the JSON output should be formatted (default is false).
      * @param formattedOutput - true if the output should be formatted, else
@@ -873,6 +1037,23 @@ public void setNamespaceSeparator(char namespaceSeparator) {
         this.namespaceSeperator = namespaceSeparator;
     }
 
+    /**
+     * Specify the maximum number of idle marshallers, and of idle
+     * unmarshallers, pooled per <i>JAXBContext</i> (default is 0, the pooling
+     * is disabled).  Only the contexts created by this provider are pooled, and
+     * the size applies to the contexts created after it is set.
+     * <p>The properties set by this provider are set again each time a pooled
+     * instance is used, but the changes made in <i>preReadFrom</i> and
+     * <i>preWriteTo</i>, such as listeners, adapters and schemas, remain on the
+     * pooled instance and apply to the following requests.  So the pooling
+     * should only be enabled if these methods are not overridden, or make the
+     * same changes for each request.</p>
+     * @since 2.7.8
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
     /**
      * If true the grouping element will be used as the JSON key.
      *
@@ -959,7 +1140,15 @@ public void writeTo(Object object, Class<?> type, Type genericType, Annotation[]
             if (logger.shouldLog(SessionLog.FINE, SessionLog.MOXY)) {
                 logger.log(SessionLog.FINE, SessionLog.MOXY, "moxy_write_to_moxy_json_provider", new Object[0]);
             }
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            CachedContext pool = getPool(domainClasses, jaxbContext);
+            Marshaller marshaller = null;
+            if (null != pool) {
+                marshaller = pool.marshallers.poll();
+                countPoolAccess(marshaller);
+            }
+            if (null == marshaller) {
+                marshaller = jaxbContext.createMarshaller();
+            }
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
             marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
             marshaller.setProperty(MarshallerProperties.JSON_ATTRIBUTE_PREFIX, attributePrefix);
@@ -979,6 +1168,9 @@ public void writeTo(Object object, Class<?> type, Type genericType, Annotation[]
             if(null != mediaTypeParameters && mediaTypeParameters.containsKey(CHARSET)) {
                 String charSet = mediaTypeParameters.get(CHARSET);
                 marshaller.setProperty(Marshaller.JAXB_ENCODING, charSet);
+            } else if (null != pool) {
+                // A pooled marshaller may have been used with another charset.
+                marshaller.setProperty(Marshaller.JAXB_ENCODING, Constants.DEFAULT_XML_ENCODING);
             }
 
             preWriteTo(object, type, genericType, annotations, mediaType, httpHeaders, marshaller);
@@ -990,8 +1182,33 @@ public void writeTo(Object object, Class<?> type, Type genericType, Annotation[]
             }
 
             marshaller.marshal(object, entityStream);
+            if (null != pool) {
+                pool.marshallers.offer(marshaller);
+            }
         } catch(JAXBException jaxbException) {
             throw new WebApplicationException(jaxbException);
         }
     }
+
+    /**
+     * A cached <i>JAXBContext</i> with its idle marshallers and unmarshallers.
+     */
+    private static final class CachedContext {
+
+        final JAXBContext context;
+        final Queue<Marshaller> marshallers;
+        final Queue<Unmarshaller> unmarshallers;
+
+        CachedContext(JAXBContext context, int poolSize) {
+            this.context = context;
+            if (poolSize > 0) {
+                this.marshallers = new ArrayBlockingQueue<Marshaller>(poolSize);
+                this.unmarshallers = new ArrayBlockingQueue<Unmarshaller>(poolSize);
+            } else {
+                this.marshallers = null;
+                this.unmarshallers = null;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.Enumeration;
+import java.util.Vector;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.expressions.CompiledExpression;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests in-memory querying of a large cached reference table, comparing the selection criteria
+ * interpreted for each object, compiled once, generated in bytecode, and compiled and conformed in parallel.
+ */
+@State(Scope.Benchmark)
+public class InMemoryQueryBenchmark {
+
+    public static class Rate {
+        public long id;
+        public String currency;
+        public String region;
+        public double value;
+
+        public Rate() {
+        }
+    }
+
+    /** Number of cached objects. */
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private DatabaseSessionImpl session;
+    private Expression criteria;
+    private AbstractRecord row;
+    private CompiledExpression compiledExpression;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Rate.class);
+        descriptor.setTableName("RATE");
+        descriptor.addPrimaryKeyFieldName("RATE.ID");
+        descriptor.addDirectMapping("id", "RATE.ID");
+        descriptor.addDirectMapping("currency", "RATE.CURRENCY");
+        descriptor.addDirectMapping("region", "RATE.REGION");
+        descriptor.addDirectMapping("value", "RATE.VALUE");
+        descriptor.useFullIdentityMap();
+        descriptor.setIdentityMapSize(size);
+        Project project = new Project();
+        project.addDescriptor(descriptor);
+        session = new DatabaseSessionImpl(project);
+        session.setLogLevel(SessionLog.OFF);
+        session.initializeDescriptors();
+        for (int index = 0; index < size; index++) {
+            Rate rate = new Rate();
+            rate.id = index;
+            rate.currency = "C" + (index % 150);
+            rate.region = "R" + (index % 12);
+            rate.value = index % 1000;
+            session.getIdentityMapAccessor().putInIdentityMap(rate);
+        }
+
+        ExpressionBuilder builder = new ExpressionBuilder();
+        criteria = builder.get("currency").equal(builder.getParameter("currency"))
+                .and(builder.get("value").between(100, 900))
+                .and(builder.get("region").in(new String[] {"R1", "R2", "R3"}).or(builder.get("region").like("R1%")));
+        row = new DatabaseRecord();
+        row.put("currency", "C42");
+        compiledExpression = new CompiledExpression(descriptor);
+        // Prepare the expression builder.
+        query(0);
+    }
+
+    private Vector query(int parallelConformThreshold) {
+        session.getProject().setParallelConformThreshold(parallelConformThreshold);
+        return session.getIdentityMapAccessorInstance().getAllFromIdentityMap(criteria, Rate.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false);
+    }
+
+    /**
+     * Baseline, the selection criteria is interpreted for each object.
+     */
+    @Benchmark
+    public void testInterpreted(Blackhole bh) {
+        Vector objects = new Vector();
+        Enumeration keys = session.getIdentityMapAccessorInstance().getIdentityMap(Rate.class).keys();
+        while (keys.hasMoreElements()) {
+            Object object = ((CacheKey)keys.nextElement()).getObject();
+            if ((object != null) && criteria.doesConform(object, session, row, InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION)) {
+                objects.add(object);
+            }
+        }
+        bh.consume(objects);
+    }
+
+    @Benchmark
+    public void testCompiled(Blackhole bh) {
+        bh.consume(query(0));
+    }
+
+    @Benchmark
+    public void testGenerated(Blackhole bh) {
+        session.getProject().setParallelConformThreshold(0);
+        bh.consume(session.getIdentityMapAccessorInstance().getAllFromIdentityMap(criteria, Rate.class, row,
+                InMemoryQueryIndirectionPolicy.SHOULD_THROW_INDIRECTION_EXCEPTION, false, compiledExpression));
+    }
+
+    @Benchmark
+    public void testParallel(Blackhole bh) {
+        bh.consume(query(1));
+    }
+}
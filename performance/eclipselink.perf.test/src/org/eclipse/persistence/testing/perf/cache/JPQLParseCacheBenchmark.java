@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the JPQL parse cache (ConcurrentFixedCache) with a Zipfian mix of
+ * more distinct JPQL strings than the cache holds, as seen in applications
+ * with many dynamic queries. A miss simulates the cost of parsing the query.
+ */
+@State(Scope.Benchmark)
+public class JPQLParseCacheBenchmark {
+
+    public static final int THREADS = 4;
+
+    /** Number of distinct JPQL strings. */
+    @Param({"2000"})
+    public int queries;
+
+    /** Size of the parse cache, the Project default. */
+    @Param({"200"})
+    public int cacheSize;
+
+    /** Skew of the Zipfian distribution. */
+    @Param({"0.8", "1.0"})
+    public double skew;
+
+    private String[] jpql;
+    private int[] mix;
+    private ConcurrentFixedCache cache;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        jpql = new String[queries];
+        for (int index = 0; index < queries; index++) {
+            jpql[index] = "SELECT e FROM Employee e WHERE e.id = " + index + " ORDER BY e.lastName";
+        }
+        double[] cumulative = new double[queries];
+        double sum = 0;
+        for (int index = 0; index < queries; index++) {
+            sum += 1 / Math.pow(index + 1, skew);
+            cumulative[index] = sum;
+        }
+        Random random = new Random(42);
+        mix = new int[1 << 16];
+        for (int index = 0; index < mix.length; index++) {
+            double value = random.nextDouble() * sum;
+            int position = Arrays.binarySearch(cumulative, value);
+            mix[index] = (position < 0) ? (-position - 1) : position;
+        }
+        cache = new ConcurrentFixedCache(cacheSize);
+    }
+
+    /**
+     * Per thread position in the mix, the cache hits and misses are reported
+     * as secondary results, their ratio is the hit rate of the cache.
+     */
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class Position {
+        int next = new Random().nextInt(1 << 16);
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testZipfianMix(Position position, Blackhole bh) {
+        String query = jpql[mix[position.next++ & ((1 << 16) - 1)]];
+        Object parsed = cache.get(query);
+        if (parsed == null) {
+            position.misses++;
+            // Simulate the parsing of the query.
+            Blackhole.consumeCPU(2000);
+            parsed = query;
+            cache.put(query, parsed);
+        } else {
+            position.hits++;
+        }
+        bh.consume(parsed);
+    }
+}
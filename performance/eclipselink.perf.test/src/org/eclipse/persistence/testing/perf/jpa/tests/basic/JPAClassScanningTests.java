@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.perf.jpa.tests.basic;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
+import org.eclipse.persistence.internal.jpa.metadata.MetadataLogger;
+import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataAsmFactory;
+import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataClass;
+import org.eclipse.persistence.sessions.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the discovery of the unlisted classes of a persistence unit
+ * at deployment. The classes of this project and of the EclipseLink core are
+ * scanned, only a few of them are annotated.
+ */
+@State(Scope.Benchmark)
+public class JPAClassScanningTests {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private ClassLoader loader;
+    private Set<String> classNames;
+
+    @Setup
+    public void setup() {
+        loader = JPAClassScanningTests.class.getClassLoader();
+        classNames = new HashSet<String>();
+        classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(
+                JPAClassScanningTests.class.getProtectionDomain().getCodeSource().getLocation(), loader, null));
+        classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(
+                Session.class.getProtectionDomain().getCodeSource().getLocation(), loader, null));
+    }
+
+    /**
+     * Read every class and check if it is an &#64;Entity, as done before the
+     * classes without annotations were skipped.
+     */
+    @Benchmark
+    public void testReadAllClasses() {
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), loader);
+        for (String className : classNames) {
+            MetadataClass metadataClass = factory.getMetadataClass(className, true);
+            PersistenceUnitProcessor.isEntity(metadataClass);
+        }
+    }
+
+    /**
+     * Read the classes which may be annotated, on one or several threads, and
+     * check if they are an &#64;Entity.
+     */
+    @Benchmark
+    public void testReadAnnotatedClasses() {
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), loader);
+        for (String className : factory.buildAnnotatedMetadataClasses(classNames, true, parallel)) {
+            MetadataClass metadataClass = factory.getMetadataClass(className, true);
+            PersistenceUnitProcessor.isEntity(metadataClass);
+        }
+    }
+
+}
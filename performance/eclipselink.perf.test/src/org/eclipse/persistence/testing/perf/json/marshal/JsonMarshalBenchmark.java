@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -15,6 +15,9 @@
 package org.eclipse.persistence.testing.perf.json.marshal;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -47,14 +50,44 @@
 @State(Scope.Benchmark)
 public class JsonMarshalBenchmark {
 
+    /** Number of employees of the marshalled list. */
+    private static final int EMPLOYEES = 1000;
+
     private JAXBContext jaxbContext;
 
+    private List<Employee> employees;
+
     /*
      * Initial setup.
      */
     @Setup
     public void prepare() throws Exception {
         prepareJAXBContext();
+        prepareEmployees();
+    }
+
+    /*
+     * Marshal of a list to an OutputStream, encoded into UTF-8 bytes by the marshal record.
+     */
+    @Benchmark
+    public void testJsonMOXyMarshalToOutputStream(Blackhole bh) throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(128 * 1024);
+        marshaller.marshal(employees, baos);
+        bh.consume(baos);
+    }
+
+    /*
+     * Marshal of a list to a Writer encoding into UTF-8, for comparison.
+     */
+    @Benchmark
+    public void testJsonMOXyMarshalToWriter(Blackhole bh) throws Exception {
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(128 * 1024);
+        Writer writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
+        marshaller.marshal(employees, writer);
+        writer.flush();
+        bh.consume(baos);
     }
 
     @Benchmark
@@ -119,6 +152,23 @@ public void testJsonMarshal(Blackhole bh) throws Exception {
         bh.consume(baos);
     }
 
+    private void prepareEmployees() {
+        employees = new ArrayList<Employee>(EMPLOYEES);
+        for (int id = 0; id < EMPLOYEES; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setFirstName("First" + id);
+            employee.setLastName("Last\u00e9" + id);
+            for (String type : new String[] {"work", "home"}) {
+                PhoneNumber phoneNumber = new PhoneNumber();
+                phoneNumber.setType(type);
+                phoneNumber.setNumber("555-" + id);
+                employee.getPhoneNumbers().add(phoneNumber);
+            }
+            employees.add(employee);
+        }
+    }
+
     private void prepareJAXBContext() throws Exception {
 
         Map<String, Object> jaxbProperties = new HashMap<String, Object>(2);
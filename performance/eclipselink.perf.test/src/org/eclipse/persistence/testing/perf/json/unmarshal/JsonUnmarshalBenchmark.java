@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -14,7 +14,18 @@
 //     Martin Vojtek - 2.6.0 - initial implementation
 package org.eclipse.persistence.testing.perf.json.unmarshal;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,12 +42,17 @@
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.persistence.jaxb.JAXBContextProperties;
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.oxm.json.JsonParserSource;
 import org.eclipse.persistence.oxm.json.JsonStructureSource;
 import org.eclipse.persistence.testing.perf.json.model.Employee;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
 
 /**
@@ -47,14 +63,98 @@ public class JsonUnmarshalBenchmark {
 
     private static final String INPUT_JSON = "org/eclipse/persistence/testing/perf/json/unmarshal/input.json";
 
+    /** Size of the large generated document, in bytes. */
+    private static final long LARGE_DOCUMENT_SIZE = 100L * 1024 * 1024;
+
     private JAXBContext jaxbContext;
 
+    private File largeDocument;
+
     /*
      * Initial setup.
      */
     @Setup
     public void prepare() throws Exception {
         prepareJAXBContext();
+        prepareLargeDocument();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (largeDocument != null) {
+            largeDocument.delete();
+        }
+    }
+
+    /*
+     * Per thread peak heap of the unmarshals of the large document, the sum of the peaks of the heap pools,
+     * reported as a secondary result. Divided by the primary result, it is the peak heap of an unmarshal, in MB.
+     */
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class HeapUsage {
+        public long peakHeapMB;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakHeapMB = 0;
+        }
+
+        @Setup(Level.Invocation)
+        public void resetPeak() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void recordPeak() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMB += peak / (1024 * 1024);
+        }
+    }
+
+    /*
+     * Unmarshal of a large document through the parser, the events are reported as they are read.
+     */
+    @Benchmark
+    public void testJsonParserUnmarshalLarge(HeapUsage heapUsage, Blackhole bh) throws Exception {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(largeDocument))) {
+            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            JsonParserSource source = new JsonParserSource(Json.createParser(is));
+            bh.consume(unmarshaller.unmarshal(source, Employee.class).getValue());
+        }
+    }
+
+    /*
+     * Unmarshal of a large document from its bytes by the native tokenizer.
+     */
+    @Benchmark
+    public void testJsonNativeUnmarshalLarge(HeapUsage heapUsage, Blackhole bh) throws Exception {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(largeDocument))) {
+            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            unmarshaller.setProperty(UnmarshallerProperties.JSON_NATIVE_PARSER, Boolean.TRUE);
+            bh.consume(unmarshaller.unmarshal(new StreamSource(is), Employee.class).getValue());
+        }
+    }
+
+    /*
+     * Unmarshal of a large document read into a JsonStructure first.
+     */
+    @Benchmark
+    public void testJsonReaderUnmarshalLarge(HeapUsage heapUsage, Blackhole bh) throws Exception {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(largeDocument))) {
+            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            JsonStructureSource source = new JsonStructureSource(Json.createReader(is).readArray());
+            bh.consume(unmarshaller.unmarshal(source, Employee.class).getValue());
+        }
     }
 
     @Benchmark
@@ -140,6 +240,17 @@ public void testJsonMOXyUnmarshal(Blackhole bh) throws Exception {
 
     }
 
+    @Benchmark
+    public void testJsonNativeMOXyUnmarshal(Blackhole bh) throws Exception {
+        try (InputStream inputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(INPUT_JSON)) {
+            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            unmarshaller.setProperty(UnmarshallerProperties.JSON_NATIVE_PARSER, Boolean.TRUE);
+            @SuppressWarnings("unchecked")
+            List<Employee> employees = (List<Employee>) unmarshaller.unmarshal(new StreamSource(inputStream), Employee.class).getValue();
+            bh.consume(employees);
+        }
+    }
+
     @Benchmark
     public void testJsonParser(Blackhole bh) throws Exception {
         InputStream inputStream = null;
@@ -162,6 +273,27 @@ public void testJsonParser(Blackhole bh) throws Exception {
         }
     }
 
+    /*
+     * Array of employees of LARGE_DOCUMENT_SIZE.
+     */
+    private void prepareLargeDocument() throws Exception {
+        largeDocument = File.createTempFile("employees", ".json");
+        largeDocument.deleteOnExit();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(largeDocument), StandardCharsets.UTF_8))) {
+            writer.write('[');
+            long size = 1;
+            for (int id = 0; size < LARGE_DOCUMENT_SIZE; id++) {
+                String employee = (id == 0 ? "" : ",")
+                        + "{\"id\":" + id + ",\"firstName\":\"First" + id + "\",\"lastName\":\"Last" + id + "\","
+                        + "\"phoneNumbers\":[{\"type\":\"work\",\"number\":\"2224" + id + "\"},"
+                        + "{\"type\":\"home\",\"number\":\"2225" + id + "\"}]}";
+                writer.write(employee);
+                size += employee.length();
+            }
+            writer.write(']');
+        }
+    }
+
     private void prepareJAXBContext() throws Exception {
         Map<String, Object> jaxbProperties = new HashMap<String, Object>(2);
         jaxbProperties.put(JAXBContextProperties.MEDIA_TYPE, "application/json");
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.perf.largexml;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.JAXBContextProperties;
+import org.eclipse.persistence.testing.perf.largexml.bigpo.ObjectFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the creation of a JAXBContext for the large purchase order model at startup,
+ * with the reflection data of the model classes read and the trees of XPath nodes built on one thread or in parallel.
+ * The cold start creates each context on the model classes loaded by a new class loader.
+ */
+@State(Scope.Benchmark)
+public class LargeXmlContextBenchmark {
+
+    private static final String MODEL_PACKAGE = "org.eclipse.persistence.testing.perf.largexml.bigpo.";
+
+    /** Read the reflection data of the model classes in parallel before processing their annotations. */
+    @Param({"false", "true"})
+    public boolean parallelReflectionPreloading;
+
+    /** Build the trees of XPath nodes of the descriptors in parallel. */
+    @Param({"false", "true"})
+    public boolean parallelXPathNodeInitialization;
+
+    private Map<String, Object> properties;
+    private URL[] modelLocation;
+
+    @Setup
+    public void prepare() throws Exception {
+        properties = new HashMap<String, Object>();
+        properties.put(JAXBContextProperties.PARALLEL_REFLECTION_PRELOADING, parallelReflectionPreloading);
+        properties.put(JAXBContextProperties.PARALLEL_XPATH_NODE_INITIALIZATION, parallelXPathNodeInitialization);
+        modelLocation = new URL[] {ObjectFactory.class.getProtectionDomain().getCodeSource().getLocation()};
+    }
+
+    @Benchmark
+    public void testCreateContext(Blackhole bh) throws Exception {
+        bh.consume(JAXBContextFactory.createContext(new Class[] {ObjectFactory.class}, properties, ObjectFactory.class.getClassLoader()));
+    }
+
+    @Benchmark
+    public void testCreateContextColdStart(Blackhole bh) throws Exception {
+        ModelClassLoader loader = new ModelClassLoader(modelLocation, ObjectFactory.class.getClassLoader());
+        Class<?> objectFactory = loader.loadClass(ObjectFactory.class.getName());
+        bh.consume(JAXBContextFactory.createContext(new Class[] {objectFactory}, properties, loader));
+    }
+
+    /**
+     * Loads its own copy of the model classes, so that each context is created on classes that were never used.
+     */
+    private static final class ModelClassLoader extends URLClassLoader {
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        ModelClassLoader(URL[] urls, ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(MODEL_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass == null) {
+                    loadedClass = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loadedClass);
+                }
+                return loadedClass;
+            }
+        }
+    }
+}
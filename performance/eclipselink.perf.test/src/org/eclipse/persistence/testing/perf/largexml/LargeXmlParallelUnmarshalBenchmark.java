@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+package org.eclipse.persistence.testing.perf.largexml;
+
+import java.net.URL;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+
+import org.eclipse.persistence.jaxb.UnmarshallerProperties;
+import org.eclipse.persistence.testing.perf.largexml.bigpo.ObjectFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the unmarshal of the purchase order with a lot of items, with the
+ * items unmarshalled on the parsing thread or in parallel.
+ */
+@State(Scope.Benchmark)
+public class LargeXmlParallelUnmarshalBenchmark {
+
+    private static final String A_LOT_OF_ITEMS_XML = "org/eclipse/persistence/testing/perf/largexml/bigpo/LotOfItems.xml";
+    private static final QName ITEMS = new QName("http://org.eclipse.persistence.testing.perf/bigPurchaseOrderworkItem", "items");
+
+    /** Unmarshal the items of the purchase order in parallel. */
+    @Param({"false", "true"})
+    public boolean parallelUnmarshal;
+
+    private JAXBContext jaxbContext;
+    private URL aLotOfItems;
+
+    @Setup
+    public void prepare() throws Exception {
+        jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
+        aLotOfItems = Thread.currentThread().getContextClassLoader().getResource(A_LOT_OF_ITEMS_XML);
+    }
+
+    @Benchmark
+    public void testALotOfItemsUnmarshal(Blackhole bh) throws Exception {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        if (parallelUnmarshal) {
+            unmarshaller.setProperty(UnmarshallerProperties.PARALLEL_UNMARSHAL_ELEMENT, ITEMS);
+        }
+        bh.consume(unmarshaller.unmarshal(aLotOfItems));
+    }
+
+}
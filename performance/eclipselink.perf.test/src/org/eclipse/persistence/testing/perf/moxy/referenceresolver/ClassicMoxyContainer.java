@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -36,6 +36,13 @@ public class ClassicMoxyContainer {
     public List<Component> components = new ArrayList<Component>(200000);
 
     public static ClassicMoxyContainer createHugeContainer() {
+        return createHugeContainer(200000);
+    }
+
+    /**
+     * Create a container of 100 layers and the given number of components, each with a reference to a layer.
+     */
+    public static ClassicMoxyContainer createHugeContainer(int components) {
         ClassicMoxyContainer cmc = new ClassicMoxyContainer();
 
         for (long i = 0; i < 100; i++) {
@@ -46,7 +53,7 @@ public static ClassicMoxyContainer createHugeContainer() {
         }
 
 
-        for (int i = 0; i < 200000; i++) {
+        for (int i = 0; i < components; i++) {
             Component comp = new Component();
             comp.setLayer(cmc.layers.get(i % 100));
             comp.setName("Component__" + i);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -22,6 +22,7 @@
 import org.eclipse.persistence.testing.perf.moxy.referenceresolver.Component;
 import org.eclipse.persistence.testing.perf.moxy.referenceresolver.Layer;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -45,6 +46,10 @@
 @State(Scope.Benchmark)
 public class ReferenceResolverBenchmark {
 
+    /** The number of components, each with a reference to a layer. */
+    @Param({"200000", "1000000"})
+    public int components;
+
     private ClassicMoxyContainer c;
     private JAXBMarshaller marshaller;
     private JAXBUnmarshaller unmarshaller;
@@ -85,7 +90,7 @@ public void testReferenceResolverUnmarshalJAXBRI(Blackhole bh) throws Exception
     @Setup
     public void prepare() throws Exception {
         /* Create and assign case-sensitive unmarshaller */
-        c = ClassicMoxyContainer.createHugeContainer();
+        c = ClassicMoxyContainer.createHugeContainer(components);
         JAXBContext context = (JAXBContext) JAXBContextFactory.createContext(
                 new Class[]{ClassicMoxyContainer.class, Layer.class, Component.class}, new HashMap());
         javax.xml.bind.JAXBContext contextJaxb = JAXBContext.newInstance(